@@ -76,7 +76,13 @@ public class PredefinedMetricTransformer {
                 case RetryCount:
                     return metricOfRequestOrRetryCount(predefined, request, response);
                 case ThrottledRetryCount: // drop through
-                case RetryCapacityConsumed:
+                case RetryCapacityConsumed: // drop through
+                case RetryCapacityAcquired: // drop through
+                case RetryCapacityDenied: // drop through
+                case RetryCapacityRefilled: // drop through
+                case BufferPoolAllocationCount: // drop through
+                case BufferPoolAllocatedBytes: // drop through
+                case BufferPoolReuseCount:
                     return counterMetricOf(predefined, request, response, EXCLUDE_REQUEST_TYPE);
                 case ResponseProcessingTime: // drop through
                 case RequestSigningTime: // drop through
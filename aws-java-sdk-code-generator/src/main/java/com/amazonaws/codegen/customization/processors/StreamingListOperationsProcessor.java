@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2016. Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.codegen.customization.processors;
+
+import com.amazonaws.codegen.customization.CodegenCustomizationProcessor;
+import com.amazonaws.codegen.model.config.customization.CustomizationConfig;
+import com.amazonaws.codegen.model.intermediate.IntermediateModel;
+import com.amazonaws.codegen.model.intermediate.ListModel;
+import com.amazonaws.codegen.model.intermediate.MemberModel;
+import com.amazonaws.codegen.model.intermediate.OperationModel;
+import com.amazonaws.codegen.model.intermediate.Protocol;
+import com.amazonaws.codegen.model.intermediate.ShapeModel;
+import com.amazonaws.codegen.model.service.ServiceModel;
+
+import java.util.Map;
+
+/**
+ * This processor marks the list member of each operation's result that the sync client streams,
+ * see {@link CustomizationConfig#getStreamingListOperations()}.
+ */
+final class StreamingListOperationsProcessor implements CodegenCustomizationProcessor {
+
+    private final Map<String, String> streamingListOperations;
+
+    StreamingListOperationsProcessor(Map<String, String> streamingListOperations) {
+        this.streamingListOperations = streamingListOperations;
+    }
+
+    @Override
+    public void preprocess(ServiceModel serviceModel) { }
+
+    @Override
+    public void postprocess(IntermediateModel intermediateModel) {
+
+        if (streamingListOperations == null || streamingListOperations.isEmpty()) return;
+
+        if (intermediateModel.getMetadata().getProtocol() == Protocol.API_GATEWAY) {
+            throw new IllegalStateException(
+                    "streamingListOperations customization is not supported for API Gateway clients");
+        }
+
+        for (Map.Entry<String, String> entry : streamingListOperations.entrySet()) {
+            String operationName = entry.getKey();
+            OperationModel opModel = intermediateModel.getOperations().get(operationName);
+            if (opModel == null || opModel.getReturnType() == null) {
+                throw new IllegalStateException(
+                        "streamingListOperations customization present for an unknown operation "
+                        + "or one without a result " + operationName);
+            }
+
+            ShapeModel outputShape = intermediateModel.getShapes().get(opModel.getReturnType().getReturnType());
+            if (outputShape == null || outputShape.isWrapper() || outputShape.isHasPayloadMember()) {
+                throw new IllegalStateException(
+                        "Cannot stream the result of " + operationName + ", it isn't read from the response body");
+            }
+
+            MemberModel member = outputShape.findMemberModelByC2jName(entry.getValue());
+            if (member == null || !isListOfStructures(member)) {
+                throw new IllegalStateException(
+                        "Cannot find a list of structures named " + entry.getValue() + " in the result of "
+                        + operationName + " when processing customization config streamingListOperations");
+            }
+            opModel.setStreamingListMember(member);
+        }
+    }
+
+    private static boolean isListOfStructures(MemberModel member) {
+        if (!member.isList()) {
+            return false;
+        }
+        ListModel listModel = member.getListModel();
+        return !listModel.isSimple() && !listModel.isMap()
+               && listModel.getListMemberModel() != null
+               && !listModel.getListMemberModel().isList();
+    }
+}
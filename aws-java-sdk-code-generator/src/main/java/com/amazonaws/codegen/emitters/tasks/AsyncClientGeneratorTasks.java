@@ -19,6 +19,7 @@ import com.amazonaws.codegen.emitters.GeneratorTask;
 import com.amazonaws.codegen.emitters.GeneratorTaskParams;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -34,10 +35,15 @@ public class AsyncClientGeneratorTasks extends BaseGeneratorTasks {
     @Override
     protected List<GeneratorTask> createTasks() throws Exception {
         info("Emitting Async client classes");
-        return Arrays.asList(createClientClassTask(),
-                             createClientAbstractClassTask(),
-                             createClientBuilderTask(),
-                             createClientInterfaceTask());
+        List<GeneratorTask> tasks = new ArrayList<>(Arrays.asList(createClientClassTask(),
+                                                                  createClientAbstractClassTask(),
+                                                                  createClientBuilderTask(),
+                                                                  createClientInterfaceTask()));
+        if (model.getCustomizationConfig().isEmitCompletableFutureAsyncClient()) {
+            tasks.add(createCompletableFutureInterfaceTask());
+            tasks.add(createCompletableFutureClientTask());
+        }
+        return tasks;
     }
 
     private GeneratorTask createClientClassTask() throws IOException {
@@ -71,4 +77,20 @@ public class AsyncClientGeneratorTasks extends BaseGeneratorTasks {
                 freemarker.getAsyncInterfaceTemplate(),
                 model);
     }
+
+    private GeneratorTask createCompletableFutureInterfaceTask() throws IOException {
+        return new FreemarkerGeneratorTask(
+                baseDirectory,
+                model.getMetadata().getCompletableFutureAsyncInterface(),
+                freemarker.getCompletableFutureAsyncInterfaceTemplate(),
+                model);
+    }
+
+    private GeneratorTask createCompletableFutureClientTask() throws IOException {
+        return new FreemarkerGeneratorTask(
+                baseDirectory,
+                model.getMetadata().getCompletableFutureAsyncClient(),
+                freemarker.getCompletableFutureAsyncClientTemplate(),
+                model);
+    }
 }
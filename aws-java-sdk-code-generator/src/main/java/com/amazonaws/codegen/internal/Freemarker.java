@@ -251,4 +251,12 @@ public class Freemarker {
     public Template getEndpointDiscoveryCacheLoaderTemplate() throws IOException {
         return getTemplate(templateConfig.getEndpointDiscoveryCacheLoader());
     }
+
+    public Template getCompletableFutureAsyncInterfaceTemplate() throws IOException {
+        return getTemplate(templateConfig.getCompletableFutureAsyncInterface());
+    }
+
+    public Template getCompletableFutureAsyncClientTemplate() throws IOException {
+        return getTemplate(templateConfig.getCompletableFutureAsyncClient());
+    }
 }
@@ -244,6 +244,29 @@ public class CustomizationConfig {
      */
     private boolean useUidAsFilePrefix;
 
+    /**
+     * True if an additional {@code CompletableFuture} based async interface, and an adapter
+     * implementing it on top of the async client, should be generated. The generated code uses
+     * Java 8 APIs so this should only be enabled for modules targeting Java 8 or later.
+     */
+    private boolean emitCompletableFutureAsyncClient;
+
+    /**
+     * Operations that may be hedged, i.e. sent a second time concurrently when the first attempt
+     * is slow. Only idempotent operations without side effects should be listed here, e.g.
+     * {@code "hedgeSafeOperations" : ["GetItem", "Query"]}. Requests are only hedged by clients
+     * with {@link com.amazonaws.ClientConfiguration#useHedgedRequests() hedging} enabled.
+     */
+    private List<String> hedgeSafeOperations = Collections.emptyList();
+
+    /**
+     * Operations whose sync client also gets a method that streams the elements of one list
+     * member of the result as they are read from the response, keyed by operation name, with the
+     * name of that member as value. For example {@code "DescribeInstances" : "Reservations"}
+     * generates {@code describeInstancesStreaming}. The list must hold structures.
+     */
+    private Map<String, String> streamingListOperations = Collections.emptyMap();
+
     private CustomizationConfig(){
     }
 
@@ -586,5 +609,29 @@ public class CustomizationConfig {
         this.useUidAsFilePrefix = useUidAsFilePrefix;
     }
 
+    public boolean isEmitCompletableFutureAsyncClient() {
+        return emitCompletableFutureAsyncClient;
+    }
+
+    public void setEmitCompletableFutureAsyncClient(boolean emitCompletableFutureAsyncClient) {
+        this.emitCompletableFutureAsyncClient = emitCompletableFutureAsyncClient;
+    }
+
+    public List<String> getHedgeSafeOperations() {
+        return hedgeSafeOperations;
+    }
+
+    public void setHedgeSafeOperations(List<String> hedgeSafeOperations) {
+        this.hedgeSafeOperations = hedgeSafeOperations;
+    }
+
+    public Map<String, String> getStreamingListOperations() {
+        return streamingListOperations;
+    }
+
+    public void setStreamingListOperations(Map<String, String> streamingListOperations) {
+        this.streamingListOperations = streamingListOperations;
+    }
+
 
 }
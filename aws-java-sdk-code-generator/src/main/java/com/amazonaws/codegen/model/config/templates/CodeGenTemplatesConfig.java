@@ -36,6 +36,8 @@ public class CodeGenTemplatesConfig {
     private TopLevelTemplate waiterClass = new TopLevelTemplate("/templates/waiter/Waiter.ftl", null);
     private TopLevelTemplate endpointDiscoveryCache = new TopLevelTemplate("/templates/endpoint-discovery/Cache.ftl", null);
     private TopLevelTemplate endpointDiscoveryCacheLoader = new TopLevelTemplate("/templates/endpoint-discovery/CacheLoader.ftl", null);
+    private TopLevelTemplate completableFutureAsyncInterface = new TopLevelTemplate("/templates/common/CompletableFutureAsyncClientInterface.ftl", null);
+    private TopLevelTemplate completableFutureAsyncClient = new TopLevelTemplate("/templates/common/CompletableFutureAsyncClientClass.ftl", null);
     private TopLevelTemplate syncClient;
     private TopLevelTemplate asyncClient;
     private TopLevelTemplate syncAbstractClass;
@@ -396,4 +398,12 @@ public class CodeGenTemplatesConfig {
     public TopLevelTemplate getEndpointDiscoveryCacheLoader() {
         return endpointDiscoveryCacheLoader;
     }
+
+    public TopLevelTemplate getCompletableFutureAsyncInterface() {
+        return completableFutureAsyncInterface;
+    }
+
+    public TopLevelTemplate getCompletableFutureAsyncClient() {
+        return completableFutureAsyncClient;
+    }
 }
@@ -225,6 +225,16 @@ public class Metadata {
         return asyncInterface == null ? null : "Abstract" + asyncInterface;
     }
 
+    @JsonIgnore
+    public String getCompletableFutureAsyncInterface() {
+        return syncInterface == null ? null : syncInterface + "CompletableFutureAsync";
+    }
+
+    @JsonIgnore
+    public String getCompletableFutureAsyncClient() {
+        return syncInterface == null ? null : syncInterface + "CompletableFutureAsyncClient";
+    }
+
     public String getAsyncClient() {
         return asyncClient;
     }
@@ -59,6 +59,9 @@ public class OperationModel extends DocumentationModel {
     @JsonIgnore
     private ShapeModel outputShape;
 
+    @JsonIgnore
+    private MemberModel streamingListMember;
+
     public String getOperationName() {
         return operationName;
     }
@@ -122,6 +125,19 @@ public class OperationModel extends DocumentationModel {
         this.outputShape = outputShape;
     }
 
+    /**
+     * @return The list member of the result whose elements the sync client can stream, or null if
+     *         it doesn't get a streaming method for this operation.
+     * @see com.amazonaws.codegen.model.config.customization.CustomizationConfig#getStreamingListOperations()
+     */
+    public MemberModel getStreamingListMember() {
+        return streamingListMember;
+    }
+
+    public void setStreamingListMember(MemberModel streamingListMember) {
+        this.streamingListMember = streamingListMember;
+    }
+
     private static enum MethodType {
 
         SYNC(false),
@@ -262,6 +278,10 @@ public class OperationModel extends DocumentationModel {
         return "java.util.concurrent.Future<" + getAsyncReturnType() + ">";
     }
 
+    public String getCompletableFutureType() {
+        return "java.util.concurrent.CompletableFuture<" + getAsyncReturnType() + ">";
+    }
+
     public String getAsyncCallableType() {
         return "java.util.concurrent.Callable<" + getAsyncReturnType() + ">";
     }
@@ -22,6 +22,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -174,6 +175,26 @@ public class ShapeModel extends DocumentationModel {
         return unboundMembers;
     }
 
+    /**
+     * @return The unbound members grouped by the hash code of their unmarshall location name, keyed
+     *         by the decimal hash code. Generated JSON unmarshallers switch on the hash of the
+     *         current field name and only compare names within the matching group.
+     */
+    @JsonIgnore
+    public Map<String, List<MemberModel>> getUnboundMembersByLocationNameHash() {
+        Map<String, List<MemberModel>> groups = new LinkedHashMap<String, List<MemberModel>>();
+        for (MemberModel member : getUnboundMembers()) {
+            String hash = String.valueOf(member.getHttp().getUnmarshallLocationName().hashCode());
+            List<MemberModel> group = groups.get(hash);
+            if (group == null) {
+                group = new ArrayList<MemberModel>();
+                groups.put(hash, group);
+            }
+            group.add(member);
+        }
+        return groups;
+    }
+
     /**
      * @return True if the shape has an explicit payload member or implicit payload member(s).
      */
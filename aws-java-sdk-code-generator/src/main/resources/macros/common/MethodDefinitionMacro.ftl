@@ -42,6 +42,12 @@
             this.${variableName} = null;
             return;
         }
+        <#if !listModel.simple>
+        if (LazyUnmarshalledList.claim(${setter.variableName})) {
+            this.${variableName} = (${listModel.templateType}) ${setter.variableName};
+            return;
+        }
+        </#if>
 
         this.${variableName} =
             new ${listModel.templateImplType}(${setter.variableName});
@@ -6,7 +6,8 @@
     <#if member.deprecated>
     @Deprecated
     </#if>
-    private ${variable.variableDeclarationType} ${variable.variableName};
+    <#-- Lists are declared by interface so they can hold a lazily unmarshalled list -->
+    private <#if member.list>${member.listModel.templateType}<#else>${variable.variableDeclarationType}</#if> ${variable.variableName};
 </#list>
 </#if>
 </#macro>
\ No newline at end of file
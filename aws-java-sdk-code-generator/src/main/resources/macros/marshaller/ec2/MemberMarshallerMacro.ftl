@@ -16,10 +16,10 @@
 
         <#if member.simple>
             <#if member.idempotencyToken>
-                request.addParameter("${marshallLocationName}", <@IdempotencyTokenMacro.content getMember member.variable.simpleType/>);
+                request.addParameter(${keyLiteral(marshallLocationName)}, <@IdempotencyTokenMacro.content getMember member.variable.simpleType/>);
             <#else>
                 if(${getMember}() != null) {
-                    request.addParameter("${marshallLocationName}", StringUtils.from${member.variable.simpleType}(${getMember}()));
+                    request.addParameter(${keyLiteral(marshallLocationName)}, StringUtils.from${member.variable.simpleType}(${getMember}()));
                 }
             </#if>
         <#elseif member.list>
@@ -31,8 +31,8 @@
             <#local loopVariable = listVariable + "Value"/>
 
             <#if customConfig.useAutoConstructList>
-                ${listModel.templateImplType} ${listVariable} = (${listModel.templateImplType})${getMember}();
-                if (!${listVariable}.isEmpty() || !${listVariable}.isAutoConstruct()) {
+                ${listModel.templateType} ${listVariable} = ${getMember}();
+                if (!${listVariable}.isEmpty() || !com.amazonaws.internal.SdkInternalList.isAutoConstruct(${listVariable})) {
             <#else>
                 ${listModel.templateType} ${listVariable} = ${getMember}();
                 if (${listVariable} != null) {
@@ -43,17 +43,19 @@
                     <#if listModel.simple>
                          if (${loopVariable} != null) {
                             <#if listModel.memberAdditionalMarshallingPath?has_content>
-                                request.addParameter("${marshallLocationName}." + ${listIndex} + ".${listModel.memberAdditionalMarshallingPath}", StringUtils.from${listModel.memberType}(${loopVariable}));
+                                request.addParameter(${keyLiteral(marshallLocationName + ".\" + " + listIndex + " + \"." + listModel.memberAdditionalMarshallingPath)}, StringUtils.from${listModel.memberType}(${loopVariable}));
                             <#else>
-                                request.addParameter("${marshallLocationName}." + ${listIndex}, StringUtils.from${listModel.memberType}(${loopVariable}));
+                                request.addParameter(${keyLiteral(marshallLocationName + ".\" + " + listIndex + " + \"")}, StringUtils.from${listModel.memberType}(${loopVariable}));
                             </#if>
                          }
                     <#else>
+                        <#local entryPath = marshallLocationName + ".\" + " + listIndex + " + \""/>
                         <#if listModel.memberAdditionalMarshallingPath?has_content>
-                            <@MemberMarshallerMacro.content customConfig listModel.memberType loopVariable shapes marshallLocationName + ".\" + " + listIndex + " + \"."+listModel.memberAdditionalMarshallingPath+"\""/>
-                        <#else>
-                            <@MemberMarshallerMacro.content customConfig listModel.memberType loopVariable shapes marshallLocationName + ".\" + " + listIndex + " + \""/>
+                            <#local entryPath = entryPath + "." + listModel.memberAdditionalMarshallingPath/>
                         </#if>
+                        <#local entryPrefix = listVariable + "Prefix"/>
+                        String ${entryPrefix} = ${keyLiteral(entryPath)};
+                        <@MemberMarshallerMacro.content customConfig listModel.memberType loopVariable shapes "\" + " + entryPrefix + " + \""/>
                     </#if>
                     ${listIndex}++;
                 }
@@ -68,3 +70,12 @@
     </#list>
 </#if>
 </#macro>
+
+<#--
+    Renders a parameter name as a Java expression. Names within list entries start with the
+    entry's prefix variable, which is declared once per entry rather than rebuilding the whole
+    name for each member.
+-->
+<#function keyLiteral path>
+    <#return ("\"" + path + "\"")?remove_beginning("\"\" + ")?remove_ending(" + \"\"")/>
+</#function>
@@ -13,10 +13,10 @@
         <#local parameterPath = contextPath + "." + parameterPath/>
     </#if>
     <#if member.idempotencyToken>
-        request.addParameter("${parameterPath}", <@IdempotencyTokenMacro.content getMember member.variable.simpleType/>);
+        request.addParameter(${keyLiteral(parameterPath)}, <@IdempotencyTokenMacro.content getMember member.variable.simpleType/>);
     <#else>
         if(${getMember}() != null) {
-            request.addParameter("${parameterPath}", StringUtils.from${variable.simpleType}(${getMember}()));
+            request.addParameter(${keyLiteral(parameterPath)}, StringUtils.from${variable.simpleType}(${getMember}()));
         }
     </#if>
 <#elseif member.list>
@@ -59,23 +59,23 @@
     <#if customConfig.useAutoConstructList>
         <#if listModel.sendEmptyQueryString>
             if (${getMember}().isEmpty()) {
-                request.addParameter("${parameterRootPath}", "");
+                request.addParameter(${keyLiteral(parameterRootPath)}, "");
             }
         </#if>
         <#if listModel.marshallNonAutoConstructedEmptyLists>
-            if (${getMember}().isEmpty() && !((${listModel.templateImplType})${getMember}()).isAutoConstruct()) {
-                request.addParameter("${parameterRootPath}", "");
+            if (${getMember}().isEmpty() && !com.amazonaws.internal.SdkInternalList.isAutoConstruct(${getMember}())) {
+                request.addParameter(${keyLiteral(parameterRootPath)}, "");
             }
         </#if>
-        if (!${getMember}().isEmpty() || !((${listModel.templateImplType})${getMember}()).isAutoConstruct()) {
-            ${listModel.templateImplType} ${listVariable} = (${listModel.templateImplType})${getMember}();
+        if (!${getMember}().isEmpty() || !com.amazonaws.internal.SdkInternalList.isAutoConstruct(${getMember}())) {
+            ${listModel.templateType} ${listVariable} = ${getMember}();
     <#else>
 
         if (${getMember}() != null) {
             ${listModel.templateType} ${listVariable} = ${getMember}();
             <#-- For query protocol, an empty list is serialized differently. -->
             if (${listVariable}.isEmpty()) {
-                request.addParameter("${parameterRootPath}", "");
+                request.addParameter(${keyLiteral(parameterRootPath)}, "");
             } else {
     </#if>
                 int ${listIndex} = 1;
@@ -83,10 +83,12 @@
                 for (${listModel.memberType} ${loopVariable} : ${listVariable}) {
                     <#if listModel.simple>
                     if (${loopVariable} != null) {
-                        request.addParameter("${parameterPath}." + ${listIndex}, StringUtils.from${listModel.simpleType}(${loopVariable}));
+                        request.addParameter(${keyLiteral(parameterPath + ".\" + " + listIndex + " + \"")}, StringUtils.from${listModel.simpleType}(${loopVariable}));
                     }
                     <#else>
-                    <@MemberMarshallerMacro.content customConfig listModel.memberType loopVariable shapes parameterPath + ".\" + " + listIndex + " + \""/>
+                    <#local entryPrefix = listVariable + "Prefix"/>
+                    String ${entryPrefix} = ${keyLiteral(parameterPath + ".\" + " + listIndex + " + \"")};
+                    <@MemberMarshallerMacro.content customConfig listModel.memberType loopVariable shapes "\" + " + entryPrefix + " + \""/>
                     </#if>
                     ${listIndex}++;
                 }
@@ -114,16 +116,19 @@
     </#if>
             int ${listIndex} = 1;
             for (Map.Entry<${mapModel.keyType},${mapModel.valueType}> entry : ${variable.variableName}.entrySet()) {
+                <#local entryPrefix = variable.variableName + "EntryPrefix"/>
+                <#local entryPath = "\" + " + entryPrefix + " + \""/>
+                String ${entryPrefix} = ${keyLiteral(parameterPath + ".\" + " + listIndex + " + \"")};
                 if (entry.getKey() != null) {
-                    request.addParameter("${parameterPath}." + ${listIndex} + ".${mapModel.keyLocationName}", StringUtils.from${mapModel.keyType}(entry.getKey()));
+                    request.addParameter(${keyLiteral(entryPath + ".${mapModel.keyLocationName}")}, StringUtils.from${mapModel.keyType}(entry.getKey()));
                 }
                 <#if mapModel.valueSimple>
                 if (entry.getValue() != null) {
-                    request.addParameter("${parameterPath}." + ${listIndex} + ".${mapModel.valueLocationName}", StringUtils.from${mapModel.valueModel.variable.simpleType}(entry.getValue()));
+                    request.addParameter(${keyLiteral(entryPath + ".${mapModel.valueLocationName}")}, StringUtils.from${mapModel.valueModel.variable.simpleType}(entry.getValue()));
                 }
                 <#else>
                 if (entry.getValue() != null) {
-                    <#local path = parameterPath + ".\" + " + listIndex + " + \"" + ".${mapModel.valueLocationName}"/>
+                    <#local path = entryPath + ".${mapModel.valueLocationName}"/>
                     <@MemberMarshallerMacro.content customConfig mapModel.valueType "entry.getValue()" shapes path/>
                 }
                 </#if>
@@ -149,3 +154,12 @@
 </#list>
 </#if>
 </#macro>
+
+<#--
+    Renders a parameter name as a Java expression. Names within list and map entries start with
+    the entry's prefix variable, which is declared once per entry rather than rebuilding the whole
+    name for each member.
+-->
+<#function keyLiteral path>
+    <#return ("\"" + path + "\"")?remove_beginning("\"\" + ")?remove_ending(" + \"\"")/>
+</#function>
@@ -22,8 +22,8 @@
     <#local loopVariable = listVariable + "Value"/>
 
   <#if customConfig.useAutoConstructList>
-      ${listModel.templateImplType} ${listVariable} = (${listModel.templateImplType})${getMember}();
-      if (!${listVariable}.isEmpty() || !${listVariable}.isAutoConstruct()) {
+      ${listModel.templateType} ${listVariable} = ${getMember}();
+      if (!${listVariable}.isEmpty() || !com.amazonaws.internal.SdkInternalList.isAutoConstruct(${listVariable})) {
   <#else>
       ${listModel.templateType} ${listVariable} = ${getMember}();
       if (${listVariable} != null) {
@@ -0,0 +1,25 @@
+<#macro content operationModel>
+<#local listMember = operationModel.streamingListMember />
+<#local outputShape = shapes[operationModel.returnType.returnType] />
+<#local elementPath = listMember.http.unmarshallLocationName />
+<#if listMember.http.additionalUnmarshallingPath?has_content>
+    <#local elementPath = elementPath + "/" + listMember.http.additionalUnmarshallingPath />
+</#if>
+<#if listMember.http.flattened>
+    <#local elementPath = listMember.listModel.memberLocationName!listMember.name />
+<#else>
+    <#local elementPath = elementPath + "/" + listMember.listModel.memberLocationName!"member" />
+</#if>
+<#if listMember.listModel.memberAdditionalUnmarshallingPath?has_content>
+    <#local elementPath = elementPath + "/" + listMember.listModel.memberAdditionalUnmarshallingPath />
+</#if>
+<#-- The list is a child of the ???Response element, or of its ???Result element with a result wrapper -->
+<#if outputShape.unmarshaller.resultWrapper?has_content>
+    <#local targetDepth = 3 />
+<#else>
+    <#local targetDepth = 2 />
+</#if>
+    HttpResponseHandler<AmazonWebServiceResponse<StreamingListIterator<${listMember.listModel.memberType}>>> responseHandler =
+        new StaxStreamingListResponseHandler<${listMember.listModel.memberType}>(
+            ${listMember.listModel.simpleType}StaxUnmarshaller.getInstance(), "${elementPath}", ${targetDepth});
+</#macro>
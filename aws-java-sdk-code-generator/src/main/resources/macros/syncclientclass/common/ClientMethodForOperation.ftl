@@ -37,6 +37,9 @@
                 request.addHandlerContext(HandlerContextKey.SIGNING_REGION, getSigningRegion());
                 request.addHandlerContext(HandlerContextKey.SERVICE_ID, "${metadata.serviceId}");
                 request.addHandlerContext(HandlerContextKey.OPERATION_NAME, "${operationModel.operationName}");
+                <#if customConfig.hedgeSafeOperations?seq_contains(operationModel.operationName)>
+                request.addHandlerContext(HandlerContextKey.HEDGE_SAFE, Boolean.TRUE);
+                </#if>
             } finally {
                   awsRequestMetrics.endEvent(Field.RequestMarshallTime);
             }
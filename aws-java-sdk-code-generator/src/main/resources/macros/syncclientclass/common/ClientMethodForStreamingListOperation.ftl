@@ -0,0 +1,52 @@
+<#macro content metadata operationModel customConfig>
+<#local elementType = operationModel.streamingListMember.listModel.memberType />
+
+    @Override
+    <#if operationModel.deprecated>
+        @Deprecated
+    </#if>
+    public StreamingListIterator<${elementType}> ${operationModel.methodName}Streaming(${operationModel.input.variableType} request) {
+        request = beforeClientExecution(request);
+        return execute${operationModel.methodName?cap_first}Streaming(request);
+    }
+
+    @SdkInternalApi
+    final StreamingListIterator<${elementType}> execute${operationModel.methodName?cap_first}Streaming(${operationModel.input.variableType} ${operationModel.input.variableName}) {
+
+        ExecutionContext executionContext = createExecutionContext(${operationModel.input.variableName});
+        AWSRequestMetrics awsRequestMetrics = executionContext.getAwsRequestMetrics();
+        awsRequestMetrics.startEvent(Field.ClientExecuteTime);
+        Request<${operationModel.input.variableType}> request = null;
+        Response<StreamingListIterator<${elementType}>> response = null;
+
+        try {
+            awsRequestMetrics.startEvent(Field.RequestMarshallTime);
+            try {
+                request = <@RequestMarshallerCreation.content operationModel />.marshall(
+                    super.beforeMarshalling(${operationModel.input.variableName}));
+                // Binds the request metrics to the current request.
+                request.setAWSRequestMetrics(awsRequestMetrics);
+                request.addHandlerContext(HandlerContextKey.SIGNING_REGION, getSigningRegion());
+                request.addHandlerContext(HandlerContextKey.SERVICE_ID, "${metadata.serviceId}");
+                request.addHandlerContext(HandlerContextKey.OPERATION_NAME, "${operationModel.operationName}");
+            } finally {
+                  awsRequestMetrics.endEvent(Field.RequestMarshallTime);
+            }
+
+            URI cachedEndpoint = null;
+            <#if operationModel.endpointDiscovery?has_content>
+                if (endpointDiscoveryEnabled) {
+                    cachedEndpoint = cache.get(awsCredentialsProvider.getCredentials().getAWSAccessKeyId(), false, endpoint);
+                }
+            </#if>
+
+            <@StreamingListResponseHandlerCreation.content operationModel />
+            response = <@ClientInvokeMethodInvocation.content operationModel />
+
+            return response.getAwsResponse();
+
+        } finally {
+            endClientExecution(awsRequestMetrics, request, response);
+        }
+    }
+</#macro>
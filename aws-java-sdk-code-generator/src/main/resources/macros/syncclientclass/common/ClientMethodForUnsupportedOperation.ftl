@@ -7,4 +7,14 @@
     public ${operationModel.syncReturnType} ${operationModel.methodName}(${operationModel.input.variableType} request) {
         throw new java.lang.UnsupportedOperationException();
     }
+    <#if operationModel.streamingListMember??>
+
+    @Override
+    <#if operationModel.deprecated>
+        @Deprecated
+    </#if>
+    public StreamingListIterator<${operationModel.streamingListMember.listModel.memberType}> ${operationModel.methodName}Streaming(${operationModel.input.variableType} request) {
+        throw new java.lang.UnsupportedOperationException();
+    }
+    </#if>
 </#macro>
\ No newline at end of file
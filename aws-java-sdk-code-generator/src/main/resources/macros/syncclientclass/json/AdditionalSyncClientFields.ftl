@@ -1,6 +1,17 @@
 <#macro content serviceModelRoot>
 <#local customConfig = serviceModelRoot.customizationConfig/>
+<#local hasBinaryProtocol = serviceModelRoot.metadata.cborProtocol || serviceModelRoot.metadata.ionProtocol/>
+<#if hasBinaryProtocol>
+    /**
+     * Protocol factory used by this client, which honours the client's
+     * {@link ClientConfiguration#useBinaryProtocol()} setting.
+     */
+    private ${serviceModelRoot.metadata.protocolFactory} protocolFactory;
+
+    private static final ${serviceModelRoot.metadata.protocolFactory} DEFAULT_PROTOCOL_FACTORY = new ${serviceModelRoot.metadata.protocolFactory}(new JsonClientMetadata()
+<#else>
     private static final ${serviceModelRoot.metadata.protocolFactory} protocolFactory = new ${serviceModelRoot.metadata.protocolFactory}(new JsonClientMetadata()
+</#if>
         .withProtocolVersion("${serviceModelRoot.metadata.jsonVersion}")
         .withSupportsCbor(${serviceModelRoot.metadata.cborProtocol?c})
         .withSupportsIon(${serviceModelRoot.metadata.ionProtocol?c})
@@ -1,5 +1,8 @@
 <#macro content serviceModelRoot>
     private void init() {
+        <#if serviceModelRoot.metadata.cborProtocol || serviceModelRoot.metadata.ionProtocol>
+        protocolFactory = DEFAULT_PROTOCOL_FACTORY.withBinaryProtocol(clientConfiguration.useBinaryProtocol());
+        </#if>
         <#if serviceModelRoot.endpointOperation?has_content>
         if (endpointDiscoveryEnabled) {
             cache = new ${serviceModelRoot.metadata.syncInterface}EndpointCache(this);
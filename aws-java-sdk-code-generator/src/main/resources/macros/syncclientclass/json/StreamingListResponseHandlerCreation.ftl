@@ -0,0 +1,6 @@
+<#macro content operationModel>
+<#local listMember = operationModel.streamingListMember />
+    HttpResponseHandler<AmazonWebServiceResponse<StreamingListIterator<${listMember.listModel.memberType}>>> responseHandler =
+        protocolFactory.createStreamingListResponseHandler(
+            ${listMember.listModel.simpleType}JsonUnmarshaller.getInstance(), "${listMember.http.unmarshallLocationName}", 1);
+</#macro>
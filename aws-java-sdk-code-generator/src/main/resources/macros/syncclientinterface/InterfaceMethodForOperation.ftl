@@ -18,4 +18,19 @@ ${operationModel.syncReturnType} ${operationModel.methodName}(${operationModel.i
     ${operationModel.syncReturnType} ${operationModel.methodName}(${form.argumentsDeclaration});
   </#list>
 </#if>
+<#if operationModel.streamingListMember??>
+
+    /**
+     * Invokes the ${operationModel.operationName} operation and streams the ${operationModel.streamingListMember.name} of its result
+     * as they are read from the response, rather than unmarshalling the whole result first. Any
+     * other part of the result is skipped. The returned iterator holds on to the HTTP connection
+     * until it reaches the end of the response or is closed, so callers must do either.
+     *
+     * @see #${operationModel.methodName}(${operationModel.input.variableType})
+     */
+  <#if operationModel.deprecated>
+    @Deprecated
+  </#if>
+    StreamingListIterator<${operationModel.streamingListMember.listModel.memberType}> ${operationModel.methodName}Streaming(${operationModel.input.variableType} ${operationModel.input.variableName});
+</#if>
 </#macro>
@@ -28,6 +28,16 @@
                     <#local timestampFormat = memberModel.listModel.listMemberModel.variable.timestampFormat />
                         ${shapeVarName}.with${memberModel.name}(DateStaxUnmarshallerFactory.getInstance("${timestampFormat}").unmarshall(context));
                     <#else>
+                        <#if !memberModel.listModel.simple>
+                    if (context.isLazyListUnmarshallingEnabled()) {
+                        LazyUnmarshalledList<${memberModel.listModel.memberType}> lazyList = LazyUnmarshalledList.appendLazily(
+                                ${shapeVarName}.${memberModel.getterMethodName}(), ${memberModel.listModel.simpleType}StaxUnmarshaller.getInstance(), context.bufferCurrentElement());
+                        if (lazyList != ${shapeVarName}.${memberModel.getterMethodName}()) {
+                            ${shapeVarName}.${memberModel.setterMethodName}(lazyList);
+                        }
+                        continue;
+                    }
+                        </#if>
                          ${shapeVarName}.with${memberModel.name}(${memberModel.listModel.simpleType}StaxUnmarshaller.getInstance().unmarshall(context));
                     </#if>
                     continue;
@@ -1,5 +1,5 @@
 <#macro content shapeVarName memberModel >
-if (context.testExpression("${memberModel.http.unmarshallLocationName}", targetDepth)) {
+if ("${memberModel.http.unmarshallLocationName}".equals(fieldName)) {
     context.nextToken();
     ${shapeVarName}.${memberModel.setterMethodName}(<@MemberUnmarshallerDeclarationMacro.content memberModel />.unmarshall(context));
 }
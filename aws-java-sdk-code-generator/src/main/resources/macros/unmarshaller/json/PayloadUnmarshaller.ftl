@@ -24,10 +24,23 @@
         Headers or the status code will be serialized in the payload response (wrapped in an
         artificial container object) -->
         <#else>
-            if (token == FIELD_NAME || token == START_OBJECT) {
-                <#list shape.unboundMembers as payloadMember>
-                    <@MemberUnmarshallerInvocationMacro.content shape.variable.variableName payloadMember />
-                </#list>
+            <#-- Members are dispatched on the hash of the field name and only the names sharing
+            that hash are compared -->
+            <#assign membersByHash=shape.unboundMembersByLocationNameHash />
+            if ((token == FIELD_NAME || token == START_OBJECT) && context.getCurrentDepth() == targetDepth) {
+                <#-- Null for an object directly inside an array, which matches no member -->
+                String fieldName = context.getCurrentParentElement();
+                if (fieldName != null) {
+                    switch (fieldName.hashCode()) {
+                    <#list membersByHash?keys as nameHash>
+                    case ${nameHash}:
+                        <#list membersByHash[nameHash] as payloadMember>
+                            <@MemberUnmarshallerInvocationMacro.content shape.variable.variableName payloadMember />
+                        </#list>
+                        break;
+                    </#list>
+                    }
+                }
             } else if (token == END_ARRAY || token == END_OBJECT) {
                 if (context.getLastParsedParentElement() == null || context.getLastParsedParentElement().equals(currentParentElement)) {
                     if (context.getCurrentDepth() <= originalDepth) break;
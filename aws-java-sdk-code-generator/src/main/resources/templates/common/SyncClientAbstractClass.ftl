@@ -5,6 +5,7 @@ import javax.annotation.Generated;
 
 import ${metadata.packageName}.model.*;
 import com.amazonaws.*;
+import com.amazonaws.transform.StreamingListIterator;
 <#if hasWaiters>
 import ${metadata.packageName}.waiters.${metadata.syncInterface}Waiters;
 </#if>
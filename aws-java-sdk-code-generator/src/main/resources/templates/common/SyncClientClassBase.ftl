@@ -304,6 +304,9 @@ public class ${metadata.syncClient} extends AmazonWebServiceClient implements ${
     <#if !customizationConfig.skipClientMethodForOperations?seq_contains("${operationModel.operationName}")>
         <@ClientMethodForOperation.content metadata operationModel customizationConfig/>
         <@ClientMethodForOperationWithSimpleForm.content operationModel />
+        <#if operationModel.streamingListMember??>
+        <@ClientMethodForStreamingListOperation.content metadata operationModel customizationConfig/>
+        </#if>
     </#if>
 </#list>
 
@@ -416,7 +419,11 @@ public class ${metadata.syncClient} extends AmazonWebServiceClient implements ${
 
     <#if metadata.isJsonProtocol()>
     @com.amazonaws.annotation.SdkInternalApi
+    <#if metadata.cborProtocol || metadata.ionProtocol>
+    ${metadata.protocolFactory} getProtocolFactory() {
+    <#else>
     static ${metadata.protocolFactory} getProtocolFactory() {
+    </#if>
         return protocolFactory;
     }
     </#if>
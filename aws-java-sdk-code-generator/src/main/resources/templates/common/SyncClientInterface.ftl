@@ -6,6 +6,7 @@ import javax.annotation.Generated;
 
 import com.amazonaws.*;
 import com.amazonaws.regions.*;
+import com.amazonaws.transform.StreamingListIterator;
 
 import ${metadata.packageName}.model.*;
 <#if hasWaiters>
@@ -3,6 +3,8 @@ package ${metadata.packageName}.model;
 
 import java.io.Serializable;
 import javax.annotation.Generated;
+
+import com.amazonaws.transform.LazyUnmarshalledList;
 <#if shouldEmitStructuredPojoInterface>
 import com.amazonaws.protocol.StructuredPojo;
 import com.amazonaws.protocol.ProtocolMarshaller;
@@ -3,6 +3,8 @@ package ${metadata.packageName}.model;
 
 import javax.annotation.Generated;
 
+import com.amazonaws.transform.LazyUnmarshalledList;
+
 /**
  * <#if shape.documentation?has_content>${shape.documentation}</#if>
  */
@@ -5,6 +5,7 @@ import java.io.Serializable;
 import javax.annotation.Generated;
 
 import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.transform.LazyUnmarshalledList;
 <#if shape.requestSignerAware>
 import com.amazonaws.auth.RequestSigner;
 import com.amazonaws.opensdk.protect.auth.RequestSignerAware;
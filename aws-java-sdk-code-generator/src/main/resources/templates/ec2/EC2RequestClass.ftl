@@ -6,6 +6,7 @@ import javax.annotation.Generated;
 
 import com.amazonaws.AmazonWebServiceRequest;
 import com.amazonaws.Request;
+import com.amazonaws.transform.LazyUnmarshalledList;
 import ${metadata.packageName}.model.transform.${shape.shapeName}Marshaller;
 
 /**
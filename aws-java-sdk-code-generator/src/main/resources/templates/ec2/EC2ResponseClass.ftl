@@ -5,6 +5,7 @@ import java.io.Serializable;
 import javax.annotation.Generated;
 
 import com.amazonaws.AmazonWebServiceResult;
+import com.amazonaws.transform.LazyUnmarshalledList;
 
 /**
  * <#if shape.documentation?has_content>${shape.documentation}</#if>
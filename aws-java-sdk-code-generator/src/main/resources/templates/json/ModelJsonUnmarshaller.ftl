@@ -53,14 +53,8 @@ public class ${shape.shapeName}JsonUnmarshaller implements Unmarshaller<${shape.
     <#if explicitPayloadMember.http.isStreaming>
         ${shape.variable.variableName}.${explicitPayloadMember.setterMethodName}(context.getHttpResponse().getContent());
     <#elseif explicitPayloadMember.variable.variableType == "java.nio.ByteBuffer">
-        java.io.InputStream is = context.getHttpResponse().getContent();
-        if(is != null) {
-            try {
-                ${shape.variable.variableName}.${explicitPayloadMember.setterMethodName}(java.nio.ByteBuffer.wrap(com.amazonaws.util.IOUtils.toByteArray(is)));
-            } finally {
-                com.amazonaws.util.IOUtils.closeQuietly(is, null);
-            }
-        }
+        ${shape.variable.variableName}.${explicitPayloadMember.setterMethodName}(
+                com.amazonaws.transform.ByteBufferPayloadUnmarshaller.getInstance().unmarshall(context.getHttpResponse()));
     <#else>
         <@PayloadUnmarshallerMacro.content shape />
      </#if>
@@ -11,6 +11,7 @@ import javax.annotation.Generated;
 
 import ${metadata.packageName}.model.*;
 import com.amazonaws.transform.Unmarshaller;
+import com.amazonaws.transform.LazyUnmarshalledList;
 import com.amazonaws.transform.MapEntry;
 import com.amazonaws.transform.StaxUnmarshallerContext;
 import com.amazonaws.transform.SimpleTypeStaxUnmarshallers.*;
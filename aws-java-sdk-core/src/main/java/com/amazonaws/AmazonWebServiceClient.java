@@ -48,6 +48,7 @@ import com.amazonaws.util.AwsHostNameUtils;
 import com.amazonaws.util.Classes;
 import com.amazonaws.util.RuntimeHttpUtils;
 import com.amazonaws.util.StringUtils;
+import com.amazonaws.util.ValidationUtils;
 import java.net.URI;
 import java.util.Collection;
 import java.util.Collections;
@@ -496,6 +497,41 @@ public abstract class AmazonWebServiceClient {
         client.shutdown();
     }
 
+    /**
+     * Opens connections to this client's endpoint ahead of the first requests, so they don't pay
+     * for the TCP and TLS handshakes, for example right after a deploy or scale-out. This call
+     * blocks until the connections are established. Connections through a proxy are not warmed
+     * up.
+     *
+     * @param connections
+     *            Number of connections the connection pool should hold to the endpoint, capped at
+     *            {@link ClientConfiguration#getMaxConnections()}
+     * @return The number of connections opened
+     * @throws SdkClientException
+     *             If a connection could not be established
+     */
+    public int warmUpConnections(int connections) {
+        ValidationUtils.assertIsPositive(connections, "connections");
+        return client.warmUpConnections(endpoint, connections);
+    }
+
+    /**
+     * Warms up connections to this client's endpoint like {@link #warmUpConnections(int)}, then
+     * keeps those connections open and the connection pool topped up in the background until the
+     * client is shut down.
+     *
+     * @param connections
+     *            Number of connections the connection pool should hold to the endpoint, capped at
+     *            {@link ClientConfiguration#getMaxConnections()}
+     * @return The number of connections opened
+     * @throws SdkClientException
+     *             If a connection could not be established
+     */
+    public int keepConnectionsWarm(int connections) {
+        ValidationUtils.assertIsPositive(connections, "connections");
+        return client.keepConnectionsWarm(endpoint, connections);
+    }
+
     /**
      * @deprecated by {@link #addRequestHandler(RequestHandler2)}.
      *
@@ -15,6 +15,8 @@
 package com.amazonaws;
 
 import com.amazonaws.annotation.NotThreadSafe;
+import com.amazonaws.http.apache.client.impl.ConnectionManagerAwareHttpClient;
+import com.amazonaws.http.client.HttpClientFactory;
 
 import org.apache.http.conn.socket.ConnectionSocketFactory;
 
@@ -24,11 +26,13 @@ import org.apache.http.conn.socket.ConnectionSocketFactory;
 @NotThreadSafe
 public final class ApacheHttpClientConfig {
     private ConnectionSocketFactory sslSocketFactory;
+    private HttpClientFactory<ConnectionManagerAwareHttpClient> httpClientFactory;
 
     ApacheHttpClientConfig() {}
 
     ApacheHttpClientConfig(ApacheHttpClientConfig that) {
         this.sslSocketFactory = that.sslSocketFactory;
+        this.httpClientFactory = that.httpClientFactory;
     }
 
     /**
@@ -61,4 +65,39 @@ public final class ApacheHttpClientConfig {
         this.sslSocketFactory = sslSocketFactory;
         return this;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the custom factory used to create the underlying HTTP transport;
+     * or null if the default Apache HTTP client based transport is used.
+     */
+    public HttpClientFactory<ConnectionManagerAwareHttpClient> getHttpClientFactory() {
+        return httpClientFactory;
+    }
+
+    /**
+     * Sets a custom factory used to create the underlying HTTP transport. The
+     * factory is invoked once per {@link com.amazonaws.http.AmazonHttpClient}
+     * with the settings derived from the owning {@link ClientConfiguration}.
+     * Retries, request signing and request handlers are still applied by the
+     * SDK around every request sent through the transport.
+     *
+     * @param httpClientFactory a custom transport factory; or null to use the
+     * default Apache HTTP client based transport.
+     */
+    public void setHttpClientFactory(
+            HttpClientFactory<ConnectionManagerAwareHttpClient> httpClientFactory) {
+        this.httpClientFactory = httpClientFactory;
+    }
+
+    /**
+     * Fluent API for {@link #setHttpClientFactory(HttpClientFactory)}.
+     *
+     * @param httpClientFactory a custom transport factory; or null to use the
+     * default Apache HTTP client based transport.
+     */
+    public ApacheHttpClientConfig withHttpClientFactory(
+            HttpClientFactory<ConnectionManagerAwareHttpClient> httpClientFactory) {
+        setHttpClientFactory(httpClientFactory);
+        return this;
+    }
+}
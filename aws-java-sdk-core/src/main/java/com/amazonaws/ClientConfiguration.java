@@ -127,6 +127,41 @@ public class ClientConfiguration {
 
     public static final int DEFAULT_MAX_CONSECUTIVE_RETRIES_BEFORE_THROTTLING = 100;
 
+    /**
+     * The default on whether to adaptively limit the client side request rate.
+     */
+    public static final boolean DEFAULT_USE_ADAPTIVE_RATE_LIMITING = false;
+
+    /**
+     * The default on whether to use a circuit breaker per endpoint.
+     */
+    public static final boolean DEFAULT_USE_CIRCUIT_BREAKER = false;
+
+    /**
+     * The default on whether to hedge slow requests to operations that are safe to hedge.
+     */
+    public static final boolean DEFAULT_USE_HEDGED_REQUESTS = false;
+
+    /**
+     * The default latency percentile after which a hedge request is sent.
+     */
+    public static final int DEFAULT_HEDGING_DELAY_PERCENTILE = 95;
+
+    /**
+     * The default on whether to use the binary form of a service's wire protocol when it has one.
+     */
+    public static final boolean DEFAULT_USE_BINARY_PROTOCOL = true;
+
+    /**
+     * The default on whether list members of responses are unmarshalled on first access.
+     */
+    public static final boolean DEFAULT_USE_LAZY_LIST_UNMARSHALLING = false;
+
+    /**
+     * The default on whether scratch buffers are pooled.
+     */
+    public static final boolean DEFAULT_USE_BUFFER_POOLING = true;
+
 
     /** A prefix to the HTTP user agent header passed with all HTTP requests.  */
     private String userAgentPrefix = DEFAULT_USER_AGENT;
@@ -318,6 +353,12 @@ public class ClientConfiguration {
      */
     private SecureRandom secureRandom;
 
+    /**
+     * Whether {@link #secureRandom} was set by the user rather than defaulted, in which case
+     * clients don't share the process-wide SSL context.
+     */
+    private boolean secureRandomConfigured;
+
     /**
      * Headers to be added to all requests
      */
@@ -341,6 +382,43 @@ public class ClientConfiguration {
      */
     private int maxConsecutiveRetriesBeforeThrottling = DEFAULT_MAX_CONSECUTIVE_RETRIES_BEFORE_THROTTLING;
 
+    /**
+     * Whether the client should limit its own sending rate based on throttling responses.
+     */
+    private boolean useAdaptiveRateLimiting = DEFAULT_USE_ADAPTIVE_RATE_LIMITING;
+
+    /**
+     * Whether the client should stop sending requests to an endpoint that is mostly failing.
+     */
+    private boolean useCircuitBreaker = DEFAULT_USE_CIRCUIT_BREAKER;
+
+    /**
+     * Whether slow requests to hedge-safe operations should be raced against a duplicate request.
+     */
+    private boolean useHedgedRequests = DEFAULT_USE_HEDGED_REQUESTS;
+
+    /**
+     * The latency percentile of recent requests after which a hedge request is sent.
+     */
+    private int hedgingDelayPercentile = DEFAULT_HEDGING_DELAY_PERCENTILE;
+
+    /**
+     * Whether to use the binary form of the service's wire protocol (CBOR or binary Ion) when the
+     * service supports one.
+     */
+    private boolean useBinaryProtocol = DEFAULT_USE_BINARY_PROTOCOL;
+
+    /**
+     * Whether list members of responses are unmarshalled on first access rather than while the
+     * response is read.
+     */
+    private boolean useLazyListUnmarshalling = DEFAULT_USE_LAZY_LIST_UNMARSHALLING;
+
+    /**
+     * Whether the scratch buffers used to read, copy and hash content are pooled.
+     */
+    private boolean useBufferPooling = DEFAULT_USE_BUFFER_POOLING;
+
     /**
      * Can be used to specify custom specific Apache HTTP client configurations.
      */
@@ -389,9 +467,17 @@ public class ClientConfiguration {
         this.validateAfterInactivityMillis = other.getValidateAfterInactivityMillis();
         this.tcpKeepAlive = other.useTcpKeepAlive();
         this.secureRandom = other.getSecureRandom();
+        this.secureRandomConfigured = other.isSecureRandomConfigured();
         this.headers.clear();
         this.headers.putAll(other.getHeaders());
         this.maxConsecutiveRetriesBeforeThrottling = other.getMaxConsecutiveRetriesBeforeThrottling();
+        this.useAdaptiveRateLimiting = other.useAdaptiveRateLimiting();
+        this.useCircuitBreaker = other.useCircuitBreaker();
+        this.useHedgedRequests = other.useHedgedRequests();
+        this.hedgingDelayPercentile = other.getHedgingDelayPercentile();
+        this.useBinaryProtocol = other.useBinaryProtocol();
+        this.useLazyListUnmarshalling = other.useLazyListUnmarshalling();
+        this.useBufferPooling = other.useBufferPooling();
     }
 
     /**
@@ -1524,6 +1610,315 @@ public class ClientConfiguration {
         return maxConsecutiveRetriesBeforeThrottling;
     }
 
+    /**
+     * Returns whether adaptive client side rate limiting is used.
+     * <p>
+     * When enabled, the client keeps a token bucket per endpoint that every attempt, including
+     * the initial one, must acquire a token from before it is sent. The bucket is only engaged
+     * once the endpoint returns a throttling error; from then on its rate is reduced on every
+     * throttling error and gradually increased again as requests succeed. This lets long running
+     * batch workloads settle on the rate the service can sustain instead of repeatedly exhausting
+     * their retries.
+     * </p>
+     *
+     * @return true if adaptive rate limiting will be used
+     */
+    public boolean useAdaptiveRateLimiting() {
+        return useAdaptiveRateLimiting;
+    }
+
+    /**
+     * Sets whether adaptive client side rate limiting should be used.
+     *
+     * @param use
+     *            true if adaptive rate limiting should be used
+     * @see #useAdaptiveRateLimiting()
+     */
+    public void setUseAdaptiveRateLimiting(boolean use) {
+        this.useAdaptiveRateLimiting = use;
+    }
+
+    /**
+     * Sets whether adaptive client side rate limiting should be used.
+     *
+     * @param use
+     *            true if adaptive rate limiting should be used
+     * @return The updated ClientConfiguration object.
+     * @see #useAdaptiveRateLimiting()
+     */
+    public ClientConfiguration withAdaptiveRateLimiting(boolean use) {
+        setUseAdaptiveRateLimiting(use);
+        return this;
+    }
+
+    /**
+     * Returns whether a circuit breaker is used for each endpoint.
+     * <p>
+     * When enabled, the client tracks the outcome of the most recent attempts against each
+     * endpoint. If at least half of them failed with a connection error or a 5xx response, the
+     * circuit opens and further attempts, including retries, fail immediately with a
+     * {@link com.amazonaws.retry.CircuitBreakerOpenException} instead of being sent. After a
+     * cool-down period a few probe attempts are let through, and the circuit closes again once
+     * they succeed. Circuit state transitions are reported to the {@link
+     * com.amazonaws.metrics.RequestMetricCollector} as the {@code CircuitBreakerState} metric.
+     * </p>
+     *
+     * @return true if a circuit breaker will be used
+     */
+    public boolean useCircuitBreaker() {
+        return useCircuitBreaker;
+    }
+
+    /**
+     * Sets whether a circuit breaker should be used for each endpoint.
+     *
+     * @param use
+     *            true if a circuit breaker should be used
+     * @see #useCircuitBreaker()
+     */
+    public void setUseCircuitBreaker(boolean use) {
+        this.useCircuitBreaker = use;
+    }
+
+    /**
+     * Sets whether a circuit breaker should be used for each endpoint.
+     *
+     * @param use
+     *            true if a circuit breaker should be used
+     * @return The updated ClientConfiguration object.
+     * @see #useCircuitBreaker()
+     */
+    public ClientConfiguration withCircuitBreaker(boolean use) {
+        setUseCircuitBreaker(use);
+        return this;
+    }
+
+    /**
+     * Returns whether slow requests are hedged.
+     * <p>
+     * When enabled, requests to operations that are safe to hedge (idempotent reads) are raced
+     * against a duplicate request when they take longer than the {@link
+     * #getHedgingDelayPercentile() configured percentile} of recent latencies for that
+     * operation. No operation is hedged unless it is marked as hedge safe, either for all its
+     * requests by listing it under {@code hedgeSafeOperations} in the service's code generation
+     * customization config, or for a single request with
+     * {@code request.addHandlerContext(HandlerContextKey.HEDGE_SAFE, Boolean.TRUE)}. The
+     * duplicate is sent on another pooled connection, whichever response arrives first is used
+     * and the other request is aborted. This trades a small amount of extra load for a lower
+     * tail latency. Hedging only starts once
+     * enough requests have completed to estimate the latency distribution, and requests with
+     * large bodies are never hedged.
+     * </p>
+     *
+     * @return true if slow requests will be hedged
+     */
+    public boolean useHedgedRequests() {
+        return useHedgedRequests;
+    }
+
+    /**
+     * Sets whether slow requests should be hedged.
+     *
+     * @param use
+     *            true if slow requests should be hedged
+     * @see #useHedgedRequests()
+     */
+    public void setUseHedgedRequests(boolean use) {
+        this.useHedgedRequests = use;
+    }
+
+    /**
+     * Sets whether slow requests should be hedged.
+     *
+     * @param use
+     *            true if slow requests should be hedged
+     * @return The updated ClientConfiguration object.
+     * @see #useHedgedRequests()
+     */
+    public ClientConfiguration withHedgedRequests(boolean use) {
+        setUseHedgedRequests(use);
+        return this;
+    }
+
+    /**
+     * Returns the latency percentile of recent requests to an operation after which a hedge
+     * request is sent, when {@link #useHedgedRequests() hedging} is enabled.
+     * <p>
+     * This has a default value of {@link #DEFAULT_HEDGING_DELAY_PERCENTILE}.
+     *
+     * @return The hedging delay percentile.
+     */
+    public int getHedgingDelayPercentile() {
+        return hedgingDelayPercentile;
+    }
+
+    /**
+     * Sets the latency percentile of recent requests to an operation after which a hedge request
+     * is sent, when {@link #useHedgedRequests() hedging} is enabled. Lower values reduce tail
+     * latency further at the cost of sending more duplicate requests.
+     * <p>
+     * This has a default value of {@link #DEFAULT_HEDGING_DELAY_PERCENTILE}.
+     *
+     * @param hedgingDelayPercentile
+     *            The hedging delay percentile, between 1 and 100.
+     * @throws IllegalArgumentException If the percentile is not between 1 and 100.
+     */
+    public void setHedgingDelayPercentile(int hedgingDelayPercentile) {
+        if (hedgingDelayPercentile < 1 || hedgingDelayPercentile > 100) {
+            throw new IllegalArgumentException("hedgingDelayPercentile must be between 1 and 100");
+        }
+        this.hedgingDelayPercentile = hedgingDelayPercentile;
+    }
+
+    /**
+     * Sets the latency percentile of recent requests to an operation after which a hedge request
+     * is sent, when {@link #useHedgedRequests() hedging} is enabled.
+     *
+     * @param hedgingDelayPercentile
+     *            The hedging delay percentile, between 1 and 100.
+     * @return The updated ClientConfiguration object.
+     * @see #setHedgingDelayPercentile(int)
+     */
+    public ClientConfiguration withHedgingDelayPercentile(int hedgingDelayPercentile) {
+        setHedgingDelayPercentile(hedgingDelayPercentile);
+        return this;
+    }
+
+    /**
+     * Checks if the client uses the binary form of the service's wire protocol. Binary protocols
+     * (CBOR or binary Ion) are only used by clients of services that support them, such as
+     * Amazon Kinesis, and avoid the base64 expansion of binary data and the text parsing of
+     * numbers that JSON requires.
+     * <p>
+     * This has a default value of {@link #DEFAULT_USE_BINARY_PROTOCOL}. Binary protocols can also
+     * be turned off for all clients with the
+     * {@link SDKGlobalConfiguration#AWS_CBOR_DISABLE_SYSTEM_PROPERTY} and
+     * {@link SDKGlobalConfiguration#AWS_ION_BINARY_DISABLE_SYSTEM_PROPERTY} system properties.
+     *
+     * @return True if the binary form of the wire protocol is used when available.
+     */
+    public boolean useBinaryProtocol() {
+        return useBinaryProtocol;
+    }
+
+    /**
+     * Sets whether the client uses the binary form of the service's wire protocol when the
+     * service supports one. When disabled, CBOR services are called with JSON and Ion services
+     * with text Ion, which is useful with local stand-ins for those services that only speak the
+     * text form.
+     *
+     * @param use
+     *            Whether to use the binary form of the wire protocol when available.
+     * @see #useBinaryProtocol()
+     */
+    public void setUseBinaryProtocol(boolean use) {
+        this.useBinaryProtocol = use;
+    }
+
+    /**
+     * Sets whether the client uses the binary form of the service's wire protocol when the
+     * service supports one.
+     *
+     * @param use
+     *            Whether to use the binary form of the wire protocol when available.
+     * @return The updated ClientConfiguration object.
+     * @see #setUseBinaryProtocol(boolean)
+     */
+    public ClientConfiguration withBinaryProtocol(boolean use) {
+        setUseBinaryProtocol(use);
+        return this;
+    }
+
+    /**
+     * Checks if list members of responses are unmarshalled on first access rather than while the
+     * response is read.
+     * <p>
+     * When enabled, the elements of lists in a response, such as the items of a DynamoDB scan or
+     * the reservations of an EC2 DescribeInstances call, are kept in a compact buffered form and
+     * only unmarshalled into model objects when they are first accessed. Callers that only look at
+     * some of the elements, or stop iterating early, then don't pay for the rest of them. An
+     * element that fails to unmarshall throws from the list accessor that reached it rather than
+     * from the client call. Lists are only unmarshalled lazily by clients generated with support
+     * for it, see {@link com.amazonaws.transform.LazyUnmarshalledList}.
+     * <p>
+     * This has a default value of {@link #DEFAULT_USE_LAZY_LIST_UNMARSHALLING}. It can be
+     * overridden for a single request by setting
+     * {@link com.amazonaws.handlers.HandlerContextKey#LAZY_LIST_UNMARSHALLING} on it.
+     *
+     * @return True if list members of responses are unmarshalled on first access.
+     */
+    public boolean useLazyListUnmarshalling() {
+        return useLazyListUnmarshalling;
+    }
+
+    /**
+     * Sets whether list members of responses are unmarshalled on first access rather than while
+     * the response is read.
+     *
+     * @param use
+     *            Whether list members of responses are unmarshalled on first access.
+     * @see #useLazyListUnmarshalling()
+     */
+    public void setUseLazyListUnmarshalling(boolean use) {
+        this.useLazyListUnmarshalling = use;
+    }
+
+    /**
+     * Sets whether list members of responses are unmarshalled on first access rather than while
+     * the response is read.
+     *
+     * @param use
+     *            Whether list members of responses are unmarshalled on first access.
+     * @return The updated ClientConfiguration object.
+     * @see #setUseLazyListUnmarshalling(boolean)
+     */
+    public ClientConfiguration withLazyListUnmarshalling(boolean use) {
+        setUseLazyListUnmarshalling(use);
+        return this;
+    }
+
+    /**
+     * Checks if the scratch buffers used to read, copy and hash request and response content are
+     * pooled rather than allocated for every use.
+     * <p>
+     * The pool is shared by all clients in the JVM, so creating a client with pooling disabled
+     * turns it off for every client from then on. This has a default value of
+     * {@link #DEFAULT_USE_BUFFER_POOLING}. Pooling can also be turned off before any client is
+     * created with the {@link SDKGlobalConfiguration#DISABLE_BUFFER_POOLING_SYSTEM_PROPERTY}
+     * system property.
+     *
+     * @return True if scratch buffers are pooled.
+     */
+    public boolean useBufferPooling() {
+        return useBufferPooling;
+    }
+
+    /**
+     * Sets whether the scratch buffers used to read, copy and hash request and response content
+     * are pooled.
+     *
+     * @param use
+     *            Whether scratch buffers are pooled.
+     * @see #useBufferPooling()
+     */
+    public void setUseBufferPooling(boolean use) {
+        this.useBufferPooling = use;
+    }
+
+    /**
+     * Sets whether the scratch buffers used to read, copy and hash request and response content
+     * are pooled.
+     *
+     * @param use
+     *            Whether scratch buffers are pooled.
+     * @return The updated ClientConfiguration object.
+     * @see #setUseBufferPooling(boolean)
+     */
+    public ClientConfiguration withBufferPooling(boolean use) {
+        setUseBufferPooling(use);
+        return this;
+    }
+
     /**
      * Checks if gzip compression is used
      *
@@ -2114,6 +2509,15 @@ public class ClientConfiguration {
      */
     public void setSecureRandom(SecureRandom secureRandom) {
         this.secureRandom = secureRandom;
+        this.secureRandomConfigured = secureRandom != null;
+    }
+
+    /**
+     * Returns whether a {@link SecureRandom} was set through {@link #setSecureRandom(SecureRandom)}
+     * rather than defaulted by {@link #getSecureRandom()}.
+     */
+    public boolean isSecureRandomConfigured() {
+        return secureRandomConfigured;
     }
 
     /**
@@ -161,7 +161,8 @@ public class DefaultRequest<T> implements Request<T> {
     public void addParameter(String name, String value) {
         List<String> paramList = parameters.get(name);
         if (paramList == null) {
-            paramList = new ArrayList<String>();
+            // Parameters almost always have a single value
+            paramList = new ArrayList<String>(1);
             parameters.put(name, paramList);
         }
         paramList.add(value);
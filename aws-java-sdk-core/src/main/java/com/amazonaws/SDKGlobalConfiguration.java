@@ -232,6 +232,19 @@ public class SDKGlobalConfiguration {
      */
     public static final String AWS_CSM_CLIENT_ID_SYSTEM_PROPERTY = "com.amazonaws.sdk.csm.clientId";
 
+    /**
+     * System property to disable pooling of the scratch buffers used to read, copy and hash
+     * request and response content. When disabled a new buffer is allocated for every use.
+     */
+    public static final String DISABLE_BUFFER_POOLING_SYSTEM_PROPERTY = "com.amazonaws.sdk.disableBufferPooling";
+
+    /**
+     * System property to set how many credentials refresh calls, such as calls to STS or the
+     * instance metadata service, may be in flight at once across all credentials providers.
+     */
+    public static final String MAX_CONCURRENT_CREDENTIAL_REFRESHES_SYSTEM_PROPERTY =
+            "com.amazonaws.sdk.maxConcurrentCredentialRefreshes";
+
     /////////////////////// Environment Variables ///////////////////////
     /** Environment variable name for the AWS access key ID */
     public static final String ACCESS_KEY_ENV_VAR = "AWS_ACCESS_KEY_ID";
@@ -344,6 +357,10 @@ public class SDKGlobalConfiguration {
                 isPropertyEnabled(System.getenv(AWS_ION_BINARY_DISABLE_ENV_VAR));
     }
 
+    public static boolean isBufferPoolingDisabled() {
+        return isPropertyEnabled(System.getProperty(DISABLE_BUFFER_POOLING_SYSTEM_PROPERTY));
+    }
+
     public static boolean isEc2MetadataDisabled() {
         return isPropertyTrue(System.getProperty(AWS_EC2_METADATA_DISABLED_SYSTEM_PROPERTY)) ||
                isPropertyTrue(System.getenv(AWS_EC2_METADATA_DISABLED_ENV_VAR));
@@ -20,8 +20,10 @@ import com.amazonaws.SignableRequest;
 import com.amazonaws.annotation.SdkTestInternalApi;
 import com.amazonaws.auth.internal.AWS4SignerRequestParams;
 import com.amazonaws.auth.internal.AWS4SignerUtils;
+import com.amazonaws.auth.internal.SignedHeaders;
 import com.amazonaws.auth.internal.SignerKey;
-import com.amazonaws.internal.FIFOCache;
+import com.amazonaws.auth.internal.SigningKeyCacheKey;
+import com.amazonaws.internal.ConcurrentLRUCache;
 import com.amazonaws.log.InternalLogApi;
 import com.amazonaws.log.InternalLogFactory;
 import com.amazonaws.util.BinaryUtils;
@@ -32,13 +34,14 @@ import com.amazonaws.util.StringUtils;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
-import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import static com.amazonaws.auth.internal.SignerConstants.AUTHORIZATION;
@@ -64,11 +67,27 @@ public class AWS4Signer extends AbstractAWSSigner implements
 
     protected static final InternalLogApi log = InternalLogFactory.getLog(AWS4Signer.class);
     private static final int SIGNER_CACHE_MAX_SIZE = 300;
-    private static final FIFOCache<SignerKey> signerCache = new FIFOCache<SignerKey>(SIGNER_CACHE_MAX_SIZE);
+    private static final ConcurrentLRUCache<SigningKeyCacheKey, SigningKeys> signerCache =
+            new ConcurrentLRUCache<SigningKeyCacheKey, SigningKeys>(SIGNER_CACHE_MAX_SIZE);
+
+    /**
+     * How long before the end of the UTC day the signing key for the next day
+     * is derived, so that it is already cached when the day changes.
+     */
+    private static final long NEXT_DAY_SIGNING_KEY_WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final int SIGNED_HEADERS_CACHE_MAX_SIZE = 64;
     private static final List<String> listOfHeadersToIgnoreInLowerCase = Arrays.asList("connection", "x-amzn-trace-id");
 
     private final SdkClock clock;
 
+    /**
+     * The headers to sign for the sets of header names most recently seen by
+     * this signer, so that they only need to be sorted and lower cased the
+     * first time.
+     */
+    private final ConcurrentLRUCache<Set<String>, SignedHeaders> signedHeadersCache =
+            new ConcurrentLRUCache<Set<String>, SignedHeaders>(SIGNED_HEADERS_CACHE_MAX_SIZE);
+
     /**
      * Service name override for use when the endpoint can't be used to
      * determine the service name.
@@ -319,8 +338,9 @@ public class AWS4Signer extends AbstractAWSSigner implements
         final String path = SdkHttpUtils.appendUri(
                 request.getEndpoint().getPath(), request.getResourcePath());
 
-        final StringBuilder canonicalRequestBuilder = new StringBuilder(request
-                .getHttpMethod().toString());
+        final StringBuilder canonicalRequestBuilder = new StringBuilder(512);
+
+        canonicalRequestBuilder.append(request.getHttpMethod().toString());
 
         canonicalRequestBuilder.append(LINE_SEPARATOR)
                 // This would optionally double url-encode the resource path
@@ -349,9 +369,9 @@ public class AWS4Signer extends AbstractAWSSigner implements
     protected String createStringToSign(String canonicalRequest,
             AWS4SignerRequestParams signerParams) {
 
-        final StringBuilder stringToSignBuilder = new StringBuilder(
-                signerParams.getSigningAlgorithm());
-        stringToSignBuilder.append(LINE_SEPARATOR)
+        final StringBuilder stringToSignBuilder = new StringBuilder(160);
+        stringToSignBuilder.append(signerParams.getSigningAlgorithm())
+                .append(LINE_SEPARATOR)
                 .append(signerParams.getFormattedSigningDateTime())
                 .append(LINE_SEPARATOR)
                 .append(signerParams.getScope())
@@ -375,45 +395,45 @@ public class AWS4Signer extends AbstractAWSSigner implements
     private final byte[] deriveSigningKey(AWSCredentials credentials,
             AWS4SignerRequestParams signerRequestParams) {
 
-        final String cacheKey = computeSigningCacheKeyName(credentials,
-                signerRequestParams);
+        final SigningKeyCacheKey cacheKey = new SigningKeyCacheKey(
+                credentials.getAWSSecretKey(),
+                signerRequestParams.getRegionName(),
+                signerRequestParams.getServiceName());
+        final long signingDateTimeMilli = signerRequestParams
+                .getSigningDateTimeMilli();
         final long daysSinceEpochSigningDate = DateUtils
-                .numberOfDaysSinceEpoch(signerRequestParams
-                        .getSigningDateTimeMilli());
+                .numberOfDaysSinceEpoch(signingDateTimeMilli);
 
-        SignerKey signerKey = signerCache.get(cacheKey);
+        SigningKeys signingKeys = signerCache.get(cacheKey);
+        SignerKey signerKey = signingKeys == null ? null
+                : signingKeys.forDay(daysSinceEpochSigningDate);
 
-        if (signerKey != null) {
-            if (daysSinceEpochSigningDate == signerKey
-                    .getNumberOfDaysSinceEpoch()) {
-                return signerKey.getSigningKey();
+        if (signerKey == null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Generating a new signing key as the signing key not available in the cache for the date "
+                        + TimeUnit.DAYS.toMillis(daysSinceEpochSigningDate));
             }
+            byte[] signingKey = newSigningKey(credentials,
+                    signerRequestParams.getFormattedSigningDate(),
+                    signerRequestParams.getRegionName(),
+                    signerRequestParams.getServiceName());
+            signerKey = new SignerKey(daysSinceEpochSigningDate, signingKey);
+            signingKeys = new SigningKeys(signerKey, signingKeys == null ? null
+                    : signingKeys.forDay(daysSinceEpochSigningDate + 1));
+            signerCache.put(cacheKey, signingKeys);
         }
-        if (log.isDebugEnabled()) {
-            log.debug("Generating a new signing key as the signing key not available in the cache for the date "
-                    + TimeUnit.DAYS.toMillis(daysSinceEpochSigningDate));
-        }
-        byte[] signingKey = newSigningKey(credentials,
-                signerRequestParams.getFormattedSigningDate(),
-                signerRequestParams.getRegionName(),
-                signerRequestParams.getServiceName());
-        signerCache.add(cacheKey, new SignerKey(
-                daysSinceEpochSigningDate, signingKey));
-        return signingKey;
-    }
-
-    /**
-     * Computes the name to be used to reference the signing key in the cache.
-     */
-    private final String computeSigningCacheKeyName(AWSCredentials credentials,
-            AWS4SignerRequestParams signerRequestParams) {
-        final StringBuilder hashKeyBuilder = new StringBuilder(
-                credentials.getAWSSecretKey());
 
-        return hashKeyBuilder.append("-")
-                .append(signerRequestParams.getRegionName())
-                .append("-")
-                .append(signerRequestParams.getServiceName()).toString();
+        final long nextDay = daysSinceEpochSigningDate + 1;
+        if (signingKeys.forDay(nextDay) == null
+                && TimeUnit.DAYS.toMillis(nextDay) - signingDateTimeMilli <= NEXT_DAY_SIGNING_KEY_WINDOW_MILLIS) {
+            byte[] nextSigningKey = newSigningKey(credentials,
+                    AWS4SignerUtils.formatDateStamp(TimeUnit.DAYS.toMillis(nextDay)),
+                    signerRequestParams.getRegionName(),
+                    signerRequestParams.getServiceName());
+            signerCache.put(cacheKey, new SigningKeys(signerKey,
+                    new SignerKey(nextDay, nextSigningKey)));
+        }
+        return signerKey.getSigningKey();
     }
 
     /**
@@ -424,7 +444,7 @@ public class AWS4Signer extends AbstractAWSSigner implements
      */
     protected final byte[] computeSignature(String stringToSign,
             byte[] signingKey, AWS4SignerRequestParams signerRequestParams) {
-        return sign(stringToSign.getBytes(Charset.forName("UTF-8")), signingKey,
+        return sign(stringToSign.getBytes(StringUtils.UTF8), signingKey,
                 SigningAlgorithm.HmacSHA256);
     }
 
@@ -434,25 +454,17 @@ public class AWS4Signer extends AbstractAWSSigner implements
     private String buildAuthorizationHeader(SignableRequest<?> request,
             byte[] signature, AWSCredentials credentials,
             AWS4SignerRequestParams signerParams) {
-        final String signingCredentials = credentials.getAWSAccessKeyId() + "/"
-                + signerParams.getScope();
-
-        final String credential = "Credential="
-                + signingCredentials;
-        final String signerHeaders = "SignedHeaders="
-                + getSignedHeadersString(request);
-        final String signatureHeader = "Signature="
-                + BinaryUtils.toHex(signature);
-
-        final StringBuilder authHeaderBuilder = new StringBuilder();
+        final StringBuilder authHeaderBuilder = new StringBuilder(256);
 
         authHeaderBuilder.append(AWS4_SIGNING_ALGORITHM)
-                         .append(" ")
-                         .append(credential)
-                         .append(", ")
-                         .append(signerHeaders)
-                         .append(", ")
-                         .append(signatureHeader);
+                         .append(" Credential=")
+                         .append(credentials.getAWSAccessKeyId())
+                         .append("/")
+                         .append(signerParams.getScope())
+                         .append(", SignedHeaders=")
+                         .append(getSignedHeadersString(request))
+                         .append(", Signature=")
+                         .append(BinaryUtils.toHex(signature));
 
         return authHeaderBuilder.toString();
     }
@@ -483,20 +495,14 @@ public class AWS4Signer extends AbstractAWSSigner implements
     }
 
     protected String getCanonicalizedHeaderString(SignableRequest<?> request) {
-        final List<String> sortedHeaders = new ArrayList<String>(request.getHeaders()
-                .keySet());
-        Collections.sort(sortedHeaders, String.CASE_INSENSITIVE_ORDER);
+        final SignedHeaders signedHeaders = getSignedHeaders(request);
 
         final Map<String, String> requestHeaders = request.getHeaders();
-        StringBuilder buffer = new StringBuilder();
-        for (String header : sortedHeaders) {
-            if (shouldExcludeHeaderFromSigning(header)) {
-                continue;
-            }
-            String key = StringUtils.lowerCase(header);
-            String value = requestHeaders.get(header);
+        StringBuilder buffer = new StringBuilder(signedHeaders.size() * 64);
+        for (int i = 0; i < signedHeaders.size(); i++) {
+            String value = requestHeaders.get(signedHeaders.getName(i));
 
-            StringUtils.appendCompactedString(buffer, key);
+            StringUtils.appendCompactedString(buffer, signedHeaders.getLowerCaseName(i));
             buffer.append(":");
             if (value != null) {
                 StringUtils.appendCompactedString(buffer, value);
@@ -509,21 +515,43 @@ public class AWS4Signer extends AbstractAWSSigner implements
     }
 
     protected String getSignedHeadersString(SignableRequest<?> request) {
-        final List<String> sortedHeaders = new ArrayList<String>(request
-                .getHeaders().keySet());
-        Collections.sort(sortedHeaders, String.CASE_INSENSITIVE_ORDER);
+        return getSignedHeaders(request).getSignedHeadersString();
+    }
+
+    /**
+     * Returns the headers of the request to sign, sorted and lower cased,
+     * reusing the result from an earlier request with the same header names
+     * where there is one.
+     */
+    private SignedHeaders getSignedHeaders(SignableRequest<?> request) {
+        final Set<String> headerNames = request.getHeaders().keySet();
+        SignedHeaders signedHeaders = signedHeadersCache.get(headerNames);
+        if (signedHeaders != null) {
+            return signedHeaders;
+        }
 
-        StringBuilder buffer = new StringBuilder();
-        for (String header : sortedHeaders) {
-            if (shouldExcludeHeaderFromSigning(header)) {
-                continue;
+        final List<String> sortedHeaders = new ArrayList<String>(headerNames.size());
+        for (String header : headerNames) {
+            if (!shouldExcludeHeaderFromSigning(header)) {
+                sortedHeaders.add(header);
             }
-            if (buffer.length() > 0)
-                buffer.append(";");
-            buffer.append(StringUtils.lowerCase(header));
         }
+        Collections.sort(sortedHeaders, String.CASE_INSENSITIVE_ORDER);
 
-        return buffer.toString();
+        final String[] names = sortedHeaders.toArray(new String[sortedHeaders.size()]);
+        final String[] lowerCaseNames = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            lowerCaseNames[i] = StringUtils.lowerCase(names[i]);
+        }
+        signedHeaders = new SignedHeaders(names, lowerCaseNames);
+
+        signedHeadersCache.put(new HashSet<String>(headerNames), signedHeaders);
+        return signedHeaders;
+    }
+
+    @SdkTestInternalApi
+    boolean isSignedHeadersCached(Set<String> headerNames) {
+        return signedHeadersCache.get(headerNames) != null;
     }
 
     protected boolean shouldExcludeHeaderFromSigning(String header) {
@@ -623,11 +651,35 @@ public class AWS4Signer extends AbstractAWSSigner implements
     protected byte[] newSigningKey(AWSCredentials credentials,
             String dateStamp, String regionName, String serviceName) {
         byte[] kSecret = ("AWS4" + credentials.getAWSSecretKey())
-                .getBytes(Charset.forName("UTF-8"));
+                .getBytes(StringUtils.UTF8);
         byte[] kDate = sign(dateStamp, kSecret, SigningAlgorithm.HmacSHA256);
         byte[] kRegion = sign(regionName, kDate, SigningAlgorithm.HmacSHA256);
         byte[] kService = sign(serviceName, kRegion,
                 SigningAlgorithm.HmacSHA256);
         return sign(AWS4_TERMINATOR, kService, SigningAlgorithm.HmacSHA256);
     }
+
+    /**
+     * The cached signing key for a day, along with the key for the following
+     * day once it has been derived ahead of time.
+     */
+    private static final class SigningKeys {
+        private final SignerKey current;
+        private final SignerKey next;
+
+        private SigningKeys(SignerKey current, SignerKey next) {
+            this.current = current;
+            this.next = next;
+        }
+
+        private SignerKey forDay(long daysSinceEpoch) {
+            if (current.getNumberOfDaysSinceEpoch() == daysSinceEpoch) {
+                return current;
+            }
+            if (next != null && next.getNumberOfDaysSinceEpoch() == daysSinceEpoch) {
+                return next;
+            }
+            return null;
+        }
+    }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.auth;
+
+import static com.amazonaws.auth.internal.SignerConstants.STREAMING_AWS4_HMAC_SHA256_PAYLOAD;
+import static com.amazonaws.auth.internal.SignerConstants.X_AMZ_CONTENT_SHA256;
+import static com.amazonaws.auth.internal.SignerConstants.X_AMZ_DECODED_CONTENT_LENGTH;
+
+import com.amazonaws.ReadLimitInfo;
+import com.amazonaws.ResetException;
+import com.amazonaws.SdkClientException;
+import com.amazonaws.SignableRequest;
+import com.amazonaws.annotation.SdkTestInternalApi;
+import com.amazonaws.auth.internal.AWS4SignerRequestParams;
+import com.amazonaws.util.BinaryUtils;
+import com.amazonaws.util.SdkHttpUtils;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Exactly the same as {@link AWS4Signer} except that large request payloads
+ * are signed as they are sent, in aws-chunked encoding, instead of being
+ * hashed in full before the request is sent. Each chunk carries its own
+ * signature, chained to the signature of the chunk before it, so the payload
+ * is read once, in chunks of a fixed size, whatever its length.
+ * <p>
+ * Only for use with services that accept the
+ * <code>STREAMING-AWS4-HMAC-SHA256-PAYLOAD</code> content SHA-256. It can be
+ * selected through {@link SignerFactory#VERSION_FOUR_STREAMING_PAYLOAD_SIGNER}
+ * as a signer override.
+ */
+public class AWS4StreamingPayloadSigner extends AWS4Signer {
+
+    private static final String CONTENT_LENGTH = "Content-Length";
+
+    public AWS4StreamingPayloadSigner() {
+        super();
+    }
+
+    /**
+     * @param doubleUrlEncoding
+     *            Whether double url-encode the resource path when constructing
+     *            the canonical request.
+     */
+    public AWS4StreamingPayloadSigner(boolean doubleUrlEncoding) {
+        super(doubleUrlEncoding);
+    }
+
+    @SdkTestInternalApi
+    public AWS4StreamingPayloadSigner(SdkClock clock) {
+        super(clock);
+    }
+
+    /**
+     * Returns the pre-defined content SHA-256 and sets the content length
+     * headers for the chunk-encoded payload if the request needs to be
+     * chunk-encoded. Otherwise calls the superclass method which calculates
+     * the hash of the whole content for signing.
+     */
+    @Override
+    protected String calculateContentHash(SignableRequest<?> request) {
+        if (!useChunkEncoding(request)) {
+            return super.calculateContentHash(request);
+        }
+        // Tells AWS4Signer.sign() to send the value returned here as the
+        // x-amz-content-sha256 header
+        request.addHeader(X_AMZ_CONTENT_SHA256, "required");
+
+        final String contentLength = request.getHeaders().get(CONTENT_LENGTH);
+        final long originalContentLength;
+        if (contentLength != null) {
+            originalContentLength = Long.parseLong(contentLength);
+        } else {
+            // The length of the chunk-encoded payload has to be sent up
+            // front, which needs the length of the payload itself
+            try {
+                originalContentLength = getContentLength(request);
+            } catch (IOException e) {
+                throw new SdkClientException(
+                        "Cannot get the content-length of the request content.", e);
+            }
+        }
+        request.addHeader(X_AMZ_DECODED_CONTENT_LENGTH, Long.toString(originalContentLength));
+        // Make sure "Content-Length" header is not empty so that HttpClient
+        // won't cache the stream again to recover Content-Length
+        request.addHeader(CONTENT_LENGTH, Long.toString(
+                AwsChunkedEncodingInputStream.calculateStreamContentLength(originalContentLength)));
+        return STREAMING_AWS4_HMAC_SHA256_PAYLOAD;
+    }
+
+    /**
+     * Creates a chunk-encoding wrapper on the request payload if
+     * {@link #calculateContentHash(SignableRequest)} signed it for chunk
+     * encoding. That is recorded by the x-amz-decoded-content-length header
+     * rather than decided again, as the Content-Length header has been
+     * replaced with the chunk-encoded length by then.
+     */
+    @Override
+    protected void processRequestPayload(SignableRequest<?> request, byte[] signature,
+            byte[] signingKey, AWS4SignerRequestParams signerRequestParams) {
+        if (request.getHeaders().containsKey(X_AMZ_DECODED_CONTENT_LENGTH)) {
+            AwsChunkedEncodingInputStream chunkEncodedStream = new AwsChunkedEncodingInputStream(
+                    request.getContent(), signingKey,
+                    signerRequestParams.getFormattedSigningDateTime(),
+                    signerRequestParams.getScope(),
+                    BinaryUtils.toHex(signature), this);
+            request.setContent(chunkEncodedStream);
+        }
+    }
+
+    /**
+     * Determines whether to sign the payload of the given request in chunks.
+     * Called once per signing, when the content hash is calculated, before
+     * any of the request's headers are changed.
+     * <p>
+     * By default payloads whose length isn't known, or that are longer than
+     * a single chunk, are chunk-encoded; shorter ones are cheaper to hash in
+     * one go.
+     */
+    protected boolean useChunkEncoding(SignableRequest<?> request) {
+        if (request.getContent() == null || SdkHttpUtils.usePayloadForQueryParameters(request)) {
+            return false;
+        }
+        final String contentLength = request.getHeaders().get(CONTENT_LENGTH);
+        return contentLength == null
+               || Long.parseLong(contentLength) > AwsChunkedEncodingInputStream.DEFAULT_CHUNK_SIZE;
+    }
+
+    /**
+     * Read the content of the request to get the length of the stream. The
+     * stream must have been made mark-supported beforehand.
+     */
+    static long getContentLength(SignableRequest<?> request) throws IOException {
+        final InputStream content = request.getContent();
+        if (!content.markSupported())
+            throw new IllegalStateException("Bug: request input stream must have been made mark-and-resettable at this point");
+        ReadLimitInfo info = request.getReadLimitInfo();
+        final int readLimit = info == null ? -1 : info.getReadLimit();
+        long contentLength = 0;
+        byte[] tmp = new byte[4096];
+        int read;
+        content.mark(readLimit);
+        while ((read = content.read(tmp)) != -1) {
+            contentLength += read;
+        }
+        try {
+            content.reset();
+        } catch(IOException ex) {
+            throw new ResetException("Failed to reset the input stream", ex);
+        }
+        return contentLength;
+    }
+}
@@ -14,6 +14,7 @@
  */
 package com.amazonaws.auth;
 
+import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -36,7 +37,7 @@ import com.amazonaws.SdkClientException;
  * credentials are requested in the future, instead of traversing the chain each time.
  * This behavior can be controlled through the {@link #setReuseLastProvider(boolean)} method.
  */
-public class AWSCredentialsProviderChain implements AWSCredentialsProvider {
+public class AWSCredentialsProviderChain implements ExpiringCredentialsProvider {
 
     private static final Log log = LogFactory.getLog(AWSCredentialsProviderChain.class);
 
@@ -137,6 +138,19 @@ public class AWSCredentialsProviderChain implements AWSCredentialsProvider {
                                      + exceptionMessages);
     }
 
+    /**
+     * Returns when the credentials of the provider that returned credentials
+     * last expire, if that provider knows.
+     */
+    @Override
+    public Date getCredentialsExpiration() {
+        AWSCredentialsProvider provider = lastUsedProvider;
+        if (provider instanceof ExpiringCredentialsProvider) {
+            return ((ExpiringCredentialsProvider) provider).getCredentialsExpiration();
+        }
+        return null;
+    }
+
     @Override
     public void refresh() {
         for (AWSCredentialsProvider provider : credentialsProviders) {
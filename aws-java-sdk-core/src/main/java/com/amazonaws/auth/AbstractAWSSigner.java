@@ -21,6 +21,7 @@ import com.amazonaws.ReadLimitInfo;
 import com.amazonaws.SDKGlobalTime;
 import com.amazonaws.SdkClientException;
 import com.amazonaws.SignableRequest;
+import com.amazonaws.internal.ByteArrayPool;
 import com.amazonaws.internal.SdkDigestInputStream;
 import com.amazonaws.internal.SdkThreadLocalsRegistry;
 import com.amazonaws.util.Base64;
@@ -162,12 +163,12 @@ public abstract class AbstractAWSSigner implements Signer {
     }
 
     protected byte[] hash(InputStream input) throws SdkClientException {
+        byte[] buffer = ByteArrayPool.getDefault().acquire(1024 * 4);
         try {
             MessageDigest md = getMessageDigestInstance();
             @SuppressWarnings("resource")
             DigestInputStream digestInputStream = new SdkDigestInputStream(
                     input, md);
-            byte[] buffer = new byte[1024];
             while (digestInputStream.read(buffer) > -1)
                 ;
             return digestInputStream.getMessageDigest().digest();
@@ -175,6 +176,8 @@ public abstract class AbstractAWSSigner implements Signer {
             throw new SdkClientException(
                     "Unable to compute hash while signing request: "
                             + e.getMessage(), e);
+        } finally {
+            ByteArrayPool.getDefault().release(buffer);
         }
     }
 
@@ -316,11 +319,11 @@ public abstract class AbstractAWSSigner implements Signer {
     protected byte[] getBinaryRequestPayloadWithoutQueryParams(SignableRequest<?> request) {
         InputStream content = getBinaryRequestPayloadStreamWithoutQueryParams(request);
 
+        byte[] buffer = ByteArrayPool.getDefault().acquire(1024 * 8);
         try {
             ReadLimitInfo info = request.getReadLimitInfo();
             content.mark(info == null ? -1 : info.getReadLimit());
             ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-            byte[] buffer = new byte[1024 * 5];
             while (true) {
                 int bytesRead = content.read(buffer);
                 if (bytesRead == -1) break;
@@ -334,6 +337,8 @@ public abstract class AbstractAWSSigner implements Signer {
             return byteArrayOutputStream.toByteArray();
         } catch (Exception e) {
             throw new SdkClientException("Unable to read request payload to sign request: " + e.getMessage(), e);
+        } finally {
+            ByteArrayPool.getDefault().release(buffer);
         }
     }
 
@@ -20,7 +20,6 @@ import java.io.InputStream;
 import java.security.InvalidKeyException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.Arrays;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
@@ -38,7 +37,7 @@ import com.amazonaws.util.BinaryUtils;
 public final class AwsChunkedEncodingInputStream extends SdkInputStream {
     protected static final String DEFAULT_ENCODING = "UTF-8";
 
-    private static final int DEFAULT_CHUNK_SIZE = 128 * 1024;
+    static final int DEFAULT_CHUNK_SIZE = 128 * 1024;
     private static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
 
     private static final String CRLF = "\r\n";
@@ -58,6 +57,9 @@ public final class AwsChunkedEncodingInputStream extends SdkInputStream {
     private final MessageDigest sha256;
     private final Mac hmacSha256;
 
+    /** Holds the data of each chunk while it is signed */
+    private byte[] chunkData;
+
     /** Iterator on the current chunk that has been signed */
     private ChunkContentIterator currentChunkIterator;
 
@@ -292,7 +294,9 @@ public final class AwsChunkedEncodingInputStream extends SdkInputStream {
      *         Returns true if next chunk is the last empty chunk.
      */
     private boolean setUpNextChunk() throws IOException {
-        byte[] chunkData = new byte[DEFAULT_CHUNK_SIZE];
+        if (chunkData == null) {
+            chunkData = new byte[DEFAULT_CHUNK_SIZE];
+        }
         int chunkSizeInBytes = 0;
         while (chunkSizeInBytes < DEFAULT_CHUNK_SIZE) {
             /** Read from the buffer of the decoded stream */
@@ -314,24 +318,25 @@ public final class AwsChunkedEncodingInputStream extends SdkInputStream {
             }
         }
         if (chunkSizeInBytes == 0){
-            byte[] signedFinalChunk = createSignedChunk(FINAL_CHUNK);
+            byte[] signedFinalChunk = createSignedChunk(FINAL_CHUNK, 0);
             currentChunkIterator = new ChunkContentIterator(signedFinalChunk);
             return true;
         }
         else {
-            if (chunkSizeInBytes < chunkData.length) {
-                chunkData = Arrays.copyOf(chunkData, chunkSizeInBytes);
-            }
-            byte[] signedChunkContent = createSignedChunk(chunkData);
+            byte[] signedChunkContent = createSignedChunk(chunkData, chunkSizeInBytes);
             currentChunkIterator = new ChunkContentIterator(signedChunkContent);
             return false;
         }
     }
 
-    private byte[] createSignedChunk(byte[] chunkData) {
-        StringBuilder chunkHeader = new StringBuilder();
+    /**
+     * Signs the first chunkLength bytes of the given data and returns them
+     * framed as a chunk, with the signature in its header.
+     */
+    private byte[] createSignedChunk(byte[] chunkData, int chunkLength) {
+        StringBuilder chunkHeader = new StringBuilder(96);
         // chunk-size
-        chunkHeader.append(Integer.toHexString(chunkData.length));
+        chunkHeader.append(Integer.toHexString(chunkLength));
         // sig-extension
         final String chunkStringToSign =
                 CHUNK_STRING_TO_SIGN_PREFIX + "\n" +
@@ -339,7 +344,7 @@ public final class AwsChunkedEncodingInputStream extends SdkInputStream {
                 keyPath + "\n" +
                 priorChunkSignature + "\n" +
                 AbstractAWSSigner.EMPTY_STRING_SHA256_HEX + "\n" +
-                BinaryUtils.toHex(sha256.digest(chunkData));
+                BinaryUtils.toHex(digest(chunkData, chunkLength));
         final String chunkSignature =
             BinaryUtils.toHex(aws4Signer.signWithMac(chunkStringToSign, hmacSha256));
         priorChunkSignature = chunkSignature;
@@ -350,11 +355,11 @@ public final class AwsChunkedEncodingInputStream extends SdkInputStream {
         try {
             byte[] header = chunkHeader.toString().getBytes(UTF8);
             byte[] trailer = CRLF.getBytes(UTF8);
-            byte[] signedChunk = new byte[header.length + chunkData.length + trailer.length];
+            byte[] signedChunk = new byte[header.length + chunkLength + trailer.length];
             System.arraycopy(header, 0, signedChunk, 0, header.length);
-            System.arraycopy(chunkData, 0, signedChunk, header.length, chunkData.length);
+            System.arraycopy(chunkData, 0, signedChunk, header.length, chunkLength);
             System.arraycopy(trailer, 0,
-                    signedChunk, header.length + chunkData.length,
+                    signedChunk, header.length + chunkLength,
                     trailer.length);
             return signedChunk;
         } catch (Exception e) {
@@ -362,6 +367,11 @@ public final class AwsChunkedEncodingInputStream extends SdkInputStream {
         }
     }
 
+    private byte[] digest(byte[] data, int length) {
+        sha256.update(data, 0, length);
+        return sha256.digest();
+    }
+
     @Override
     protected InputStream getWrappedInputStream() {
         return is;
@@ -38,7 +38,7 @@ import java.util.Set;
  * "AWS_CONTAINER_CREDENTIALS_RELATIVE_URI" in the container's environment.
  * </p>
  */
-public class ContainerCredentialsProvider implements AWSCredentialsProvider {
+public class ContainerCredentialsProvider implements ExpiringCredentialsProvider {
 
     /** Environment variable to get the Amazon ECS credentials resource path. */
     static final String ECS_CONTAINER_CREDENTIALS_PATH = "AWS_CONTAINER_CREDENTIALS_RELATIVE_URI";
@@ -77,6 +77,7 @@ public class ContainerCredentialsProvider implements AWSCredentialsProvider {
         credentialsFetcher.refresh();
     }
 
+    @Override
     public Date getCredentialsExpiration() {
         return credentialsFetcher.getCredentialsExpiration();
     }
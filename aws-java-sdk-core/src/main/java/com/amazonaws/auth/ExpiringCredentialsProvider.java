@@ -14,17 +14,19 @@
  */
 package com.amazonaws.auth;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
+import java.util.Date;
 
 /**
- * A thread factory that marks all threads it creates as daemon threads.
+ * Credentials provider that knows when the temporary credentials it returns
+ * expire, such as those of the instance metadata service, the container
+ * credentials endpoint or STS.
  */
-class DaemonThreadFactory implements ThreadFactory {
-    @Override
-    public Thread newThread(Runnable runnable) {
-        Thread thread = Executors.defaultThreadFactory().newThread(runnable);
-        thread.setDaemon(true);
-        return thread;
-    }
+public interface ExpiringCredentialsProvider extends AWSCredentialsProvider {
+
+    /**
+     * Returns when the credentials this provider returned last expire, or null
+     * if it doesn't know, as when it hasn't returned any yet.
+     */
+    Date getCredentialsExpiration();
+
 }
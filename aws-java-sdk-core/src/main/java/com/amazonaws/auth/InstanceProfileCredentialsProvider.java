@@ -19,15 +19,16 @@ import com.amazonaws.SDKGlobalConfiguration;
 import com.amazonaws.SdkClientException;
 import com.amazonaws.internal.CredentialsEndpointProvider;
 import com.amazonaws.internal.EC2CredentialsUtils;
+import com.amazonaws.internal.RefreshScheduler;
 import com.amazonaws.util.EC2MetadataUtils;
 import java.io.Closeable;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.Date;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.ThreadFactory;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -35,9 +36,9 @@ import org.apache.commons.logging.LogFactory;
  * Credentials provider implementation that loads credentials from the Amazon EC2 Instance Metadata Service.
  *
  * <p>When using {@link InstanceProfileCredentialsProvider} with asynchronous refreshing it is
- * <b>strongly</b> recommended to explicitly call {@link #close()} to release the async thread.</p>
+ * <b>strongly</b> recommended to explicitly call {@link #close()} to stop the background refresh.</p>
  */
-public class InstanceProfileCredentialsProvider implements AWSCredentialsProvider, Closeable {
+public class InstanceProfileCredentialsProvider implements ExpiringCredentialsProvider, Closeable {
 
     private static final Log LOG = LogFactory.getLog(InstanceProfileCredentialsProvider.class);
 
@@ -57,10 +58,10 @@ public class InstanceProfileCredentialsProvider implements AWSCredentialsProvide
     private final EC2CredentialsFetcher credentialsFetcher;
 
     /**
-     * The executor service used for refreshing the credentials in the
-     * background.
+     * The background refresh of the credentials, scheduled on the shared
+     * {@link RefreshScheduler}.
      */
-    private volatile ScheduledExecutorService executor;
+    private volatile ScheduledFuture<?> refreshTask;
 
     private volatile boolean shouldRefresh = false;
 
@@ -73,12 +74,12 @@ public class InstanceProfileCredentialsProvider implements AWSCredentialsProvide
     }
 
     /**
-     * Spins up a new thread to refresh the credentials asynchronously if
+     * Schedules a refresh of the credentials in the background if
      * refreshCredentialsAsync is set to true, otherwise the credentials will be
      * refreshed from the instance metadata service synchronously,
      *
      * <p>It is <b>strongly</b> recommended to reuse instances of this credentials provider, especially
-     * when async refreshing is used since a background thread is created.</p>
+     * when async refreshing is used since a background refresh is scheduled.</p>
      *
      * @param refreshCredentialsAsync
      *            true if credentials needs to be refreshed asynchronously else
@@ -89,10 +90,10 @@ public class InstanceProfileCredentialsProvider implements AWSCredentialsProvide
     }
 
     /**
-     * Spins up a new thread to refresh the credentials asynchronously.
+     * Schedules a refresh of the credentials in the background.
      *
      * <p>It is <b>strongly</b> recommended to reuse instances of this credentials provider, especially
-     * when async refreshing is used since a background thread is created.</p>
+     * when async refreshing is used since a background refresh is scheduled.</p>
      *
      * @param eagerlyRefreshCredentialsAsync
      *            when set to false will not attempt to refresh credentials asynchronously
@@ -109,23 +110,25 @@ public class InstanceProfileCredentialsProvider implements AWSCredentialsProvide
 
         if (!SDKGlobalConfiguration.isEc2MetadataDisabled()) {
             if (refreshCredentialsAsync) {
-                executor = Executors.newScheduledThreadPool(1, new ThreadFactory() {
-                    public Thread newThread(Runnable r) {
-                        Thread t = Executors.defaultThreadFactory().newThread(r);
-                        t.setName("instance-profile-credentials-refresh");
-                        t.setDaemon(true);
-                        return t;
-                    }
-                });
-                executor.scheduleWithFixedDelay(new Runnable() {
+                final RefreshScheduler scheduler = RefreshScheduler.getDefault();
+                refreshTask = scheduler.scheduleWithFixedDelay(new Runnable() {
                     @Override
                     public void run() {
                         try {
-                            if (shouldRefresh) credentialsFetcher.getCredentials();
+                            if (shouldRefresh) {
+                                scheduler.refresh(new Callable<AWSCredentials>() {
+                                    @Override
+                                    public AWSCredentials call() {
+                                        return credentialsFetcher.getCredentials();
+                                    }
+                                });
+                            }
                         } catch (AmazonClientException ace) {
                             handleError(ace);
                         } catch (RuntimeException re) {
                             handleError(re);
+                        } catch (Exception e) {
+                            handleError(e);
                         }
                     }
                 }, 0, ASYNC_REFRESH_INTERVAL_TIME_MINUTES, TimeUnit.MINUTES);
@@ -152,8 +155,8 @@ public class InstanceProfileCredentialsProvider implements AWSCredentialsProvide
 
     @Override
     protected void finalize() throws Throwable {
-        if (executor != null) {
-            executor.shutdownNow();
+        if (refreshTask != null) {
+            refreshTask.cancel(false);
         }
     }
 
@@ -181,11 +184,16 @@ public class InstanceProfileCredentialsProvider implements AWSCredentialsProvide
         }
     }
 
+    @Override
+    public Date getCredentialsExpiration() {
+        return credentialsFetcher.getCredentialsExpiration();
+    }
+
     @Override
     public void close() throws IOException {
-        if (executor != null) {
-            executor.shutdownNow();
-            executor = null;
+        if (refreshTask != null) {
+            refreshTask.cancel(false);
+            refreshTask = null;
         }
     }
 
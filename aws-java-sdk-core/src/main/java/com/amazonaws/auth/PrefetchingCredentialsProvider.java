@@ -0,0 +1,349 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.auth;
+
+import com.amazonaws.AbortedException;
+import com.amazonaws.SdkClientException;
+import com.amazonaws.annotation.SdkTestInternalApi;
+import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.internal.RefreshScheduler;
+import java.io.Closeable;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Credentials provider that loads credentials from another provider ahead of
+ * time, on a background thread, so that requests don't wait while that
+ * provider calls out to the instance metadata service, the container
+ * credentials endpoint or STS.
+ * <p>
+ * Credentials are loaded on the calling thread the first time they are
+ * asked for, and from then on reloaded on the shared
+ * {@link RefreshScheduler} at a fixed
+ * interval, less a random amount so that the providers of many hosts don't
+ * all call out at once. If a background reload fails the credentials loaded
+ * last keep being returned until shortly before they expire, so that an
+ * outage of the credentials source doesn't fail requests while the
+ * credentials it gave out are still valid. When the provider loaded from is
+ * an {@link ExpiringCredentialsProvider} that knows when its credentials
+ * expire, reloads are also scheduled early enough to replace them in time;
+ * otherwise credentials are taken to expire after the given maximum age. Only
+ * once the credentials have expired are they loaded on the calling thread
+ * again, by a single caller whose outcome all the callers waiting meanwhile
+ * share; until then callers are served the credentials loaded last, even
+ * while they are being reloaded. After a failed background reload, the next
+ * one is retried after a second, backing off exponentially up to the refresh
+ * interval.
+ * <p>
+ * It is <b>strongly</b> recommended to reuse instances of this provider and to
+ * call {@link #close()} to stop its background reloads.
+ */
+@ThreadSafe
+public class PrefetchingCredentialsProvider implements AWSCredentialsProvider, Closeable {
+
+    private static final Log LOG = LogFactory.getLog(PrefetchingCredentialsProvider.class);
+
+    /** By default credentials are reloaded every five minutes. */
+    public static final long DEFAULT_REFRESH_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * By default credentials of unknown expiration loaded up to fifteen
+     * minutes ago are returned when reloading them fails.
+     */
+    public static final long DEFAULT_MAX_AGE_MILLIS = TimeUnit.MINUTES.toMillis(15);
+
+    /**
+     * Credentials are no longer returned once they expire within this long,
+     * so that requests signed with them don't reach the service after they
+     * expired.
+     */
+    private static final long EXPIRATION_MARGIN_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * The least time between two reloads scheduled early for credentials about
+     * to expire, and the delay of the first retry after a failed reload.
+     */
+    private static final long MIN_PREFETCH_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(1);
+
+    /** Bounds the backoff exponent, well past where the refresh interval caps the delay. */
+    private static final int MAX_BACKOFF_SHIFT = 30;
+
+    /** The most the refresh interval is shortened by, as a fraction of it. */
+    private static final double REFRESH_JITTER = 0.2;
+
+    private final AWSCredentialsProvider delegate;
+
+    private final long refreshIntervalMillis;
+
+    private final long maxAgeMillis;
+
+    private final SdkClock clock;
+
+    private final Random random = new Random();
+
+    /** The load in flight, if any, which callers needing credentials wait for rather than loading again. */
+    private final AtomicReference<FutureTask<LoadedCredentials>> pendingLoad =
+            new AtomicReference<FutureTask<LoadedCredentials>>();
+
+    private final AtomicBoolean prefetchStarted = new AtomicBoolean();
+
+    private final RefreshScheduler scheduler;
+
+    private volatile ScheduledFuture<?> prefetchTask;
+
+    private volatile LoadedCredentials current;
+
+    private volatile boolean closed;
+
+    /** Background reloads that failed since the last successful load. */
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    /**
+     * Creates a provider that reloads the credentials of the given provider
+     * with the default interval and maximum age.
+     */
+    public PrefetchingCredentialsProvider(AWSCredentialsProvider delegate) {
+        this(delegate, DEFAULT_REFRESH_INTERVAL_MILLIS, DEFAULT_MAX_AGE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param delegate
+     *            The provider to load credentials from.
+     * @param refreshInterval
+     *            How often to reload the credentials in the background.
+     * @param maxAge
+     *            How long after they were loaded credentials are still
+     *            returned when reloading them fails, if the provider loaded
+     *            from doesn't know when they expire. Must be longer than the
+     *            refresh interval.
+     * @param unit
+     *            The unit of the refresh interval and maximum age.
+     */
+    public PrefetchingCredentialsProvider(AWSCredentialsProvider delegate, long refreshInterval, long maxAge,
+                                          TimeUnit unit) {
+        this(delegate, unit.toMillis(refreshInterval), unit.toMillis(maxAge), SdkClock.STANDARD);
+    }
+
+    @SdkTestInternalApi
+    PrefetchingCredentialsProvider(AWSCredentialsProvider delegate, long refreshIntervalMillis, long maxAgeMillis,
+                                   SdkClock clock) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate cannot be null");
+        }
+        if (refreshIntervalMillis <= 0) {
+            throw new IllegalArgumentException("refreshInterval must be positive");
+        }
+        if (maxAgeMillis <= refreshIntervalMillis) {
+            throw new IllegalArgumentException("maxAge must be longer than refreshInterval");
+        }
+        this.delegate = delegate;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        this.maxAgeMillis = maxAgeMillis;
+        this.clock = clock;
+        this.scheduler = RefreshScheduler.getDefault();
+    }
+
+    @Override
+    public AWSCredentials getCredentials() {
+        LoadedCredentials loaded = current;
+        if (isUsable(loaded)) {
+            return loaded.credentials;
+        }
+        return load(false).credentials;
+    }
+
+    /**
+     * Refreshes the credentials of the provider loaded from and loads them
+     * again. Other callers are served the credentials loaded last meanwhile.
+     */
+    @Override
+    public void refresh() {
+        delegate.refresh();
+        load(true);
+    }
+
+    /**
+     * Stops reloading credentials in the background.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        ScheduledFuture<?> task = prefetchTask;
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
+    private boolean isUsable(LoadedCredentials loaded) {
+        return loaded != null && clock.currentTimeMillis() < loaded.usableUntil;
+    }
+
+    /**
+     * Loads credentials from the provider loaded from, or waits for the load
+     * already in flight and shares its outcome.
+     *
+     * @param fresh
+     *            Whether the credentials must come from a load started after
+     *            this call, rather than one already in flight.
+     */
+    private LoadedCredentials load(boolean fresh) {
+        while (true) {
+            FutureTask<LoadedCredentials> inFlight = pendingLoad.get();
+            if (inFlight == null) {
+                FutureTask<LoadedCredentials> newLoad = new FutureTask<LoadedCredentials>(
+                        new Callable<LoadedCredentials>() {
+                            @Override
+                            public LoadedCredentials call() {
+                                return loadFromDelegate();
+                            }
+                        });
+                if (!pendingLoad.compareAndSet(null, newLoad)) {
+                    continue;
+                }
+                try {
+                    newLoad.run();
+                } finally {
+                    pendingLoad.compareAndSet(newLoad, null);
+                }
+                return await(newLoad);
+            }
+            if (!fresh) {
+                return await(inFlight);
+            }
+            // Wait for the load in flight to finish, whatever its outcome, and start another one
+            try {
+                await(inFlight);
+            } catch (RuntimeException e) {
+                // Superseded by the load this caller starts next
+            }
+        }
+    }
+
+    private LoadedCredentials loadFromDelegate() {
+        AWSCredentials credentials = delegate.getCredentials();
+        LoadedCredentials loaded = new LoadedCredentials(credentials, usableUntil(clock.currentTimeMillis()));
+        current = loaded;
+        consecutiveFailures.set(0);
+        if (prefetchStarted.compareAndSet(false, true)) {
+            schedulePrefetch();
+        }
+        return loaded;
+    }
+
+    private static LoadedCredentials await(FutureTask<LoadedCredentials> load) {
+        try {
+            return load.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AbortedException("Interrupted waiting for credentials to load.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new SdkClientException("Unable to load credentials.", cause);
+        }
+    }
+
+    /**
+     * Returns until when the credentials just loaded can be returned: until
+     * shortly before they expire if the provider loaded from knows when that
+     * is, otherwise for the maximum age.
+     */
+    private long usableUntil(long loadedAt) {
+        if (delegate instanceof ExpiringCredentialsProvider) {
+            Date expiration = ((ExpiringCredentialsProvider) delegate).getCredentialsExpiration();
+            if (expiration != null) {
+                return expiration.getTime() - EXPIRATION_MARGIN_MILLIS;
+            }
+        }
+        return loadedAt + maxAgeMillis;
+    }
+
+    private void schedulePrefetch() {
+        if (closed) {
+            return;
+        }
+        prefetchTask = scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                prefetch();
+            }
+        }, nextPrefetchDelayMillis(consecutiveFailures.get()), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns how long to wait before the next background reload, given how
+     * many reloads failed in a row.
+     */
+    @SdkTestInternalApi
+    long nextPrefetchDelayMillis(int failures) {
+        long delay = refreshIntervalMillis - (long) (refreshIntervalMillis * REFRESH_JITTER * random.nextDouble());
+        if (failures > 0) {
+            // Retry a failed reload after a second, doubling the delay with every failure
+            return Math.min(delay, MIN_PREFETCH_DELAY_MILLIS << Math.min(failures - 1, MAX_BACKOFF_SHIFT));
+        }
+        LoadedCredentials loaded = current;
+        if (loaded != null) {
+            // Reload credentials about to expire halfway to then rather than
+            // after the interval
+            long untilUnusable = loaded.usableUntil - clock.currentTimeMillis();
+            delay = Math.min(delay, Math.max(untilUnusable / 2, MIN_PREFETCH_DELAY_MILLIS));
+        }
+        return delay;
+    }
+
+    private void prefetch() {
+        if (closed) {
+            return;
+        }
+        try {
+            load(false);
+        } catch (RuntimeException e) {
+            consecutiveFailures.incrementAndGet();
+            LOG.warn("Unable to reload credentials from " + delegate
+                     + ", continuing to use the credentials loaded last: " + e.getMessage(), e);
+        } finally {
+            schedulePrefetch();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + delegate + ")";
+    }
+
+    private static final class LoadedCredentials {
+        private final AWSCredentials credentials;
+        private final long usableUntil;
+
+        private LoadedCredentials(AWSCredentials credentials, long usableUntil) {
+            this.credentials = credentials;
+            this.usableUntil = usableUntil;
+        }
+    }
+}
@@ -28,6 +28,7 @@ public final class SignerFactory {
     public static final String VERSION_THREE_SIGNER = "AWS3SignerType";
     public static final String VERSION_FOUR_SIGNER = "AWS4SignerType";
     public static final String VERSION_FOUR_UNSIGNED_PAYLOAD_SIGNER = "AWS4UnsignedPayloadSignerType";
+    public static final String VERSION_FOUR_STREAMING_PAYLOAD_SIGNER = "AWS4StreamingPayloadSignerType";
     public static final String NO_OP_SIGNER = "NoOpSignerType";
 
     private static final Map<String, Class<? extends Signer>> SIGNERS
@@ -39,6 +40,7 @@ public final class SignerFactory {
         SIGNERS.put(VERSION_THREE_SIGNER, AWS3Signer.class);
         SIGNERS.put(VERSION_FOUR_SIGNER, AWS4Signer.class);
         SIGNERS.put(VERSION_FOUR_UNSIGNED_PAYLOAD_SIGNER, AWS4UnsignedPayloadSigner.class);
+        SIGNERS.put(VERSION_FOUR_STREAMING_PAYLOAD_SIGNER, AWS4StreamingPayloadSigner.class);
         SIGNERS.put(NO_OP_SIGNER, NoOpSigner.class);
     }
 
@@ -14,6 +14,7 @@
  */
 package com.amazonaws.auth.internal;
 
+import com.amazonaws.util.AwsDateFormats;
 import org.joda.time.format.DateTimeFormat;
 import org.joda.time.format.DateTimeFormatter;
 
@@ -36,7 +37,8 @@ public final class AWS4SignerUtils {
      * For example, given a time "1416863450581", this method returns "20141124"
      */
     public static String formatDateStamp(long timeMilli) {
-        return dateFormatter.print(timeMilli);
+        String formatted = AwsDateFormats.formatDateStamp(timeMilli);
+        return formatted != null ? formatted : dateFormatter.print(timeMilli);
     }
 
     /**
@@ -47,6 +49,7 @@ public final class AWS4SignerUtils {
      * "20141124T211050Z"
      */
     public static String formatTimestamp(long timeMilli) {
-        return timeFormatter.print(timeMilli);
+        String formatted = AwsDateFormats.formatCompressedIso8601(timeMilli);
+        return formatted != null ? formatted : timeFormatter.print(timeMilli);
     }
 }
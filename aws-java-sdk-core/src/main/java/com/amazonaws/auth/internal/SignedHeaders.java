@@ -0,0 +1,78 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.auth.internal;
+
+import com.amazonaws.annotation.Immutable;
+import com.amazonaws.annotation.SdkInternalApi;
+
+/**
+ * The headers of a request that are included in its AWS4 signature, in the
+ * order they are signed in. Worked out once for each set of header names a
+ * signer sees, as requests to the same operation almost always send the same
+ * headers.
+ */
+@Immutable
+@SdkInternalApi
+public final class SignedHeaders {
+
+    private final String[] names;
+
+    private final String[] lowerCaseNames;
+
+    private final String signedHeadersString;
+
+    /**
+     * @param names The header names as they appear in the request, sorted
+     *              case-insensitively.
+     * @param lowerCaseNames The same names in lower case.
+     */
+    public SignedHeaders(String[] names, String[] lowerCaseNames) {
+        this.names = names.clone();
+        this.lowerCaseNames = lowerCaseNames.clone();
+
+        StringBuilder buffer = new StringBuilder(lowerCaseNames.length * 16);
+        for (String name : lowerCaseNames) {
+            if (buffer.length() > 0) {
+                buffer.append(';');
+            }
+            buffer.append(name);
+        }
+        this.signedHeadersString = buffer.toString();
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Returns the name of the header at the given position as it appears in
+     * the request, to look its value up with.
+     */
+    public String getName(int index) {
+        return names[index];
+    }
+
+    public String getLowerCaseName(int index) {
+        return lowerCaseNames[index];
+    }
+
+    /**
+     * Returns the semicolon separated, lower case header names that make up
+     * the SignedHeaders part of the signature.
+     */
+    public String getSignedHeadersString() {
+        return signedHeadersString;
+    }
+}
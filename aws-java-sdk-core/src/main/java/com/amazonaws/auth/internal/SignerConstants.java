@@ -39,6 +39,11 @@ public final class SignerConstants {
 
     public static final String X_AMZ_SIGNATURE = "X-Amz-Signature";
 
+    public static final String X_AMZ_DECODED_CONTENT_LENGTH = "x-amz-decoded-content-length";
+
+    /** Sent in lieu of a payload hash when the payload is signed in aws-chunked chunks */
+    public static final String STREAMING_AWS4_HMAC_SHA256_PAYLOAD = "STREAMING-AWS4-HMAC-SHA256-PAYLOAD";
+
     public static final String X_AMZ_ALGORITHM = "X-Amz-Algorithm";
 
     public static final String AUTHORIZATION = "Authorization";
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.auth.internal;
+
+import com.amazonaws.annotation.Immutable;
+import com.amazonaws.annotation.SdkInternalApi;
+
+/**
+ * Identifies a cached AWS4 signing key by the secret key, region and service
+ * it was derived for. Compares the parts directly rather than joining them
+ * into a single string, so looking a key up doesn't copy the secret key.
+ */
+@Immutable
+@SdkInternalApi
+public final class SigningKeyCacheKey {
+
+    private final String secretKey;
+
+    private final String regionName;
+
+    private final String serviceName;
+
+    private final int hashCode;
+
+    public SigningKeyCacheKey(String secretKey, String regionName, String serviceName) {
+        this.secretKey = secretKey;
+        this.regionName = regionName;
+        this.serviceName = serviceName;
+        this.hashCode = 31 * (31 * hashCode(secretKey) + hashCode(regionName)) + hashCode(serviceName);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SigningKeyCacheKey)) {
+            return false;
+        }
+        SigningKeyCacheKey other = (SigningKeyCacheKey) o;
+        return hashCode == other.hashCode
+               && equals(secretKey, other.secretKey)
+               && equals(regionName, other.regionName)
+               && equals(serviceName, other.serviceName);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    /**
+     * Leaves out the secret key, which mustn't end up in logs.
+     */
+    @Override
+    public String toString() {
+        return "SigningKeyCacheKey(" + regionName + ", " + serviceName + ")";
+    }
+
+    private static int hashCode(String value) {
+        return value == null ? 0 : value.hashCode();
+    }
+
+    private static boolean equals(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
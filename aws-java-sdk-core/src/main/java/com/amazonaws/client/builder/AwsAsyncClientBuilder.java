@@ -99,7 +99,7 @@ public abstract class AwsAsyncClientBuilder<Subclass extends AwsAsyncClientBuild
 
         protected AsyncBuilderParams(ExecutorFactory executorFactory) {
             this._executorService =
-                    (executorFactory == null) ? defaultExecutor() : executorFactory.newExecutor();
+                    (executorFactory == null) ? defaultExecutor() : newExecutor(executorFactory);
         }
 
         @Override
@@ -113,6 +113,13 @@ public abstract class AwsAsyncClientBuilder<Subclass extends AwsAsyncClientBuild
         private ExecutorService defaultExecutor() {
             return Executors.newFixedThreadPool(getClientConfiguration().getMaxConnections());
         }
+
+        private ExecutorService newExecutor(ExecutorFactory executorFactory) {
+            if (executorFactory instanceof VirtualThreadExecutorFactory) {
+                return ((VirtualThreadExecutorFactory) executorFactory).newExecutor(getClientConfiguration());
+            }
+            return executorFactory.newExecutor();
+        }
     }
 
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.client.builder;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.util.ValidationUtils;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * {@link ExecutorFactory} that runs each async client call on its own virtual thread when the
+ * running JVM supports them (Java 21 and later). On older JVMs a fixed size thread pool is created
+ * instead, which by default matches the default executor used by the async client builders: one
+ * thread per connection the client is configured to open at most.
+ *
+ * <pre>
+ * AmazonDynamoDBAsync client = AmazonDynamoDBAsyncClientBuilder.standard()
+ *         .withExecutorFactory(new VirtualThreadExecutorFactory())
+ *         .build();
+ * </pre>
+ */
+@ThreadSafe
+public class VirtualThreadExecutorFactory implements ExecutorFactory {
+
+    private static final Log LOG = LogFactory.getLog(VirtualThreadExecutorFactory.class);
+
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findVirtualThreadExecutorMethod();
+
+    /** Number of threads of the fallback pool, or null to size it from the client's configuration. */
+    private final Integer fallbackPoolSize;
+
+    /**
+     * Creates a factory that falls back to a thread pool of as many threads as the client it's
+     * used by is configured to open connections ({@link ClientConfiguration#getMaxConnections()})
+     * when virtual threads are not available, or of {@link
+     * ClientConfiguration#DEFAULT_MAX_CONNECTIONS} threads when used outside a client builder.
+     */
+    public VirtualThreadExecutorFactory() {
+        this.fallbackPoolSize = null;
+    }
+
+    /**
+     * @param fallbackPoolSize Number of threads in the fixed size pool used when virtual threads
+     *                         are not available.
+     */
+    public VirtualThreadExecutorFactory(int fallbackPoolSize) {
+        this.fallbackPoolSize = ValidationUtils.assertIsPositive(fallbackPoolSize, "fallbackPoolSize");
+    }
+
+    /**
+     * @return True if the running JVM supports virtual threads, false otherwise.
+     */
+    public static boolean isVirtualThreadSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    @Override
+    public ExecutorService newExecutor() {
+        return newExecutor(fallbackPoolSize != null ? fallbackPoolSize : ClientConfiguration.DEFAULT_MAX_CONNECTIONS);
+    }
+
+    /**
+     * Creates the executor of a client built with the given configuration.
+     */
+    ExecutorService newExecutor(ClientConfiguration clientConfiguration) {
+        return newExecutor(fallbackPoolSize != null ? fallbackPoolSize : clientConfiguration.getMaxConnections());
+    }
+
+    private ExecutorService newExecutor(int poolSize) {
+        if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+            } catch (Exception e) {
+                LOG.debug("Unable to create virtual thread executor, falling back to a fixed thread pool", e);
+            }
+        }
+        return Executors.newFixedThreadPool(poolSize);
+    }
+
+    private static Method findVirtualThreadExecutorMethod() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (SecurityException e) {
+            return null;
+        }
+    }
+}
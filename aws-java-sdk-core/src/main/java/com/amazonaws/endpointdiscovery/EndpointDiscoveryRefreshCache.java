@@ -16,6 +16,7 @@ package com.amazonaws.endpointdiscovery;
 
 import com.amazonaws.annotation.SdkInternalApi;
 import com.amazonaws.cache.CacheLoader;
+import com.amazonaws.internal.RefreshScheduler;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -24,8 +25,6 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -34,7 +33,9 @@ public abstract class EndpointDiscoveryRefreshCache<K> {
 
     private static final Log log = LogFactory.getLog(EndpointDiscoveryRefreshCache.class);
 
-    private final ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor(DaemonThreadFactory.INSTANCE);
+    private final RefreshScheduler scheduler = RefreshScheduler.getDefault();
+    private final Map<String, ScheduledFuture<URI>> scheduledRefreshes = new ConcurrentHashMap<String, ScheduledFuture<URI>>();
+    private volatile boolean shutdown;
     private final CacheLoader<String, Map<String, String>> cacheLoader;
 
     protected final Map<String, URI> cache = new ConcurrentHashMap<String, URI>();
@@ -86,9 +87,12 @@ public abstract class EndpointDiscoveryRefreshCache<K> {
     public ScheduledFuture<URI> loadAndScheduleRefresh(final String key,
                                                        final long refreshPeriod,
                                                        final URI defaultEndpoint) {
-        return executorService.schedule(new Callable<URI>() {
+        ScheduledFuture<URI> refresh = scheduler.schedule(new Callable<URI>() {
             @Override
             public URI call() {
+                if (shutdown) {
+                    return null;
+                }
                 try {
                     return put(key, cacheLoader.load(key), defaultEndpoint);
                 } catch (Exception e) {
@@ -98,9 +102,21 @@ public abstract class EndpointDiscoveryRefreshCache<K> {
                 }
             }
         }, refreshPeriod, TimeUnit.MINUTES);
+        ScheduledFuture<URI> previous = scheduledRefreshes.put(key, refresh);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+        if (shutdown) {
+            refresh.cancel(false);
+        }
+        return refresh;
     }
 
     public void shutdown() {
-        executorService.shutdownNow();
+        shutdown = true;
+        for (ScheduledFuture<URI> refresh : scheduledRefreshes.values()) {
+            refresh.cancel(false);
+        }
+        scheduledRefreshes.clear();
     }
 }
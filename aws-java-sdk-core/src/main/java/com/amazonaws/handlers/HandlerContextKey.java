@@ -64,6 +64,23 @@ public class HandlerContextKey<T> {
      */
     public static final HandlerContextKey<String> SERVICE_ID = new HandlerContextKey<String>("ServiceId");
 
+    /**
+     * Marks requests to operations that may be sent more than once concurrently, such as
+     * idempotent reads. Only such requests are hedged. Set by service clients for the operations
+     * listed under {@code hedgeSafeOperations} in their code generation customization config, or
+     * by callers on individual requests with
+     * {@code request.addHandlerContext(HandlerContextKey.HEDGE_SAFE, Boolean.TRUE)}.
+     */
+    public static final HandlerContextKey<Boolean> HEDGE_SAFE = new HandlerContextKey<Boolean>("HedgeSafe");
+
+    /**
+     * Whether list members of the response are unmarshalled on first access rather than while the
+     * response is read. Set from {@link com.amazonaws.ClientConfiguration#useLazyListUnmarshalling()}
+     * unless already set on the request.
+     */
+    public static final HandlerContextKey<Boolean> LAZY_LIST_UNMARSHALLING =
+            new HandlerContextKey<Boolean>("LazyListUnmarshalling");
+
     private final String name;
 
     public HandlerContextKey(String name) {
@@ -29,6 +29,7 @@ import com.amazonaws.AmazonClientException;
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.AmazonWebServiceRequest;
 import com.amazonaws.AmazonWebServiceResponse;
+import com.amazonaws.ApacheHttpClientConfig;
 import com.amazonaws.ClientConfiguration;
 import com.amazonaws.Request;
 import com.amazonaws.RequestClientOptions;
@@ -57,9 +58,13 @@ import com.amazonaws.handlers.HandlerContextKey;
 import com.amazonaws.handlers.RequestHandler2;
 import com.amazonaws.http.apache.client.impl.ApacheHttpClientFactory;
 import com.amazonaws.http.apache.client.impl.ConnectionManagerAwareHttpClient;
+import com.amazonaws.http.hedging.HedgedRequestExecutor;
+import com.amazonaws.http.hedging.HedgedRequestExecutor.HedgedResponse;
+import com.amazonaws.http.hedging.LatencyPercentileTracker;
 import com.amazonaws.http.apache.request.impl.ApacheHttpRequestFactory;
 import com.amazonaws.http.apache.utils.ApacheUtils;
 import com.amazonaws.http.client.HttpClientFactory;
+import com.amazonaws.http.conn.ConnectionWarmer;
 import com.amazonaws.http.exception.HttpRequestTimeoutException;
 import com.amazonaws.http.request.HttpRequestFactory;
 import com.amazonaws.http.response.AwsResponseHandlerAdapter;
@@ -71,6 +76,7 @@ import com.amazonaws.http.timers.client.SdkInterruptedException;
 import com.amazonaws.http.timers.request.HttpRequestAbortTaskTracker;
 import com.amazonaws.http.timers.request.HttpRequestTimer;
 import com.amazonaws.internal.AmazonWebServiceRequestAdapter;
+import com.amazonaws.internal.ByteArrayPool;
 import com.amazonaws.internal.CRC32MismatchException;
 import com.amazonaws.internal.ReleasableInputStream;
 import com.amazonaws.internal.ResettableInputStream;
@@ -78,10 +84,13 @@ import com.amazonaws.internal.SdkBufferedInputStream;
 import com.amazonaws.internal.auth.SignerProviderContext;
 import com.amazonaws.metrics.AwsSdkMetrics;
 import com.amazonaws.metrics.RequestMetricCollector;
+import com.amazonaws.retry.CircuitBreakerOpenException;
 import com.amazonaws.retry.RetryPolicyAdapter;
 import com.amazonaws.retry.RetryUtils;
 import com.amazonaws.retry.internal.AuthErrorRetryStrategy;
 import com.amazonaws.retry.internal.AuthRetryParameters;
+import com.amazonaws.retry.internal.ClientSideRateLimiter;
+import com.amazonaws.retry.internal.EndpointCircuitBreaker;
 import com.amazonaws.retry.v2.RetryPolicy;
 import com.amazonaws.retry.v2.RetryPolicyContext;
 import com.amazonaws.util.AwsClientSideMonitoringMetrics;
@@ -92,6 +101,7 @@ import com.amazonaws.util.CollectionUtils;
 import com.amazonaws.util.CountingInputStream;
 import com.amazonaws.util.DateUtils;
 import com.amazonaws.util.FakeIOException;
+import com.amazonaws.util.IOUtils;
 import com.amazonaws.util.ImmutableMapParameter;
 import com.amazonaws.util.MetadataCache;
 import com.amazonaws.util.NullResponseMetadataCache;
@@ -115,16 +125,22 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpStatus;
 import org.apache.http.StatusLine;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.pool.ConnPoolControl;
 import org.apache.http.pool.PoolStats;
 import org.apache.http.protocol.HttpContext;
@@ -163,6 +179,12 @@ public class AmazonHttpClient {
      */
     private static final int THROTTLED_RETRY_COST = 5;
 
+    /**
+     * Requests with a larger body than this are never hedged, as the body has to be buffered in
+     * memory so that it can be sent twice concurrently.
+     */
+    private static final long MAX_HEDGED_CONTENT_LENGTH = 64 * 1024;
+
     static {
         // Customers have reported XML parsing issues with the following
         // JVM versions, which don't occur with more recent versions, so
@@ -209,6 +231,33 @@ public class AmazonHttpClient {
      */
     private final CapacityManager retryCapacity;
 
+    /**
+     * Adaptive send rate limiters keyed by endpoint authority, or null if adaptive rate limiting
+     * is disabled.
+     */
+    private final ConcurrentMap<String, ClientSideRateLimiter> rateLimiters;
+
+    /**
+     * Circuit breakers keyed by endpoint authority, or null if circuit breaking is disabled.
+     */
+    private final ConcurrentMap<String, EndpointCircuitBreaker> circuitBreakers;
+
+    /**
+     * Races hedge-safe requests against a duplicate, or null if hedging is disabled.
+     */
+    private final HedgedRequestExecutor hedgedRequestExecutor;
+
+    /**
+     * Recent latencies of hedge-safe requests keyed by endpoint authority and operation, used to
+     * decide when to hedge. Null if hedging is disabled.
+     */
+    private final ConcurrentMap<String, LatencyPercentileTracker> latencyTrackers;
+
+    /**
+     * Opens connections ahead of requests, lazily created on first use.
+     */
+    private ConnectionWarmer connectionWarmer;
+
     /**
      * Timer to enforce timeouts on the whole execution of the request (request handlers, retries,
      * backoff strategy, unmarshalling, etc)
@@ -314,7 +363,18 @@ public class AmazonHttpClient {
              retryPolicy,
              requestMetricCollector,
              HttpClientSettings.adapt(config, useBrowserCompatibleHostNameVerifier, calculateCRC32FromCompressedData));
-        this.httpClient = httpClientFactory.create(this.httpClientSettings);
+        this.httpClient = resolveHttpClientFactory(config).create(this.httpClientSettings);
+    }
+
+    /**
+     * Returns the transport factory configured through {@link ApacheHttpClientConfig}, falling
+     * back to the default Apache HTTP client factory if none has been set.
+     */
+    private static HttpClientFactory<ConnectionManagerAwareHttpClient> resolveHttpClientFactory(
+            ClientConfiguration config) {
+        HttpClientFactory<ConnectionManagerAwareHttpClient> customFactory =
+                config == null ? null : config.getApacheHttpClientConfig().getHttpClientFactory();
+        return customFactory != null ? customFactory : httpClientFactory;
     }
 
     /**
@@ -352,6 +412,20 @@ public class AmazonHttpClient {
         int throttledRetryMaxCapacity = clientConfig.useThrottledRetries()
                 ? THROTTLED_RETRY_COST * config.getMaxConsecutiveRetriesBeforeThrottling() : -1;
         this.retryCapacity = new CapacityManager(throttledRetryMaxCapacity);
+        this.rateLimiters = clientConfig.useAdaptiveRateLimiting()
+                ? new ConcurrentHashMap<String, ClientSideRateLimiter>() : null;
+        this.circuitBreakers = clientConfig.useCircuitBreaker()
+                ? new ConcurrentHashMap<String, EndpointCircuitBreaker>() : null;
+        if (clientConfig.useHedgedRequests()) {
+            this.hedgedRequestExecutor = new HedgedRequestExecutor(clientConfig.getMaxConnections());
+            this.latencyTrackers = new ConcurrentHashMap<String, LatencyPercentileTracker>();
+        } else {
+            this.hedgedRequestExecutor = null;
+            this.latencyTrackers = null;
+        }
+        if (!clientConfig.useBufferPooling()) {
+            ByteArrayPool.getDefault().disable();
+        }
     }
 
     public static Builder builder() {
@@ -424,10 +498,54 @@ public class AmazonHttpClient {
     public void shutdown() {
         clientExecutionTimer.shutdown();
         httpRequestTimer.shutdown();
+        if (hedgedRequestExecutor != null) {
+            hedgedRequestExecutor.shutdown();
+        }
+        synchronized (this) {
+            if (connectionWarmer != null) {
+                connectionWarmer.shutdown();
+            }
+        }
         IdleConnectionReaper.removeConnectionManager(httpClient.getHttpClientConnectionManager());
         httpClient.getHttpClientConnectionManager().shutdown();
     }
 
+    /**
+     * Opens connections to the given endpoint until the connection pool holds the given number of
+     * connections to it, so the first requests don't pay for the TCP and TLS handshakes. Blocks
+     * until the connections are established. Connections through a proxy are not warmed up.
+     *
+     * @param endpoint    Endpoint to open connections to
+     * @param connections Number of connections to hold, capped at the maximum number of
+     *                    connections of the pool
+     * @return The number of connections opened
+     * @throws SdkClientException If a connection could not be established
+     */
+    public int warmUpConnections(URI endpoint, int connections) {
+        return getConnectionWarmer().warmUp(endpoint, connections);
+    }
+
+    /**
+     * Warms up connections to the given endpoint like {@link #warmUpConnections(URI, int)}, then
+     * keeps them open and topped up in the background until the client is shut down.
+     *
+     * @param endpoint    Endpoint to open connections to
+     * @param connections Number of connections to hold, capped at the maximum number of
+     *                    connections of the pool
+     * @return The number of connections opened
+     * @throws SdkClientException If a connection could not be established
+     */
+    public int keepConnectionsWarm(URI endpoint, int connections) {
+        return getConnectionWarmer().keepWarm(endpoint, connections);
+    }
+
+    private synchronized ConnectionWarmer getConnectionWarmer() {
+        if (connectionWarmer == null) {
+            connectionWarmer = new ConnectionWarmer(httpClient.getHttpClientConnectionManager(), httpClientSettings);
+        }
+        return connectionWarmer;
+    }
+
     /**
      * Used to configure the test conditions for injecting intermittent failures to the content
      * input stream.
@@ -775,6 +893,10 @@ public class AmazonHttpClient {
         private void runBeforeRequestHandlers() {
             AWSCredentials credentials = getCredentialsFromContext();
             request.addHandlerContext(HandlerContextKey.AWS_CREDENTIALS, credentials);
+            if (config.useLazyListUnmarshalling()
+                && request.getHandlerContext(HandlerContextKey.LAZY_LIST_UNMARSHALLING) == null) {
+                request.addHandlerContext(HandlerContextKey.LAZY_LIST_UNMARSHALLING, Boolean.TRUE);
+            }
             // Apply any additional service specific request handlers that need to be run
             for (RequestHandler2 requestHandler2 : requestHandler2s) {
                 // If the request handler is a type of CredentialsRequestHandler, then set the credentials in the request handler.
@@ -1071,6 +1193,7 @@ public class AmazonHttpClient {
                             .build();
 
                     beforeAttempt(beforeAttemptContext);
+                    acquireCircuitBreakerPermission();
                     response = executeOneRequest(execOneParams);
                     savedException = execOneParams.retriedException;
 
@@ -1079,6 +1202,7 @@ public class AmazonHttpClient {
                     }
                 } catch (IOException ioe) {
                     savedException = ioe;
+                    recordCircuitBreakerOutcome(true);
                     handleRetryableException(execOneParams, ioe);
                 } catch (InterruptedException ie) {
                     savedException = ie;
@@ -1211,6 +1335,7 @@ public class AmazonHttpClient {
                 pauseBeforeRetry(execOneParams, listener);
             }
             updateRetryHeaderInfo(request, execOneParams);
+            acquireSendToken();
 
             // Sign the request if a signer was provided
             execOneParams.newSigner(request, executionContext);
@@ -1239,11 +1364,19 @@ public class AmazonHttpClient {
             execOneParams.newApacheRequest(httpRequestFactory, request, httpClientSettings);
 
             captureConnectionPoolMetrics();
+            if (awsRequestMetrics.isEnabled()) {
+                ByteArrayPool.getDefault().recordMetrics(awsRequestMetrics);
+            }
 
-            final HttpClientContext localRequestContext =
+            HttpClientContext localRequestContext =
                     ApacheUtils.newClientContext(httpClientSettings, ImmutableMapParameter.of
                             (AWSRequestMetrics.SIMPLE_NAME, awsRequestMetrics));
 
+            final LatencyPercentileTracker latencyTracker = getLatencyTracker();
+            final long hedgeDelay = latencyTracker == null ? -1 : latencyTracker.getPercentile();
+            final HedgeRequestSource hedgeSource = hedgeDelay < 0
+                    ? null : newHedgeRequestSource(execOneParams, getRequestTimeout(requestConfig));
+
             execOneParams.resetBeforeHttpRequest();
             publishProgress(listener, ProgressEventType.HTTP_REQUEST_STARTED_EVENT);
             awsRequestMetrics.startEvent(Field.HttpRequestTime);
@@ -1253,9 +1386,26 @@ public class AmazonHttpClient {
             executionContext.getClientExecutionTrackerTask().setCurrentHttpRequest(execOneParams.apacheRequest);
             final HttpRequestAbortTaskTracker requestAbortTaskTracker = httpRequestTimer
                     .startTimer(execOneParams.apacheRequest, getRequestTimeout(requestConfig));
+            final long sendStartNanos = System.nanoTime();
 
             try {
-                execOneParams.apacheResponse = httpClient.execute(execOneParams.apacheRequest, localRequestContext);
+                if (hedgeSource == null) {
+                    execOneParams.apacheResponse = httpClient.execute(execOneParams.apacheRequest, localRequestContext);
+                    if (latencyTracker != null) {
+                        latencyTracker.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sendStartNanos));
+                    }
+                } else {
+                    HedgedResponse hedgedResponse = hedgedRequestExecutor.execute(
+                            httpClient, execOneParams.apacheRequest, localRequestContext, hedgeSource, hedgeDelay,
+                            latencyTracker);
+                    if (hedgedResponse.isHedge()) {
+                        awsRequestMetrics.incrementCounter(Field.HedgedResponseCount);
+                        executionContext.getClientExecutionTrackerTask().setCurrentHttpRequest(hedgedResponse.getRequest());
+                        execOneParams.apacheRequest = hedgedResponse.getRequest();
+                        localRequestContext = (HttpClientContext) hedgedResponse.getContext();
+                    }
+                    execOneParams.apacheResponse = hedgedResponse.getResponse();
+                }
                 if (shouldBufferHttpEntity(responseHandler.needsConnectionLeftOpen(),
                                            executionContext,
                                            execOneParams,
@@ -1275,6 +1425,9 @@ public class AmazonHttpClient {
                 }
             } finally {
                 requestAbortTaskTracker.cancelTask();
+                if (hedgeSource != null) {
+                    hedgeSource.cancelTimer();
+                }
                 awsRequestMetrics.endEvent(Field.HttpRequestTime);
             }
 
@@ -1290,6 +1443,8 @@ public class AmazonHttpClient {
                 execOneParams.leaveHttpConnectionOpen = responseHandler.needsConnectionLeftOpen();
                 HttpResponse httpResponse = ApacheUtils.createResponse(request, execOneParams.apacheRequest, execOneParams.apacheResponse, localRequestContext);
                 Output response = handleResponse(httpResponse);
+                updateSendRate(false);
+                recordCircuitBreakerOutcome(false);
 
             /*
              * If this was a successful retry attempt we'll release the full retry capacity that
@@ -1297,9 +1452,9 @@ public class AmazonHttpClient {
              * we return a lesser amount.
              */
                 if (execOneParams.isRetry() && executionContext.retryCapacityConsumed()) {
-                    retryCapacity.release(THROTTLED_RETRY_COST);
+                    releaseRetryCapacity(THROTTLED_RETRY_COST);
                 } else {
-                    retryCapacity.release();
+                    releaseRetryCapacity(1);
                 }
                 return new Response<Output>(response, httpResponse);
             }
@@ -1315,6 +1470,7 @@ public class AmazonHttpClient {
                     log.debug("Redirecting to: " + redirectedLocation);
                 }
                 execOneParams.redirectedURI = URI.create(redirectedLocation);
+                recordCircuitBreakerOutcome(false);
                 awsRequestMetrics.addPropertyWith(Field.StatusCode, statusCode)
                         .addPropertyWith(Field.RedirectLocation, redirectedLocation)
                         .addPropertyWith(Field.AWSRequestID, null);
@@ -1324,6 +1480,9 @@ public class AmazonHttpClient {
             final SdkBaseException exception = handleErrorResponse(execOneParams.apacheRequest,
                                                              execOneParams.apacheResponse,
                                                              localRequestContext);
+            updateSendRate(RetryUtils.isThrottlingException(exception));
+            recordCircuitBreakerOutcome(exception instanceof AmazonServiceException
+                                        && ((AmazonServiceException) exception).getStatusCode() >= 500);
 
             /*
              * If the exception is related to Clock skew,
@@ -1361,6 +1520,199 @@ public class AmazonHttpClient {
             return null; // => retry
         }
 
+        /**
+         * Blocks until the adaptive rate limiter for the request's endpoint permits another
+         * attempt to be sent. No-op if adaptive rate limiting is disabled.
+         */
+        private void acquireSendToken() throws InterruptedException {
+            ClientSideRateLimiter rateLimiter = getRateLimiter();
+            if (rateLimiter == null) {
+                return;
+            }
+            awsRequestMetrics.startEvent(Field.RateLimiterPauseTime);
+            try {
+                rateLimiter.acquire();
+            } finally {
+                awsRequestMetrics.endEvent(Field.RateLimiterPauseTime);
+            }
+            double sendingRate = rateLimiter.getSendingRate();
+            if (sendingRate >= 0) {
+                awsRequestMetrics.addProperty(Field.ClientSendRate, sendingRate);
+            }
+        }
+
+        /**
+         * Feeds the outcome of an attempt back into the adaptive rate limiter for the request's
+         * endpoint. No-op if adaptive rate limiting is disabled.
+         */
+        private void updateSendRate(boolean throttled) {
+            ClientSideRateLimiter rateLimiter = getRateLimiter();
+            if (rateLimiter != null) {
+                rateLimiter.updateSendingRate(throttled);
+            }
+        }
+
+        /**
+         * Fails fast with a {@link CircuitBreakerOpenException} if the circuit breaker for the
+         * request's endpoint is open. No-op if circuit breaking is disabled.
+         */
+        private void acquireCircuitBreakerPermission() {
+            EndpointCircuitBreaker circuitBreaker = getCircuitBreaker();
+            if (circuitBreaker == null) {
+                return;
+            }
+            EndpointCircuitBreaker.State previousState = circuitBreaker.getState();
+            boolean permitted = circuitBreaker.tryAcquirePermission();
+            EndpointCircuitBreaker.State currentState = circuitBreaker.getState();
+            if (currentState != previousState) {
+                awsRequestMetrics.addProperty(Field.CircuitBreakerState, currentState);
+            }
+            if (!permitted) {
+                throw new CircuitBreakerOpenException(
+                        "Circuit breaker for " + request.getEndpoint() + " is open, request was not sent");
+            }
+        }
+
+        /**
+         * Records the outcome of an attempt with the circuit breaker for the request's endpoint.
+         * No-op if circuit breaking is disabled.
+         *
+         * @param failure True if the endpoint failed to service the attempt.
+         */
+        private void recordCircuitBreakerOutcome(boolean failure) {
+            EndpointCircuitBreaker circuitBreaker = getCircuitBreaker();
+            if (circuitBreaker == null) {
+                return;
+            }
+            EndpointCircuitBreaker.State newState = failure ? circuitBreaker.onFailure() : circuitBreaker.onSuccess();
+            if (newState != null) {
+                awsRequestMetrics.addProperty(Field.CircuitBreakerState, newState);
+            }
+        }
+
+        private EndpointCircuitBreaker getCircuitBreaker() {
+            if (circuitBreakers == null) {
+                return null;
+            }
+            String endpoint = request.getEndpoint().getAuthority();
+            EndpointCircuitBreaker circuitBreaker = circuitBreakers.get(endpoint);
+            if (circuitBreaker == null) {
+                EndpointCircuitBreaker newCircuitBreaker = new EndpointCircuitBreaker(endpoint);
+                circuitBreaker = circuitBreakers.putIfAbsent(endpoint, newCircuitBreaker);
+                if (circuitBreaker == null) {
+                    circuitBreaker = newCircuitBreaker;
+                }
+            }
+            return circuitBreaker;
+        }
+
+        /**
+         * Returns the latency tracker for the request's endpoint and operation, or null if hedging
+         * is disabled or the operation is not safe to hedge.
+         */
+        private LatencyPercentileTracker getLatencyTracker() {
+            if (latencyTrackers == null || !Boolean.TRUE.equals(request.getHandlerContext(HandlerContextKey.HEDGE_SAFE))) {
+                return null;
+            }
+            String key = request.getEndpoint().getAuthority() + "/"
+                         + request.getHandlerContext(HandlerContextKey.OPERATION_NAME);
+            LatencyPercentileTracker latencyTracker = latencyTrackers.get(key);
+            if (latencyTracker == null) {
+                LatencyPercentileTracker newLatencyTracker =
+                        new LatencyPercentileTracker(config.getHedgingDelayPercentile());
+                latencyTracker = latencyTrackers.putIfAbsent(key, newLatencyTracker);
+                if (latencyTracker == null) {
+                    latencyTracker = newLatencyTracker;
+                }
+            }
+            return latencyTracker;
+        }
+
+        /**
+         * Returns the source of a hedge for the current request, or null if the request body is
+         * too large or cannot be replayed. A request body is copied to memory up front, as the
+         * primary request may be sending it by the time the hedge is created.
+         */
+        private HedgeRequestSource newHedgeRequestSource(ExecOneRequestParams execOneParams, int requestTimeout)
+                throws IOException {
+            byte[] content = null;
+            InputStream originalContent = request.getContent();
+            if (originalContent != null) {
+                String contentLength = request.getHeaders().get(HttpHeaders.CONTENT_LENGTH);
+                if (contentLength == null || !originalContent.markSupported()
+                    || Long.parseLong(contentLength) > MAX_HEDGED_CONTENT_LENGTH) {
+                    return null;
+                }
+                content = IOUtils.toByteArray(originalContent);
+                originalContent.reset();
+            }
+            return new HedgeRequestSource(execOneParams.redirectedURI, content, requestTimeout);
+        }
+
+        /**
+         * Creates a duplicate of the current Apache request, only once the request has been
+         * outstanding for the hedging delay, and times it like the request it duplicates.
+         */
+        private class HedgeRequestSource implements HedgedRequestExecutor.HedgeRequestFactory {
+            private final URI redirectedURI;
+            private final byte[] content;
+            private final int requestTimeout;
+            private HttpRequestAbortTaskTracker abortTaskTracker;
+
+            HedgeRequestSource(URI redirectedURI, byte[] content, int requestTimeout) {
+                this.redirectedURI = redirectedURI;
+                this.content = content;
+                this.requestTimeout = requestTimeout;
+            }
+
+            @Override
+            public HttpRequestBase newHedgeRequest() throws IOException {
+                HttpRequestBase hedgeRequest = httpRequestFactory.create(request, httpClientSettings);
+                if (redirectedURI != null) {
+                    hedgeRequest.setURI(redirectedURI);
+                }
+                if (content != null && hedgeRequest instanceof HttpEntityEnclosingRequestBase) {
+                    HttpEntityEnclosingRequestBase entityRequest = (HttpEntityEnclosingRequestBase) hedgeRequest;
+                    if (entityRequest.getEntity() != null) {
+                        entityRequest.setEntity(new ByteArrayEntity(content));
+                    }
+                }
+                abortTaskTracker = httpRequestTimer.startTimer(hedgeRequest, requestTimeout);
+                return hedgeRequest;
+            }
+
+            /**
+             * The hedge request gets its own metrics as AWSRequestMetrics is not thread safe.
+             */
+            @Override
+            public HttpContext newHedgeContext() {
+                return ApacheUtils.newClientContext(httpClientSettings, ImmutableMapParameter.of
+                        (AWSRequestMetrics.SIMPLE_NAME, new AWSRequestMetrics()));
+            }
+
+            void cancelTimer() {
+                if (abortTaskTracker != null) {
+                    abortTaskTracker.cancelTask();
+                }
+            }
+        }
+
+        private ClientSideRateLimiter getRateLimiter() {
+            if (rateLimiters == null) {
+                return null;
+            }
+            String endpoint = request.getEndpoint().getAuthority();
+            ClientSideRateLimiter rateLimiter = rateLimiters.get(endpoint);
+            if (rateLimiter == null) {
+                ClientSideRateLimiter newRateLimiter = new ClientSideRateLimiter();
+                rateLimiter = rateLimiters.putIfAbsent(endpoint, newRateLimiter);
+                if (rateLimiter == null) {
+                    rateLimiter = newRateLimiter;
+                }
+            }
+            return rateLimiter;
+        }
+
         /**
          * Reset the input stream of the request before a retry.
          *
@@ -1506,8 +1858,10 @@ public class AmazonHttpClient {
                 // this retry attempt.
                 if (!retryCapacity.acquire(THROTTLED_RETRY_COST)) {
                     awsRequestMetrics.incrementCounter(ThrottledRetryCount);
+                    awsRequestMetrics.incrementCounter(Field.RetryCapacityDenied);
                     return false;
                 }
+                awsRequestMetrics.incrementCounter(Field.RetryCapacityAcquired);
                 executionContext.markRetryCapacityConsumed();
             }
 
@@ -1523,7 +1877,7 @@ public class AmazonHttpClient {
             if (!retryPolicy.shouldRetry(context)) {
                 // If the retry policy fails we immediately return consumed capacity to the pool.
                 if (executionContext.retryCapacityConsumed()) {
-                    retryCapacity.release(THROTTLED_RETRY_COST);
+                    releaseRetryCapacity(THROTTLED_RETRY_COST);
                 }
                 return false;
             }
@@ -1531,6 +1885,16 @@ public class AmazonHttpClient {
             return true;
         }
 
+        /**
+         * Returns retry capacity to the client's pool, recording how much of it was refilled.
+         */
+        private void releaseRetryCapacity(int capacity) {
+            int refilled = retryCapacity.releaseAndGetRefilled(capacity);
+            if (refilled > 0) {
+                awsRequestMetrics.setCounter(Field.RetryCapacityRefilled, refilled);
+            }
+        }
+
         /**
          * Handles a successful response from a service call by unmarshalling the results using the
          * specified response handler.
@@ -17,8 +17,10 @@
 package com.amazonaws.http;
 
 import com.amazonaws.AmazonWebServiceResponse;
+import com.amazonaws.Request;
 import com.amazonaws.ResponseMetadata;
 import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.handlers.HandlerContextKey;
 import com.amazonaws.internal.CRC32MismatchException;
 import com.amazonaws.transform.JsonUnmarshallerContext;
 import com.amazonaws.transform.JsonUnmarshallerContext.UnmarshallerType;
@@ -111,8 +113,9 @@ public class JsonResponseHandler<T> implements HttpResponseHandler<AmazonWebServ
 
         try {
             AmazonWebServiceResponse<T> awsResponse = new AmazonWebServiceResponse<T>();
-            JsonUnmarshallerContext unmarshallerContext = new JsonUnmarshallerContextImpl(
+            JsonUnmarshallerContextImpl unmarshallerContext = new JsonUnmarshallerContextImpl(
                     jsonParser, simpleTypeUnmarshallers, customTypeMarshallers, response);
+            unmarshallerContext.setLazyListUnmarshallingEnabled(isLazyListUnmarshallingEnabled(response));
             registerAdditionalMetadataExpressions(unmarshallerContext);
 
             T result = responseUnmarshaller.unmarshall(unmarshallerContext);
@@ -164,6 +167,15 @@ public class JsonResponseHandler<T> implements HttpResponseHandler<AmazonWebServ
             JsonUnmarshallerContext unmarshallerContext) {
     }
 
+    /**
+     * @return True if the request asked for list members to be unmarshalled on first access.
+     */
+    private static boolean isLazyListUnmarshallingEnabled(HttpResponse response) {
+        Request<?> request = response.getRequest();
+        return request != null
+               && Boolean.TRUE.equals(request.getHandlerContext(HandlerContextKey.LAZY_LIST_UNMARSHALLING));
+    }
+
     public boolean needsConnectionLeftOpen() {
         return needsConnectionLeftOpen;
     }
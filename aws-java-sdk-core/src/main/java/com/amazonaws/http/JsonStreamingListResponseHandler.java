@@ -0,0 +1,160 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http;
+
+import com.amazonaws.AmazonWebServiceResponse;
+import com.amazonaws.ResponseMetadata;
+import com.amazonaws.SdkClientException;
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.internal.CRC32MismatchException;
+import com.amazonaws.transform.JsonStreamingListIterator;
+import com.amazonaws.transform.JsonUnmarshallerContext;
+import com.amazonaws.transform.JsonUnmarshallerContext.UnmarshallerType;
+import com.amazonaws.transform.JsonUnmarshallerContextImpl;
+import com.amazonaws.transform.StreamingListIterator;
+import com.amazonaws.transform.Unmarshaller;
+import com.amazonaws.util.IOUtils;
+import com.amazonaws.util.ValidationUtils;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Handles a successful response from an AWS service by returning an iterator that unmarshalls
+ * the elements of one list in the response as they are read, using a JSON unmarshaller, rather
+ * than unmarshalling the whole response up front. Anything else in the response is skipped.
+ * <p>
+ * The HTTP connection is left open for the returned {@link StreamingListIterator}, which has
+ * already been advanced to the first element. When the response carries a CRC32 checksum it is
+ * verified once the iterator reaches the end of the response.
+ *
+ * @param <T> The type of the list elements.
+ */
+@SdkInternalApi
+public class JsonStreamingListResponseHandler<T>
+        implements HttpResponseHandler<AmazonWebServiceResponse<StreamingListIterator<T>>> {
+
+    private static final Log log = LogFactory.getLog("com.amazonaws.request");
+
+    private final Unmarshaller<T, JsonUnmarshallerContext> elementUnmarshaller;
+    private final String fieldExpression;
+    private final int targetDepth;
+
+    private final JsonFactory jsonFactory;
+    private final Map<Class<?>, Unmarshaller<?, JsonUnmarshallerContext>> simpleTypeUnmarshallers;
+    private final Map<UnmarshallerType, Unmarshaller<?, JsonUnmarshallerContext>> customTypeMarshallers;
+
+    /**
+     * @param elementUnmarshaller     The JSON unmarshaller for a list element.
+     * @param fieldExpression         The expression matching the field holding the list, such
+     *                                as {@code "Items"}.
+     * @param targetDepth             The depth at which the expression must start matching.
+     * @param simpleTypeUnmarshallers List of unmarshallers to be used for scalar types.
+     * @param customTypeMarshallers   List of custom unmarshallers to be used for special types.
+     * @param jsonFactory             the json factory to be used for parsing the response.
+     */
+    public JsonStreamingListResponseHandler(Unmarshaller<T, JsonUnmarshallerContext> elementUnmarshaller,
+                                            String fieldExpression,
+                                            int targetDepth,
+                                            Map<Class<?>, Unmarshaller<?, JsonUnmarshallerContext>> simpleTypeUnmarshallers,
+                                            Map<UnmarshallerType, Unmarshaller<?, JsonUnmarshallerContext>> customTypeMarshallers,
+                                            JsonFactory jsonFactory) {
+        this.elementUnmarshaller = ValidationUtils.assertNotNull(elementUnmarshaller, "element unmarshaller");
+        this.fieldExpression = ValidationUtils.assertNotNull(fieldExpression, "field expression");
+        this.targetDepth = targetDepth;
+        this.simpleTypeUnmarshallers = ValidationUtils.assertNotNull(simpleTypeUnmarshallers, "simple type unmarshallers");
+        this.customTypeMarshallers = ValidationUtils.assertNotNull(customTypeMarshallers, "custom type marshallers");
+        this.jsonFactory = ValidationUtils.assertNotNull(jsonFactory, "JSONFactory");
+    }
+
+    @Override
+    public AmazonWebServiceResponse<StreamingListIterator<T>> handle(final HttpResponse response) throws Exception {
+        log.trace("Parsing service response JSON up to the first list element");
+
+        final String CRC32Checksum = response.getHeaders().get("x-amz-crc32");
+        final InputStream content = response.getContent();
+        JsonParser jsonParser = content == null
+                ? jsonFactory.createParser(new byte[0])
+                : jsonFactory.createParser(content);
+
+        JsonUnmarshallerContextImpl unmarshallerContext = new JsonUnmarshallerContextImpl(
+                jsonParser, simpleTypeUnmarshallers, customTypeMarshallers, response);
+        registerAdditionalMetadataExpressions(unmarshallerContext);
+
+        // The metadata keeps filling in as the iterator reads the rest of the response
+        Map<String, String> metadata = unmarshallerContext.getMetadata();
+        metadata.put(ResponseMetadata.AWS_REQUEST_ID, response.getHeaders().get(X_AMZN_REQUEST_ID_HEADER));
+
+        StreamingListIterator<T> iterator = new JsonStreamingListIterator<T>(
+                unmarshallerContext, fieldExpression, targetDepth, elementUnmarshaller, jsonParser) {
+            @Override
+            protected void afterLastElement() throws Exception {
+                if (CRC32Checksum == null) {
+                    return;
+                }
+                // Make sure we read all the data to get an accurate CRC32 calculation.
+                if (content != null) {
+                    IOUtils.drainInputStream(content);
+                }
+                long serverSideCRC = Long.parseLong(CRC32Checksum);
+                long clientSideCRC = response.getCRC32Checksum();
+                if (clientSideCRC != serverSideCRC) {
+                    throw new CRC32MismatchException(
+                            "Client calculated crc32 checksum didn't match that calculated by server side");
+                }
+            }
+        };
+        try {
+            iterator.hasNext();
+        } catch (SdkClientException e) {
+            // Failures reading up to the first element can still be retried
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+
+        AmazonWebServiceResponse<StreamingListIterator<T>> awsResponse =
+                new AmazonWebServiceResponse<StreamingListIterator<T>>();
+        awsResponse.setResult(iterator);
+        awsResponse.setResponseMetadata(new ResponseMetadata(metadata));
+        log.trace("Streaming service response list elements");
+        return awsResponse;
+    }
+
+    /**
+     * Hook for subclasses to override in order to collect additional metadata from service
+     * responses.
+     *
+     * @param unmarshallerContext
+     *            The unmarshaller context used to configure a service's response
+     *            data.
+     */
+    protected void registerAdditionalMetadataExpressions(JsonUnmarshallerContext unmarshallerContext) {
+    }
+
+    /**
+     * The elements are read from the HTTP connection after {@link #handle(HttpResponse)}
+     * returns.
+     */
+    @Override
+    public boolean needsConnectionLeftOpen() {
+        return true;
+    }
+}
@@ -15,7 +15,9 @@
 package com.amazonaws.http;
 
 import com.amazonaws.AmazonWebServiceResponse;
+import com.amazonaws.Request;
 import com.amazonaws.ResponseMetadata;
+import com.amazonaws.handlers.HandlerContextKey;
 import com.amazonaws.transform.StaxUnmarshallerContext;
 import com.amazonaws.transform.Unmarshaller;
 import com.amazonaws.transform.VoidStaxUnmarshaller;
@@ -93,6 +95,7 @@ public class StaxResponseHandler<T> implements HttpResponseHandler<AmazonWebServ
         try {
             AmazonWebServiceResponse<T> awsResponse = new AmazonWebServiceResponse<T>();
             StaxUnmarshallerContext unmarshallerContext = new StaxUnmarshallerContext(eventReader, response.getHeaders());
+            unmarshallerContext.setLazyListUnmarshallingEnabled(isLazyListUnmarshallingEnabled(response));
             unmarshallerContext.registerMetadataExpression("ResponseMetadata/RequestId", 2, ResponseMetadata.AWS_REQUEST_ID);
             unmarshallerContext.registerMetadataExpression("requestId", 2, ResponseMetadata.AWS_REQUEST_ID);
             registerAdditionalMetadataExpressions(unmarshallerContext);
@@ -152,6 +155,15 @@ public class StaxResponseHandler<T> implements HttpResponseHandler<AmazonWebServ
     protected void registerAdditionalMetadataExpressions(StaxUnmarshallerContext unmarshallerContext) {
     }
 
+    /**
+     * @return True if the request asked for list members to be unmarshalled on first access.
+     */
+    private static boolean isLazyListUnmarshallingEnabled(HttpResponse response) {
+        Request<?> request = response.getRequest();
+        return request != null
+               && Boolean.TRUE.equals(request.getHandlerContext(HandlerContextKey.LAZY_LIST_UNMARSHALLING));
+    }
+
     /**
      * Since this response handler completely consumes all the data from the
      * underlying HTTP connection during the handle method, we don't need to
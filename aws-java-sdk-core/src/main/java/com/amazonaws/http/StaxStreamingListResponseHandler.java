@@ -0,0 +1,138 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http;
+
+import com.amazonaws.AmazonWebServiceResponse;
+import com.amazonaws.ResponseMetadata;
+import com.amazonaws.SdkClientException;
+import com.amazonaws.annotation.SdkProtectedApi;
+import com.amazonaws.transform.StaxStreamingListIterator;
+import com.amazonaws.transform.StaxUnmarshallerContext;
+import com.amazonaws.transform.StreamingListIterator;
+import com.amazonaws.transform.Unmarshaller;
+import com.amazonaws.util.IOUtils;
+import com.amazonaws.util.StringUtils;
+import com.amazonaws.util.XmlUtils;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLStreamException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Handles a successful response from an AWS service by returning an iterator that unmarshalls
+ * the elements of one list in the response as they are read, using a StAX unmarshaller, rather
+ * than unmarshalling the whole response up front. Anything else in the response is skipped.
+ * <p>
+ * The HTTP connection is left open for the returned {@link StreamingListIterator}, which has
+ * already been advanced to the first element, so that response metadata preceding the list is
+ * available.
+ *
+ * @param <T> The type of the list elements.
+ */
+@SdkProtectedApi
+public class StaxStreamingListResponseHandler<T>
+        implements HttpResponseHandler<AmazonWebServiceResponse<StreamingListIterator<T>>> {
+
+    private static final Log log = LogFactory.getLog("com.amazonaws.request");
+
+    private final Unmarshaller<T, StaxUnmarshallerContext> elementUnmarshaller;
+    private final String elementExpression;
+    private final int targetDepth;
+
+    /**
+     * @param elementUnmarshaller The StAX unmarshaller for a list element.
+     * @param elementExpression   The expression matching each list element, such as
+     *                            {@code "reservationSet/item"}.
+     * @param targetDepth         The depth at which the expression must start matching.
+     */
+    public StaxStreamingListResponseHandler(Unmarshaller<T, StaxUnmarshallerContext> elementUnmarshaller,
+                                            String elementExpression,
+                                            int targetDepth) {
+        this.elementUnmarshaller = elementUnmarshaller;
+        this.elementExpression = elementExpression;
+        this.targetDepth = targetDepth;
+    }
+
+    @Override
+    public AmazonWebServiceResponse<StreamingListIterator<T>> handle(HttpResponse response) throws Exception {
+        log.trace("Parsing service response XML up to the first list element");
+        InputStream content = response.getContent();
+        if (content == null) {
+            content = new ByteArrayInputStream("<eof/>".getBytes(StringUtils.UTF8));
+        }
+
+        XMLEventReader eventReader;
+        try {
+            eventReader = XmlUtils.getXmlInputFactory().createXMLEventReader(content);
+        } catch (XMLStreamException e) {
+            IOUtils.closeQuietly(content, log);
+            throw handleXmlStreamException(e);
+        }
+
+        StaxUnmarshallerContext unmarshallerContext = new StaxUnmarshallerContext(eventReader, response.getHeaders());
+        unmarshallerContext.registerMetadataExpression("ResponseMetadata/RequestId", 2, ResponseMetadata.AWS_REQUEST_ID);
+        unmarshallerContext.registerMetadataExpression("requestId", 2, ResponseMetadata.AWS_REQUEST_ID);
+
+        // The metadata keeps filling in as the iterator reads the rest of the response
+        Map<String, String> metadata = unmarshallerContext.getMetadata();
+        Map<String, String> responseHeaders = response.getHeaders();
+        if (responseHeaders != null && responseHeaders.get(X_AMZN_REQUEST_ID_HEADER) != null) {
+            metadata.put(ResponseMetadata.AWS_REQUEST_ID, responseHeaders.get(X_AMZN_REQUEST_ID_HEADER));
+        }
+
+        StreamingListIterator<T> iterator = new StaxStreamingListIterator<T>(
+                unmarshallerContext, elementExpression, targetDepth, elementUnmarshaller, content);
+        try {
+            iterator.hasNext();
+        } catch (SdkClientException e) {
+            // Failures reading up to the first element can still be retried
+            if (e.getCause() instanceof XMLStreamException) {
+                throw handleXmlStreamException((XMLStreamException) e.getCause());
+            }
+            throw e;
+        }
+
+        AmazonWebServiceResponse<StreamingListIterator<T>> awsResponse =
+                new AmazonWebServiceResponse<StreamingListIterator<T>>();
+        awsResponse.setResult(iterator);
+        awsResponse.setResponseMetadata(new ResponseMetadata(metadata));
+        log.trace("Streaming service response list elements");
+        return awsResponse;
+    }
+
+    /**
+     * If the exception was caused by an {@link IOException}, wrap it an another IOE so
+     * that it will be exposed to the RetryPolicy.
+     */
+    private Exception handleXmlStreamException(XMLStreamException e) {
+        if (e.getNestedException() instanceof IOException) {
+            return new IOException(e);
+        }
+        return e;
+    }
+
+    /**
+     * The elements are read from the HTTP connection after {@link #handle(HttpResponse)}
+     * returns.
+     */
+    @Override
+    public boolean needsConnectionLeftOpen() {
+        return true;
+    }
+}
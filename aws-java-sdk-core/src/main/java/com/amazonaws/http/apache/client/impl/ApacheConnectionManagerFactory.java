@@ -83,11 +83,14 @@ public class ApacheConnectionManagerFactory implements
     private ConnectionSocketFactory getPreferredSocketFactory(HttpClientSettings settings) {
         ConnectionSocketFactory sslsf = settings.getApacheHttpClientConfig().getSslSocketFactory();
 
-        return sslsf != null
-                ? sslsf
-                : new SdkTLSSocketFactory(
-                SdkSSLContext.getPreferredSSLContext(settings.getSecureRandom()),
-                getHostNameVerifier(settings));
+        if (sslsf != null) {
+            return sslsf;
+        }
+        // A SecureRandom set by the user is only honored by a context of the client's own
+        SSLContext sslContext = settings.isSecureRandomConfigured()
+                ? SdkSSLContext.getPreferredSSLContext(settings.getSecureRandom())
+                : SdkSSLContext.getSharedSSLContext();
+        return new SdkTLSSocketFactory(sslContext, getHostNameVerifier(settings));
     }
 
 
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.conn;
+
+import com.amazonaws.SdkClientException;
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.http.settings.HttpClientSettings;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * Opens connections in a connection pool ahead of the requests that will use them, so the first
+ * requests to an endpoint don't pay for the TCP and TLS handshakes.
+ * <p>
+ * Routes registered through {@link #keepWarm(URI, int)} are topped up on a daemon thread shared by
+ * all warmers, so the connects never hold up the {@link com.amazonaws.http.IdleConnectionReaper}.
+ * The top-ups run twice per max idle time and lease the idle connections they keep along with the
+ * missing ones, which resets their idle time: the reaper never closes them, only connections
+ * beyond the warm target, so the pool isn't closed and reopened over and over.
+ */
+@SdkInternalApi
+@ThreadSafe
+public class ConnectionWarmer implements Runnable {
+
+    private static final Log LOG = LogFactory.getLog(ConnectionWarmer.class);
+
+    /** Shortest time between two top-ups of the kept warm routes. */
+    private static final long MIN_KEEP_WARM_PERIOD_MILLIS = 1000;
+
+    private static final ScheduledThreadPoolExecutor EXECUTOR =
+            new ScheduledThreadPoolExecutor(1, new WarmerThreadFactory());
+
+    private final HttpClientConnectionManager connectionManager;
+    private final HttpClientSettings settings;
+    private final Map<HttpRoute, Integer> warmRoutes = new ConcurrentHashMap<HttpRoute, Integer>();
+    private ScheduledFuture<?> keepWarmTask;
+
+    /**
+     * @param connectionManager The unwrapped connection manager of the client.
+     * @param settings          Settings the client's connection manager was created with.
+     */
+    public ConnectionWarmer(HttpClientConnectionManager connectionManager, HttpClientSettings settings) {
+        this.connectionManager = connectionManager;
+        this.settings = settings;
+    }
+
+    /**
+     * Opens connections to the given endpoint until the pool holds the given number of connections
+     * to it, counting both idle and leased ones. The number of connections is capped at the pool's
+     * maximum per route. Connections are established one after the other and the call blocks until
+     * all of them are.
+     *
+     * @return The number of connections opened.
+     * @throws SdkClientException If a connection could not be established.
+     */
+    public int warmUp(URI endpoint, int connections) {
+        HttpRoute route = toRoute(endpoint);
+        return route == null ? 0 : warmUp(route, connections, false);
+    }
+
+    /**
+     * Warms up the given endpoint and registers it to be topped up in the background until
+     * {@link #shutdown()} is called.
+     *
+     * @return The number of connections opened.
+     * @throws SdkClientException If a connection could not be established.
+     */
+    public int keepWarm(URI endpoint, int connections) {
+        HttpRoute route = toRoute(endpoint);
+        if (route == null) {
+            return 0;
+        }
+        warmRoutes.put(route, connections);
+        scheduleKeepWarm();
+        return warmUp(route, connections, false);
+    }
+
+    /**
+     * Stops topping up the routes registered through {@link #keepWarm(URI, int)}.
+     */
+    public synchronized void shutdown() {
+        if (keepWarmTask != null) {
+            keepWarmTask.cancel(false);
+            EXECUTOR.purge();
+            keepWarmTask = null;
+        }
+        warmRoutes.clear();
+    }
+
+    /**
+     * Tops up every route registered through {@link #keepWarm(URI, int)} and refreshes the idle
+     * time of the idle connections kept for them.
+     */
+    @Override
+    public void run() {
+        for (Map.Entry<HttpRoute, Integer> entry : warmRoutes.entrySet()) {
+            try {
+                warmUp(entry.getKey(), entry.getValue(), true);
+            } catch (Exception e) {
+                LOG.warn("Unable to keep connections to " + entry.getKey() + " warm", e);
+            }
+        }
+    }
+
+    private synchronized void scheduleKeepWarm() {
+        if (keepWarmTask == null) {
+            // Half the max idle time, so kept connections are leased again before the reaper
+            // considers them idle for too long
+            long period = Math.max(settings.getMaxIdleConnectionTime() / 2, MIN_KEEP_WARM_PERIOD_MILLIS);
+            keepWarmTask = EXECUTOR.scheduleWithFixedDelay(this, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private HttpRoute toRoute(URI endpoint) {
+        if (settings.isProxyEnabled()) {
+            // Connecting through a proxy may require tunnelling, which only the client itself does.
+            LOG.debug("Not warming up connections to " + endpoint + " as a proxy is configured");
+            return null;
+        }
+        if (!(connectionManager instanceof ConnPoolControl)) {
+            LOG.debug("Not warming up connections to " + endpoint + " as the connection manager is not pooled");
+            return null;
+        }
+        HttpHost target = new HttpHost(endpoint.getHost(), resolvePort(endpoint), endpoint.getScheme());
+        return new HttpRoute(target, settings.getLocalAddress(), "https".equalsIgnoreCase(endpoint.getScheme()));
+    }
+
+    private static int resolvePort(URI endpoint) {
+        if (endpoint.getPort() > 0) {
+            return endpoint.getPort();
+        }
+        return "https".equalsIgnoreCase(endpoint.getScheme()) ? 443 : 80;
+    }
+
+    /**
+     * @param refreshIdle Whether to lease and release the idle connections counted towards the
+     *                    target even if none is missing, to reset their idle time.
+     */
+    @SuppressWarnings("unchecked")
+    private int warmUp(HttpRoute route, int connections, boolean refreshIdle) {
+        ConnPoolControl<HttpRoute> pool = (ConnPoolControl<HttpRoute>) connectionManager;
+        PoolStats stats = pool.getStats(route);
+        int target = Math.min(connections, pool.getMaxPerRoute(route));
+        int idleToKeep = Math.min(stats.getAvailable(), Math.max(target - stats.getLeased(), 0));
+        int missing = target - stats.getAvailable() - stats.getLeased();
+        if (missing <= 0 && (!refreshIdle || idleToKeep == 0)) {
+            return 0;
+        }
+
+        // The pool hands out the most recently released idle connections before creating new
+        // ones, so the idle connections kept are leased along with the missing ones and nothing
+        // is released until all are leased. Idle connections beyond the target are left to age.
+        int toLease = idleToKeep + Math.max(missing, 0);
+        List<HttpClientConnection> leased = new ArrayList<HttpClientConnection>(toLease);
+        HttpContext context = new BasicHttpContext();
+        int opened = 0;
+        try {
+            for (int i = 0; i < toLease; i++) {
+                ConnectionRequest request = connectionManager.requestConnection(route, null);
+                HttpClientConnection connection = request.get(settings.getConnectionTimeout(), TimeUnit.MILLISECONDS);
+                leased.add(connection);
+                if (!connection.isOpen()) {
+                    connectionManager.connect(connection, route, settings.getConnectionTimeout(), context);
+                    connectionManager.routeComplete(connection, route, context);
+                    opened++;
+                }
+            }
+        } catch (Exception e) {
+            throw new SdkClientException("Unable to warm up connections to " + route.getTargetHost(), e);
+        } finally {
+            for (HttpClientConnection connection : leased) {
+                connectionManager.releaseConnection(connection, null, settings.getMaxIdleConnectionTime(),
+                                                    TimeUnit.MILLISECONDS);
+            }
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Opened " + opened + " connections to " + route.getTargetHost());
+        }
+        return opened;
+    }
+
+    private static final class WarmerThreadFactory implements ThreadFactory {
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = Executors.defaultThreadFactory().newThread(r);
+            t.setName("sdk-connection-warmer");
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
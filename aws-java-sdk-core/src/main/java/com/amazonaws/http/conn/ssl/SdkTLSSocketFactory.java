@@ -21,6 +21,8 @@ import com.amazonaws.internal.SdkSSLMetricsSocket;
 import com.amazonaws.internal.SdkSSLSocket;
 import com.amazonaws.internal.SdkSocket;
 import com.amazonaws.metrics.AwsSdkMetrics;
+import com.amazonaws.metrics.ServiceLatencyProvider;
+import com.amazonaws.util.AWSServiceMetrics;
 import com.amazonaws.util.JavaVersionParser;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -50,6 +52,7 @@ import java.util.List;
 public class SdkTLSSocketFactory extends SSLConnectionSocketFactory {
 
     private static final Log LOG = LogFactory.getLog(SdkTLSSocketFactory.class);
+
     private final SSLContext sslContext;
     private final MasterSecretValidators.MasterSecretValidator masterSecretValidator;
     private final ShouldClearSslSessionPredicate shouldClearSslSessionsPredicate;
@@ -162,6 +165,44 @@ public class SdkTLSSocketFactory extends SSLConnectionSocketFactory {
         return AwsSdkMetrics.isHttpSocketReadMetricEnabled() ? new SdkMetricsSocket(sdkSocket) : sdkSocket;
     }
 
+    /**
+     * {@inheritDoc} Records the time taken by the TLS handshake, distinguishing handshakes that
+     * resumed a cached session from full ones.
+     */
+    @Override
+    public Socket createLayeredSocket(
+            final Socket socket,
+            final String target,
+            final int port,
+            final HttpContext context) throws IOException {
+        final long handshakeStartMillis = System.currentTimeMillis();
+        final long handshakeStartNano = System.nanoTime();
+        final Socket layeredSocket = super.createLayeredSocket(socket, target, port, context);
+        if (layeredSocket instanceof SSLSocket) {
+            final SSLSession session = ((SSLSocket) layeredSocket).getSession();
+            final boolean resumed = isResumedSession(session, handshakeStartMillis);
+            AwsSdkMetrics.getServiceMetricCollector().collectLatency(new ServiceLatencyProvider(
+                    resumed ? AWSServiceMetrics.HttpClientTlsSessionResumptionTime
+                            : AWSServiceMetrics.HttpClientTlsHandshakeTime,
+                    handshakeStartNano).endTiming());
+            if (LOG.isDebugEnabled()) {
+                LOG.debug((resumed ? "Resumed TLS session with " : "Established TLS session with ") + target + ":" + port);
+            }
+        }
+        return layeredSocket;
+    }
+
+    /**
+     * Returns whether the session of a handshake started at the given time was resumed rather than
+     * negotiated by that handshake, i.e. created before it started. Unlike comparing sessions or
+     * their IDs with those of earlier handshakes, this needs no shared state and also holds for
+     * TLS 1.3: resuming a TLS 1.3 session yields a new session object with a new ID, but JSSE
+     * carries the creation time of the original session over to it.
+     */
+    static boolean isResumedSession(SSLSession session, long handshakeStartMillis) {
+        return session.getCreationTime() < handshakeStartMillis;
+    }
+
     /**
      * Invalidates all SSL/TLS sessions in {@code sessionContext} associated with {@code remoteAddress}.
      *
@@ -0,0 +1,299 @@
+/*
+ * Copyright 2015-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.hedging;
+
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.annotation.SdkTestInternalApi;
+import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.http.timers.request.HttpRequestAbortTaskImpl;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * Sends a request and, if no response has arrived within a given delay, sends an identical hedge
+ * request on another connection. Whichever response arrives first is returned and the other
+ * request is aborted, so that it doesn't hold on to a connection and a thread. When the hedge wins,
+ * the time the primary request had been outstanding when it was aborted is recorded as its latency;
+ * it is a lower bound of what the primary would have taken, which keeps slow endpoints from looking
+ * faster than they are.
+ * <p>
+ * Requests are sent on a pool of at most as many threads as the client has connections; while
+ * all of them are busy requests are sent on the calling thread without being hedged.
+ */
+@SdkInternalApi
+@ThreadSafe
+public class HedgedRequestExecutor {
+
+    private static final long THREAD_KEEP_ALIVE_SECONDS = 60;
+
+    private final ExecutorService executor;
+
+    /**
+     * @param maxConcurrentRequests The most requests, primary and hedge ones together, to have in
+     *                              flight at once.
+     */
+    public HedgedRequestExecutor(int maxConcurrentRequests) {
+        this(new ThreadPoolExecutor(0, maxConcurrentRequests, THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                                    new SynchronousQueue<Runnable>(), new HedgingThreadFactory()));
+    }
+
+    @SdkTestInternalApi
+    HedgedRequestExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Executes the primary request, hedging it after the given delay with a request created by
+     * the given factory.
+     *
+     * @param httpClient       Client to send both requests with.
+     * @param primaryRequest   Request sent immediately.
+     * @param primaryContext   Context to send the primary request with.
+     * @param hedgeFactory     Creates the hedge request, only once the primary has not completed
+     *                         in time.
+     * @param hedgeDelayMillis How long to wait for the primary request before hedging it.
+     * @param latencyTracker   Tracker to record the latency of the primary request in, or the
+     *                         time it had been outstanding if the hedge won.
+     * @return The response that arrived first.
+     * @throws IOException If both requests failed; the primary request's failure is rethrown.
+     * @throws InterruptedException If the calling thread is interrupted, both requests are aborted.
+     */
+    public HedgedResponse execute(HttpClient httpClient,
+                                  HttpRequestBase primaryRequest,
+                                  HttpContext primaryContext,
+                                  HedgeRequestFactory hedgeFactory,
+                                  long hedgeDelayMillis,
+                                  LatencyPercentileTracker latencyTracker) throws IOException, InterruptedException {
+        long startNanos = System.nanoTime();
+        AtomicBoolean settled = new AtomicBoolean();
+        Attempt primary = new Attempt(httpClient, primaryRequest, primaryContext, false, settled, latencyTracker);
+        CompletionService<HedgedResponse> completionService = new ExecutorCompletionService<HedgedResponse>(executor);
+        Future<HedgedResponse> primaryFuture = submit(completionService, primary);
+        if (primaryFuture == null) {
+            return primary.call();
+        }
+
+        HttpRequestBase hedgeRequest = null;
+        HedgedResponse winner = null;
+        try {
+            int pending = 1;
+            Future<HedgedResponse> completed = completionService.poll(hedgeDelayMillis, TimeUnit.MILLISECONDS);
+            if (completed == null) {
+                hedgeRequest = hedgeFactory.newHedgeRequest();
+                if (submit(completionService, new Attempt(httpClient, hedgeRequest, hedgeFactory.newHedgeContext(),
+                                                          true, settled, null)) != null) {
+                    pending++;
+                } else {
+                    hedgeRequest = null;
+                }
+                completed = completionService.take();
+            }
+
+            Throwable primaryFailure = null;
+            Throwable hedgeFailure = null;
+            while (true) {
+                pending--;
+                try {
+                    // Null if the attempt lost to the other one, whose response is yet to be taken
+                    winner = completed.get();
+                    if (winner != null) {
+                        return winner;
+                    }
+                } catch (ExecutionException e) {
+                    if (completed == primaryFuture) {
+                        primaryFailure = e.getCause();
+                    } else {
+                        hedgeFailure = e.getCause();
+                    }
+                    if (pending == 0) {
+                        throw rethrow(primaryFailure != null ? primaryFailure : hedgeFailure);
+                    }
+                }
+                completed = completionService.take();
+            }
+        } finally {
+            if (winner == null) {
+                // Have attempts completing from now on release their connection, and abort those in flight
+                settled.set(true);
+                abort(primaryRequest);
+                if (hedgeRequest != null) {
+                    abort(hedgeRequest);
+                }
+            } else if (winner.isHedge()) {
+                abort(primaryRequest);
+                if (latencyTracker != null) {
+                    latencyTracker.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                }
+            } else if (hedgeRequest != null) {
+                abort(hedgeRequest);
+            }
+        }
+    }
+
+    /**
+     * Stops the threads requests are sent on, aborting requests in flight.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return The future of the attempt, or null if there is no thread to send it on.
+     */
+    private Future<HedgedResponse> submit(CompletionService<HedgedResponse> completionService, Attempt attempt) {
+        try {
+            return completionService.submit(attempt);
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    private static void abort(HttpRequestBase request) {
+        new HttpRequestAbortTaskImpl(request).run();
+    }
+
+    private static IOException rethrow(Throwable t) {
+        if (t instanceof IOException) {
+            return (IOException) t;
+        } else if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        } else if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new IOException(t);
+    }
+
+    /**
+     * Creates the hedge of a request once it has been outstanding for the hedge delay, so that
+     * requests which complete in time don't pay for a hedge they never send.
+     */
+    public interface HedgeRequestFactory {
+
+        /**
+         * @return A request identical to the primary one.
+         */
+        HttpRequestBase newHedgeRequest() throws IOException;
+
+        /**
+         * @return The context to send the hedge request with.
+         */
+        HttpContext newHedgeContext();
+    }
+
+    /**
+     * Sends one of the requests of a hedged execution. Of the attempts that get a response, only
+     * the first one's is used and only its latency recorded; the others release their connection.
+     */
+    private static final class Attempt implements Callable<HedgedResponse> {
+        private final HttpClient httpClient;
+        private final HttpRequestBase request;
+        private final HttpContext context;
+        private final boolean hedge;
+        private final AtomicBoolean settled;
+        private final LatencyPercentileTracker latencyTracker;
+
+        private Attempt(HttpClient httpClient, HttpRequestBase request, HttpContext context, boolean hedge,
+                        AtomicBoolean settled, LatencyPercentileTracker latencyTracker) {
+            this.httpClient = httpClient;
+            this.request = request;
+            this.context = context;
+            this.hedge = hedge;
+            this.settled = settled;
+            this.latencyTracker = latencyTracker;
+        }
+
+        /**
+         * @return The response, or null if another attempt's response is used instead.
+         */
+        @Override
+        public HedgedResponse call() throws IOException {
+            long startNanos = System.nanoTime();
+            HttpResponse response = httpClient.execute(request, context);
+            if (!settled.compareAndSet(false, true)) {
+                abort(request);
+                return null;
+            }
+            if (latencyTracker != null) {
+                latencyTracker.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            }
+            return new HedgedResponse(request, context, response, hedge);
+        }
+    }
+
+    private static final class HedgingThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = Executors.defaultThreadFactory().newThread(r);
+            t.setName("sdk-hedged-request-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+
+    /**
+     * The winning request of a hedged execution along with its response.
+     */
+    public static class HedgedResponse {
+        private final HttpRequestBase request;
+        private final HttpContext context;
+        private final HttpResponse response;
+        private final boolean hedge;
+
+        HedgedResponse(HttpRequestBase request, HttpContext context, HttpResponse response, boolean hedge) {
+            this.request = request;
+            this.context = context;
+            this.response = response;
+            this.hedge = hedge;
+        }
+
+        public HttpRequestBase getRequest() {
+            return request;
+        }
+
+        public HttpContext getContext() {
+            return context;
+        }
+
+        public HttpResponse getResponse() {
+            return response;
+        }
+
+        /**
+         * @return True if the response is for the hedge request rather than the primary one.
+         */
+        public boolean isHedge() {
+            return hedge;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2015-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.hedging;
+
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.annotation.ThreadSafe;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the latencies of the most recent requests and a percentile of them. The percentile is
+ * recomputed every few samples rather than every time it is read, so that reading it on every
+ * request doesn't sort the window each time.
+ */
+@SdkInternalApi
+@ThreadSafe
+public class LatencyPercentileTracker {
+
+    static final int DEFAULT_WINDOW_SIZE = 256;
+
+    /**
+     * Percentiles are not reported until this many samples have been recorded, to avoid hedging
+     * based on a handful of possibly unrepresentative requests.
+     */
+    static final int MINIMUM_SAMPLES = 20;
+
+    /** Number of samples recorded between two computations of the percentile. */
+    static final int RECOMPUTE_INTERVAL = 16;
+
+    private final int percentile;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long[] samples;
+    /** Scratch space the samples are sorted in. */
+    private final long[] sorted;
+    private int position;
+    private int count;
+    private int recordedSinceComputed;
+    private volatile long latestPercentile = -1;
+
+    /**
+     * @param percentile Percentile to compute, between 1 and 100.
+     */
+    public LatencyPercentileTracker(int percentile) {
+        this(percentile, DEFAULT_WINDOW_SIZE);
+    }
+
+    LatencyPercentileTracker(int percentile, int windowSize) {
+        this.percentile = percentile;
+        this.samples = new long[windowSize];
+        this.sorted = new long[windowSize];
+    }
+
+    /**
+     * @param latencyMillis Latency of a completed request in milliseconds.
+     */
+    public void record(long latencyMillis) {
+        lock.lock();
+        try {
+            samples[position] = latencyMillis;
+            position = (position + 1) % samples.length;
+            if (count < samples.length) {
+                count++;
+            }
+            if (count >= MINIMUM_SAMPLES
+                && (latestPercentile < 0 || ++recordedSinceComputed >= RECOMPUTE_INTERVAL)) {
+                latestPercentile = computePercentile();
+                recordedSinceComputed = 0;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The latency in milliseconds below which the percentage of recent requests given at
+     * construction completed, or -1 if not enough requests have been recorded yet.
+     */
+    public long getPercentile() {
+        return latestPercentile;
+    }
+
+    private long computePercentile() {
+        System.arraycopy(samples, 0, sorted, 0, count);
+        Arrays.sort(sorted, 0, count);
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return sorted[Math.max(0, Math.min(index, count - 1))];
+    }
+}
@@ -134,6 +134,10 @@ public class HttpClientSettings {
         return config.getSecureRandom();
     }
 
+    public boolean isSecureRandomConfigured() {
+        return config.isSecureRandomConfigured();
+    }
+
     public int getConnectionTimeout() {
         return config.getConnectionTimeout();
     }
@@ -0,0 +1,388 @@
+/*
+ * Copyright 2015-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.timers;
+
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.annotation.SdkTestInternalApi;
+import com.amazonaws.annotation.ThreadSafe;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Timer backing the request timeout and client execution timeout features.
+ * <p>
+ * Timeouts are kept in a circular array of buckets (the wheel), each covering one tick. Scheduling
+ * and cancelling a timeout only appends to a lock-free queue, so neither contends with other
+ * callers nor allocates more than the timeout itself. A single worker thread drains those queues
+ * once per tick, places new timeouts in their bucket and expires the ones in the current bucket.
+ * Timeouts therefore fire up to one tick late, which is negligible for request timeouts.
+ * <p>
+ * The worker thread is started on demand and stops once no timeouts have been pending for a
+ * while, so an idle client holds no thread.
+ */
+@SdkInternalApi
+@ThreadSafe
+public class HashedWheelTimer {
+
+    private static final Log log = LogFactory.getLog(HashedWheelTimer.class);
+
+    private static final long DEFAULT_TICK_MILLIS = 10;
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+    private static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 5 * 1000;
+
+    private final String threadNamePrefix;
+    private final long tickNanos;
+    private final long idleTimeoutNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startTime = System.nanoTime();
+
+    private final Queue<TimeoutImpl> newTimeouts = new ConcurrentLinkedQueue<TimeoutImpl>();
+    private final Queue<TimeoutImpl> cancelledTimeouts = new ConcurrentLinkedQueue<TimeoutImpl>();
+    private final AtomicInteger pendingTimeouts = new AtomicInteger();
+    private final AtomicInteger queuedTimeouts = new AtomicInteger();
+    private final AtomicLong expiredTimeouts = new AtomicLong();
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final AtomicBoolean workerRunning = new AtomicBoolean();
+
+    private volatile boolean shutdown;
+    private volatile Thread workerThread;
+
+    /**
+     * @param threadNamePrefix Prefix of the name of the worker thread.
+     */
+    public HashedWheelTimer(String threadNamePrefix) {
+        this(threadNamePrefix, DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE, DEFAULT_IDLE_TIMEOUT_MILLIS);
+    }
+
+    @SdkTestInternalApi
+    HashedWheelTimer(String threadNamePrefix, long tickMillis, int wheelSize, long idleTimeoutMillis) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two");
+        }
+        this.threadNamePrefix = threadNamePrefix;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.wheel = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheelSize - 1;
+    }
+
+    /**
+     * Schedules the given task to run once after the given delay.
+     *
+     * @return Handle that can be used to cancel the task.
+     * @throws RejectedExecutionException If the timer has been shut down.
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Timer has been shut down");
+        }
+        TimeoutImpl timeout = new TimeoutImpl(task, System.nanoTime() - startTime + unit.toNanos(delay));
+        pendingTimeouts.incrementAndGet();
+        queuedTimeouts.incrementAndGet();
+        newTimeouts.add(timeout);
+        if (!workerRunning.get() && workerRunning.compareAndSet(false, true)) {
+            startWorker();
+        }
+        return timeout;
+    }
+
+    /**
+     * Stops the worker thread. Pending timeouts will never fire.
+     */
+    public void shutdown() {
+        shutdown = true;
+        Thread worker = workerThread;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * @return The number of timeouts that are scheduled and have neither fired nor been cancelled.
+     */
+    public int getPendingTimeoutCount() {
+        return pendingTimeouts.get();
+    }
+
+    /**
+     * @return The number of timeouts the timer still holds on to, including cancelled ones the
+     *         worker thread has not removed yet.
+     */
+    public int getQueuedTimeoutCount() {
+        return queuedTimeouts.get();
+    }
+
+    /**
+     * @return The number of timeouts that have fired since this timer was created.
+     */
+    public long getExpiredTimeoutCount() {
+        return expiredTimeouts.get();
+    }
+
+    /**
+     * @return True if the worker thread is currently running.
+     */
+    public boolean isWorkerRunning() {
+        return workerRunning.get();
+    }
+
+    /**
+     * @return How long the worker thread is kept alive without any pending timeouts.
+     */
+    public long getIdleTimeout(TimeUnit unit) {
+        return unit.convert(idleTimeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void startWorker() {
+        Thread thread = new Thread(new Worker(), threadNamePrefix + "-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        workerThread = thread;
+        thread.start();
+    }
+
+    /**
+     * Handle to a scheduled task.
+     */
+    public interface Timeout {
+
+        /**
+         * Cancels the task if it has not run yet. Does not interrupt the task if it is running.
+         *
+         * @return True if the task was cancelled, false if it already ran or was cancelled.
+         */
+        boolean cancel();
+
+        boolean isCancelled();
+
+        boolean isExpired();
+    }
+
+    private final class Worker implements Runnable {
+
+        private long tick;
+
+        @Override
+        public void run() {
+            tick = (System.nanoTime() - startTime) / tickNanos;
+            long idleSince = -1;
+            while (!shutdown) {
+                long currentTime = waitForNextTick();
+                if (currentTime < 0) {
+                    continue;
+                }
+                removeCancelledTimeouts();
+                transferNewTimeouts();
+                wheel[(int) (tick & mask)].expireTimeouts(currentTime);
+                tick++;
+
+                if (pendingTimeouts.get() > 0) {
+                    idleSince = -1;
+                } else if (idleSince < 0) {
+                    idleSince = currentTime;
+                } else if (currentTime - idleSince >= idleTimeoutNanos && tryStop()) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Stops the worker unless a timeout was scheduled concurrently, in which case the worker
+         * keeps running as the scheduling thread saw it running and did not start a new one.
+         */
+        private boolean tryStop() {
+            workerThread = null;
+            workerRunning.set(false);
+            if (!newTimeouts.isEmpty() && workerRunning.compareAndSet(false, true)) {
+                workerThread = Thread.currentThread();
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Sleeps until the start of the next tick.
+         *
+         * @return The current time relative to the timer's start time, or -1 if interrupted.
+         */
+        private long waitForNextTick() {
+            long deadline = tickNanos * (tick + 1);
+            while (true) {
+                long currentTime = System.nanoTime() - startTime;
+                long sleepMillis = (deadline - currentTime + 999999) / 1000000;
+                if (sleepMillis <= 0) {
+                    return currentTime;
+                }
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    return -1;
+                }
+            }
+        }
+
+        private void transferNewTimeouts() {
+            TimeoutImpl timeout;
+            while ((timeout = newTimeouts.poll()) != null) {
+                if (timeout.state != TimeoutImpl.ST_INIT) {
+                    queuedTimeouts.decrementAndGet();
+                    continue;
+                }
+                long calculated = timeout.deadline / tickNanos;
+                timeout.remainingRounds = (calculated - tick) / wheel.length;
+                // Timeouts whose deadline has already passed go in the current bucket.
+                long ticks = Math.max(calculated, tick);
+                wheel[(int) (ticks & mask)].add(timeout);
+            }
+        }
+
+        private void removeCancelledTimeouts() {
+            TimeoutImpl timeout;
+            while ((timeout = cancelledTimeouts.poll()) != null) {
+                if (timeout.bucket != null) {
+                    timeout.bucket.remove(timeout);
+                }
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of timeouts, only ever accessed by the worker thread.
+     */
+    private final class Bucket {
+        private TimeoutImpl head;
+        private TimeoutImpl tail;
+
+        void add(TimeoutImpl timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expireTimeouts(long currentTime) {
+            TimeoutImpl timeout = head;
+            while (timeout != null) {
+                TimeoutImpl next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    if (timeout.deadline <= currentTime) {
+                        remove(timeout);
+                        timeout.expire();
+                    }
+                } else if (timeout.state == TimeoutImpl.ST_CANCELLED) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(TimeoutImpl timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = timeout.next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            queuedTimeouts.decrementAndGet();
+        }
+    }
+
+    private final class TimeoutImpl implements Timeout {
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        volatile int state = ST_INIT;
+
+        // Only accessed by the worker thread.
+        private long remainingRounds;
+        private Bucket bucket;
+        private TimeoutImpl prev;
+        private TimeoutImpl next;
+
+        TimeoutImpl(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            pendingTimeouts.decrementAndGet();
+            cancelledTimeouts.add(this);
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state == ST_CANCELLED;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state == ST_EXPIRED;
+        }
+
+        void expire() {
+            if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            pendingTimeouts.decrementAndGet();
+            expiredTimeouts.incrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                log.warn("Timer task " + task + " threw an exception", t);
+            }
+        }
+    }
+
+    private static final AtomicIntegerFieldUpdater<TimeoutImpl> STATE_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(TimeoutImpl.class, "state");
+}
@@ -25,7 +25,11 @@ import com.amazonaws.annotation.SdkInternalApi;
 /**
  * Utility class to build the {@link ScheduledThreadPoolExecutor} for the request timeout and client
  * execution timeout features
+ *
+ * @deprecated The request timeout and client execution timeout features no longer run on a thread
+ *             pool but on a {@link HashedWheelTimer}.
  */
+@Deprecated
 @SdkInternalApi
 public class TimeoutThreadPoolBuilder {
     
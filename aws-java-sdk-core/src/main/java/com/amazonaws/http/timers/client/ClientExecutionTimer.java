@@ -14,15 +14,14 @@
  */
 package com.amazonaws.http.timers.client;
 
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import com.amazonaws.annotation.SdkInternalApi;
 import com.amazonaws.annotation.SdkTestInternalApi;
 import com.amazonaws.annotation.ThreadSafe;
 import com.amazonaws.http.AmazonHttpClient;
-import com.amazonaws.http.timers.TimeoutThreadPoolBuilder;
+import com.amazonaws.http.timers.HashedWheelTimer;
+import com.amazonaws.http.timers.HashedWheelTimer.Timeout;
 
 /**
  * Represents a timer to enforce a timeout on the total client execution time. That is the time
@@ -38,7 +37,7 @@ public class ClientExecutionTimer {
 
     private static final String threadNamePrefix = "AwsSdkClientExecutionTimerThread";
 
-    private volatile ScheduledThreadPoolExecutor executor;
+    private volatile HashedWheelTimer timer;
 
     /**
      * Start the timer with the specified timeout and return a object that can be used to track the
@@ -53,46 +52,45 @@ public class ClientExecutionTimer {
     public ClientExecutionAbortTrackerTask startTimer(int clientExecutionTimeoutMillis) {
         if (isTimeoutDisabled(clientExecutionTimeoutMillis)) {
             return NoOpClientExecutionAbortTrackerTask.INSTANCE;
-        } else if (executor == null) {
-            initializeExecutor();
+        } else if (timer == null) {
+            initializeTimer();
         }
         return scheduleTimerTask(clientExecutionTimeoutMillis);
     }
 
     /**
-     * Executor is lazily initialized as it's not compatible with Java 6
+     * Timer is lazily initialized so clients that never enable the timeout don't create it
      */
-    private synchronized void initializeExecutor() {
-        if (executor == null) {
-            executor = TimeoutThreadPoolBuilder.buildDefaultTimeoutThreadPool(threadNamePrefix);
+    private synchronized void initializeTimer() {
+        if (timer == null) {
+            timer = new HashedWheelTimer(threadNamePrefix);
         }
     }
 
     /**
      * This method is current exposed for testing purposes
      * 
-     * @return The underlying {@link ScheduledThreadPoolExecutor}
+     * @return The underlying {@link HashedWheelTimer}
      */
     @SdkTestInternalApi
-    public ScheduledThreadPoolExecutor getExecutor() {
-        return this.executor;
+    public HashedWheelTimer getTimer() {
+        return this.timer;
     }
 
     /**
-     * Shutdown the underlying {@link ScheduledThreadPoolExecutor}. Should be invoked when
+     * Shutdown the underlying {@link HashedWheelTimer}. Should be invoked when
      * {@link AmazonHttpClient} is shutdown
      */
     public synchronized void shutdown() {
-        if (executor != null) {
-            executor.shutdown();
+        if (timer != null) {
+            timer.shutdown();
         }
     }
 
     private ClientExecutionAbortTrackerTask scheduleTimerTask(int clientExecutionTimeoutMillis) {
         ClientExecutionAbortTask timerTask = new ClientExecutionAbortTaskImpl(Thread.currentThread());
-        ScheduledFuture<?> timerTaskFuture = executor.schedule(timerTask, clientExecutionTimeoutMillis,
-                TimeUnit.MILLISECONDS);
-        return new ClientExecutionAbortTrackerTaskImpl(timerTask, timerTaskFuture);
+        Timeout timeout = timer.newTimeout(timerTask, clientExecutionTimeoutMillis, TimeUnit.MILLISECONDS);
+        return new ClientExecutionAbortTrackerTaskImpl(timerTask, timeout);
     }
 
     private boolean isTimeoutDisabled(int clientExecutionTimeoutMillis) {
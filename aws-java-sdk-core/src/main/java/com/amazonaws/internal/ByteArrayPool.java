@@ -0,0 +1,272 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.internal;
+
+import com.amazonaws.SDKGlobalConfiguration;
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.util.AWSRequestMetrics;
+import com.amazonaws.util.AWSRequestMetrics.Field;
+import java.lang.reflect.Method;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A pool of the short-lived scratch buffers used to read, copy and hash request and response
+ * content, so that every request doesn't have to allocate its own.
+ * <p>
+ * Buffers are handed out in power of two size classes from 1 KB to 128 KB. Larger requests are
+ * not pooled. Each platform thread caches one buffer of each of the smaller size classes, and
+ * released buffers beyond that go to a shared, bounded free list per size class. Virtual threads
+ * only use the shared free lists, as there are too many of them, too short-lived, for a per
+ * thread cache to be reused.
+ * <p>
+ * Only buffers used for the duration of a single call are pooled. Buffers owned by a stream for
+ * its whole lifetime, such as those of SdkBufferedInputStream or the S3 RepeatableInputStream,
+ * are not, as they can't be handed back safely while the stream may still be read.
+ * <p>
+ * A buffer must not be used after it's released, and must only be released once. Pooling can be
+ * disabled with the {@link SDKGlobalConfiguration#DISABLE_BUFFER_POOLING_SYSTEM_PROPERTY} system
+ * property, or by creating a client with
+ * {@link com.amazonaws.ClientConfiguration#useBufferPooling()} turned off.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class ByteArrayPool {
+
+    private static final int MIN_SIZE_CLASS_SHIFT = 10;
+    private static final int MAX_SIZE_CLASS_SHIFT = 17;
+    private static final int SIZE_CLASS_COUNT = MAX_SIZE_CLASS_SHIFT - MIN_SIZE_CLASS_SHIFT + 1;
+
+    /**
+     * Only buffers up to this size are cached per thread, which bounds the memory held by each
+     * thread to just under 32 KB.
+     */
+    private static final int MAX_THREAD_CACHED_SIZE = 16 * 1024;
+
+    private static final int DEFAULT_MAX_POOLED_PER_SIZE_CLASS = 16;
+
+    private static final ByteArrayPool DEFAULT = new ByteArrayPool(
+            !SDKGlobalConfiguration.isBufferPoolingDisabled(), DEFAULT_MAX_POOLED_PER_SIZE_CLASS);
+
+    static {
+        SdkThreadLocalsRegistry.register(DEFAULT.threadCache);
+    }
+
+    /**
+     * Thread#isVirtual, or null before Java 21 where there are no virtual threads.
+     */
+    private static final Method IS_VIRTUAL = findIsVirtualMethod();
+
+    private volatile boolean enabled;
+    private final int maxPooledPerSizeClass;
+    private final SizeClass[] sizeClasses = new SizeClass[SIZE_CLASS_COUNT];
+    private final ThreadLocal<byte[][]> threadCache = new ThreadLocal<byte[][]>() {
+        @Override
+        protected byte[][] initialValue() {
+            return new byte[SIZE_CLASS_COUNT][];
+        }
+    };
+
+    private final AtomicLong allocationCount = new AtomicLong();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private final AtomicLong reuseCount = new AtomicLong();
+
+    private final AtomicLong recordedAllocationCount = new AtomicLong();
+    private final AtomicLong recordedAllocatedBytes = new AtomicLong();
+    private final AtomicLong recordedReuseCount = new AtomicLong();
+
+    ByteArrayPool(boolean enabled, int maxPooledPerSizeClass) {
+        this.enabled = enabled;
+        this.maxPooledPerSizeClass = maxPooledPerSizeClass;
+        for (int i = 0; i < SIZE_CLASS_COUNT; i++) {
+            sizeClasses[i] = new SizeClass(1 << (MIN_SIZE_CLASS_SHIFT + i));
+        }
+    }
+
+    /**
+     * @return The pool shared by the SDK.
+     */
+    public static ByteArrayPool getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns a buffer of at least the given length. Its contents are undefined.
+     */
+    public byte[] acquire(int minLength) {
+        int index = sizeClassIndex(minLength);
+        if (!enabled || index < 0) {
+            return allocate(minLength);
+        }
+
+        SizeClass sizeClass = sizeClasses[index];
+        byte[] buffer = null;
+        if (sizeClass.size <= MAX_THREAD_CACHED_SIZE && isThreadCacheable()) {
+            byte[][] cache = threadCache.get();
+            buffer = cache[index];
+            cache[index] = null;
+        }
+        if (buffer == null) {
+            buffer = sizeClass.free.poll();
+            if (buffer != null) {
+                sizeClass.freeCount.decrementAndGet();
+            }
+        }
+        if (buffer == null) {
+            return allocate(sizeClass.size);
+        }
+        reuseCount.incrementAndGet();
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer obtained from {@link #acquire(int)} to the pool. Buffers that don't belong
+     * to a size class, or that don't fit in the pool, are left for garbage collection.
+     */
+    public void release(byte[] buffer) {
+        if (!enabled || buffer == null) {
+            return;
+        }
+        int index = sizeClassIndex(buffer.length);
+        if (index < 0 || sizeClasses[index].size != buffer.length) {
+            return;
+        }
+
+        SizeClass sizeClass = sizeClasses[index];
+        if (sizeClass.size <= MAX_THREAD_CACHED_SIZE && isThreadCacheable()) {
+            byte[][] cache = threadCache.get();
+            if (cache[index] == null) {
+                cache[index] = buffer;
+                return;
+            }
+        }
+        if (sizeClass.freeCount.incrementAndGet() <= maxPooledPerSizeClass) {
+            sizeClass.free.offer(buffer);
+        } else {
+            sizeClass.freeCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Stops pooling buffers. Buffers acquired from then on are allocated, and released ones are
+     * left for garbage collection. Pooling can't be turned back on, as clients sharing the pool
+     * may have disabled it.
+     */
+    public void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Records the allocations and reuses of the pool since it was last recorded in the given
+     * request metrics, so that the counters of all requests add up to the pool's totals.
+     */
+    public void recordMetrics(AWSRequestMetrics metrics) {
+        recordDelta(metrics, Field.BufferPoolAllocationCount, allocationCount, recordedAllocationCount);
+        recordDelta(metrics, Field.BufferPoolAllocatedBytes, allocatedBytes, recordedAllocatedBytes);
+        recordDelta(metrics, Field.BufferPoolReuseCount, reuseCount, recordedReuseCount);
+    }
+
+    private static void recordDelta(AWSRequestMetrics metrics, Field field, AtomicLong total, AtomicLong recorded) {
+        while (true) {
+            long previous = recorded.get();
+            long current = total.get();
+            if (current <= previous) {
+                return;
+            }
+            if (recorded.compareAndSet(previous, current)) {
+                metrics.setCounter(field, current - previous);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return The number of buffers allocated because no pooled buffer was available.
+     */
+    public long getAllocationCount() {
+        return allocationCount.get();
+    }
+
+    /**
+     * @return The total size in bytes of the buffers allocated because no pooled buffer was
+     *         available.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    /**
+     * @return The number of buffers handed out from the pool instead of being allocated.
+     */
+    public long getReuseCount() {
+        return reuseCount.get();
+    }
+
+    private byte[] allocate(int length) {
+        allocationCount.incrementAndGet();
+        allocatedBytes.addAndGet(length);
+        return new byte[length];
+    }
+
+    /**
+     * @return False on virtual threads, whose caches would hardly ever be reused.
+     */
+    private static boolean isThreadCacheable() {
+        if (IS_VIRTUAL == null) {
+            return true;
+        }
+        try {
+            return !((Boolean) IS_VIRTUAL.invoke(Thread.currentThread()));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static Method findIsVirtualMethod() {
+        try {
+            return Thread.class.getMethod("isVirtual");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the index of the smallest size class that holds the given length, or -1 if the
+     * length is larger than the largest size class.
+     */
+    private static int sizeClassIndex(int length) {
+        if (length <= 1 << MIN_SIZE_CLASS_SHIFT) {
+            return 0;
+        }
+        if (length > 1 << MAX_SIZE_CLASS_SHIFT) {
+            return -1;
+        }
+        int shift = 32 - Integer.numberOfLeadingZeros(length - 1);
+        return shift - MIN_SIZE_CLASS_SHIFT;
+    }
+
+    private static final class SizeClass {
+        private final int size;
+        private final Queue<byte[]> free = new ConcurrentLinkedQueue<byte[]>();
+        private final AtomicInteger freeCount = new AtomicInteger();
+
+        private SizeClass(int size) {
+            this.size = size;
+        }
+    }
+}
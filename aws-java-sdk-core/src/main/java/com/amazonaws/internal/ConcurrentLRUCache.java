@@ -0,0 +1,149 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.internal;
+
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.annotation.ThreadSafe;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded cache that evicts the least recently used entry when it is full.
+ * <p>
+ * Unlike {@link FIFOCache}, looking an entry up takes no lock, so that a cache
+ * read by every request doesn't become a point of contention, and entries that
+ * are still in use aren't evicted just because they were added first. Recency
+ * is tracked with a counter that only moves when an entry is added, so reads
+ * of an entry that is already marked as recently used write nothing.
+ * Evicting scans the cache for its least recently used entry, which is only
+ * worth doing for small caches whose values are costly to recreate.
+ *
+ * @param <K>
+ *            key type
+ * @param <V>
+ *            value type
+ */
+@ThreadSafe
+@SdkInternalApi
+public final class ConcurrentLRUCache<K, V> {
+    private final ConcurrentHashMap<K, Node<V>> map;
+    private final int maxSize;
+    private final AtomicLong clock = new AtomicLong();
+    private final Object evictionLock = new Object();
+
+    /**
+     * @param maxSize
+     *            the maximum number of entries of the cache
+     */
+    public ConcurrentLRUCache(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize " + maxSize
+                    + " must be at least 1");
+        }
+        this.maxSize = maxSize;
+        this.map = new ConcurrentHashMap<K, Node<V>>(Math.min(maxSize, 1024));
+    }
+
+    /**
+     * Returns the value of the given key, marking it as the most recently
+     * used; or null if no such entry exists.
+     */
+    public V get(K key) {
+        Node<V> node = map.get(key);
+        if (node == null) {
+            return null;
+        }
+        long now = clock.get();
+        if (node.lastAccess != now) {
+            node.lastAccess = now;
+        }
+        return node.value;
+    }
+
+    /**
+     * Adds an entry to the cache, evicting the least recently used entry if
+     * necessary.
+     *
+     * @return The value previously held for the key, or null if there was
+     *         none.
+     */
+    public V put(K key, V value) {
+        Node<V> previous = map.put(key, new Node<V>(value, clock.incrementAndGet()));
+        if (previous == null && map.size() > maxSize) {
+            evict(key);
+        }
+        return previous == null ? null : previous.value;
+    }
+
+    /**
+     * Returns the current size of the cache.
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Returns the maximum size of the cache.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Evicts the least recently used entries until the cache is back within
+     * its size, other than the one just added, which reads since the last
+     * addition may have left tied with the rest.
+     */
+    private void evict(K added) {
+        synchronized (evictionLock) {
+            while (map.size() > maxSize) {
+                Map.Entry<K, Node<V>> eldest = null;
+                for (Map.Entry<K, Node<V>> entry : map.entrySet()) {
+                    if (entry.getKey().equals(added)) {
+                        continue;
+                    }
+                    if (eldest == null || entry.getValue().lastAccess < eldest.getValue().lastAccess) {
+                        eldest = entry;
+                    }
+                }
+                if (eldest == null) {
+                    return;
+                }
+                map.remove(eldest.getKey(), eldest.getValue());
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return map.toString();
+    }
+
+    private static final class Node<V> {
+        private final V value;
+        private volatile long lastAccess;
+
+        private Node(V value, long lastAccess) {
+            this.value = value;
+            this.lastAccess = lastAccess;
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(value);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.internal;
+
+import com.amazonaws.AbortedException;
+import com.amazonaws.SDKGlobalConfiguration;
+import com.amazonaws.annotation.SdkProtectedApi;
+import com.amazonaws.annotation.SdkTestInternalApi;
+import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.metrics.AwsSdkMetrics;
+import com.amazonaws.metrics.ServiceLatencyProvider;
+import com.amazonaws.util.AWSServiceMetrics;
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Runs the background refreshes of credentials providers and caches on a
+ * small, process-wide pool of daemon threads, instead of each provider
+ * starting a thread of its own, and bounds how many refresh calls, such as
+ * calls to STS or the instance metadata service, are in flight at once
+ * across all of them.
+ * <p>
+ * Refreshes run through {@link #refresh(Callable)} record their duration as
+ * the {@link AWSServiceMetrics#CredentialsRefreshTime} or
+ * {@link AWSServiceMetrics#CredentialsRefreshFailureTime} service metric.
+ */
+@ThreadSafe
+@SdkProtectedApi
+public final class RefreshScheduler {
+
+    private static final Log LOG = LogFactory.getLog(RefreshScheduler.class);
+
+    /** Number of threads of the default scheduler. */
+    static final int DEFAULT_THREADS = 4;
+
+    /** Number of refresh calls the default scheduler lets run at once, unless configured otherwise. */
+    static final int DEFAULT_MAX_CONCURRENT_REFRESHES = 8;
+
+    private static final RefreshScheduler DEFAULT = new RefreshScheduler(DEFAULT_THREADS,
+                                                                         maxConcurrentRefreshes());
+
+    private final ScheduledThreadPoolExecutor executor;
+
+    private final Semaphore refreshPermits;
+
+    private final int maxConcurrentRefreshes;
+
+    private final AtomicLong refreshCount = new AtomicLong();
+
+    private final AtomicLong refreshFailureCount = new AtomicLong();
+
+    /**
+     * Whether the current thread holds a permit, so that a refresh that
+     * refreshes in turn, as when assuming a role with credentials from
+     * another assumed role, doesn't wait on a permit of its own.
+     */
+    private final ThreadLocal<Boolean> holdsPermit = new ThreadLocal<Boolean>();
+
+    @SdkTestInternalApi
+    RefreshScheduler(int threads, int maxConcurrentRefreshes) {
+        if (maxConcurrentRefreshes < 1) {
+            throw new IllegalArgumentException("maxConcurrentRefreshes " + maxConcurrentRefreshes
+                                               + " must be at least 1");
+        }
+        this.executor = new ScheduledThreadPoolExecutor(threads, new RefreshThreadFactory());
+        removeTasksOnCancel(executor);
+        this.refreshPermits = new Semaphore(maxConcurrentRefreshes, true);
+        this.maxConcurrentRefreshes = maxConcurrentRefreshes;
+    }
+
+    /**
+     * Returns the scheduler shared by all credentials providers and caches of
+     * the process.
+     */
+    public static RefreshScheduler getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Runs the given task once after the given delay.
+     */
+    public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        return executor.schedule(task, delay, unit);
+    }
+
+    /**
+     * Runs the given task once after the given delay.
+     */
+    public <T> ScheduledFuture<T> schedule(Callable<T> task, long delay, TimeUnit unit) {
+        return executor.schedule(task, delay, unit);
+    }
+
+    /**
+     * Runs the given task repeatedly, with the given delay between the end
+     * of one run and the start of the next, until the returned future is
+     * cancelled.
+     */
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long initialDelay, long delay, TimeUnit unit) {
+        return executor.scheduleWithFixedDelay(task, initialDelay, delay, unit);
+    }
+
+    /**
+     * Runs the given task as soon as a thread of the scheduler is free.
+     */
+    public ScheduledFuture<?> submit(Runnable task) {
+        return executor.schedule(task, 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Calls the given refresh, waiting first while the maximum number of
+     * refreshes are already in flight, and records how long it took and
+     * whether it failed. May be called from any thread, not only those of the
+     * scheduler, so that refreshes that block their caller are bounded too.
+     * Refreshes made by the refresh itself run without waiting.
+     *
+     * @return The result of the refresh.
+     * @throws AbortedException If interrupted while waiting to refresh.
+     * @throws Exception Whatever the refresh throws.
+     */
+    public <T> T refresh(Callable<T> refresh) throws Exception {
+        final boolean nested = holdsPermit.get() != null;
+        if (!nested) {
+            try {
+                refreshPermits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AbortedException("Interrupted waiting to refresh.", e);
+            }
+            holdsPermit.set(Boolean.TRUE);
+        }
+        final ServiceLatencyProvider latency = new ServiceLatencyProvider(AWSServiceMetrics.CredentialsRefreshTime);
+        final ServiceLatencyProvider failureLatency =
+                new ServiceLatencyProvider(AWSServiceMetrics.CredentialsRefreshFailureTime);
+        boolean success = false;
+        try {
+            T result = refresh.call();
+            success = true;
+            return result;
+        } finally {
+            if (!nested) {
+                holdsPermit.remove();
+                refreshPermits.release();
+            }
+            refreshCount.incrementAndGet();
+            if (!success) {
+                refreshFailureCount.incrementAndGet();
+            }
+            AwsSdkMetrics.getServiceMetricCollector().collectLatency(
+                    success ? latency.endTiming() : failureLatency.endTiming());
+        }
+    }
+
+    /**
+     * Returns the number of refreshes run through {@link #refresh(Callable)}
+     * so far, failed ones included.
+     */
+    public long getRefreshCount() {
+        return refreshCount.get();
+    }
+
+    /**
+     * Returns the number of refreshes run through {@link #refresh(Callable)}
+     * so far that threw.
+     */
+    public long getRefreshFailureCount() {
+        return refreshFailureCount.get();
+    }
+
+    /**
+     * Returns the number of refreshes currently in flight.
+     */
+    public int getActiveRefreshCount() {
+        return maxConcurrentRefreshes - refreshPermits.availablePermits();
+    }
+
+    public int getMaxConcurrentRefreshes() {
+        return maxConcurrentRefreshes;
+    }
+
+    @SdkTestInternalApi
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @SdkTestInternalApi
+    int getQueuedTaskCount() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Has the executor drop tasks from its queue as soon as they are
+     * cancelled, so that a closed provider, which its scheduled refresh
+     * holds on to, isn't kept until the refresh would have been due. The
+     * policy only exists as of Java 7, so it's set reflectively.
+     */
+    private static void removeTasksOnCancel(ScheduledThreadPoolExecutor executor) {
+        try {
+            Method setRemoveOnCancelPolicy =
+                    ScheduledThreadPoolExecutor.class.getMethod("setRemoveOnCancelPolicy", boolean.class);
+            setRemoveOnCancelPolicy.invoke(executor, Boolean.TRUE);
+        } catch (NoSuchMethodException e) {
+            LOG.debug("Cancelled refreshes are removed from the queue when they fall due on this JVM");
+        } catch (Exception e) {
+            LOG.debug("Unable to have cancelled refreshes removed from the queue", e);
+        }
+    }
+
+    private static int maxConcurrentRefreshes() {
+        String property = System.getProperty(SDKGlobalConfiguration.MAX_CONCURRENT_CREDENTIAL_REFRESHES_SYSTEM_PROPERTY);
+        if (property != null) {
+            try {
+                int value = Integer.parseInt(property.trim());
+                if (value > 0) {
+                    return value;
+                }
+            } catch (NumberFormatException e) {
+                // Fall through to the default
+            }
+            LOG.warn("Ignoring invalid value " + property + " of "
+                     + SDKGlobalConfiguration.MAX_CONCURRENT_CREDENTIAL_REFRESHES_SYSTEM_PROPERTY);
+        }
+        return DEFAULT_MAX_CONCURRENT_REFRESHES;
+    }
+
+    private static final class RefreshThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = Executors.defaultThreadFactory().newThread(r);
+            t.setName("sdk-refresh-scheduler-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
@@ -16,6 +16,7 @@ package com.amazonaws.internal;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * List with auto construct flag to indicate whether it is auto constructed by
@@ -53,4 +54,12 @@ public class SdkInternalList<T> extends ArrayList<T> {
         return autoConstruct;
     }
 
+    /**
+    * Return true if the given list is auto constructed by Java SDK. Lists of
+    * any other type, such as lazily unmarshalled response lists, never are.
+    */
+    public static boolean isAutoConstruct(List<?> list) {
+        return list instanceof SdkInternalList && ((SdkInternalList<?>) list).isAutoConstruct();
+    }
+
 }
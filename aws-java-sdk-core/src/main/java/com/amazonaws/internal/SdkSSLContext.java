@@ -39,4 +39,19 @@ public class SdkSSLContext {
             throw new SSLInitializationException(ex.getMessage(), ex);
         }
     }
+
+    /**
+     * Returns a process-wide {@link SSLContext}, initialized with the default {@link SecureRandom},
+     * shared by all clients not configured with a SecureRandom of their own. As the client session
+     * cache belongs to the context, sharing it lets connections of any client resume a TLS session
+     * established by another one instead of doing a full handshake, for example when connections
+     * are replaced after their time to live expired.
+     */
+    public static SSLContext getSharedSSLContext() {
+        return SharedContextHolder.SHARED_CONTEXT;
+    }
+
+    private static final class SharedContextHolder {
+        private static final SSLContext SHARED_CONTEXT = getPreferredSSLContext(new SecureRandom());
+    }
 }
@@ -919,6 +919,10 @@ public enum AwsSdkMetrics {
             metricTypes.add(Field.HttpClientPoolLeasedCount);
             metricTypes.add(Field.HttpClientPoolPendingCount);
             metricTypes.add(AWSServiceMetrics.HttpClientGetConnectionTime);
+            metricTypes.add(AWSServiceMetrics.HttpClientTlsHandshakeTime);
+            metricTypes.add(AWSServiceMetrics.HttpClientTlsSessionResumptionTime);
+            metricTypes.add(AWSServiceMetrics.CredentialsRefreshTime);
+            metricTypes.add(AWSServiceMetrics.CredentialsRefreshFailureTime);
             syncReadOnly();
         }
 
@@ -24,12 +24,22 @@ import com.amazonaws.util.TimingInfo;
  */
 @NotThreadSafe
 public class ServiceLatencyProvider {
-    private final long startNano = System.nanoTime();
-    private long endNano = startNano;
+    private final long startNano;
+    private long endNano;
     private final ServiceMetricType serviceMetricType;
 
     public ServiceLatencyProvider(ServiceMetricType type) { 
+        this(type, System.nanoTime());
+    }
+
+    /**
+     * Starts the timing at the given {@link System#nanoTime()}, for latencies
+     * whose type is only known once they are over.
+     */
+    public ServiceLatencyProvider(ServiceMetricType type, long startNano) {
         this.serviceMetricType = type;
+        this.startNano = startNano;
+        this.endNano = startNano;
     }
     public ServiceMetricType getServiceMetricType() { return serviceMetricType; }
 
@@ -75,6 +75,10 @@
  * <ol>
  * <li>HttpClientGetConnectionTime - Total number of milliseconds taken for the
  * underlying http client library to get a connection.
+ * <li>HttpClientTlsHandshakeTime - Number of milliseconds taken by a full TLS
+ * handshake when opening a connection.</li>
+ * <li>HttpClientTlsSessionResumptionTime - Number of milliseconds taken by a TLS
+ * handshake that resumed a previously established session.</li>
  * <li>S3DownloadThroughput - Number of bytes downloaded from S3 per second.</li>
  * <li>S3DownloadByteCount - Number of bytes downloaded from S3.</li>
  * <li>S3UploadThroughput - Number of bytes uploaded to S3 per second.</li>
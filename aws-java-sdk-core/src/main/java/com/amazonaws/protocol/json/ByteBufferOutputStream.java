@@ -0,0 +1,38 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.protocol.json;
+
+import com.amazonaws.annotation.SdkInternalApi;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link ByteArrayOutputStream} whose content can be read without copying it.
+ */
+@SdkInternalApi
+class ByteBufferOutputStream extends ByteArrayOutputStream {
+
+    ByteBufferOutputStream(int size) {
+        super(size);
+    }
+
+    /**
+     * @return View of the bytes written so far, backed by the internal buffer of this stream. It
+     * must not be modified and is only valid until more bytes are written.
+     */
+    synchronized ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(buf, 0, count);
+    }
+}
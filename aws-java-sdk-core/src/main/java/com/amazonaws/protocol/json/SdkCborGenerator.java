@@ -21,6 +21,7 @@ import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Date;
 
 import static com.amazonaws.SDKGlobalConfiguration.AWS_CBOR_DISABLE_ENV_VAR;
@@ -65,13 +66,26 @@ class SdkCborGenerator extends SdkJsonGenerator {
         try {
             return super.getBytes();
         } catch (NoSuchMethodError e) {
-            throw new RuntimeException(
-                    "Jackson jackson-core/jackson-dataformat-cbor incompatible library version detected.\nYou have two possible resolutions:\n" +
-                            "\t\t1) Ensure the com.fasterxml.jackson.core:jackson-core & com.fasterxml.jackson.dataformat:jackson-dataformat-cbor libraries " +
-                            "on your classpath have the same version number\n" +
-                            "\t\t2) Disable CBOR wire-protocol by passing the -D" + AWS_CBOR_DISABLE_SYSTEM_PROPERTY + " property or setting the " +
-                            AWS_CBOR_DISABLE_ENV_VAR + " environment variable (warning this may affect performance)",
-                    e);
+            throw incompatibleJacksonVersion(e);
         }
     }
+
+    @Override
+    public ByteBuffer getByteBuffer() {
+        try {
+            return super.getByteBuffer();
+        } catch (NoSuchMethodError e) {
+            throw incompatibleJacksonVersion(e);
+        }
+    }
+
+    private static RuntimeException incompatibleJacksonVersion(NoSuchMethodError e) {
+        return new RuntimeException(
+                "Jackson jackson-core/jackson-dataformat-cbor incompatible library version detected.\nYou have two possible resolutions:\n" +
+                        "\t\t1) Ensure the com.fasterxml.jackson.core:jackson-core & com.fasterxml.jackson.dataformat:jackson-dataformat-cbor libraries " +
+                        "on your classpath have the same version number\n" +
+                        "\t\t2) Disable CBOR wire-protocol by passing the -D" + AWS_CBOR_DISABLE_SYSTEM_PROPERTY + " property or setting the " +
+                        AWS_CBOR_DISABLE_ENV_VAR + " environment variable (warning this may affect performance)",
+                e);
+    }
 }
@@ -14,7 +14,6 @@
  */
 package com.amazonaws.protocol.json;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -31,6 +30,11 @@ import software.amazon.ion.system.IonWriterBuilder;
 
 @SdkInternalApi
 abstract class SdkIonGenerator implements StructuredJsonGenerator {
+    /**
+     * Initial size of the output buffer, matching {@link SdkJsonGenerator}.
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 1024;
+
     private final String contentType;
     protected final IonWriter writer;
 
@@ -208,33 +212,46 @@ abstract class SdkIonGenerator implements StructuredJsonGenerator {
     @Override
     public abstract byte[] getBytes();
 
+    @Override
+    public abstract ByteBuffer getByteBuffer();
+
     @Override
     public String getContentType() {
         return contentType;
     }
 
     public static SdkIonGenerator create(IonWriterBuilder builder, String contentType) {
-        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ByteBufferOutputStream bytes = new ByteBufferOutputStream(DEFAULT_BUFFER_SIZE);
         IonWriter writer = builder.build(bytes);
         return new ByteArraySdkIonGenerator(bytes, writer, contentType);
     }
 
     private static class ByteArraySdkIonGenerator extends SdkIonGenerator {
-        private final ByteArrayOutputStream bytes;
+        private final ByteBufferOutputStream bytes;
 
-        public ByteArraySdkIonGenerator(ByteArrayOutputStream bytes, IonWriter writer, String contentType) {
+        public ByteArraySdkIonGenerator(ByteBufferOutputStream bytes, IonWriter writer, String contentType) {
             super(writer, contentType);
             this.bytes = bytes;
         }
 
         @Override
         public byte[] getBytes() {
+            finish();
+            return bytes.toByteArray();
+        }
+
+        @Override
+        public ByteBuffer getByteBuffer() {
+            finish();
+            return bytes.toByteBuffer();
+        }
+
+        private void finish() {
             try {
                 writer.finish();
             } catch (IOException e) {
                 throw new SdkClientException(e);
             }
-            return bytes.toByteArray();
         }
     }
 }
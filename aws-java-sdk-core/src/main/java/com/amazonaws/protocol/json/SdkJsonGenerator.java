@@ -21,7 +21,6 @@ import com.amazonaws.util.DateUtils;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -50,7 +49,7 @@ public class SdkJsonGenerator implements StructuredJsonGenerator {
         }
     }
 
-    private final ByteArrayOutputStream baos = new ByteArrayOutputStream(DEFAULT_BUFFER_SIZE);
+    private final ByteBufferOutputStream baos = new ByteBufferOutputStream(DEFAULT_BUFFER_SIZE);
 
     private final JsonGenerator generator;
 
@@ -269,6 +268,12 @@ public class SdkJsonGenerator implements StructuredJsonGenerator {
         return baos.toByteArray();
     }
 
+    @Override
+    public ByteBuffer getByteBuffer() {
+        close();
+        return baos.toByteBuffer();
+    }
+
     @Override
     public String getContentType() {
         return contentType;
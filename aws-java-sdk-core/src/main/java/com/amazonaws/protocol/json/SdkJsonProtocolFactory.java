@@ -26,6 +26,7 @@ import com.amazonaws.http.HttpResponseHandler;
 import com.amazonaws.protocol.OperationInfo;
 import com.amazonaws.protocol.Protocol;
 import com.amazonaws.protocol.ProtocolRequestMarshaller;
+import com.amazonaws.transform.StreamingListIterator;
 import com.amazonaws.transform.JsonErrorUnmarshaller;
 import com.amazonaws.transform.JsonUnmarshallerContext;
 import com.amazonaws.transform.Unmarshaller;
@@ -42,13 +43,39 @@ public class SdkJsonProtocolFactory implements SdkJsonMarshallerFactory {
 
     private final JsonClientMetadata metadata;
 
-    private final List<JsonErrorUnmarshaller> errorUnmarshallers = new ArrayList<JsonErrorUnmarshaller>();
+    private final List<JsonErrorUnmarshaller> errorUnmarshallers;
+
+    private final boolean binaryProtocolEnabled;
 
     public SdkJsonProtocolFactory(JsonClientMetadata metadata) {
         this.metadata = metadata;
+        this.errorUnmarshallers = new ArrayList<JsonErrorUnmarshaller>();
+        this.binaryProtocolEnabled = true;
         createErrorUnmarshallers();
     }
 
+    private SdkJsonProtocolFactory(SdkJsonProtocolFactory other, boolean binaryProtocolEnabled) {
+        this.metadata = other.metadata;
+        this.errorUnmarshallers = other.errorUnmarshallers;
+        this.binaryProtocolEnabled = binaryProtocolEnabled;
+    }
+
+    /**
+     * Returns a factory for the same service that does or doesn't use the binary form of the
+     * service's wire protocol. Without it, CBOR services are called with JSON and Ion services
+     * with text Ion. Services that only support JSON are not affected.
+     *
+     * @param binaryProtocolEnabled Whether to use the binary form of the wire protocol, typically
+     *                              from {@link com.amazonaws.ClientConfiguration#useBinaryProtocol()}.
+     */
+    public SdkJsonProtocolFactory withBinaryProtocol(boolean binaryProtocolEnabled) {
+        if (binaryProtocolEnabled == this.binaryProtocolEnabled
+            || !(metadata.isSupportsCbor() || metadata.isSupportsIon())) {
+            return this;
+        }
+        return new SdkJsonProtocolFactory(this, binaryProtocolEnabled);
+    }
+
     @Override
     public StructuredJsonGenerator createGenerator() {
         return getSdkFactory().createWriter(getContentType());
@@ -88,6 +115,22 @@ public class SdkJsonProtocolFactory implements SdkJsonMarshallerFactory {
         return getSdkFactory().createResponseHandler(operationMetadata, responseUnmarshaller);
     }
 
+    /**
+     * Returns a response handler that, instead of unmarshalling the whole of a successful
+     * response, streams the elements of one list in it as they are read. The HTTP connection is
+     * held by the returned {@link StreamingListIterator} until it reaches the end of the response
+     * or is closed.
+     *
+     * @param elementUnmarshaller Unmarshaller for a list element.
+     * @param fieldExpression     Expression matching the field holding the list, such as {@code "Items"}.
+     * @param targetDepth         Depth at which the expression must start matching, 1 for a top level field.
+     */
+    public <T> HttpResponseHandler<AmazonWebServiceResponse<StreamingListIterator<T>>> createStreamingListResponseHandler(
+            Unmarshaller<T, JsonUnmarshallerContext> elementUnmarshaller, String fieldExpression, int targetDepth) {
+        return ((SdkStructuredJsonFactoryImpl) getSdkFactory())
+                .createStreamingListResponseHandler(elementUnmarshaller, fieldExpression, targetDepth);
+    }
+
     /**
      * Creates a response handler for handling a error response (non 2xx response).
      */
@@ -141,7 +184,7 @@ public class SdkJsonProtocolFactory implements SdkJsonMarshallerFactory {
     }
 
     private boolean isCborEnabled() {
-        return metadata.isSupportsCbor() && !SDKGlobalConfiguration.isCborDisabled();
+        return metadata.isSupportsCbor() && binaryProtocolEnabled && !SDKGlobalConfiguration.isCborDisabled();
     }
 
     private boolean isIonEnabled() {
@@ -149,6 +192,6 @@ public class SdkJsonProtocolFactory implements SdkJsonMarshallerFactory {
     }
 
     boolean isIonBinaryEnabled() {
-        return !SDKGlobalConfiguration.isIonBinaryDisabled();
+        return binaryProtocolEnabled && !SDKGlobalConfiguration.isIonBinaryDisabled();
     }
 }
@@ -16,6 +16,7 @@ package com.amazonaws.protocol.json;
 
 import com.amazonaws.http.JsonErrorResponseHandler;
 import com.amazonaws.http.JsonResponseHandler;
+import com.amazonaws.http.JsonStreamingListResponseHandler;
 import com.amazonaws.internal.http.ErrorCodeParser;
 import com.amazonaws.internal.http.JsonErrorCodeParser;
 import com.amazonaws.internal.http.JsonErrorMessageParser;
@@ -63,6 +64,20 @@ public abstract class SdkStructuredJsonFactoryImpl implements SdkStructuredJsonF
                                        operationMetadata.isPayloadJson());
     }
 
+    /**
+     * Returns the response handler to be used for streaming the elements of one list in a
+     * successful response.
+     *
+     * @param elementUnmarshaller Unmarshaller for a list element.
+     * @param fieldExpression     Expression matching the field holding the list.
+     * @param targetDepth         Depth at which the expression must start matching.
+     */
+    public <T> JsonStreamingListResponseHandler<T> createStreamingListResponseHandler(
+            Unmarshaller<T, JsonUnmarshallerContext> elementUnmarshaller, String fieldExpression, int targetDepth) {
+        return new JsonStreamingListResponseHandler<T>(elementUnmarshaller, fieldExpression, targetDepth, unmarshallers,
+                                                       customTypeMarshallers, jsonFactory);
+    }
+
     @Override
     public JsonErrorResponseHandler createErrorResponseHandler(
             final List<JsonErrorUnmarshaller> errorUnmarshallers, String customErrorCodeFieldName) {
@@ -127,6 +127,11 @@ public interface StructuredJsonGenerator {
             return EMPTY_BYTES;
         }
 
+        @Override
+        public ByteBuffer getByteBuffer() {
+            return ByteBuffer.wrap(EMPTY_BYTES);
+        }
+
         @Override
         public String getContentType() {
             return null;
@@ -169,6 +174,12 @@ public interface StructuredJsonGenerator {
 
     byte[] getBytes();
 
+    /**
+     * Returns the generated content like {@link #getBytes()}, but without copying it where
+     * possible. The returned buffer must not be modified.
+     */
+    ByteBuffer getByteBuffer();
+
     /**
      * New clients use {@link SdkJsonProtocolFactory#getContentType()}.
      */
@@ -187,10 +187,18 @@ public class JsonProtocolMarshaller<OrigRequest> implements ProtocolRequestMarsh
                 jsonGenerator.writeEndObject();
             }
 
-            byte[] content = jsonGenerator.getBytes();
-            request.setContent(new ByteArrayInputStream(content));
-            if (content.length > 0) {
-                request.addHeader("Content-Length", Integer.toString(content.length));
+            // Stream the generator's buffer directly rather than a copy of it.
+            ByteBuffer content = jsonGenerator.getByteBuffer();
+            int contentLength = content.remaining();
+            if (content.hasArray()) {
+                request.setContent(new ByteArrayInputStream(content.array(),
+                                                            content.arrayOffset() + content.position(),
+                                                            contentLength));
+            } else {
+                request.setContent(BinaryUtils.toStream(content));
+            }
+            if (contentLength > 0) {
+                request.addHeader("Content-Length", Integer.toString(contentLength));
             }
         }
         if (!request.getHeaders().containsKey("Content-Type")) {
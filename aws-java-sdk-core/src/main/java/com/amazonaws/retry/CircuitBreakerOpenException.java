@@ -0,0 +1,33 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.retry;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.SdkClientException;
+
+/**
+ * Thrown when a request is rejected without being sent because the circuit breaker for its
+ * endpoint is open after observing too many failures.
+ *
+ * @see ClientConfiguration#useCircuitBreaker()
+ */
+public class CircuitBreakerOpenException extends SdkClientException {
+
+    private static final long serialVersionUID = -2795213622356315382L;
+
+    public CircuitBreakerOpenException(String message) {
+        super(message);
+    }
+}
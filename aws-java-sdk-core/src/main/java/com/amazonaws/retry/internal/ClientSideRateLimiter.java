@@ -0,0 +1,210 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *    http://aws.amazon.com/apache2.0
+ *
+ * This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.amazonaws.retry.internal;
+
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.annotation.SdkTestInternalApi;
+import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.auth.SdkClock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive token bucket that limits the rate at which a client sends requests to a single
+ * endpoint.
+ * <p>
+ * The bucket stays disabled until the first throttling response is observed, so clients that are
+ * never throttled pay no cost beyond bookkeeping. Once enabled, the fill rate is decreased
+ * multiplicatively on each throttling response and grown back along a CUBIC curve on each
+ * successful response, converging on the highest rate the service will sustain. The rate is also
+ * capped at twice the measured sending rate so that an idle client cannot accumulate an
+ * arbitrarily large allowance.
+ */
+@SdkInternalApi
+@ThreadSafe
+public class ClientSideRateLimiter {
+
+    private static final double MIN_FILL_RATE = 0.5;
+    private static final double MIN_CAPACITY = 1.0;
+
+    /** Weight given to the most recent measurement when smoothing the sending rate. */
+    private static final double SMOOTH = 0.8;
+
+    /** Multiplicative decrease applied to the rate on a throttling response. */
+    private static final double BETA = 0.7;
+
+    /** Controls how aggressively the rate grows back after a throttling response. */
+    private static final double SCALE_CONSTANT = 0.4;
+
+    private final SdkClock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double fillRate;
+    private double maxCapacity;
+    private double currentCapacity;
+    private double lastTimestamp = -1;
+    private boolean enabled;
+
+    private double measuredTxRate;
+    private double lastTxRateBucket;
+    private long requestCount;
+
+    private double lastMaxRate;
+    private double lastThrottleTime;
+    private double timeWindow;
+
+    public ClientSideRateLimiter() {
+        this(SdkClock.STANDARD);
+    }
+
+    @SdkTestInternalApi
+    ClientSideRateLimiter(SdkClock clock) {
+        this.clock = clock;
+        this.lastTxRateBucket = Math.floor(now());
+        this.lastThrottleTime = now();
+    }
+
+    /**
+     * Acquires a single send token, blocking the calling thread until one is available. Returns
+     * immediately while the limiter has not yet observed any throttling.
+     *
+     * @return The number of milliseconds the calling thread was paused for.
+     * @throws InterruptedException If the thread is interrupted while waiting for a token.
+     */
+    public long acquire() throws InterruptedException {
+        long delay = acquireNonBlocking(1);
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+        return delay;
+    }
+
+    /**
+     * Consumes the given amount of tokens and returns how long the caller must wait before it may
+     * send, in milliseconds. The capacity is allowed to go negative so that concurrent waiters are
+     * queued behind one another.
+     */
+    long acquireNonBlocking(double amount) {
+        lock.lock();
+        try {
+            if (!enabled) {
+                return 0;
+            }
+            refill();
+            double waitSeconds = 0;
+            if (currentCapacity < amount) {
+                waitSeconds = (amount - currentCapacity) / fillRate;
+            }
+            currentCapacity -= amount;
+            return (long) Math.ceil(waitSeconds * 1000);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Updates the sending rate after a response has been received from the endpoint.
+     *
+     * @param throttlingResponse True if the response was a throttling error.
+     */
+    public void updateSendingRate(boolean throttlingResponse) {
+        lock.lock();
+        try {
+            updateMeasuredRate();
+            double calculatedRate;
+            if (throttlingResponse) {
+                double rateToUse = enabled ? Math.min(measuredTxRate, fillRate) : measuredTxRate;
+                lastMaxRate = rateToUse;
+                calculateTimeWindow();
+                lastThrottleTime = now();
+                calculatedRate = rateToUse * BETA;
+                enabled = true;
+            } else {
+                calculateTimeWindow();
+                calculatedRate = cubicSuccess(now());
+            }
+            updateRate(Math.min(calculatedRate, 2 * measuredTxRate));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The current number of requests per second allowed by this limiter, or a negative
+     * value if no throttling has been observed yet and requests are not being limited.
+     */
+    public double getSendingRate() {
+        lock.lock();
+        try {
+            return enabled ? fillRate : -1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The smoothed rate, in requests per second, at which responses have been received.
+     */
+    public double getMeasuredSendingRate() {
+        lock.lock();
+        try {
+            return measuredTxRate;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill() {
+        double timestamp = now();
+        if (lastTimestamp < 0) {
+            lastTimestamp = timestamp;
+            return;
+        }
+        double fillAmount = (timestamp - lastTimestamp) * fillRate;
+        currentCapacity = Math.min(maxCapacity, currentCapacity + fillAmount);
+        lastTimestamp = timestamp;
+    }
+
+    private void updateRate(double newRate) {
+        refill();
+        fillRate = Math.max(newRate, MIN_FILL_RATE);
+        maxCapacity = Math.max(newRate, MIN_CAPACITY);
+        currentCapacity = Math.min(currentCapacity, maxCapacity);
+    }
+
+    private void updateMeasuredRate() {
+        double timestamp = now();
+        double timeBucket = Math.floor(timestamp * 2) / 2;
+        requestCount++;
+        if (timeBucket > lastTxRateBucket) {
+            double currentRate = requestCount / (timeBucket - lastTxRateBucket);
+            measuredTxRate = (currentRate * SMOOTH) + (measuredTxRate * (1 - SMOOTH));
+            requestCount = 0;
+            lastTxRateBucket = timeBucket;
+        }
+    }
+
+    private void calculateTimeWindow() {
+        timeWindow = Math.pow((lastMaxRate * (1 - BETA)) / SCALE_CONSTANT, 1.0 / 3);
+    }
+
+    private double cubicSuccess(double timestamp) {
+        double dt = timestamp - lastThrottleTime;
+        return SCALE_CONSTANT * Math.pow(dt - timeWindow, 3) + lastMaxRate;
+    }
+
+    private double now() {
+        return clock.currentTimeMillis() / 1000.0;
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *    http://aws.amazon.com/apache2.0
+ *
+ * This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.amazonaws.retry.internal;
+
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.annotation.SdkTestInternalApi;
+import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.auth.SdkClock;
+import com.amazonaws.util.ValidationUtils;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Circuit breaker guarding a single endpoint.
+ * <p>
+ * While {@link State#CLOSED} the outcome of every attempt is recorded in a sliding window of the
+ * most recent attempts. Once the window holds enough attempts and the proportion of failures
+ * reaches the threshold the breaker trips to {@link State#OPEN} and rejects all attempts until the
+ * open duration elapses. It then moves to {@link State#HALF_OPEN} and lets a limited number of
+ * probe attempts through; if all of them succeed the breaker closes again, and any failure
+ * re-opens it.
+ */
+@SdkInternalApi
+@ThreadSafe
+public class EndpointCircuitBreaker {
+
+    private static final Log log = LogFactory.getLog(EndpointCircuitBreaker.class);
+
+    public static final int DEFAULT_WINDOW_SIZE = 100;
+    public static final int DEFAULT_MINIMUM_ATTEMPTS = 20;
+    public static final int DEFAULT_FAILURE_RATE_PERCENTAGE = 50;
+    public static final long DEFAULT_OPEN_DURATION_MILLIS = 10 * 1000;
+    public static final int DEFAULT_HALF_OPEN_PROBES = 3;
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String endpoint;
+    private final int minimumAttempts;
+    private final int failureRatePercentage;
+    private final long openDurationMillis;
+    private final int halfOpenProbes;
+    private final SdkClock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Ring buffer of the most recent outcomes in the closed state, true meaning failure. */
+    private final boolean[] window;
+    private int windowPosition;
+    private int windowCount;
+    private int windowFailures;
+
+    /**
+     * Whether the window is full and holds no failures, in which case recording a success doesn't
+     * change it and is done without taking the lock.
+     */
+    private volatile boolean windowAllSuccesses;
+
+    private volatile State state = State.CLOSED;
+    private long stateChangedAt;
+    private int probesIssued;
+    private int probesSucceeded;
+
+    public EndpointCircuitBreaker(String endpoint) {
+        this(endpoint, DEFAULT_WINDOW_SIZE, DEFAULT_MINIMUM_ATTEMPTS, DEFAULT_FAILURE_RATE_PERCENTAGE,
+             DEFAULT_OPEN_DURATION_MILLIS, DEFAULT_HALF_OPEN_PROBES, SdkClock.STANDARD);
+    }
+
+    @SdkTestInternalApi
+    EndpointCircuitBreaker(String endpoint,
+                           int windowSize,
+                           int minimumAttempts,
+                           int failureRatePercentage,
+                           long openDurationMillis,
+                           int halfOpenProbes,
+                           SdkClock clock) {
+        this.endpoint = endpoint;
+        this.window = new boolean[ValidationUtils.assertIsPositive(windowSize, "windowSize")];
+        this.minimumAttempts = ValidationUtils.assertIsPositive(minimumAttempts, "minimumAttempts");
+        this.failureRatePercentage = ValidationUtils.assertIsPositive(failureRatePercentage, "failureRatePercentage");
+        this.openDurationMillis = openDurationMillis;
+        this.halfOpenProbes = ValidationUtils.assertIsPositive(halfOpenProbes, "halfOpenProbes");
+        this.clock = clock;
+    }
+
+    /**
+     * @return The current state of the breaker.
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Determines whether an attempt may be sent to the endpoint. Every permitted attempt should
+     * have its outcome reported through {@link #onSuccess()} or {@link #onFailure()}.
+     *
+     * @return True if the attempt may be sent, false if it should fail fast.
+     */
+    public boolean tryAcquirePermission() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        lock.lock();
+        try {
+            long now = clock.currentTimeMillis();
+            switch (state) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (now - stateChangedAt < openDurationMillis) {
+                        return false;
+                    }
+                    transitionTo(State.HALF_OPEN, now);
+                    break;
+                case HALF_OPEN:
+                    // Probes whose outcome was never reported (for example because the attempt
+                    // failed while unmarshalling) must not wedge the breaker half open forever.
+                    if (probesIssued >= halfOpenProbes && now - stateChangedAt >= openDurationMillis) {
+                        transitionTo(State.HALF_OPEN, now);
+                    }
+                    break;
+                default:
+                    break;
+            }
+            if (probesIssued < halfOpenProbes) {
+                probesIssued++;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a successful attempt.
+     *
+     * @return The state the breaker transitioned to, or null if the state did not change.
+     */
+    public State onSuccess() {
+        return record(false);
+    }
+
+    /**
+     * Records a failed attempt.
+     *
+     * @return The state the breaker transitioned to, or null if the state did not change.
+     */
+    public State onFailure() {
+        return record(true);
+    }
+
+    private State record(boolean failure) {
+        if (!failure && windowAllSuccesses) {
+            return null;
+        }
+        lock.lock();
+        try {
+            long now = clock.currentTimeMillis();
+            switch (state) {
+                case CLOSED:
+                    addToWindow(failure);
+                    if (windowCount >= minimumAttempts
+                        && windowFailures * 100 >= failureRatePercentage * windowCount) {
+                        return transitionTo(State.OPEN, now);
+                    }
+                    return null;
+                case HALF_OPEN:
+                    if (failure) {
+                        return transitionTo(State.OPEN, now);
+                    }
+                    if (++probesSucceeded >= halfOpenProbes) {
+                        return transitionTo(State.CLOSED, now);
+                    }
+                    return null;
+                default:
+                    // Outcomes of attempts that were in flight when the breaker opened.
+                    return null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void addToWindow(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowPosition]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowPosition] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowPosition = (windowPosition + 1) % window.length;
+        windowAllSuccesses = windowCount == window.length && windowFailures == 0;
+    }
+
+    private State transitionTo(State newState, long now) {
+        if (log.isDebugEnabled() && newState != state) {
+            log.debug("Circuit breaker for " + endpoint + " transitioning from " + state + " to " + newState);
+        }
+        state = newState;
+        stateChangedAt = now;
+        probesIssued = 0;
+        probesSucceeded = 0;
+        windowPosition = 0;
+        windowCount = 0;
+        windowFailures = 0;
+        windowAllSuccesses = false;
+        return newState;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.transform;
+
+import com.amazonaws.annotation.SdkProtectedApi;
+import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.http.HttpResponse;
+import com.amazonaws.util.IOUtils;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Unmarshalls the whole content of a response, such as the payload of a Lambda invocation, into
+ * a {@link ByteBuffer}. The content is read straight into an array of its Content-Length, which
+ * the returned buffer wraps, so the payload isn't copied again after it has been read.
+ */
+@ThreadSafe
+@SdkProtectedApi
+public class ByteBufferPayloadUnmarshaller implements Unmarshaller<ByteBuffer, HttpResponse> {
+
+    private static final ByteBufferPayloadUnmarshaller instance = new ByteBufferPayloadUnmarshaller();
+
+    public static ByteBufferPayloadUnmarshaller getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return The response content, or null if the response has none. The content stream is
+     *         closed once it has been read.
+     */
+    @Override
+    public ByteBuffer unmarshall(HttpResponse response) throws Exception {
+        InputStream content = response.getContent();
+        if (content == null) {
+            return null;
+        }
+        try {
+            return ByteBuffer.wrap(IOUtils.toByteArray(content, getContentLength(response)));
+        } finally {
+            IOUtils.closeQuietly(content, null);
+        }
+    }
+
+    private static long getContentLength(HttpResponse response) {
+        String contentLength = response.getHeader("Content-Length");
+        if (contentLength == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.transform;
+
+import static com.fasterxml.jackson.core.JsonToken.END_ARRAY;
+import static com.fasterxml.jackson.core.JsonToken.FIELD_NAME;
+import static com.fasterxml.jackson.core.JsonToken.START_ARRAY;
+
+import com.amazonaws.annotation.NotThreadSafe;
+import com.amazonaws.annotation.SdkProtectedApi;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.Closeable;
+
+/**
+ * Streams the elements of a list in a JSON response, found under the field matched by an
+ * expression such as {@code "Items"} in the same way as
+ * {@link JsonUnmarshallerContext#testExpression(String, int)}.
+ *
+ * @param <T> The type of the list elements.
+ */
+@NotThreadSafe
+@SdkProtectedApi
+public class JsonStreamingListIterator<T> extends StreamingListIterator<T> {
+
+    private final JsonUnmarshallerContext context;
+    private final String fieldExpression;
+    private final int targetDepth;
+    private final Unmarshaller<T, JsonUnmarshallerContext> elementUnmarshaller;
+
+    private boolean inList;
+
+    /**
+     * @param context             The context reading the response.
+     * @param fieldExpression     The expression matching the field holding the list.
+     * @param targetDepth         The depth at which the expression must start matching.
+     * @param elementUnmarshaller The unmarshaller for a list element.
+     * @param content             The response content, or the parser reading it, closed once
+     *                            iteration ends.
+     */
+    public JsonStreamingListIterator(JsonUnmarshallerContext context,
+                                     String fieldExpression,
+                                     int targetDepth,
+                                     Unmarshaller<T, JsonUnmarshallerContext> elementUnmarshaller,
+                                     Closeable content) {
+        super(content);
+        this.context = context;
+        this.fieldExpression = fieldExpression;
+        this.targetDepth = targetDepth;
+        this.elementUnmarshaller = elementUnmarshaller;
+    }
+
+    @Override
+    protected boolean advanceToNextElement() throws Exception {
+        while (true) {
+            JsonToken token = context.nextToken();
+            if (token == null) {
+                return false;
+            }
+            if (inList) {
+                if (token != END_ARRAY) {
+                    return true;
+                }
+                inList = false;
+            } else if (token == FIELD_NAME && context.testExpression(fieldExpression, targetDepth)) {
+                // Anything but an array, such as a null, holds no elements
+                inList = context.nextToken() == START_ARRAY;
+            }
+        }
+    }
+
+    @Override
+    protected T unmarshallElement() throws Exception {
+        return elementUnmarshaller.unmarshall(context);
+    }
+}
@@ -84,6 +84,61 @@ public abstract class JsonUnmarshallerContext {
         return null;
     }
 
+    /**
+     * Returns the value of the current token as an Integer. By default this parses the text
+     * returned by {@link #readText()}.
+     *
+     * @return The value of the current token, or null if the current token has no value.
+     */
+    public Integer readInteger() throws IOException {
+        String text = readText();
+        return text == null ? null : Integer.valueOf(text);
+    }
+
+    /**
+     * Returns the value of the current token as a Long. By default this parses the text
+     * returned by {@link #readText()}.
+     *
+     * @return The value of the current token, or null if the current token has no value.
+     */
+    public Long readLong() throws IOException {
+        String text = readText();
+        return text == null ? null : Long.valueOf(text);
+    }
+
+    /**
+     * Returns the value of the current token as a Double. By default this parses the text
+     * returned by {@link #readText()}.
+     *
+     * @return The value of the current token, or null if the current token has no value.
+     */
+    public Double readDouble() throws IOException {
+        String text = readText();
+        return text == null ? null : Double.valueOf(text);
+    }
+
+    /**
+     * Returns the value of the current token as a Float. By default this parses the text
+     * returned by {@link #readText()}.
+     *
+     * @return The value of the current token, or null if the current token has no value.
+     */
+    public Float readFloat() throws IOException {
+        String text = readText();
+        return text == null ? null : Float.valueOf(text);
+    }
+
+    /**
+     * Returns the value of the current token as a Boolean. By default this parses the text
+     * returned by {@link #readText()}.
+     *
+     * @return The value of the current token, or null if the current token has no value.
+     */
+    public Boolean readBoolean() throws IOException {
+        String text = readText();
+        return text == null ? null : Boolean.valueOf(text);
+    }
+
     /**
      * Returns true if parsing of the Json document is yet to start. Returns
      * false by default or if the parsing of Json document is not yet started.
@@ -215,6 +270,26 @@ public abstract class JsonUnmarshallerContext {
         return true;
     }
 
+    /**
+     * Returns true if list members should be unmarshalled on first access rather than while the
+     * response is read. Returns false by default.
+     *
+     * @see LazyUnmarshalledList
+     */
+    public boolean isLazyListUnmarshallingEnabled() {
+        return false;
+    }
+
+    /**
+     * Copies the value the context is positioned on, including any nested objects and arrays, so
+     * that it can be unmarshalled later, and moves this context past it. The returned context is
+     * positioned on the same token of the copy, ready for the unmarshaller of the value.
+     * Unsupported by default.
+     */
+    public JsonUnmarshallerContext bufferCurrentValue() throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Returns the JsonUnmarshaller for the specified scalar type. Returns null by default.
      */
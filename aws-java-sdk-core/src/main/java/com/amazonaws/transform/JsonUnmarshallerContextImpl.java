@@ -19,15 +19,22 @@ import static com.fasterxml.jackson.core.JsonToken.END_OBJECT;
 import static com.fasterxml.jackson.core.JsonToken.FIELD_NAME;
 import static com.fasterxml.jackson.core.JsonToken.START_ARRAY;
 import static com.fasterxml.jackson.core.JsonToken.START_OBJECT;
+import static com.fasterxml.jackson.core.JsonToken.VALUE_FALSE;
+import static com.fasterxml.jackson.core.JsonToken.VALUE_NUMBER_FLOAT;
+import static com.fasterxml.jackson.core.JsonToken.VALUE_NUMBER_INT;
+import static com.fasterxml.jackson.core.JsonToken.VALUE_TRUE;
 
 import com.amazonaws.http.HttpResponse;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.Stack;
 
 public class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
     /** The current JsonToken that the private JsonParser is currently pointing to. **/
@@ -58,7 +65,7 @@ public class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
      * When the parser points to "D", the state of this stack should be (from top to bottom):
      *  [ (C, START_OBJECT), (B, START_ARRAY), (A, START_OBJECT) ]
      */
-    private final Stack<JsonFieldTokenPair> stack = new Stack<JsonFieldTokenPair>();
+    private final Deque<JsonFieldTokenPair> stack = new ArrayDeque<JsonFieldTokenPair>();
 
     /**
      * The name of the field that is currently being parsed. This value is
@@ -88,6 +95,8 @@ public class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
 
     private final Map<UnmarshallerType, Unmarshaller<?, JsonUnmarshallerContext>> customUnmarshallerMap;
 
+    private boolean lazyListUnmarshalling;
+
     public JsonUnmarshallerContextImpl(JsonParser jsonParser,
                                        Map<Class<?>, Unmarshaller<?, JsonUnmarshallerContext>> mapper,
                                        HttpResponse httpResponse) {
@@ -135,6 +144,47 @@ public class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
         return readCurrentJsonTokenValue();
     }
 
+    @Override
+    public Integer readInteger() throws IOException {
+        return isCurrentToken(VALUE_NUMBER_INT) ? Integer.valueOf(jsonParser.getIntValue()) : super.readInteger();
+    }
+
+    @Override
+    public Long readLong() throws IOException {
+        return isCurrentToken(VALUE_NUMBER_INT) ? Long.valueOf(jsonParser.getLongValue()) : super.readLong();
+    }
+
+    @Override
+    public Double readDouble() throws IOException {
+        return isCurrentToken(VALUE_NUMBER_INT) || isCurrentToken(VALUE_NUMBER_FLOAT)
+               ? Double.valueOf(jsonParser.getDoubleValue()) : super.readDouble();
+    }
+
+    @Override
+    public Float readFloat() throws IOException {
+        return isCurrentToken(VALUE_NUMBER_INT) || isCurrentToken(VALUE_NUMBER_FLOAT)
+               ? Float.valueOf(Float.parseFloat(jsonParser.getText())) : super.readFloat();
+    }
+
+    @Override
+    public Boolean readBoolean() throws IOException {
+        if (isCurrentToken(VALUE_TRUE)) {
+            return Boolean.TRUE;
+        } else if (isCurrentToken(VALUE_FALSE)) {
+            return Boolean.FALSE;
+        }
+        return super.readBoolean();
+    }
+
+    /**
+     * Returns true if the current token is of the given type and the parser has not peeked past
+     * it, in which case the value can be read straight off the parser without going through its
+     * text form.
+     */
+    private boolean isCurrentToken(JsonToken token) {
+        return currentToken == token && nextToken == null;
+    }
+
     private String readCurrentJsonTokenValue() throws IOException {
         switch (currentToken) {
         case VALUE_STRING:
@@ -169,12 +219,8 @@ public class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
         if (expression.equals(".")) {
             return true;
         } else {
-            if (currentField != null) {
-                return currentField.equals(expression);
-            } else {
-                return (!stack.isEmpty())
-                        && stack.peek().getField().equals(expression);
-            }
+            String field = currentField != null ? currentField : (stack.isEmpty() ? null : stack.peek().getField());
+            return field != null && field.equals(expression);
         }
     }
 
@@ -196,8 +242,8 @@ public class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
         if (expression.equals(".")) {
             return true;
         } else {
-            return testExpression(expression)
-                    && stackDepth == getCurrentDepth();
+            return stackDepth == getCurrentDepth()
+                    && testExpression(expression);
         }
     }
 
@@ -223,6 +269,39 @@ public class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
         return nextToken;
     }
 
+    @Override
+    public boolean isLazyListUnmarshallingEnabled() {
+        return lazyListUnmarshalling;
+    }
+
+    /**
+     * Sets whether list members should be unmarshalled on first access rather than while the
+     * response is read.
+     */
+    public void setLazyListUnmarshallingEnabled(boolean lazyListUnmarshalling) {
+        this.lazyListUnmarshalling = lazyListUnmarshalling;
+    }
+
+    @Override
+    public JsonUnmarshallerContext bufferCurrentValue() throws IOException {
+        if (currentToken == null || nextToken != null) {
+            throw new IllegalStateException("Can only buffer the current value before peeking past it");
+        }
+        TokenBuffer buffer = new TokenBuffer(jsonParser);
+        buffer.copyCurrentStructure(jsonParser);
+
+        // The parser is now on the last token of the value, which closes any object or array
+        // opened by its first token.
+        currentToken = jsonParser.getCurrentToken();
+        updateContext();
+
+        // Lists within the value are unmarshalled along with it rather than buffered again.
+        JsonUnmarshallerContextImpl context = new JsonUnmarshallerContextImpl(
+                buffer.asParser(), unmarshallerMap, customUnmarshallerMap, httpResponse);
+        context.nextToken();
+        return context;
+    }
+
     @Override
     public JsonParser getJsonParser() {
         return jsonParser;
@@ -287,9 +366,9 @@ public class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
     public String toString() {
         StringBuilder stackString = new StringBuilder();
 
-        for (JsonFieldTokenPair jsonFieldTokenPair : stack) {
+        for (Iterator<JsonFieldTokenPair> it = stack.descendingIterator(); it.hasNext(); ) {
             stackString.append("/")
-                       .append(jsonFieldTokenPair.getField());
+                       .append(it.next().getField());
         }
 
         if (currentField != null) {
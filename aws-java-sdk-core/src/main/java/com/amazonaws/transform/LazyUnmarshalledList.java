@@ -0,0 +1,185 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.transform;
+
+import com.amazonaws.SdkClientException;
+import com.amazonaws.annotation.SdkProtectedApi;
+import com.amazonaws.internal.SdkInternalList;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A list of response elements that are unmarshalled the first time they are accessed, from a
+ * buffered copy of their part of the response, rather than when the response is read. Used when
+ * {@link com.amazonaws.ClientConfiguration#useLazyListUnmarshalling() lazy list unmarshalling} is
+ * enabled.
+ * <p>
+ * Every operation goes through {@link #get(int)}, {@link #size()} and the mutators of
+ * {@link AbstractList}, including those the JDK added later such as {@code forEach},
+ * {@code stream()} and {@code removeIf}, so an element is only unmarshalled once an operation
+ * reaches it and the list can be used anywhere an eagerly unmarshalled one can. An element that
+ * fails to unmarshall throws an {@link SdkClientException} from the operation that reached it.
+ */
+@SdkProtectedApi
+public class LazyUnmarshalledList<T> extends AbstractList<T> implements RandomAccess, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The elements, either as unmarshalled values or as {@link PendingElement}s.
+     */
+    private final transient List<Object> slots = new ArrayList<Object>();
+
+    private transient boolean claimed;
+
+    /**
+     * Adds an element to be unmarshalled on first access with the given unmarshaller and context.
+     * The context must only hold the data of that element, such as one returned by
+     * {@link JsonUnmarshallerContext#bufferCurrentValue()} or
+     * {@link StaxUnmarshallerContext#bufferCurrentElement()}.
+     */
+    public synchronized <C> void addLazily(Unmarshaller<T, C> unmarshaller, C context) {
+        slots.add(new PendingElement<T, C>(unmarshaller, context));
+        modCount++;
+    }
+
+    /**
+     * Adds an element that has already been unmarshalled.
+     */
+    synchronized void addUnmarshalled(T element) {
+        slots.add(element);
+        modCount++;
+    }
+
+    /**
+     * Adds an element to be unmarshalled on first access to the given list, which is replaced by
+     * a lazily unmarshalled list holding the same elements if it isn't one already.
+     *
+     * @return The list the element was added to.
+     */
+    public static <T, C> LazyUnmarshalledList<T> appendLazily(List<T> list, Unmarshaller<T, C> unmarshaller,
+                                                              C context) {
+        LazyUnmarshalledList<T> lazyList;
+        if (list instanceof LazyUnmarshalledList) {
+            lazyList = (LazyUnmarshalledList<T>) list;
+        } else {
+            lazyList = new LazyUnmarshalledList<T>();
+            if (list != null) {
+                lazyList.slots.addAll(list);
+            }
+        }
+        lazyList.addLazily(unmarshaller, context);
+        return lazyList;
+    }
+
+    /**
+     * Used by model setters, which otherwise copy the given collection, to take ownership of a
+     * lazily unmarshalled list instead of unmarshalling all of it into a copy. A list can only be
+     * claimed once, so a list passed on from one model object to another is still copied.
+     *
+     * @return True if the collection is a lazily unmarshalled list that hadn't been claimed yet.
+     */
+    public static boolean claim(Collection<?> collection) {
+        if (!(collection instanceof LazyUnmarshalledList)) {
+            return false;
+        }
+        LazyUnmarshalledList<?> list = (LazyUnmarshalledList<?>) collection;
+        synchronized (list) {
+            if (list.claimed) {
+                return false;
+            }
+            list.claimed = true;
+            return true;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized T get(int index) {
+        Object slot = slots.get(index);
+        if (slot instanceof PendingElement) {
+            slot = ((PendingElement<T, ?>) slot).unmarshall();
+            slots.set(index, slot);
+        }
+        return (T) slot;
+    }
+
+    @Override
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    @Override
+    public synchronized T set(int index, T element) {
+        T previous = get(index);
+        slots.set(index, element);
+        return previous;
+    }
+
+    @Override
+    public synchronized void add(int index, T element) {
+        slots.add(index, element);
+        modCount++;
+    }
+
+    @Override
+    public synchronized T remove(int index) {
+        T removed = get(index);
+        slots.remove(index);
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public synchronized void clear() {
+        slots.clear();
+        modCount++;
+    }
+
+    /**
+     * Serializes the list as a fully unmarshalled {@link SdkInternalList}, as the buffered
+     * elements can't be serialized.
+     */
+    private Object writeReplace() {
+        return new SdkInternalList<T>(this);
+    }
+
+    /**
+     * An element that is yet to be unmarshalled, along with its buffered data.
+     */
+    private static final class PendingElement<T, C> {
+        private final Unmarshaller<T, C> unmarshaller;
+        private final C context;
+
+        private PendingElement(Unmarshaller<T, C> unmarshaller, C context) {
+            this.unmarshaller = unmarshaller;
+            this.context = context;
+        }
+
+        private T unmarshall() {
+            try {
+                return unmarshaller.unmarshall(context);
+            } catch (SdkClientException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new SdkClientException("Unable to unmarshall response element: " + e.getMessage(), e);
+            }
+        }
+    }
+}
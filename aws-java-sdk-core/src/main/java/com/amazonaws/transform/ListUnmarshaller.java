@@ -20,6 +20,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static com.fasterxml.jackson.core.JsonToken.END_ARRAY;
+import static com.fasterxml.jackson.core.JsonToken.START_ARRAY;
+import static com.fasterxml.jackson.core.JsonToken.START_OBJECT;
+import static com.fasterxml.jackson.core.JsonToken.VALUE_NULL;
 
 /**
  * This unmarshaller assumes that the start array token as already been consumed before getting
@@ -74,20 +77,31 @@ public class ListUnmarshaller<T> implements
      */
     private List<T> unmarshallJsonToList(JsonUnmarshallerContext context)
             throws Exception {
-        List<T> list = new ArrayList<T>();
-
         if (context.getCurrentToken() == JsonToken.VALUE_NULL) {
             return null;
         }
 
+        List<T> list = null;
         while (true) {
             JsonToken token = context.nextToken();
-            if (token == null) {
-                return list;
+            if (token == null || token == END_ARRAY) {
+                return list != null ? list : new ArrayList<T>();
             }
 
-            if (token == END_ARRAY) {
-                return list;
+            if (list == null) {
+                // Only objects and arrays are worth buffering, scalars are about as cheap to
+                // unmarshall as they are to copy.
+                list = context.isLazyListUnmarshallingEnabled() && (token == START_OBJECT || token == START_ARRAY)
+                        ? new LazyUnmarshalledList<T>()
+                        : new ArrayList<T>();
+            }
+            if (list instanceof LazyUnmarshalledList) {
+                LazyUnmarshalledList<T> lazyList = (LazyUnmarshalledList<T>) list;
+                if (token == VALUE_NULL) {
+                    lazyList.addUnmarshalled(null);
+                } else {
+                    lazyList.addLazily(itemUnmarshaller, context.bufferCurrentValue());
+                }
             } else {
                 list.add(itemUnmarshaller.unmarshall(context));
             }
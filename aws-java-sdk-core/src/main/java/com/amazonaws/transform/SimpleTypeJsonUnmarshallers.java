@@ -64,8 +64,7 @@ public class SimpleTypeJsonUnmarshallers {
      */
     public static class DoubleJsonUnmarshaller implements Unmarshaller<Double, JsonUnmarshallerContext> {
         public Double unmarshall(JsonUnmarshallerContext unmarshallerContext) throws Exception {
-            String doubleString = unmarshallerContext.readText();
-            return (doubleString == null) ? null : Double.parseDouble(doubleString);
+            return unmarshallerContext.readDouble();
         }
 
         private static final DoubleJsonUnmarshaller instance = new DoubleJsonUnmarshaller();
@@ -80,8 +79,7 @@ public class SimpleTypeJsonUnmarshallers {
      */
     public static class IntegerJsonUnmarshaller implements Unmarshaller<Integer, JsonUnmarshallerContext> {
         public Integer unmarshall(JsonUnmarshallerContext unmarshallerContext) throws Exception {
-            String intString = unmarshallerContext.readText();
-            return (intString == null) ? null : Integer.parseInt(intString);
+            return unmarshallerContext.readInteger();
         }
 
         private static final IntegerJsonUnmarshaller instance = new IntegerJsonUnmarshaller();
@@ -122,8 +120,7 @@ public class SimpleTypeJsonUnmarshallers {
      */
     public static class BooleanJsonUnmarshaller implements Unmarshaller<Boolean, JsonUnmarshallerContext> {
         public Boolean unmarshall(JsonUnmarshallerContext unmarshallerContext) throws Exception {
-            String booleanString = unmarshallerContext.readText();
-            return (booleanString == null) ? null : Boolean.parseBoolean(booleanString);
+            return unmarshallerContext.readBoolean();
         }
 
         private static final BooleanJsonUnmarshaller instance = new BooleanJsonUnmarshaller();
@@ -138,8 +135,7 @@ public class SimpleTypeJsonUnmarshallers {
      */
     public static class FloatJsonUnmarshaller implements Unmarshaller<Float, JsonUnmarshallerContext> {
         public Float unmarshall(JsonUnmarshallerContext unmarshallerContext) throws Exception {
-            String floatString = unmarshallerContext.readText();
-            return (floatString == null) ? null : Float.valueOf(floatString);
+            return unmarshallerContext.readFloat();
         }
 
         private static final FloatJsonUnmarshaller instance = new FloatJsonUnmarshaller();
@@ -154,8 +150,7 @@ public class SimpleTypeJsonUnmarshallers {
      */
     public static class LongJsonUnmarshaller implements Unmarshaller<Long, JsonUnmarshallerContext> {
         public Long unmarshall(JsonUnmarshallerContext unmarshallerContext) throws Exception {
-            String longString = unmarshallerContext.readText();
-            return (longString == null) ? null : Long.parseLong(longString);
+            return unmarshallerContext.readLong();
         }
 
         private static final LongJsonUnmarshaller instance = new LongJsonUnmarshaller();
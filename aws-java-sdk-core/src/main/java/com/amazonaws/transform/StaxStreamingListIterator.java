@@ -0,0 +1,74 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.transform;
+
+import com.amazonaws.annotation.NotThreadSafe;
+import com.amazonaws.annotation.SdkProtectedApi;
+import java.io.Closeable;
+import javax.xml.stream.events.XMLEvent;
+
+/**
+ * Streams the elements of a list in an XML response, matched by an expression such as
+ * {@code "reservationSet/item"} in the same way as
+ * {@link StaxUnmarshallerContext#testExpression(String, int)}.
+ *
+ * @param <T> The type of the list elements.
+ */
+@NotThreadSafe
+@SdkProtectedApi
+public class StaxStreamingListIterator<T> extends StreamingListIterator<T> {
+
+    private final StaxUnmarshallerContext context;
+    private final String elementExpression;
+    private final int targetDepth;
+    private final Unmarshaller<T, StaxUnmarshallerContext> elementUnmarshaller;
+
+    /**
+     * @param context             The context reading the response.
+     * @param elementExpression   The expression matching each list element.
+     * @param targetDepth         The depth at which the expression must start matching.
+     * @param elementUnmarshaller The unmarshaller for a list element.
+     * @param content             The response content, closed once iteration ends.
+     */
+    public StaxStreamingListIterator(StaxUnmarshallerContext context,
+                                     String elementExpression,
+                                     int targetDepth,
+                                     Unmarshaller<T, StaxUnmarshallerContext> elementUnmarshaller,
+                                     Closeable content) {
+        super(content);
+        this.context = context;
+        this.elementExpression = elementExpression;
+        this.targetDepth = targetDepth;
+        this.elementUnmarshaller = elementUnmarshaller;
+    }
+
+    @Override
+    protected boolean advanceToNextElement() throws Exception {
+        while (true) {
+            XMLEvent event = context.nextEvent();
+            if (event.isEndDocument()) {
+                return false;
+            }
+            if (event.isStartElement() && context.testExpression(elementExpression, targetDepth)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    protected T unmarshallElement() throws Exception {
+        return elementUnmarshaller.unmarshall(context);
+    }
+}
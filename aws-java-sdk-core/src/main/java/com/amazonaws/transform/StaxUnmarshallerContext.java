@@ -19,6 +19,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Stack;
 
 import javax.xml.stream.XMLEventReader;
@@ -41,6 +42,18 @@ public class StaxUnmarshallerContext {
     private final XMLEventReader eventReader;
 
     public final Stack<String> stack = new Stack<String>();
+
+    /**
+     * Path of the current element, e.g. "/a/b/c". Kept separately from {@link #stackString} so that
+     * leaving an element or attribute only needs to truncate it.
+     */
+    private String elementPath = "";
+
+    /**
+     * Path of the current position, which is the current element path, followed by "/@name" when
+     * positioned on an attribute. The attribute segment stays in the path of the element's
+     * children until the element ends, so expressions such as "Item/@id/Name" match them.
+     */
     private String stackString = "";
 
     private Map<String, String> metadata = new HashMap<String, String>();
@@ -51,6 +64,8 @@ public class StaxUnmarshallerContext {
 
     private String currentHeader;
 
+    private boolean lazyListUnmarshalling;
+
     public void setCurrentHeader(String currentHeader) {
         this.currentHeader = currentHeader;
     }
@@ -115,14 +130,24 @@ public class StaxUnmarshallerContext {
             return attribute.getValue();
         }
 
-        StringBuilder sb = new StringBuilder();
+        // Element text almost always comes as a single characters event, so the builder is only
+        // allocated when it is split in several ones.
+        String text = "";
+        StringBuilder sb = null;
         while (true) {
             XMLEvent event = eventReader.peek();
             if (event.getEventType() == XMLStreamConstants.CHARACTERS) {
                 eventReader.nextEvent();
-                sb.append(event.asCharacters().getData());
+                String data = event.asCharacters().getData();
+                if (sb != null) {
+                    sb.append(data);
+                } else if (text.length() == 0) {
+                    text = data;
+                } else {
+                    sb = new StringBuilder(text).append(data);
+                }
             } else if (event.getEventType() == XMLStreamConstants.END_ELEMENT) {
-                return sb.toString();
+                return sb == null ? text : sb.toString();
             } else {
                 throw new RuntimeException("Encountered unexpected event: " + event.toString());
             }
@@ -172,16 +197,26 @@ public class StaxUnmarshallerContext {
         if (expression.equals(".")) return true;
 
         int index = -1;
-        while ((index = expression.indexOf("/", index + 1)) > -1) {
+        while ((index = expression.indexOf('/', index + 1)) > -1) {
             // Don't consider attributes a new depth level
             if (expression.charAt(index + 1) != '@') {
                 startingStackDepth++;
             }
         }
 
-
         return (startingStackDepth == getCurrentDepth()
-                && stackString.endsWith("/" + expression));
+                && endsWithPathSegments(expression));
+    }
+
+    /**
+     * Equivalent to {@code stackString.endsWith("/" + expression)} without building the
+     * concatenated string, as this is evaluated for every member of a shape on every event.
+     */
+    private boolean endsWithPathSegments(String expression) {
+        int separatorIndex = stackString.length() - expression.length() - 1;
+        return separatorIndex >= 0
+               && stackString.charAt(separatorIndex) == '/'
+               && stackString.endsWith(expression);
     }
 
     /**
@@ -230,6 +265,61 @@ public class StaxUnmarshallerContext {
         return currentEvent;
     }
 
+    /**
+     * Returns true if list members should be unmarshalled on first access
+     * rather than while the response is read.
+     *
+     * @see LazyUnmarshalledList
+     */
+    public boolean isLazyListUnmarshallingEnabled() {
+        return lazyListUnmarshalling;
+    }
+
+    /**
+     * Sets whether list members should be unmarshalled on first access rather
+     * than while the response is read.
+     */
+    public void setLazyListUnmarshallingEnabled(boolean lazyListUnmarshalling) {
+        this.lazyListUnmarshalling = lazyListUnmarshalling;
+    }
+
+    /**
+     * Copies the events of the element whose start this context is positioned
+     * on, up to and including its end, so that it can be unmarshalled later,
+     * and moves this context past it. The returned context is positioned on
+     * the start of the copied element, ready for the unmarshaller of the
+     * element. Metadata expressions aren't evaluated against the copied events.
+     *
+     * @return A context reading the copied element.
+     * @throws XMLStreamException
+     */
+    public StaxUnmarshallerContext bufferCurrentElement() throws XMLStreamException {
+        if (currentEvent == null || !currentEvent.isStartElement()) {
+            throw new IllegalStateException("Can only buffer an element from its start");
+        }
+        List<XMLEvent> events = new ArrayList<XMLEvent>();
+        events.add(currentEvent);
+        int depth = 1;
+        while (depth > 0) {
+            XMLEvent event = eventReader.nextEvent();
+            events.add(event);
+            if (event.isStartElement()) {
+                depth++;
+            } else if (event.isEndElement()) {
+                depth--;
+            }
+        }
+
+        // Leave this context where the unmarshaller of the element would have
+        attributeIterator = null;
+        currentEvent = events.get(events.size() - 1);
+        updateContext(currentEvent);
+
+        StaxUnmarshallerContext context = new StaxUnmarshallerContext(new BufferedXMLEventReader(events), headers);
+        context.nextEvent();
+        return context;
+    }
+
     /**
      * Returns any metadata collected through metadata expressions while this
      * context was reading the XML events from the XML document.
@@ -280,25 +370,80 @@ public class StaxUnmarshallerContext {
         }
     }
 
+    /**
+     * Reads events copied by {@link #bufferCurrentElement()}.
+     */
+    private static class BufferedXMLEventReader implements XMLEventReader {
+        private final List<XMLEvent> events;
+        private int index;
+
+        public BufferedXMLEventReader(List<XMLEvent> events) {
+            this.events = events;
+        }
+
+        @Override
+        public XMLEvent nextEvent() {
+            if (index >= events.size()) {
+                throw new NoSuchElementException();
+            }
+            return events.get(index++);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < events.size();
+        }
+
+        @Override
+        public XMLEvent peek() {
+            return index < events.size() ? events.get(index) : null;
+        }
+
+        @Override
+        public Object next() {
+            return nextEvent();
+        }
+
+        @Override
+        public String getElementText() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public XMLEvent nextTag() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Object getProperty(String name) {
+            throw new IllegalArgumentException("Unsupported property: " + name);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
     private void updateContext(XMLEvent event) {
         if (event == null) return;
 
         if (event.isEndElement()) {
-            stack.pop();
-            stackString = "";
-            for (String s : stack) {
-                stackString += "/" + s;
-            }
+            String name = stack.pop();
+            elementPath = elementPath.substring(0, elementPath.length() - name.length() - 1);
+            stackString = elementPath;
         } else if (event.isStartElement()) {
-            stack.push(event.asStartElement().getName().getLocalPart());
-            stackString += "/" + event.asStartElement().getName().getLocalPart();
+            String name = event.asStartElement().getName().getLocalPart();
+            stack.push(name);
+            elementPath = elementPath + "/" + name;
+            stackString = stackString + "/" + name;
         } else if (event.isAttribute()) {
             Attribute attribute = (Attribute)event;
-            stackString = "";
-            for (String s : stack) {
-                stackString += "/" + s;
-            }
-            stackString += "/@" + attribute.getName().getLocalPart();
+            stackString = elementPath + "/@" + attribute.getName().getLocalPart();
         }
     }
 
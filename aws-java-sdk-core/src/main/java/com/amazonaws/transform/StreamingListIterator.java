@@ -0,0 +1,134 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.transform;
+
+import com.amazonaws.SdkClientException;
+import com.amazonaws.annotation.NotThreadSafe;
+import com.amazonaws.annotation.SdkProtectedApi;
+import com.amazonaws.util.IOUtils;
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Iterates over the elements of a list in a response while the response is still being read,
+ * unmarshalling each element only when it is reached, so that memory use doesn't grow with the
+ * size of the list and the first element is available before the rest of the response has
+ * arrived.
+ * <p>
+ * The iterator holds on to the HTTP connection the response is read from. The connection is
+ * released once the last element has been returned or unmarshalling fails, or when the iterator
+ * is {@link #close() closed}, which callers should do if they stop iterating early.
+ *
+ * @param <T> The type of the list elements.
+ */
+@NotThreadSafe
+@SdkProtectedApi
+public abstract class StreamingListIterator<T> implements Iterator<T>, Closeable {
+
+    private static final Log log = LogFactory.getLog(StreamingListIterator.class);
+
+    private final Closeable content;
+
+    private boolean positioned;
+
+    private boolean closed;
+
+    /**
+     * @param content The response content, or a parser reading it, to close once iteration
+     *                ends.
+     */
+    protected StreamingListIterator(Closeable content) {
+        this.content = content;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (positioned) {
+            return true;
+        }
+        try {
+            positioned = advanceToNextElement();
+            if (!positioned) {
+                afterLastElement();
+                close();
+            }
+            return positioned;
+        } catch (Exception e) {
+            throw failed(e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        positioned = false;
+        try {
+            return unmarshallElement();
+        } catch (Exception e) {
+            throw failed(e);
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Response elements can't be removed");
+    }
+
+    /**
+     * Releases the response. Elements that haven't been reached are discarded.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            IOUtils.closeQuietly(content, log);
+        }
+    }
+
+    /**
+     * Reads the response up to the start of the next list element.
+     *
+     * @return False if the end of the response was reached instead.
+     */
+    protected abstract boolean advanceToNextElement() throws Exception;
+
+    /**
+     * Unmarshalls the list element the response was advanced to, reading up to its end.
+     */
+    protected abstract T unmarshallElement() throws Exception;
+
+    /**
+     * Called once the end of the response has been reached, before the response is released, to
+     * check anything that needs all of the response.
+     */
+    protected void afterLastElement() throws Exception {
+    }
+
+    private SdkClientException failed(Exception e) {
+        close();
+        if (e instanceof SdkClientException) {
+            return (SdkClientException) e;
+        }
+        return new SdkClientException("Unable to unmarshall response element: " + e.getMessage(), e);
+    }
+}
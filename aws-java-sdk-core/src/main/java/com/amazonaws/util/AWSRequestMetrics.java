@@ -97,6 +97,19 @@ public class AWSRequestMetrics {
          * Snapshot of currently consumed retry capacity.
          */
         RetryCapacityConsumed,
+        /**
+         * Number of times retry capacity was acquired to retry this request.
+         */
+        RetryCapacityAcquired,
+        /**
+         * Number of times retrying this request was denied for lack of retry
+         * capacity.
+         */
+        RetryCapacityDenied,
+        /**
+         * Retry capacity this request returned to the client's pool.
+         */
+        RetryCapacityRefilled,
         /**
          * Number of retries that were not attempted due to retry throttling.
          */
@@ -148,6 +161,41 @@ public class AWSRequestMetrics {
          */
         HttpClientPoolPendingCount,
         RetryPauseTime,
+        /**
+         * Time spent waiting for the adaptive client side rate limiter
+         * before sending an attempt.
+         */
+        RateLimiterPauseTime,
+        /**
+         * The requests per second currently allowed by the adaptive client
+         * side rate limiter for the request's endpoint.
+         */
+        ClientSendRate,
+        /**
+         * The state an endpoint circuit breaker transitioned to while
+         * executing the request.
+         */
+        CircuitBreakerState,
+        /**
+         * The number of attempts whose response came from a hedge request
+         * rather than the original request.
+         */
+        HedgedResponseCount,
+        /**
+         * The number of scratch buffers the SDK had to allocate because none
+         * was pooled, since the previous request that recorded it.
+         */
+        BufferPoolAllocationCount,
+        /**
+         * The total size in bytes of the scratch buffers the SDK had to
+         * allocate, since the previous request that recorded it.
+         */
+        BufferPoolAllocatedBytes,
+        /**
+         * The number of scratch buffers the SDK reused from its pool, since
+         * the previous request that recorded it.
+         */
+        BufferPoolReuseCount,
         ServiceEndpoint,
         ServiceName,
         StatusCode, // The http status code
@@ -27,6 +27,22 @@ public enum AWSServiceMetrics implements ServiceMetricType {
      * Time taken to get a connection by the http client library.
      */
     HttpClientGetConnectionTime("HttpClient"),
+    /**
+     * Time taken by a full TLS handshake when opening a connection.
+     */
+    HttpClientTlsHandshakeTime("HttpClient"),
+    /**
+     * Time taken by a TLS handshake that resumed a previously established session.
+     */
+    HttpClientTlsSessionResumptionTime("HttpClient"),
+    /**
+     * Time taken by a successful refresh of credentials, for example from STS or the instance metadata service.
+     */
+    CredentialsRefreshTime("Credentials"),
+    /**
+     * Time taken by a refresh of credentials that failed.
+     */
+    CredentialsRefreshFailureTime("Credentials"),
     ;
 
     private final String serviceName;
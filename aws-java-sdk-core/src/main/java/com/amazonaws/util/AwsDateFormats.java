@@ -0,0 +1,459 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.util;
+
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.annotation.ThreadSafe;
+
+/**
+ * Hand-rolled parsers and formatters for the exact, fixed-width date formats exchanged with AWS
+ * services, all in UTC:
+ * <ul>
+ * <li>ISO 8601 - {@code yyyy-MM-dd'T'HH:mm:ss[.SSS]Z}</li>
+ * <li>compressed ISO 8601 - {@code yyyyMMdd'T'HHmmss'Z'}</li>
+ * <li>RFC 822 - {@code EEE, dd MMM yyyy HH:mm:ss 'GMT'}</li>
+ * <li>epoch seconds - {@code 1500000000.123}</li>
+ * </ul>
+ * <p>
+ * These don't allocate anything besides the formatted string. They only recognize the canonical
+ * forms of each format, and return {@link #NOT_HANDLED} (or null when formatting) for anything
+ * else, such as years outside 0000-9999 or out of range fields. Callers are expected to fall back
+ * to the general purpose Joda-Time formatters in {@link DateUtils} in that case, which also keeps
+ * the error reporting for malformed input unchanged.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class AwsDateFormats {
+
+    /**
+     * Returned by the parse methods when the input isn't in the canonical form of the format.
+     */
+    public static final long NOT_HANDLED = Long.MIN_VALUE;
+
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final long MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+    private static final long MILLIS_PER_HOUR = 60 * MILLIS_PER_MINUTE;
+    private static final long MILLIS_PER_DAY = 24 * MILLIS_PER_HOUR;
+
+    /** Days from 0000-03-01 to 1970-01-01 in the proleptic Gregorian calendar. */
+    private static final long DAYS_0000_TO_1970 = 719468;
+    private static final long DAYS_PER_400_YEARS = 146097;
+
+    /** Large enough that the seconds can't overflow when scaled to milliseconds. */
+    private static final int MAX_EPOCH_SECONDS_DIGITS = 15;
+
+    private static final String[] DAYS_OF_WEEK = {"Sun", "Mon", "Tue", "Wed", "Thu", "Fri", "Sat"};
+    private static final String[] MONTHS = {
+            "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+
+    private AwsDateFormats() {
+    }
+
+    /**
+     * Parses an ISO 8601 date with optional fractional seconds and a zone of {@code Z},
+     * {@code +0000} or {@code +HH:MM}. Fractions beyond milliseconds are truncated.
+     */
+    public static long parseIso8601(String s) {
+        int length = s.length();
+        if (length < 20 || s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(10) != 'T'
+            || s.charAt(13) != ':' || s.charAt(16) != ':') {
+            return NOT_HANDLED;
+        }
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 2);
+        int day = digits(s, 8, 2);
+        int hour = digits(s, 11, 2);
+        int minute = digits(s, 14, 2);
+        int second = digits(s, 17, 2);
+
+        int pos = 19;
+        int millis = 0;
+        boolean hasFraction = s.charAt(pos) == '.';
+        if (hasFraction) {
+            int start = ++pos;
+            while (pos < length && pos - start < 9 && isDigit(s.charAt(pos))) {
+                if (pos - start < 3) {
+                    millis = millis * 10 + s.charAt(pos) - '0';
+                }
+                pos++;
+            }
+            int fractionDigits = pos - start;
+            if (fractionDigits == 0 || pos == length) {
+                return NOT_HANDLED;
+            }
+            for (int i = fractionDigits; i < 3; i++) {
+                millis *= 10;
+            }
+        }
+
+        long offsetMillis;
+        int zoneLength = length - pos;
+        char zone = s.charAt(pos);
+        if (zoneLength == 1 && zone == 'Z') {
+            offsetMillis = 0;
+        } else if (zoneLength == 5 && s.regionMatches(pos, "+0000", 0, 5)) {
+            offsetMillis = 0;
+        } else if (zoneLength == 6 && hasFraction && (zone == '+' || zone == '-') && s.charAt(pos + 3) == ':') {
+            int offsetHours = digits(s, pos + 1, 2);
+            int offsetMinutes = digits(s, pos + 4, 2);
+            if (offsetHours < 0 || offsetHours > 23 || offsetMinutes < 0 || offsetMinutes > 59) {
+                return NOT_HANDLED;
+            }
+            offsetMillis = offsetHours * MILLIS_PER_HOUR + offsetMinutes * MILLIS_PER_MINUTE;
+            if (zone == '-') {
+                offsetMillis = -offsetMillis;
+            }
+        } else {
+            return NOT_HANDLED;
+        }
+
+        long millisSinceEpoch = toEpochMillis(year, month, day, hour, minute, second, millis);
+        return millisSinceEpoch == NOT_HANDLED ? NOT_HANDLED : millisSinceEpoch - offsetMillis;
+    }
+
+    /**
+     * Formats the given time as {@code yyyy-MM-dd'T'HH:mm:ss.SSS'Z'}, or returns null if its year
+     * is outside 0000-9999.
+     */
+    public static String formatIso8601(long millisSinceEpoch) {
+        long days = floorDiv(millisSinceEpoch, MILLIS_PER_DAY);
+        int millisOfDay = (int) (millisSinceEpoch - days * MILLIS_PER_DAY);
+        long date = civilFromDays(days);
+        if (date == NOT_HANDLED) {
+            return null;
+        }
+        char[] buffer = new char[24];
+        writeDate(buffer, 0, date, true);
+        buffer[10] = 'T';
+        writeTime(buffer, 11, millisOfDay, true);
+        buffer[19] = '.';
+        write(buffer, 20, millisOfDay % 1000, 3);
+        buffer[23] = 'Z';
+        return new String(buffer);
+    }
+
+    /**
+     * Parses a date of the form {@code yyyyMMdd'T'HHmmss'Z'}.
+     */
+    public static long parseCompressedIso8601(String s) {
+        if (s.length() != 16 || s.charAt(8) != 'T' || s.charAt(15) != 'Z') {
+            return NOT_HANDLED;
+        }
+        return toEpochMillis(digits(s, 0, 4), digits(s, 4, 2), digits(s, 6, 2),
+                             digits(s, 9, 2), digits(s, 11, 2), digits(s, 13, 2), 0);
+    }
+
+    /**
+     * Formats the given time as {@code yyyyMMdd'T'HHmmss'Z'}, or returns null if its year is
+     * outside 0000-9999.
+     */
+    public static String formatCompressedIso8601(long millisSinceEpoch) {
+        long days = floorDiv(millisSinceEpoch, MILLIS_PER_DAY);
+        long date = civilFromDays(days);
+        if (date == NOT_HANDLED) {
+            return null;
+        }
+        char[] buffer = new char[16];
+        writeDate(buffer, 0, date, false);
+        buffer[8] = 'T';
+        writeTime(buffer, 9, (int) (millisSinceEpoch - days * MILLIS_PER_DAY), false);
+        buffer[15] = 'Z';
+        return new String(buffer);
+    }
+
+    /**
+     * Formats the date of the given time as {@code yyyyMMdd}, or returns null if its year is
+     * outside 0000-9999.
+     */
+    public static String formatDateStamp(long millisSinceEpoch) {
+        long date = civilFromDays(floorDiv(millisSinceEpoch, MILLIS_PER_DAY));
+        if (date == NOT_HANDLED) {
+            return null;
+        }
+        char[] buffer = new char[8];
+        writeDate(buffer, 0, date, false);
+        return new String(buffer);
+    }
+
+    /**
+     * Parses a date of the form {@code EEE, dd MMM yyyy HH:mm:ss 'GMT'}. Dates whose day of the week
+     * doesn't match are left to the caller.
+     */
+    public static long parseRfc822(String s) {
+        if (s.length() != 29 || s.charAt(3) != ',' || s.charAt(4) != ' ' || s.charAt(7) != ' '
+            || s.charAt(11) != ' ' || s.charAt(16) != ' ' || s.charAt(19) != ':' || s.charAt(22) != ':'
+            || !s.endsWith(" GMT")) {
+            return NOT_HANDLED;
+        }
+        int month = indexOf(MONTHS, s, 8) + 1;
+        if (month == 0) {
+            return NOT_HANDLED;
+        }
+        long millisSinceEpoch = toEpochMillis(digits(s, 12, 4), month, digits(s, 5, 2),
+                                              digits(s, 17, 2), digits(s, 20, 2), digits(s, 23, 2), 0);
+        if (millisSinceEpoch == NOT_HANDLED
+            || indexOf(DAYS_OF_WEEK, s, 0) != dayOfWeek(floorDiv(millisSinceEpoch, MILLIS_PER_DAY))) {
+            return NOT_HANDLED;
+        }
+        return millisSinceEpoch;
+    }
+
+    /**
+     * Formats the given time as {@code EEE, dd MMM yyyy HH:mm:ss 'GMT'}, or returns null if its year
+     * is outside 0000-9999.
+     */
+    public static String formatRfc822(long millisSinceEpoch) {
+        long days = floorDiv(millisSinceEpoch, MILLIS_PER_DAY);
+        long date = civilFromDays(days);
+        if (date == NOT_HANDLED) {
+            return null;
+        }
+        char[] buffer = new char[29];
+        DAYS_OF_WEEK[dayOfWeek(days)].getChars(0, 3, buffer, 0);
+        buffer[3] = ',';
+        buffer[4] = ' ';
+        write(buffer, 5, dayOf(date), 2);
+        buffer[7] = ' ';
+        MONTHS[monthOf(date) - 1].getChars(0, 3, buffer, 8);
+        buffer[11] = ' ';
+        write(buffer, 12, yearOf(date), 4);
+        buffer[16] = ' ';
+        writeTime(buffer, 17, (int) (millisSinceEpoch - days * MILLIS_PER_DAY), true);
+        " GMT".getChars(0, 4, buffer, 25);
+        return new String(buffer);
+    }
+
+    /**
+     * Parses a plain decimal number of seconds since the epoch, such as {@code 1500000000.123},
+     * truncating it to milliseconds.
+     */
+    public static long parseEpochSeconds(String s) {
+        int length = s.length();
+        int pos = 0;
+        boolean negative = length > 0 && s.charAt(0) == '-';
+        if (negative) {
+            pos++;
+        }
+        int start = pos;
+        long seconds = 0;
+        while (pos < length && isDigit(s.charAt(pos))) {
+            seconds = seconds * 10 + s.charAt(pos++) - '0';
+        }
+        if (pos == start || pos - start > MAX_EPOCH_SECONDS_DIGITS) {
+            return NOT_HANDLED;
+        }
+
+        int millis = 0;
+        if (pos < length) {
+            if (s.charAt(pos++) != '.') {
+                return NOT_HANDLED;
+            }
+            int fractionStart = pos;
+            while (pos < length && isDigit(s.charAt(pos))) {
+                if (pos - fractionStart < 3) {
+                    millis = millis * 10 + s.charAt(pos) - '0';
+                }
+                pos++;
+            }
+            if (pos != length) {
+                return NOT_HANDLED;
+            }
+            for (int i = pos - fractionStart; i < 3; i++) {
+                millis *= 10;
+            }
+        }
+        long millisSinceEpoch = seconds * MILLIS_PER_SECOND + millis;
+        return negative ? -millisSinceEpoch : millisSinceEpoch;
+    }
+
+    /**
+     * Formats the given time as a decimal number of seconds since the epoch with exactly three
+     * fractional digits, such as {@code 1500000000.123}.
+     */
+    public static String formatEpochSeconds(long millisSinceEpoch) {
+        if (millisSinceEpoch == Long.MIN_VALUE) {
+            return null;
+        }
+        long abs = Math.abs(millisSinceEpoch);
+        long seconds = abs / MILLIS_PER_SECOND;
+        char[] buffer = new char[24];
+        int pos = buffer.length - 3;
+        write(buffer, pos, (int) (abs % MILLIS_PER_SECOND), 3);
+        buffer[--pos] = '.';
+        do {
+            buffer[--pos] = (char) ('0' + seconds % 10);
+            seconds /= 10;
+        } while (seconds != 0);
+        if (millisSinceEpoch < 0) {
+            buffer[--pos] = '-';
+        }
+        return new String(buffer, pos, buffer.length - pos);
+    }
+
+    /**
+     * Returns the milliseconds since the epoch of the given UTC date and time, or
+     * {@link #NOT_HANDLED} if any field is out of range.
+     */
+    private static long toEpochMillis(int year, int month, int day, int hour, int minute, int second, int millis) {
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+            || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return NOT_HANDLED;
+        }
+        return daysFromCivil(year, month, day) * MILLIS_PER_DAY + hour * MILLIS_PER_HOUR
+               + minute * MILLIS_PER_MINUTE + second * MILLIS_PER_SECOND + millis;
+    }
+
+    /**
+     * Returns the number of days since 1970-01-01 of the given proleptic Gregorian date, the same
+     * calendar Joda-Time's ISO chronology uses.
+     */
+    private static long daysFromCivil(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_400_YEARS + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * The inverse of {@link #daysFromCivil}. The date is packed as {@code yyyyMMdd} into a single
+     * number to avoid allocating, or {@link #NOT_HANDLED} is returned if the year isn't within
+     * 0000-9999.
+     */
+    private static long civilFromDays(long days) {
+        long z = days + DAYS_0000_TO_1970;
+        long era = floorDiv(z, DAYS_PER_400_YEARS);
+        long dayOfEra = z - era * DAYS_PER_400_YEARS;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        long month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < 0 || year > 9999) {
+            return NOT_HANDLED;
+        }
+        return year * 10000 + month * 100 + day;
+    }
+
+    private static int yearOf(long date) {
+        return (int) (date / 10000);
+    }
+
+    private static int monthOf(long date) {
+        return (int) (date / 100 % 100);
+    }
+
+    private static int dayOf(long date) {
+        return (int) (date % 100);
+    }
+
+    /**
+     * Returns the day of the week of the given day since the epoch, with 0 being Sunday.
+     */
+    private static int dayOfWeek(long days) {
+        // 1970-01-01 was a Thursday
+        return (int) (days + 4 - floorDiv(days + 4, 7) * 7);
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static long floorDiv(long x, long y) {
+        long q = x / y;
+        return (x % y != 0 && (x < 0) != (y < 0)) ? q - 1 : q;
+    }
+
+    private static void writeDate(char[] buffer, int pos, long date, boolean separated) {
+        write(buffer, pos, yearOf(date), 4);
+        pos += 4;
+        if (separated) {
+            buffer[pos++] = '-';
+        }
+        write(buffer, pos, monthOf(date), 2);
+        pos += 2;
+        if (separated) {
+            buffer[pos++] = '-';
+        }
+        write(buffer, pos, dayOf(date), 2);
+    }
+
+    private static void writeTime(char[] buffer, int pos, int millisOfDay, boolean separated) {
+        int secondOfDay = millisOfDay / 1000;
+        write(buffer, pos, secondOfDay / 3600, 2);
+        pos += 2;
+        if (separated) {
+            buffer[pos++] = ':';
+        }
+        write(buffer, pos, secondOfDay / 60 % 60, 2);
+        pos += 2;
+        if (separated) {
+            buffer[pos++] = ':';
+        }
+        write(buffer, pos, secondOfDay % 60, 2);
+    }
+
+    /**
+     * Writes the given non-negative value zero padded to exactly the given number of digits.
+     */
+    private static void write(char[] buffer, int pos, int value, int digits) {
+        for (int i = pos + digits - 1; i >= pos; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    /**
+     * Returns the value of the given number of decimal digits at the given position, or -1 if any
+     * of them isn't an ASCII digit.
+     */
+    private static int digits(String s, int pos, int count) {
+        int value = 0;
+        for (int i = pos; i < pos + count; i++) {
+            char c = s.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + c - '0';
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int indexOf(String[] names, String s, int pos) {
+        for (int i = 0; i < names.length; i++) {
+            if (s.regionMatches(pos, names[i], 0, 3)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -14,16 +14,27 @@
  */
 package com.amazonaws.util;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Manages capacity of a finite resource.  Capacity can be acquired and
  * released.
+ * <p>
+ * Acquiring and releasing capacity is lock-free; the available capacity is
+ * updated with compare-and-set so that neither platform nor virtual threads
+ * block one another. Releasing capacity while the pool is already full only
+ * performs a volatile read, keeping the common successful-request path free of
+ * contention.
  */
 public class CapacityManager {
 
-    private volatile int availableCapacity;
+    private final AtomicInteger availableCapacity;
     private final int maxCapacity;
 
-    private final Object lock = new Object();
+    private final AtomicLong acquiredCount = new AtomicLong();
+    private final AtomicLong deniedCount = new AtomicLong();
+    private final AtomicLong refilledCount = new AtomicLong();
 
     /**
      * Creates a CapacityManager.
@@ -35,7 +46,7 @@ public class CapacityManager {
      */
     public CapacityManager(final int maxCapacity) {
         this.maxCapacity = maxCapacity;
-        this.availableCapacity = maxCapacity;
+        this.availableCapacity = new AtomicInteger(maxCapacity);
     }
 
     /**
@@ -61,17 +72,20 @@ public class CapacityManager {
             throw new IllegalArgumentException("capacity to acquire cannot be negative");
         }
 
-        if (availableCapacity < 0) {
+        if (maxCapacity < 0) {
             return true;
         }
 
-        synchronized (lock) {
-            if (availableCapacity - capacity >= 0) {
-                availableCapacity -= capacity;
-                return true;
-            } else {
+        while (true) {
+            int current = availableCapacity.get();
+            if (current - capacity < 0) {
+                deniedCount.incrementAndGet();
                 return false;
             }
+            if (availableCapacity.compareAndSet(current, current - capacity)) {
+                acquiredCount.addAndGet(capacity);
+                return true;
+            }
         }
     }
 
@@ -91,15 +105,38 @@ public class CapacityManager {
      * @throws IllegalArgumentException if given capacity is negative
      */
     public void release(int capacity) {
+        releaseAndGetRefilled(capacity);
+    }
+
+    /**
+     * Releases a given amount of capacity back to the pool, like {@link #release(int)}, and
+     * returns how much of it was actually returned to the pool.
+     *
+     * @param capacity capacity to release
+     * @return capacity returned to the pool, less than the given capacity if the pool filled up.
+     *         Always zero in no-op passthrough mode.
+     * @throws IllegalArgumentException if given capacity is negative
+     */
+    public int releaseAndGetRefilled(int capacity) {
         if (capacity < 0) {
             throw new IllegalArgumentException("capacity to release cannot be negative");
         }
 
+        if (maxCapacity < 0) {
+            return 0;
+        }
+
         // in the common 'good' case where we have our full capacity available we can
-        // short circuit going any further and avoid unnecessary locking.
-        if (availableCapacity >= 0 && availableCapacity != maxCapacity) {
-            synchronized (lock) {
-                availableCapacity = Math.min((availableCapacity + capacity), maxCapacity);
+        // short circuit going any further and avoid any atomic updates.
+        while (true) {
+            int current = availableCapacity.get();
+            if (current == maxCapacity) {
+                return 0;
+            }
+            int updated = Math.min(current + capacity, maxCapacity);
+            if (availableCapacity.compareAndSet(current, updated)) {
+                refilledCount.addAndGet(updated - current);
+                return updated - current;
             }
         }
     }
@@ -110,7 +147,7 @@ public class CapacityManager {
      * @return consumed capacity
      */
     public int consumedCapacity() {
-        return (availableCapacity < 0) ? 0 : (maxCapacity - availableCapacity);
+        return (maxCapacity < 0) ? 0 : (maxCapacity - availableCapacity.get());
     }
 
     /**
@@ -119,6 +156,37 @@ public class CapacityManager {
      * @return available capacity
      */
     public int availableCapacity() {
-        return availableCapacity;
+        return availableCapacity.get();
+    }
+
+    /**
+     * Returns the total amount of capacity successfully acquired since this
+     * manager was created. Always zero in no-op passthrough mode.
+     *
+     * @return total acquired capacity
+     */
+    public long acquiredCapacityCount() {
+        return acquiredCount.get();
+    }
+
+    /**
+     * Returns the number of acquire attempts that were denied because not
+     * enough capacity was available. Always zero in no-op passthrough mode.
+     *
+     * @return number of denied acquire attempts
+     */
+    public long deniedAcquireCount() {
+        return deniedCount.get();
+    }
+
+    /**
+     * Returns the total amount of capacity returned to the pool since this
+     * manager was created. Releases while the pool is already full are not
+     * counted. Always zero in no-op passthrough mode.
+     *
+     * @return total refilled capacity
+     */
+    public long refilledCapacityCount() {
+        return refilledCount.get();
     }
 }
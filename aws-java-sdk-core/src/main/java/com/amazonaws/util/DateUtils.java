@@ -73,6 +73,10 @@ public class DateUtils {
      * @return The parsed Date object.
      */
     public static Date parseISO8601Date(String dateString) {
+        long millis = AwsDateFormats.parseIso8601(dateString);
+        if (millis != AwsDateFormats.NOT_HANDLED) {
+            return new Date(millis);
+        }
         try {
             return doParseISO8601Date(dateString);
         } catch(RuntimeException ex) {
@@ -158,6 +162,10 @@ public class DateUtils {
      * @return The ISO 8601 string representing the specified date.
      */
     public static String formatISO8601Date(Date date) {
+        String formatted = AwsDateFormats.formatIso8601(date.getTime());
+        if (formatted != null) {
+            return formatted;
+        }
         try {
             return iso8601DateFormat.print(date.getTime());
         } catch(RuntimeException ex) {
@@ -192,6 +200,10 @@ public class DateUtils {
         if (dateString == null) {
             return null;
         }
+        long millis = AwsDateFormats.parseRfc822(dateString);
+        if (millis != AwsDateFormats.NOT_HANDLED) {
+            return new Date(millis);
+        }
         try {
             return new Date(rfc822DateFormat.parseMillis(dateString));
         } catch(RuntimeException ex) {
@@ -208,6 +220,10 @@ public class DateUtils {
      * @return The RFC 822 string representing the specified date.
      */
     public static String formatRFC822Date(Date date) {
+        String formatted = AwsDateFormats.formatRfc822(date.getTime());
+        if (formatted != null) {
+            return formatted;
+        }
         try {
             return rfc822DateFormat.print(date.getTime());
         } catch(RuntimeException ex) {
@@ -225,6 +241,10 @@ public class DateUtils {
      * @return The parsed Date object.
      */
     public static Date parseCompressedISO8601Date(String dateString) {
+        long millis = AwsDateFormats.parseCompressedIso8601(dateString);
+        if (millis != AwsDateFormats.NOT_HANDLED) {
+            return new Date(millis);
+        }
         try {
             return new Date(compressedIso8601DateFormat.parseMillis(dateString));
         } catch (RuntimeException ex) {
@@ -239,6 +259,10 @@ public class DateUtils {
     public static Date parseServiceSpecificDate(String dateString) {
         if (dateString == null)
             return null;
+        long millis = AwsDateFormats.parseEpochSeconds(dateString);
+        if (millis != AwsDateFormats.NOT_HANDLED) {
+            return new Date(millis);
+        }
         try {
             BigDecimal dateValue = new BigDecimal(dateString);
             return new Date(dateValue.scaleByPowerOfTen(
@@ -267,6 +291,10 @@ public class DateUtils {
     public static String formatServiceSpecificDate(Date date) {
         if (date == null)
             return null;
+        String formatted = AwsDateFormats.formatEpochSeconds(date.getTime());
+        if (formatted != null) {
+            return formatted;
+        }
         BigDecimal dateValue = BigDecimal.valueOf(date.getTime());
         return dateValue.scaleByPowerOfTen(0 - AWS_DATE_MILLI_SECOND_PRECISION)
                 .toPlainString();
@@ -14,12 +14,14 @@
  */
 package com.amazonaws.util;
 
+import com.amazonaws.internal.ByteArrayPool;
 import com.amazonaws.internal.Releasable;
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Arrays;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -38,18 +40,53 @@ public enum IOUtils {
      */
     public static byte[] toByteArray(InputStream is) throws IOException {
         ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] b = ByteArrayPool.getDefault().acquire(BUFFER_SIZE);
         try {
-            byte[] b = new byte[BUFFER_SIZE];
             int n = 0;
             while ((n = is.read(b)) != -1) {
                 output.write(b, 0, n);
             }
             return output.toByteArray();
         } finally {
+            ByteArrayPool.getDefault().release(b);
             output.close();
         }
     }
 
+    /**
+     * Reads and returns the rest of the given input stream as a byte array, reading straight
+     * into an array of the expected length, such as a response's Content-Length, so that the
+     * result doesn't need to be copied out of a growing buffer. Streams that turn out shorter or
+     * longer than expected are still read in full. Caller is responsible for closing the given
+     * input stream.
+     *
+     * @param expectedLength The expected number of bytes, or a negative number if not known.
+     */
+    public static byte[] toByteArray(InputStream is, long expectedLength) throws IOException {
+        if (expectedLength < 0 || expectedLength > Integer.MAX_VALUE - 8) {
+            return toByteArray(is);
+        }
+        byte[] bytes = new byte[(int) expectedLength];
+        int offset = 0;
+        while (offset < bytes.length) {
+            int n = is.read(bytes, offset, bytes.length - offset);
+            if (n == -1) {
+                return Arrays.copyOf(bytes, offset);
+            }
+            offset += n;
+        }
+        int next = is.read();
+        if (next == -1) {
+            return bytes;
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length + BUFFER_SIZE);
+        output.write(bytes);
+        output.write(next);
+        copy(is, output);
+        return output.toByteArray();
+    }
+
     /**
      * Reads and returns the rest of the given input stream as a string.
      * Caller is responsible for closing the given input stream.
@@ -109,14 +146,18 @@ public enum IOUtils {
      */
     public static long copy(InputStream in, OutputStream out)
             throws IOException {
-        byte[] buf = new byte[BUFFER_SIZE];
-        long count = 0;
-        int n = 0;
-        while ((n = in.read(buf)) > -1) {
-            out.write(buf, 0, n);
-            count += n;
+        byte[] buf = ByteArrayPool.getDefault().acquire(BUFFER_SIZE);
+        try {
+            long count = 0;
+            int n = 0;
+            while ((n = in.read(buf)) > -1) {
+                out.write(buf, 0, n);
+                count += n;
+            }
+            return count;
+        } finally {
+            ByteArrayPool.getDefault().release(buf);
         }
-        return count;
     }
 
     /**
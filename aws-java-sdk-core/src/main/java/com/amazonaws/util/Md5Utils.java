@@ -17,6 +17,8 @@
  */
 package com.amazonaws.util;
 
+import com.amazonaws.internal.ByteArrayPool;
+
 import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -40,9 +42,9 @@ public class Md5Utils {
      */
     public static byte[] computeMD5Hash(InputStream is) throws IOException {
         BufferedInputStream bis = new BufferedInputStream(is);
+        byte[] buffer = ByteArrayPool.getDefault().acquire(SIXTEEN_K);
         try {
             MessageDigest messageDigest = MessageDigest.getInstance("MD5");
-            byte[] buffer = new byte[SIXTEEN_K];
             int bytesRead;
             while ( (bytesRead = bis.read(buffer, 0, buffer.length)) != -1 ) {
                 messageDigest.update(buffer, 0, bytesRead);
@@ -52,6 +54,7 @@ public class Md5Utils {
             // should never get here
             throw new IllegalStateException(e);
         } finally {
+            ByteArrayPool.getDefault().release(buffer);
             try {
                 bis.close();
             } catch (Exception e) {
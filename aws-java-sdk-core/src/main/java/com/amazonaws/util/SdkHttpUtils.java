@@ -18,7 +18,6 @@ import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -32,6 +31,28 @@ public class SdkHttpUtils {
 
     private static final String DEFAULT_ENCODING = "UTF-8";
 
+    /**
+     * ASCII characters left as they are in application/x-www-form-urlencoded form.
+     */
+    private static final boolean[] FORM_UNRESERVED = new boolean[128];
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            FORM_UNRESERVED[c] = true;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            FORM_UNRESERVED[c] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            FORM_UNRESERVED[c] = true;
+        }
+        FORM_UNRESERVED['-'] = true;
+        FORM_UNRESERVED['_'] = true;
+        FORM_UNRESERVED['.'] = true;
+        FORM_UNRESERVED['*'] = true;
+    }
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
     /**
      * Regex which matches any of the sequences that we need to fix up after
      * URLEncoder.encode().
@@ -162,17 +183,60 @@ public class SdkHttpUtils {
 
         if (requestParams.isEmpty()) return null;
 
-        final List<NameValuePair> nameValuePairs = new ArrayList<NameValuePair>();
+        // Query protocol requests can carry hundreds of parameters that mostly need no escaping,
+        // so size the result for their plain length instead of growing it along the way.
+        int plainLength = 0;
+        for (Entry<String, List<String>> entry : requestParams.entrySet()) {
+            for (String value : entry.getValue()) {
+                plainLength += entry.getKey().length() + (value == null ? 0 : value.length()) + 2;
+            }
+        }
 
+        StringBuilder encoded = new StringBuilder(plainLength);
         for (Entry<String, List<String>> entry : requestParams.entrySet()) {
             String parameterName = entry.getKey();
             for (String value : entry.getValue()) {
-                nameValuePairs
-                    .add(new BasicNameValuePair(parameterName, value));
+                if (encoded.length() > 0) {
+                    encoded.append('&');
+                }
+                appendFormEncoded(encoded, parameterName);
+                if (value != null) {
+                    encoded.append('=');
+                    appendFormEncoded(encoded, value);
+                }
+            }
+        }
+        return encoded.toString();
+    }
+
+    /**
+     * Appends the application/x-www-form-urlencoded form of the given string, exactly as
+     * {@link URLEncodedUtils#format(List, String)} would encode it.
+     */
+    private static void appendFormEncoded(StringBuilder builder, String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= FORM_UNRESERVED.length) {
+                // Encode the rest through UTF-8, which replaces unpaired surrogates the same way
+                // URLEncodedUtils does
+                for (byte b : value.substring(i).getBytes(StringUtils.UTF8)) {
+                    appendFormEncoded(builder, b & 0xFF);
+                }
+                return;
             }
+            appendFormEncoded(builder, c);
         }
+    }
 
-        return URLEncodedUtils.format(nameValuePairs, DEFAULT_ENCODING);
+    private static void appendFormEncoded(StringBuilder builder, int octet) {
+        if (octet < FORM_UNRESERVED.length && FORM_UNRESERVED[octet]) {
+            builder.append((char) octet);
+        } else if (octet == ' ') {
+            builder.append('+');
+        } else {
+            builder.append('%').append(HEX_DIGITS[octet >> 4]).append(HEX_DIGITS[octet & 0xF]);
+        }
     }
 
     /**
@@ -16,11 +16,13 @@ package com.amazonaws;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.unitils.reflectionassert.ReflectionAssert.assertReflectionEquals;
 
@@ -321,6 +323,23 @@ public class ClientConfigurationTest {
        assertThat(new ClientConfiguration(config).getSocketTimeout(), equalTo(Integer.MAX_VALUE));
     }
 
+    @Test
+    public void secureRandomConfigured_OnlyWhenSet() {
+        ClientConfiguration config = new ClientConfiguration();
+        config.getSecureRandom();
+        assertFalse(config.isSecureRandomConfigured());
+        assertFalse(new ClientConfiguration(config).isSecureRandomConfigured());
+
+        config.setSecureRandom(new SecureRandom());
+        assertTrue(config.isSecureRandomConfigured());
+        assertTrue(new ClientConfiguration(config).isSecureRandomConfigured());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void hedgingDelayPercentileAbove100_Rejected() {
+        new ClientConfiguration().withHedgingDelayPercentile(101);
+    }
+
     private boolean isStaticField(Field field) {
         return (field.getModifiers() & Modifier.STATIC) == Modifier.STATIC;
     }
@@ -21,13 +21,19 @@ import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.SimpleTimeZone;
 import java.util.TimeZone;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
@@ -250,6 +256,104 @@ public class AWS4SignerTest {
                 request.getHeaders().get("Authorization"));
     }
 
+    /**
+     * Signed headers and signing keys are cached across requests, which must not change the
+     * signature of requests with other headers or credentials.
+     */
+    @Test
+    public void reusedSigner_MatchesFreshSigner() throws Exception {
+        Calendar c = new GregorianCalendar();
+        c.set(1981, 1, 16, 6, 30, 0);
+        c.setTimeZone(TimeZone.getTimeZone("UTC"));
+        signer.setServiceName("demo");
+        signer.setOverrideDate(c.getTime());
+
+        String[][] extraHeaders = {{}, {"X-Amz-Target", "Demo.Op"}, {}, {"x-amz-target", "Demo.Op", "Connection", "close"}};
+        String[] secretKeys = {"secret", "secret", "other", "secret"};
+        for (int i = 0; i < extraHeaders.length; i++) {
+            AWS4Signer freshSigner = new AWS4Signer();
+            freshSigner.setServiceName("demo");
+            freshSigner.setOverrideDate(c.getTime());
+
+            SignableRequest<?> request = generateBasicRequest();
+            SignableRequest<?> freshRequest = generateBasicRequest();
+            for (int j = 0; j < extraHeaders[i].length; j += 2) {
+                request.addHeader(extraHeaders[i][j], extraHeaders[i][j + 1]);
+                freshRequest.addHeader(extraHeaders[i][j], extraHeaders[i][j + 1]);
+            }
+
+            signer.sign(request, new BasicAWSCredentials("access", secretKeys[i]));
+            freshSigner.sign(freshRequest, new BasicAWSCredentials("access", secretKeys[i]));
+            assertEquals(freshRequest.getHeaders().get("Authorization"), request.getHeaders().get("Authorization"));
+        }
+    }
+
+    @Test
+    public void signingKeyForNextDay_DerivedBeforeMidnight() throws Exception {
+        final List<String> derivedKeyDates = new ArrayList<String>();
+        AWS4Signer countingSigner = new AWS4Signer() {
+            @Override
+            protected byte[] newSigningKey(AWSCredentials credentials, String dateStamp, String regionName,
+                                           String serviceName) {
+                derivedKeyDates.add(dateStamp);
+                return super.newSigningKey(credentials, dateStamp, regionName, serviceName);
+            }
+        };
+        countingSigner.setServiceName("demo");
+        AWSCredentials credentials = new BasicAWSCredentials("access", "rollover-" + System.nanoTime());
+
+        Calendar c = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        c.set(1981, 1, 16, 12, 0, 0);
+        countingSigner.setOverrideDate(c.getTime());
+        countingSigner.sign(generateBasicRequest(), credentials);
+        countingSigner.sign(generateBasicRequest(), credentials);
+        assertEquals(Arrays.asList("19810216"), derivedKeyDates);
+
+        c.set(1981, 1, 16, 23, 58, 0);
+        countingSigner.setOverrideDate(c.getTime());
+        countingSigner.sign(generateBasicRequest(), credentials);
+        assertEquals(Arrays.asList("19810216", "19810217"), derivedKeyDates);
+
+        c.set(1981, 1, 17, 0, 1, 0);
+        countingSigner.setOverrideDate(c.getTime());
+        countingSigner.sign(generateBasicRequest(), credentials);
+        assertEquals(Arrays.asList("19810216", "19810217"), derivedKeyDates);
+    }
+
+    @Test
+    public void signedHeadersCache_EvictsLeastRecentlyUsedHeaderNames() {
+        AWSCredentials credentials = new BasicAWSCredentials("access", "secret");
+        signer.setServiceName("demo");
+        Set<String> basicHeaders = signAndGetHeaderNames(generateBasicRequest(), credentials);
+        Set<String> firstOtherHeaders = signAndGetHeaderNames(generateRequestWithHeader("x-amz-meta-0"), credentials);
+        Set<String> lastHeaders = null;
+        for (int i = 1; i < 100; i++) {
+            signer.sign(generateBasicRequest(), credentials);
+            lastHeaders = signAndGetHeaderNames(generateRequestWithHeader("x-amz-meta-" + i), credentials);
+        }
+
+        assertTrue(signer.isSignedHeadersCached(basicHeaders));
+        assertFalse(signer.isSignedHeadersCached(firstOtherHeaders));
+        assertTrue(signer.isSignedHeadersCached(lastHeaders));
+    }
+
+    private Set<String> signAndGetHeaderNames(SignableRequest<?> request, AWSCredentials credentials) {
+        signer.sign(request, credentials);
+        // The signed header names are those of the request before the signature is added
+        Set<String> headerNames = new HashSet<String>(request.getHeaders().keySet());
+        headerNames.remove("Authorization");
+        return headerNames;
+    }
+
+    private SignableRequest<?> generateRequestWithHeader(String header) {
+        return MockRequestBuilder.create()
+                .withContent(new ByteArrayInputStream(new byte[0]))
+                .withHeader("Host", "demo.us-east-1.amazonaws.com")
+                .withHeader(header, "value")
+                .withPath("/")
+                .withEndpoint("http://demo.us-east-1.amazonaws.com").build();
+    }
+
     private SignableRequest<?> generateBasicRequest() {
         return MockRequestBuilder.create()
                 .withContent(new ByteArrayInputStream("{\"TableName\": \"foo\"}".getBytes()))
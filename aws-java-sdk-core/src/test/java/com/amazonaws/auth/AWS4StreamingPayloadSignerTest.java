@@ -0,0 +1,176 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.auth;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.amazonaws.SignableRequest;
+import com.amazonaws.util.BinaryUtils;
+import com.amazonaws.util.IOUtils;
+import com.amazonaws.util.StringUtils;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+
+public class AWS4StreamingPayloadSignerTest {
+
+    private static final Pattern SEED_SIGNATURE = Pattern.compile("Signature=([0-9a-f]{64})");
+
+    private final AWS4StreamingPayloadSigner signer = new AWS4StreamingPayloadSigner();
+    private final AWSCredentials credentials = new BasicAWSCredentials("access", "secret");
+
+    @Before
+    public void setUp() {
+        Calendar c = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        c.set(1981, 1, 16, 6, 30, 0);
+        signer.setOverrideDate(c.getTime());
+        signer.setServiceName("demo");
+    }
+
+    @Test
+    public void largePayload_SignedInChunks() throws Exception {
+        byte[] payload = new byte[300 * 1024];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) (i % 251);
+        }
+        SignableRequest<?> request = requestWithContent(payload);
+
+        signer.sign(request, credentials);
+
+        assertEquals("STREAMING-AWS4-HMAC-SHA256-PAYLOAD", request.getHeaders().get("x-amz-content-sha256"));
+        assertEquals(String.valueOf(payload.length), request.getHeaders().get("x-amz-decoded-content-length"));
+        assertTrue(request.getHeaders().get("Authorization").contains("x-amz-decoded-content-length"));
+
+        byte[] encoded = encodedContent(request);
+        assertEquals(request.getHeaders().get("Content-Length"), String.valueOf(encoded.length));
+        assertEquals(4, verifyChunks(request, encoded, payload));
+    }
+
+    @Test
+    public void smallPayloadOfUnknownLength_SignedInChunks() throws Exception {
+        byte[] payload = "hello world".getBytes(StringUtils.UTF8);
+        SignableRequest<?> request = MockRequestBuilder.create()
+                .withContent(new ByteArrayInputStream(payload))
+                .withHeader("Host", "demo.us-east-1.amazonaws.com")
+                .withPath("/")
+                .withEndpoint("http://demo.us-east-1.amazonaws.com").build();
+
+        signer.sign(request, credentials);
+
+        assertEquals("STREAMING-AWS4-HMAC-SHA256-PAYLOAD", request.getHeaders().get("x-amz-content-sha256"));
+        assertEquals("11", request.getHeaders().get("x-amz-decoded-content-length"));
+
+        byte[] encoded = encodedContent(request);
+        assertEquals(request.getHeaders().get("Content-Length"), String.valueOf(encoded.length));
+        assertEquals(2, verifyChunks(request, encoded, payload));
+    }
+
+    @Test
+    public void smallPayload_HashedInFull() throws Exception {
+        SignableRequest<?> request = requestWithContent("{\"TableName\": \"foo\"}".getBytes(StringUtils.UTF8));
+
+        signer.sign(request, credentials);
+
+        assertEquals(null, request.getHeaders().get("x-amz-decoded-content-length"));
+        assertTrue(!request.getHeaders().containsKey("x-amz-content-sha256"));
+        verify(request, never()).setContent(Matchers.any(InputStream.class));
+    }
+
+    @Test
+    public void signerFactory_CreatesStreamingPayloadSigner() {
+        assertTrue(SignerFactory.getSignerByTypeAndService(SignerFactory.VERSION_FOUR_STREAMING_PAYLOAD_SIGNER, "demo")
+                   instanceof AWS4StreamingPayloadSigner);
+    }
+
+    private static SignableRequest<?> requestWithContent(byte[] payload) {
+        return MockRequestBuilder.create()
+                .withContent(new ByteArrayInputStream(payload))
+                .withHeader("Host", "demo.us-east-1.amazonaws.com")
+                .withHeader("Content-Length", String.valueOf(payload.length))
+                .withPath("/")
+                .withEndpoint("http://demo.us-east-1.amazonaws.com").build();
+    }
+
+    private static byte[] encodedContent(SignableRequest<?> request) throws Exception {
+        ArgumentCaptor<InputStream> content = ArgumentCaptor.forClass(InputStream.class);
+        verify(request).setContent(content.capture());
+        return IOUtils.toByteArray(content.getValue());
+    }
+
+    /**
+     * Checks that each chunk is signed over the one before it, starting from
+     * the header signature, and that the chunks add up to the payload.
+     *
+     * @return The number of chunks, the final empty one included.
+     */
+    private int verifyChunks(SignableRequest<?> request, byte[] encoded, byte[] payload) throws Exception {
+        Matcher seed = SEED_SIGNATURE.matcher(request.getHeaders().get("Authorization"));
+        assertTrue(seed.find());
+        String priorSignature = seed.group(1);
+        byte[] signingKey = signer.newSigningKey(credentials, "19810216", "us-east-1", "demo");
+        String scope = "19810216/us-east-1/demo/aws4_request";
+
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        int pos = 0;
+        int chunks = 0;
+        while (true) {
+            int headerEnd = indexOfCrlf(encoded, pos);
+            String header = new String(encoded, pos, headerEnd - pos, StringUtils.UTF8);
+            String[] parts = header.split(";chunk-signature=");
+            int size = Integer.parseInt(parts[0], 16);
+            byte[] data = Arrays.copyOfRange(encoded, headerEnd + 2, headerEnd + 2 + size);
+
+            String stringToSign = "AWS4-HMAC-SHA256-PAYLOAD\n19810216T063000Z\n" + scope + "\n" + priorSignature + "\n"
+                                  + AbstractAWSSigner.EMPTY_STRING_SHA256_HEX + "\n" + BinaryUtils.toHex(signer.hash(data));
+            String expectedSignature = BinaryUtils.toHex(
+                    signer.sign(stringToSign, signingKey, SigningAlgorithm.HmacSHA256));
+            assertEquals(expectedSignature, parts[1]);
+            priorSignature = parts[1];
+
+            decoded.write(data);
+            pos = headerEnd + 2 + size + 2;
+            chunks++;
+            if (size == 0) {
+                break;
+            }
+        }
+        assertEquals(encoded.length, pos);
+        assertArrayEquals(payload, decoded.toByteArray());
+        return chunks;
+    }
+
+    private static int indexOfCrlf(byte[] bytes, int from) {
+        for (int i = from; i < bytes.length - 1; i++) {
+            if (bytes[i] == '\r' && bytes[i + 1] == '\n') {
+                return i;
+            }
+        }
+        throw new AssertionError("No chunk header found at " + from);
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.auth;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.amazonaws.SdkClientException;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Test;
+
+public class PrefetchingCredentialsProviderTest {
+
+    private final AtomicLong now = new AtomicLong(1000000L);
+
+    private final SdkClock clock = new SdkClock() {
+        @Override
+        public long currentTimeMillis() {
+            return now.get();
+        }
+    };
+
+    private final CountingProvider delegate = new CountingProvider();
+
+    private PrefetchingCredentialsProvider provider;
+
+    @After
+    public void tearDown() {
+        if (provider != null) {
+            provider.close();
+        }
+    }
+
+    @Test
+    public void credentialsReloadedInBackground() throws Exception {
+        provider = new PrefetchingCredentialsProvider(delegate, 20, 60000, clock);
+
+        assertEquals("key-1", provider.getCredentials().getAWSAccessKeyId());
+        delegate.awaitLoads(3);
+        assertFalse("key-1".equals(provider.getCredentials().getAWSAccessKeyId()));
+    }
+
+    @Test
+    public void failedReload_KeepsServingLastCredentialsUntilMaxAge() throws Exception {
+        provider = new PrefetchingCredentialsProvider(delegate, 20, 60000, clock);
+        assertEquals("key-1", provider.getCredentials().getAWSAccessKeyId());
+
+        delegate.failing = true;
+        delegate.awaitLoads(3);
+        assertEquals("key-1", provider.getCredentials().getAWSAccessKeyId());
+
+        now.addAndGet(60000);
+        try {
+            provider.getCredentials();
+            fail("Expected the credentials to be reloaded on the calling thread");
+        } catch (SdkClientException expected) {
+        }
+
+        // Loads already in flight still fail, so wait for one started after the outage ended
+        delegate.failing = false;
+        now.addAndGet(1);
+        delegate.awaitLoadCount(delegate.loads.get() + 2);
+        assertTrue(provider.getCredentials().getAWSAccessKeyId().startsWith("key-"));
+    }
+
+    @Test
+    public void concurrentCallers_ShareOneLoad() throws Exception {
+        provider = new PrefetchingCredentialsProvider(delegate, 60000, 120000, clock);
+        delegate.loadDelayMillis = 100;
+
+        Thread[] callers = new Thread[8];
+        for (int i = 0; i < callers.length; i++) {
+            callers[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    provider.getCredentials();
+                }
+            });
+            callers[i].start();
+        }
+        for (Thread caller : callers) {
+            caller.join();
+        }
+        assertEquals(1, delegate.loads.get());
+    }
+
+    @Test
+    public void failedLoad_SharedByWaitingCallers() throws Exception {
+        provider = new PrefetchingCredentialsProvider(delegate, 60000, 120000, clock);
+        delegate.failing = true;
+        delegate.loadStarted = new CountDownLatch(1);
+        delegate.proceed = new CountDownLatch(1);
+        final AtomicInteger failures = new AtomicInteger();
+        Runnable caller = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    provider.getCredentials();
+                } catch (SdkClientException expected) {
+                    failures.incrementAndGet();
+                }
+            }
+        };
+
+        Thread loader = new Thread(caller);
+        loader.start();
+        assertTrue(delegate.loadStarted.await(5, TimeUnit.SECONDS));
+        Thread[] waiters = new Thread[4];
+        for (int i = 0; i < waiters.length; i++) {
+            waiters[i] = new Thread(caller);
+            waiters[i].start();
+        }
+        for (Thread waiter : waiters) {
+            awaitWaiting(waiter);
+        }
+
+        delegate.proceed.countDown();
+        loader.join(5000);
+        for (Thread waiter : waiters) {
+            waiter.join(5000);
+        }
+        assertEquals(1, delegate.loads.get());
+        assertEquals(5, failures.get());
+    }
+
+    @Test
+    public void failedReloads_BackOffExponentiallyUpToRefreshInterval() {
+        provider = new PrefetchingCredentialsProvider(delegate, 60000, 120000, clock);
+        provider.getCredentials();
+
+        assertEquals(1000, provider.nextPrefetchDelayMillis(1));
+        assertEquals(2000, provider.nextPrefetchDelayMillis(2));
+        assertEquals(4000, provider.nextPrefetchDelayMillis(3));
+        long capped = provider.nextPrefetchDelayMillis(10);
+        assertTrue(capped >= 48000 && capped <= 60000);
+        capped = provider.nextPrefetchDelayMillis(Integer.MAX_VALUE);
+        assertTrue(capped >= 48000 && capped <= 60000);
+    }
+
+    @Test
+    public void refresh_ReloadsOnNextCall() {
+        provider = new PrefetchingCredentialsProvider(delegate, 60000, 120000, clock);
+        assertEquals("key-1", provider.getCredentials().getAWSAccessKeyId());
+        assertEquals("key-1", provider.getCredentials().getAWSAccessKeyId());
+
+        provider.refresh();
+        assertEquals(1, delegate.refreshes.get());
+        assertEquals("key-2", provider.getCredentials().getAWSAccessKeyId());
+    }
+
+    @Test
+    public void refresh_CachedCredentialsServedWhileReloading() throws Exception {
+        provider = new PrefetchingCredentialsProvider(delegate, 60000, 120000, clock);
+        assertEquals("key-1", provider.getCredentials().getAWSAccessKeyId());
+
+        delegate.loadStarted = new CountDownLatch(1);
+        delegate.proceed = new CountDownLatch(1);
+        Thread refresher = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                provider.refresh();
+            }
+        });
+        refresher.start();
+        assertTrue(delegate.loadStarted.await(5, TimeUnit.SECONDS));
+
+        assertEquals("key-1", provider.getCredentials().getAWSAccessKeyId());
+        delegate.proceed.countDown();
+        refresher.join();
+        assertEquals("key-2", provider.getCredentials().getAWSAccessKeyId());
+    }
+
+    @Test
+    public void knownExpiration_UsedInsteadOfMaxAge() {
+        provider = new PrefetchingCredentialsProvider(delegate, 60000, 120000, clock);
+        delegate.expiration = new Date(now.get() + TimeUnit.MINUTES.toMillis(10));
+        assertEquals("key-1", provider.getCredentials().getAWSAccessKeyId());
+
+        now.addAndGet(TimeUnit.MINUTES.toMillis(5));
+        assertEquals("key-1", provider.getCredentials().getAWSAccessKeyId());
+
+        now.addAndGet(TimeUnit.MINUTES.toMillis(4));
+        assertEquals("key-2", provider.getCredentials().getAWSAccessKeyId());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maxAgeNotLongerThanRefreshInterval_Rejected() {
+        new PrefetchingCredentialsProvider(delegate, 5, 5, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Waits for the given thread to park, i.e. wait for the load in flight.
+     */
+    private static void awaitWaiting(Thread thread) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING) {
+            if (System.nanoTime() > deadline) {
+                fail("Expected " + thread.getName() + " to wait for the load in flight");
+            }
+            Thread.yield();
+        }
+    }
+
+    private static class CountingProvider implements ExpiringCredentialsProvider {
+        private final AtomicInteger loads = new AtomicInteger();
+        private final AtomicInteger refreshes = new AtomicInteger();
+        private final CountDownLatch[] loaded = {new CountDownLatch(1), new CountDownLatch(2), new CountDownLatch(3)};
+        private volatile boolean failing;
+        private volatile long loadDelayMillis;
+        private volatile Date expiration;
+        private volatile CountDownLatch loadStarted;
+        private volatile CountDownLatch proceed;
+
+        @Override
+        public AWSCredentials getCredentials() {
+            if (proceed != null) {
+                loadStarted.countDown();
+                try {
+                    assertTrue(proceed.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (loadDelayMillis > 0) {
+                try {
+                    Thread.sleep(loadDelayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            int load = loads.incrementAndGet();
+            for (CountDownLatch latch : loaded) {
+                latch.countDown();
+            }
+            if (failing) {
+                throw new SdkClientException("Credentials endpoint unavailable");
+            }
+            return new BasicAWSCredentials("key-" + load, "secret");
+        }
+
+        @Override
+        public void refresh() {
+            refreshes.incrementAndGet();
+        }
+
+        @Override
+        public Date getCredentialsExpiration() {
+            return expiration;
+        }
+
+        private void awaitLoads(int count) throws InterruptedException {
+            assertTrue(loaded[count - 1].await(5, TimeUnit.SECONDS));
+        }
+
+        private void awaitLoadCount(int count) {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (loads.get() < count) {
+                if (System.nanoTime() > deadline) {
+                    fail("Expected " + count + " loads but got " + loads.get());
+                }
+                Thread.yield();
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.client.builder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+
+import com.amazonaws.ClientConfiguration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class VirtualThreadExecutorFactoryTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonPositiveFallbackPoolSize_ThrowsException() {
+        new VirtualThreadExecutorFactory(0);
+    }
+
+    @Test
+    public void unsupportedJvm_FallsBackToFixedThreadPool() {
+        assumeFalse(VirtualThreadExecutorFactory.isVirtualThreadSupported());
+
+        ExecutorService executor = new VirtualThreadExecutorFactory(7).newExecutor();
+        try {
+            assertTrue(executor instanceof ThreadPoolExecutor);
+            assertEquals(7, ((ThreadPoolExecutor) executor).getMaximumPoolSize());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void unsupportedJvm_FallbackPoolSizedFromClientMaxConnections() {
+        assumeFalse(VirtualThreadExecutorFactory.isVirtualThreadSupported());
+
+        ExecutorService executor = new VirtualThreadExecutorFactory()
+                .newExecutor(new ClientConfiguration().withMaxConnections(5));
+        try {
+            assertEquals(5, ((ThreadPoolExecutor) executor).getMaximumPoolSize());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void newExecutor_RunsSubmittedTasks() throws Exception {
+        ExecutorService executor = new VirtualThreadExecutorFactory().newExecutor();
+        try {
+            String result = executor.submit(new Callable<String>() {
+                @Override
+                public String call() {
+                    return "done";
+                }
+            }).get(5, TimeUnit.SECONDS);
+            assertEquals("done", result);
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static utils.http.HttpResponseHandlers.stringResponseHandler;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.Request;
+import com.amazonaws.handlers.HandlerContextKey;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import utils.http.WireMockTestBase;
+
+/**
+ * Hedges hedge-safe requests end to end, from the handler context marking them as such to the
+ * duplicate request on the wire.
+ */
+public class AmazonHttpClientHedgingTest extends WireMockTestBase {
+
+    private static final String RESOURCE_PATH = "/hedged/";
+    private static final int SLOW_RESPONSE_DELAY = 3000;
+
+    private AmazonHttpClient httpClient;
+
+    @Before
+    public void setup() {
+        httpClient = new AmazonHttpClient(new ClientConfiguration().withHedgedRequests(true));
+    }
+
+    @After
+    public void tearDown() {
+        httpClient.shutdown();
+    }
+
+    @Test
+    public void slowHedgeSafeRequest_IsAnsweredByHedge() throws Exception {
+        stubFor(get(urlEqualTo(RESOURCE_PATH)).inScenario("hedging").whenScenarioStateIs(Scenario.STARTED)
+                        .willReturn(aResponse().withStatus(200).withBody("warm-up")));
+        for (int i = 0; i < 30; i++) {
+            assertEquals("warm-up", execute(newHedgeSafeRequest()));
+        }
+
+        stubFor(get(urlEqualTo(RESOURCE_PATH)).inScenario("hedging").whenScenarioStateIs(Scenario.STARTED)
+                        .willSetStateTo("hedged")
+                        .willReturn(aResponse().withStatus(200).withBody("primary")
+                                            .withFixedDelay(SLOW_RESPONSE_DELAY)));
+        stubFor(get(urlEqualTo(RESOURCE_PATH)).inScenario("hedging").whenScenarioStateIs("hedged")
+                        .willReturn(aResponse().withStatus(200).withBody("hedge")));
+
+        long start = System.currentTimeMillis();
+        assertEquals("hedge", execute(newHedgeSafeRequest()));
+        assertTrue(System.currentTimeMillis() - start < SLOW_RESPONSE_DELAY / 2);
+    }
+
+    @Test
+    public void slowRequest_NotMarkedHedgeSafe_IsNotHedged() throws Exception {
+        stubFor(get(urlEqualTo(RESOURCE_PATH)).inScenario("unsafe").whenScenarioStateIs(Scenario.STARTED)
+                        .willReturn(aResponse().withStatus(200).withBody("warm-up")));
+        for (int i = 0; i < 30; i++) {
+            execute(newGetRequest(RESOURCE_PATH));
+        }
+
+        stubFor(get(urlEqualTo(RESOURCE_PATH)).inScenario("unsafe").whenScenarioStateIs(Scenario.STARTED)
+                        .willSetStateTo("hedged")
+                        .willReturn(aResponse().withStatus(200).withBody("primary")
+                                            .withFixedDelay(200)));
+        stubFor(get(urlEqualTo(RESOURCE_PATH)).inScenario("unsafe").whenScenarioStateIs("hedged")
+                        .willReturn(aResponse().withStatus(200).withBody("hedge")));
+
+        assertEquals("primary", execute(newGetRequest(RESOURCE_PATH)));
+    }
+
+    private Request<?> newHedgeSafeRequest() {
+        Request<?> request = newGetRequest(RESOURCE_PATH);
+        request.addHandlerContext(HandlerContextKey.OPERATION_NAME, "GetHedged");
+        request.addHandlerContext(HandlerContextKey.HEDGE_SAFE, Boolean.TRUE);
+        return request;
+    }
+
+    private String execute(Request<?> request) throws Exception {
+        return httpClient.requestExecutionBuilder()
+                .request(request)
+                .errorResponseHandler(stubErrorHandler())
+                .execute(stringResponseHandler())
+                .getAwsResponse().getResult();
+    }
+}
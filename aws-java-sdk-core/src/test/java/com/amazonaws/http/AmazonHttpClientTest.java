@@ -35,6 +35,7 @@ import com.amazonaws.handlers.HandlerContextKey;
 import com.amazonaws.handlers.RequestHandler2;
 import com.amazonaws.http.apache.client.impl.ConnectionManagerAwareHttpClient;
 import com.amazonaws.http.apache.request.impl.ApacheHttpRequestFactory;
+import com.amazonaws.http.client.HttpClientFactory;
 import com.amazonaws.http.request.HttpRequestFactory;
 import com.amazonaws.http.settings.HttpClientSettings;
 import org.apache.http.ProtocolVersion;
@@ -662,4 +663,37 @@ public class AmazonHttpClientTest {
         //verify that the response stream was closed
         EasyMock.verify(responseStream);
     }
+
+    @Test
+    public void customHttpClientFactory_IsUsedToCreateTransport() throws IOException {
+        final ConnectionManagerAwareHttpClient customHttpClient =
+                EasyMock.createMock(ConnectionManagerAwareHttpClient.class);
+        EasyMock
+                .expect(customHttpClient.execute(EasyMock.<HttpUriRequest>anyObject(),
+                                                 EasyMock.<HttpContext>anyObject()))
+                .andReturn(createBasicHttpResponse(new ByteArrayInputStream(new byte[0])))
+                .times(1);
+        EasyMock.replay(customHttpClient);
+
+        final List<HttpClientSettings> capturedSettings = new ArrayList<HttpClientSettings>();
+        ClientConfiguration config = new ClientConfiguration();
+        config.getApacheHttpClientConfig().setHttpClientFactory(
+                new HttpClientFactory<ConnectionManagerAwareHttpClient>() {
+                    @Override
+                    public ConnectionManagerAwareHttpClient create(HttpClientSettings settings) {
+                        capturedSettings.add(settings);
+                        return customHttpClient;
+                    }
+                });
+
+        AmazonHttpClient customClient = AmazonHttpClient.builder().clientConfiguration(config).build();
+
+        Request<?> request = new DefaultRequest<Object>("testsvc");
+        request.setEndpoint(URI.create(URI_NAME));
+        customClient.requestExecutionBuilder().request(request).executionContext(new ExecutionContext()).execute();
+
+        assertEquals(1, capturedSettings.size());
+        assertEquals(config.getMaxConnections(), capturedSettings.get(0).getMaxConnections());
+        EasyMock.verify(customHttpClient);
+    }
 }
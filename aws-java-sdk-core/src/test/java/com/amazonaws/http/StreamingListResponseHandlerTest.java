@@ -0,0 +1,175 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.amazonaws.AmazonWebServiceResponse;
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.SdkClientException;
+import com.amazonaws.internal.CRC32MismatchException;
+import com.amazonaws.protocol.json.JsonClientMetadata;
+import com.amazonaws.protocol.json.SdkJsonProtocolFactory;
+import com.amazonaws.transform.JsonUnmarshallerContext;
+import com.amazonaws.transform.SimpleTypeJsonUnmarshallers;
+import com.amazonaws.transform.SimpleTypeStaxUnmarshallers;
+import com.amazonaws.transform.StaxUnmarshallerContext;
+import com.amazonaws.transform.StreamingListIterator;
+import com.amazonaws.transform.Unmarshaller;
+import com.amazonaws.util.StringUtils;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import javax.xml.stream.events.XMLEvent;
+import org.junit.After;
+import org.junit.Test;
+import utils.http.WireMockTestBase;
+
+public class StreamingListResponseHandlerTest extends WireMockTestBase {
+
+    private static final String XML =
+            "<DescribeThingsResponse><requestId>req-1</requestId>" +
+            "<thingSet><item><name>a</name><tagSet><item><name>nested</name></item></tagSet></item>" +
+            "<item><name>b</name></item></thingSet></DescribeThingsResponse>";
+
+    private static final String JSON = "{\"Count\":3,\"Items\":[\"a\",\"b\",null],\"Next\":null}";
+
+    private final AmazonHttpClient client = new AmazonHttpClient(new ClientConfiguration());
+
+    @After
+    public void tearDown() {
+        client.shutdown();
+    }
+
+    @Test
+    public void staxResponse_StreamsListElements() throws Exception {
+        stubFor(get(urlEqualTo("/")).willReturn(aResponse().withStatus(200).withBody(XML)));
+
+        AmazonWebServiceResponse<StreamingListIterator<String>> response = execute(
+                new StaxStreamingListResponseHandler<String>(new NameStaxUnmarshaller(), "thingSet/item", 2));
+
+        // Metadata preceding the list is read before the response is returned
+        assertEquals("req-1", response.getRequestId());
+        assertEquals(Arrays.asList("a", "b"), drain(response.getResult()));
+    }
+
+    @Test
+    public void jsonResponse_StreamsListElements() throws Exception {
+        stubFor(get(urlEqualTo("/")).willReturn(aResponse().withStatus(200)
+                                                           .withHeader("x-amz-crc32", crc32(JSON))
+                                                           .withBody(JSON)));
+
+        AmazonWebServiceResponse<StreamingListIterator<String>> response = execute(jsonHandler());
+
+        assertEquals(Arrays.asList("a", "b", null), drain(response.getResult()));
+    }
+
+    @Test
+    public void jsonResponse_Crc32MismatchFailsAtEndOfList() throws Exception {
+        stubFor(get(urlEqualTo("/")).willReturn(aResponse().withStatus(200)
+                                                           .withHeader("x-amz-crc32", "1234")
+                                                           .withBody(JSON)));
+
+        StreamingListIterator<String> iterator = execute(jsonHandler()).getResult();
+        assertEquals("a", iterator.next());
+        assertEquals("b", iterator.next());
+        iterator.next();
+        try {
+            iterator.hasNext();
+            fail("Expected a checksum failure");
+        } catch (SdkClientException e) {
+            assertTrue(e.getCause() instanceof CRC32MismatchException);
+        }
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void closedIterator_HasNoMoreElements() throws Exception {
+        stubFor(get(urlEqualTo("/")).willReturn(aResponse().withStatus(200).withBody(XML)));
+
+        StreamingListIterator<String> iterator = execute(
+                new StaxStreamingListResponseHandler<String>(new NameStaxUnmarshaller(), "thingSet/item", 2))
+                .getResult();
+        assertEquals("a", iterator.next());
+        iterator.close();
+        assertFalse(iterator.hasNext());
+    }
+
+    private HttpResponseHandler<AmazonWebServiceResponse<StreamingListIterator<String>>> jsonHandler() {
+        Unmarshaller<String, JsonUnmarshallerContext> elementUnmarshaller =
+                SimpleTypeJsonUnmarshallers.StringJsonUnmarshaller.getInstance();
+        return new SdkJsonProtocolFactory(new JsonClientMetadata())
+                .createStreamingListResponseHandler(elementUnmarshaller, "Items", 1);
+    }
+
+    private <T> AmazonWebServiceResponse<StreamingListIterator<T>> execute(
+            HttpResponseHandler<AmazonWebServiceResponse<StreamingListIterator<T>>> responseHandler) throws Exception {
+        return client.requestExecutionBuilder()
+                     .request(newGetRequest("/"))
+                     .errorResponseHandler(stubErrorHandler())
+                     .execute(responseHandler)
+                     .getAwsResponse();
+    }
+
+    private static <T> List<T> drain(StreamingListIterator<T> iterator) {
+        List<T> elements = new ArrayList<T>();
+        while (iterator.hasNext()) {
+            elements.add(iterator.next());
+        }
+        return elements;
+    }
+
+    private static String crc32(String body) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(body.getBytes(StringUtils.UTF8));
+        return String.valueOf(crc32.getValue());
+    }
+
+    /**
+     * Reads the name child of an item the way generated unmarshallers do.
+     */
+    private static class NameStaxUnmarshaller implements Unmarshaller<String, StaxUnmarshallerContext> {
+        @Override
+        public String unmarshall(StaxUnmarshallerContext context) throws Exception {
+            int originalDepth = context.getCurrentDepth();
+            int targetDepth = originalDepth + 1;
+
+            String name = null;
+            while (true) {
+                XMLEvent event = context.nextEvent();
+                if (event.isEndDocument()) {
+                    return name;
+                }
+                if (event.isStartElement()) {
+                    if (context.testExpression("name", targetDepth)) {
+                        name = SimpleTypeStaxUnmarshallers.StringStaxUnmarshaller.getInstance().unmarshall(context);
+                    }
+                } else if (event.isEndElement()) {
+                    if (context.getCurrentDepth() < originalDepth) {
+                        return name;
+                    }
+                }
+            }
+        }
+    }
+}
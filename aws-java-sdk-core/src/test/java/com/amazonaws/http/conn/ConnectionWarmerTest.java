@@ -0,0 +1,168 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.conn;
+
+import static org.junit.Assert.assertEquals;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.SdkClientException;
+import com.amazonaws.http.apache.client.impl.ApacheConnectionManagerFactory;
+import com.amazonaws.http.settings.HttpClientSettings;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConnectionWarmerTest {
+
+    private final List<Socket> accepted = new CopyOnWriteArrayList<Socket>();
+    private ServerSocket serverSocket;
+    private URI endpoint;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private ConnectionWarmer warmer;
+
+    @Before
+    public void setup() throws IOException {
+        serverSocket = new ServerSocket(0);
+        endpoint = URI.create("http://localhost:" + serverSocket.getLocalPort());
+        Thread acceptor = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    while (true) {
+                        accepted.add(serverSocket.accept());
+                    }
+                } catch (IOException ignored) {
+                }
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (warmer != null) {
+            warmer.shutdown();
+        }
+        if (connectionManager != null) {
+            connectionManager.shutdown();
+        }
+        serverSocket.close();
+        for (Socket socket : accepted) {
+            socket.close();
+        }
+    }
+
+    @Test
+    public void warmUp_OpensMissingConnections() {
+        ConnectionWarmer warmer = createWarmer(new ClientConfiguration());
+
+        assertEquals(3, warmer.warmUp(endpoint, 3));
+        assertEquals(3, availableConnections());
+        assertEquals(2, warmer.warmUp(endpoint, 5));
+        assertEquals(5, availableConnections());
+        assertEquals(0, warmer.warmUp(endpoint, 4));
+    }
+
+    @Test
+    public void warmUp_CappedAtMaxConnections() {
+        ConnectionWarmer warmer = createWarmer(new ClientConfiguration().withMaxConnections(2));
+
+        assertEquals(2, warmer.warmUp(endpoint, 10));
+        assertEquals(2, availableConnections());
+    }
+
+    @Test
+    public void run_TopsUpKeptWarmRoutes() {
+        ConnectionWarmer warmer = createWarmer(new ClientConfiguration());
+        assertEquals(3, warmer.keepWarm(endpoint, 3));
+
+        connectionManager.closeIdleConnections(0, TimeUnit.MILLISECONDS);
+        assertEquals(0, availableConnections());
+
+        warmer.run();
+        assertEquals(3, availableConnections());
+    }
+
+    @Test
+    public void run_RefreshesIdleTimeOfKeptConnections() throws InterruptedException {
+        ConnectionWarmer warmer = createWarmer(new ClientConfiguration());
+        assertEquals(2, warmer.keepWarm(endpoint, 2));
+        assertEquals(1, warmer.warmUp(endpoint, 3));
+
+        Thread.sleep(200);
+        warmer.run();
+        connectionManager.closeIdleConnections(100, TimeUnit.MILLISECONDS);
+
+        assertEquals(2, availableConnections());
+        assertEquals(3, accepted.size());
+    }
+
+    @Test
+    public void keepWarm_TopsUpOnWarmerThread() throws InterruptedException {
+        ConnectionWarmer warmer = createWarmer(new ClientConfiguration().withConnectionMaxIdleMillis(2000));
+        assertEquals(3, warmer.keepWarm(endpoint, 3));
+
+        connectionManager.closeIdleConnections(0, TimeUnit.MILLISECONDS);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (availableConnections() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(3, availableConnections());
+
+        warmer.shutdown();
+        connectionManager.closeIdleConnections(0, TimeUnit.MILLISECONDS);
+        Thread.sleep(1500);
+        assertEquals(0, availableConnections());
+    }
+
+    @Test
+    public void proxyConfigured_NothingWarmedUp() {
+        ConnectionWarmer warmer = createWarmer(new ClientConfiguration().withProxyHost("localhost").withProxyPort(1));
+
+        assertEquals(0, warmer.warmUp(endpoint, 3));
+        assertEquals(0, availableConnections());
+    }
+
+    @Test(expected = SdkClientException.class)
+    public void unreachableEndpoint_ThrowsSdkClientException() throws IOException {
+        ConnectionWarmer warmer = createWarmer(new ClientConfiguration().withConnectionTimeout(1000));
+        serverSocket.close();
+
+        warmer.warmUp(endpoint, 1);
+    }
+
+    private ConnectionWarmer createWarmer(ClientConfiguration config) {
+        HttpClientSettings settings = HttpClientSettings.adapt(config);
+        connectionManager = (PoolingHttpClientConnectionManager) new ApacheConnectionManagerFactory().create(settings);
+        warmer = new ConnectionWarmer(connectionManager, settings);
+        return warmer;
+    }
+
+    private int availableConnections() {
+        HttpHost target = new HttpHost(endpoint.getHost(), endpoint.getPort(), endpoint.getScheme());
+        return connectionManager.getStats(new HttpRoute(target)).getAvailable();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.conn.ssl;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.amazonaws.util.IOUtils;
+import com.amazonaws.util.StringUtils;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class SdkTLSSocketFactorySessionResumptionTest {
+
+    @Rule
+    public WireMockRule mockServer = new WireMockRule(wireMockConfig().dynamicPort().dynamicHttpsPort());
+
+    private SSLContext sslContext;
+
+    @Before
+    public void setup() throws Exception {
+        sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, new TrustManager[] {new TrustingTrustManager()}, new SecureRandom());
+    }
+
+    @Test
+    public void secondHandshake_ResumesSessionOfFirst() throws Exception {
+        long firstStart = System.currentTimeMillis();
+        SSLSession first = handshake();
+        assertFalse(SdkTLSSocketFactory.isResumedSession(first, firstStart));
+
+        // Have the second handshake start on a later millisecond than the first session was created
+        while (System.currentTimeMillis() <= first.getCreationTime()) {
+            Thread.yield();
+        }
+        long secondStart = System.currentTimeMillis();
+        SSLSession second = handshake();
+        assertTrue(SdkTLSSocketFactory.isResumedSession(second, secondStart));
+    }
+
+    @Test
+    public void handshakeAfterSessionInvalidated_IsFull() throws Exception {
+        handshake().invalidate();
+
+        long start = System.currentTimeMillis();
+        assertFalse(SdkTLSSocketFactory.isResumedSession(handshake(), start));
+    }
+
+    /**
+     * Sends a request over a new connection and reads the response, which is when TLS 1.3 session
+     * tickets are received.
+     */
+    private SSLSession handshake() throws Exception {
+        SSLSocket socket = (SSLSocket) sslContext.getSocketFactory().createSocket("localhost", mockServer.httpsPort());
+        try {
+            socket.getOutputStream().write(
+                    "GET / HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n".getBytes(StringUtils.UTF8));
+            socket.getOutputStream().flush();
+            IOUtils.toByteArray(socket.getInputStream());
+            return socket.getSession();
+        } finally {
+            socket.close();
+        }
+    }
+
+    private static class TrustingTrustManager implements X509TrustManager {
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2015-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.hedging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.amazonaws.http.hedging.HedgedRequestExecutor.HedgeRequestFactory;
+import com.amazonaws.http.hedging.HedgedRequestExecutor.HedgedResponse;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class HedgedRequestExecutorTest {
+
+    private final HttpResponse primaryResponse = mock(HttpResponse.class);
+    private final HttpResponse hedgeResponse = mock(HttpResponse.class);
+    private final HttpRequestBase primaryRequest = new HttpGet("http://localhost/primary");
+    private final HttpRequestBase hedgeRequest = new HttpGet("http://localhost/hedge");
+    private final HttpContext primaryContext = new BasicHttpContext();
+    private final HttpContext hedgeContext = new BasicHttpContext();
+    private final CountDownLatch blockPrimary = new CountDownLatch(1);
+    private final AtomicInteger hedgesCreated = new AtomicInteger();
+    private final HedgeRequestFactory hedgeFactory = new HedgeRequestFactory() {
+        @Override
+        public HttpRequestBase newHedgeRequest() {
+            hedgesCreated.incrementAndGet();
+            return hedgeRequest;
+        }
+
+        @Override
+        public HttpContext newHedgeContext() {
+            return hedgeContext;
+        }
+    };
+    private final LatencyPercentileTracker latencyTracker = new LatencyPercentileTracker(100);
+
+    private ExecutorService executorService;
+    private HttpClient httpClient;
+    private HedgedRequestExecutor executor;
+
+    @Before
+    public void setup() {
+        executorService = Executors.newCachedThreadPool();
+        httpClient = mock(HttpClient.class);
+        executor = new HedgedRequestExecutor(executorService);
+    }
+
+    @After
+    public void tearDown() {
+        blockPrimary.countDown();
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void fastPrimary_IsNotHedged() throws Exception {
+        when(httpClient.execute(same(primaryRequest), any(HttpContext.class))).thenReturn(primaryResponse);
+
+        HedgedResponse response = execute(1000);
+
+        assertSame(primaryResponse, response.getResponse());
+        assertFalse(response.isHedge());
+        verify(httpClient, never()).execute(same(hedgeRequest), any(HttpContext.class));
+        assertEquals(0, hedgesCreated.get());
+        assertFalse(primaryRequest.isAborted());
+        assertFalse(hedgeRequest.isAborted());
+    }
+
+    @Test
+    public void slowPrimary_HedgeWinsAndPrimaryIsAborted() throws Exception {
+        for (int i = 0; i < LatencyPercentileTracker.MINIMUM_SAMPLES - 1; i++) {
+            latencyTracker.record(0);
+        }
+        when(httpClient.execute(same(primaryRequest), any(HttpContext.class))).thenAnswer(blockedResponse(primaryResponse));
+        when(httpClient.execute(same(hedgeRequest), any(HttpContext.class))).thenReturn(hedgeResponse);
+
+        HedgedResponse response = execute(10);
+
+        assertSame(hedgeResponse, response.getResponse());
+        assertSame(hedgeRequest, response.getRequest());
+        assertSame(hedgeContext, response.getContext());
+        assertTrue(response.isHedge());
+        assertEquals(1, hedgesCreated.get());
+        assertFalse(hedgeRequest.isAborted());
+        assertTrue(primaryRequest.isAborted());
+        // The time the primary had been outstanding is recorded in place of its latency
+        assertTrue(latencyTracker.getPercentile() >= 10);
+    }
+
+    @Test
+    public void primaryWins_HedgeIsAborted() throws Exception {
+        final CountDownLatch hedgeSent = new CountDownLatch(1);
+        when(httpClient.execute(same(primaryRequest), any(HttpContext.class))).thenAnswer(new Answer<HttpResponse>() {
+            @Override
+            public HttpResponse answer(InvocationOnMock invocation) throws Throwable {
+                hedgeSent.await(5, TimeUnit.SECONDS);
+                return primaryResponse;
+            }
+        });
+        when(httpClient.execute(same(hedgeRequest), any(HttpContext.class))).thenAnswer(new Answer<HttpResponse>() {
+            @Override
+            public HttpResponse answer(InvocationOnMock invocation) throws Throwable {
+                hedgeSent.countDown();
+                blockPrimary.await(5, TimeUnit.SECONDS);
+                return hedgeResponse;
+            }
+        });
+
+        HedgedResponse response = execute(10);
+
+        assertSame(primaryResponse, response.getResponse());
+        assertFalse(response.isHedge());
+        assertFalse(primaryRequest.isAborted());
+        assertTrue(hedgeRequest.isAborted());
+    }
+
+    @Test
+    public void noThreadForHedge_WaitsForPrimary() throws Exception {
+        HedgedRequestExecutor singleThreaded = new HedgedRequestExecutor(1);
+        try {
+            when(httpClient.execute(same(primaryRequest), any(HttpContext.class))).thenAnswer(new Answer<HttpResponse>() {
+                @Override
+                public HttpResponse answer(InvocationOnMock invocation) throws Throwable {
+                    Thread.sleep(50);
+                    return primaryResponse;
+                }
+            });
+
+            HedgedResponse response = singleThreaded.execute(httpClient, primaryRequest, primaryContext, hedgeFactory,
+                                                             10, latencyTracker);
+
+            assertSame(primaryResponse, response.getResponse());
+            verify(httpClient, never()).execute(same(hedgeRequest), any(HttpContext.class));
+        } finally {
+            singleThreaded.shutdown();
+        }
+    }
+
+    @Test
+    public void failedHedge_WaitsForPrimary() throws Exception {
+        final CountDownLatch hedgeFailed = new CountDownLatch(1);
+        when(httpClient.execute(same(primaryRequest), any(HttpContext.class))).thenAnswer(new Answer<HttpResponse>() {
+            @Override
+            public HttpResponse answer(InvocationOnMock invocation) throws Throwable {
+                hedgeFailed.await(5, TimeUnit.SECONDS);
+                return primaryResponse;
+            }
+        });
+        when(httpClient.execute(same(hedgeRequest), any(HttpContext.class))).thenAnswer(new Answer<HttpResponse>() {
+            @Override
+            public HttpResponse answer(InvocationOnMock invocation) throws Throwable {
+                hedgeFailed.countDown();
+                throw new IOException("hedge failed");
+            }
+        });
+
+        HedgedResponse response = execute(10);
+
+        assertSame(primaryResponse, response.getResponse());
+        assertFalse(response.isHedge());
+    }
+
+    @Test
+    public void primaryFailingBeforeDelay_IsRethrownWithoutHedging() throws Exception {
+        when(httpClient.execute(same(primaryRequest), any(HttpContext.class))).thenThrow(new IOException("primary failed"));
+
+        try {
+            execute(1000);
+            fail("Expected IOException");
+        } catch (IOException expected) {
+            assertEquals("primary failed", expected.getMessage());
+        }
+        verify(httpClient, never()).execute(same(hedgeRequest), any(HttpContext.class));
+    }
+
+    @Test
+    public void bothFailing_RethrowsPrimaryFailure() throws Exception {
+        final CountDownLatch hedgeFailed = new CountDownLatch(1);
+        when(httpClient.execute(same(primaryRequest), any(HttpContext.class))).thenAnswer(new Answer<HttpResponse>() {
+            @Override
+            public HttpResponse answer(InvocationOnMock invocation) throws Throwable {
+                hedgeFailed.await(5, TimeUnit.SECONDS);
+                throw new IOException("primary failed");
+            }
+        });
+        when(httpClient.execute(same(hedgeRequest), any(HttpContext.class))).thenAnswer(new Answer<HttpResponse>() {
+            @Override
+            public HttpResponse answer(InvocationOnMock invocation) throws Throwable {
+                hedgeFailed.countDown();
+                throw new IOException("hedge failed");
+            }
+        });
+
+        try {
+            execute(10);
+            fail("Expected IOException");
+        } catch (IOException expected) {
+            assertEquals("primary failed", expected.getMessage());
+        }
+    }
+
+    private HedgedResponse execute(long delay) throws Exception {
+        return executor.execute(httpClient, primaryRequest, primaryContext, hedgeFactory, delay, latencyTracker);
+    }
+
+    private Answer<HttpResponse> blockedResponse(final HttpResponse response) {
+        return new Answer<HttpResponse>() {
+            @Override
+            public HttpResponse answer(InvocationOnMock invocation) throws Throwable {
+                blockPrimary.await(5, TimeUnit.SECONDS);
+                return response;
+            }
+        };
+    }
+}
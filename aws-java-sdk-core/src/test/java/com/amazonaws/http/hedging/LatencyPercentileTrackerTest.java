@@ -0,0 +1,82 @@
+/*
+ * Copyright 2015-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.hedging;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class LatencyPercentileTrackerTest {
+
+    @Test
+    public void tooFewSamples_ReturnsNegative() {
+        LatencyPercentileTracker tracker = new LatencyPercentileTracker(95);
+        for (int i = 0; i < LatencyPercentileTracker.MINIMUM_SAMPLES - 1; i++) {
+            tracker.record(10);
+        }
+        assertEquals(-1, tracker.getPercentile());
+    }
+
+    @Test
+    public void percentiles_ComputedOverRecordedSamples() {
+        assertEquals(50, percentileOfOneToHundred(50));
+        assertEquals(95, percentileOfOneToHundred(95));
+        assertEquals(100, percentileOfOneToHundred(100));
+    }
+
+    @Test
+    public void percentile_ComputedOnceEnoughSamplesRecorded() {
+        LatencyPercentileTracker tracker = new LatencyPercentileTracker(100);
+        for (int i = 1; i <= LatencyPercentileTracker.MINIMUM_SAMPLES; i++) {
+            tracker.record(i);
+        }
+        assertEquals(LatencyPercentileTracker.MINIMUM_SAMPLES, tracker.getPercentile());
+    }
+
+    @Test
+    public void percentile_RecomputedEveryFewSamples() {
+        LatencyPercentileTracker tracker = new LatencyPercentileTracker(100);
+        for (int i = 0; i < LatencyPercentileTracker.MINIMUM_SAMPLES; i++) {
+            tracker.record(10);
+        }
+        for (int i = 0; i < LatencyPercentileTracker.RECOMPUTE_INTERVAL - 1; i++) {
+            tracker.record(20);
+        }
+        assertEquals(10, tracker.getPercentile());
+
+        tracker.record(20);
+        assertEquals(20, tracker.getPercentile());
+    }
+
+    @Test
+    public void oldSamples_AreEvicted() {
+        LatencyPercentileTracker tracker = new LatencyPercentileTracker(99, LatencyPercentileTracker.MINIMUM_SAMPLES);
+        for (int i = 0; i < LatencyPercentileTracker.MINIMUM_SAMPLES; i++) {
+            tracker.record(1000);
+        }
+        for (int i = 0; i < LatencyPercentileTracker.MINIMUM_SAMPLES + LatencyPercentileTracker.RECOMPUTE_INTERVAL; i++) {
+            tracker.record(5);
+        }
+        assertEquals(5, tracker.getPercentile());
+    }
+
+    private long percentileOfOneToHundred(int percentile) {
+        LatencyPercentileTracker tracker = new LatencyPercentileTracker(percentile);
+        for (int i = 100; i >= 1; i--) {
+            tracker.record(i);
+        }
+        return tracker.getPercentile();
+    }
+}
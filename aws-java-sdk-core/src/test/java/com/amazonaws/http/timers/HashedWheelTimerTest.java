@@ -0,0 +1,141 @@
+/*
+ * Copyright 2015-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.timers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.amazonaws.http.timers.HashedWheelTimer.Timeout;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HashedWheelTimerTest {
+
+    private HashedWheelTimer timer;
+
+    @Before
+    public void setup() {
+        timer = new HashedWheelTimer("TestTimer", 5, 8, 200);
+    }
+
+    @After
+    public void tearDown() {
+        timer.shutdown();
+    }
+
+    @Test
+    public void timeout_FiresAfterDelay() throws Exception {
+        final CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        Timeout timeout = timer.newTimeout(countDown(fired), 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 50);
+        assertTrue(timeout.isExpired());
+        assertEquals(1, timer.getExpiredTimeoutCount());
+        assertEquals(0, timer.getPendingTimeoutCount());
+    }
+
+    @Test
+    public void timeoutLongerThanOneRotation_FiresAfterDelay() throws Exception {
+        // 8 buckets of 5ms make one rotation 40ms long
+        final CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        timer.newTimeout(countDown(fired), 130, TimeUnit.MILLISECONDS);
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 130);
+    }
+
+    @Test
+    public void cancelledTimeout_NeverFires() throws Exception {
+        final AtomicInteger fired = new AtomicInteger();
+        Timeout timeout = timer.newTimeout(new Runnable() {
+            @Override
+            public void run() {
+                fired.incrementAndGet();
+            }
+        }, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertEquals(0, timer.getPendingTimeoutCount());
+        Thread.sleep(150);
+
+        assertEquals(0, fired.get());
+        assertTrue(timeout.isCancelled());
+        assertFalse(timeout.isExpired());
+        assertEquals(0, timer.getExpiredTimeoutCount());
+        assertEquals(0, timer.getQueuedTimeoutCount());
+    }
+
+    @Test
+    public void cancelledTimeout_RemovedFromWheel() throws Exception {
+        Timeout timeout = timer.newTimeout(new Runnable() {
+            @Override
+            public void run() {
+            }
+        }, 1, TimeUnit.HOURS);
+        Thread.sleep(50);
+        assertEquals(1, timer.getQueuedTimeoutCount());
+
+        timeout.cancel();
+        Thread.sleep(50);
+        assertEquals(0, timer.getQueuedTimeoutCount());
+    }
+
+    @Test
+    public void workerThread_StopsWhenIdleAndRestartsOnDemand() throws Exception {
+        timer.newTimeout(new Runnable() {
+            @Override
+            public void run() {
+            }
+        }, 10, TimeUnit.MILLISECONDS);
+        assertTrue(timer.isWorkerRunning());
+
+        Thread.sleep(timer.getIdleTimeout(TimeUnit.MILLISECONDS) + 500);
+        assertFalse(timer.isWorkerRunning());
+
+        final CountDownLatch fired = new CountDownLatch(1);
+        timer.newTimeout(countDown(fired), 10, TimeUnit.MILLISECONDS);
+        assertTrue(timer.isWorkerRunning());
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void newTimeout_AfterShutdown_IsRejected() {
+        timer.shutdown();
+        timer.newTimeout(new Runnable() {
+            @Override
+            public void run() {
+            }
+        }, 10, TimeUnit.MILLISECONDS);
+    }
+
+    private static Runnable countDown(final CountDownLatch latch) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        };
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.amazonaws.util.AWSRequestMetrics;
+import com.amazonaws.util.AWSRequestMetrics.Field;
+import com.amazonaws.util.AWSRequestMetricsFullSupport;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+
+public class ByteArrayPoolTest {
+
+    @Test
+    public void acquire_RoundsUpToSizeClass() {
+        ByteArrayPool pool = new ByteArrayPool(true, 4);
+
+        assertEquals(1024, pool.acquire(1).length);
+        assertEquals(4096, pool.acquire(4096).length);
+        assertEquals(8192, pool.acquire(5000).length);
+        assertEquals(128 * 1024, pool.acquire(128 * 1024).length);
+        assertEquals(128 * 1024 + 1, pool.acquire(128 * 1024 + 1).length);
+        assertEquals(5, pool.getAllocationCount());
+    }
+
+    @Test
+    public void releasedBuffer_ReusedBySameThread() {
+        ByteArrayPool pool = new ByteArrayPool(true, 4);
+        byte[] buffer = pool.acquire(4096);
+        pool.release(buffer);
+
+        assertSame(buffer, pool.acquire(4096));
+        assertNotSame(buffer, pool.acquire(4096));
+        assertEquals(2, pool.getAllocationCount());
+        assertEquals(8192, pool.getAllocatedBytes());
+        assertEquals(1, pool.getReuseCount());
+    }
+
+    @Test
+    public void releasedBuffer_ReusedByOtherThreads() throws InterruptedException {
+        final ByteArrayPool pool = new ByteArrayPool(true, 4);
+        // Large buffers are not cached per thread
+        final byte[] buffer = pool.acquire(64 * 1024);
+        pool.release(buffer);
+
+        final AtomicReference<byte[]> acquired = new AtomicReference<byte[]>();
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                acquired.set(pool.acquire(64 * 1024));
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertSame(buffer, acquired.get());
+    }
+
+    @Test
+    public void release_BoundedPerSizeClass() {
+        ByteArrayPool pool = new ByteArrayPool(true, 1);
+        pool.release(new byte[64 * 1024]);
+        pool.release(new byte[64 * 1024]);
+
+        pool.acquire(64 * 1024);
+        pool.acquire(64 * 1024);
+        assertEquals(1, pool.getReuseCount());
+        assertEquals(1, pool.getAllocationCount());
+    }
+
+    @Test
+    public void release_IgnoresBuffersOutsideSizeClasses() {
+        ByteArrayPool pool = new ByteArrayPool(true, 4);
+        byte[] buffer = new byte[3000];
+        pool.release(buffer);
+
+        assertNotSame(buffer, pool.acquire(3000));
+        assertEquals(0, pool.getReuseCount());
+    }
+
+    @Test
+    public void disabledPool_AlwaysAllocates() {
+        ByteArrayPool pool = new ByteArrayPool(false, 4);
+        byte[] buffer = pool.acquire(4096);
+        pool.release(buffer);
+
+        assertNotSame(buffer, pool.acquire(4096));
+        assertEquals(2, pool.getAllocationCount());
+    }
+
+    @Test
+    public void disable_StopsPooling() {
+        ByteArrayPool pool = new ByteArrayPool(true, 4);
+        byte[] buffer = pool.acquire(4096);
+        pool.disable();
+        pool.release(buffer);
+
+        assertNotSame(buffer, pool.acquire(4096));
+        assertEquals(0, pool.getReuseCount());
+    }
+
+    @Test
+    public void recordMetrics_RecordsChangesSincePreviousRecord() {
+        ByteArrayPool pool = new ByteArrayPool(true, 4);
+        pool.release(pool.acquire(4096));
+        pool.acquire(4096);
+
+        AWSRequestMetrics first = new AWSRequestMetricsFullSupport();
+        pool.recordMetrics(first);
+        assertEquals(1L, first.getTimingInfo().getCounter(Field.BufferPoolAllocationCount.name()));
+        assertEquals(4096L, first.getTimingInfo().getCounter(Field.BufferPoolAllocatedBytes.name()));
+        assertEquals(1L, first.getTimingInfo().getCounter(Field.BufferPoolReuseCount.name()));
+
+        pool.acquire(1024);
+        AWSRequestMetrics second = new AWSRequestMetricsFullSupport();
+        pool.recordMetrics(second);
+        assertEquals(1L, second.getTimingInfo().getCounter(Field.BufferPoolAllocationCount.name()));
+        assertEquals(1024L, second.getTimingInfo().getCounter(Field.BufferPoolAllocatedBytes.name()));
+        assertNull(second.getTimingInfo().getCounter(Field.BufferPoolReuseCount.name()));
+    }
+}
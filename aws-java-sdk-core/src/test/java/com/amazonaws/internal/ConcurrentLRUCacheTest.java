@@ -0,0 +1,92 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+public class ConcurrentLRUCacheTest {
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        ConcurrentLRUCache<String, String> cache = new ConcurrentLRUCache<String, String>(3);
+        cache.put("k1", "v1");
+        assertEquals("v1", cache.put("k1", "v11"));
+        cache.put("k2", "v2");
+        cache.put("k3", "v3");
+        assertEquals(3, cache.size());
+
+        // k1 was added first but is still in use
+        assertEquals("v11", cache.get("k1"));
+        cache.put("k4", "v4");
+        assertEquals(3, cache.size());
+        assertNull(cache.get("k2"));
+        assertEquals("v11", cache.get("k1"));
+        assertEquals("v3", cache.get("k3"));
+        assertEquals("v4", cache.get("k4"));
+    }
+
+    @Test
+    public void newEntry_NotEvictedWhenTiedWithReadEntries() {
+        ConcurrentLRUCache<String, String> cache = new ConcurrentLRUCache<String, String>(1);
+        cache.put("k1", "v1");
+        cache.get("k1");
+        cache.put("k2", "v2");
+        assertEquals(1, cache.size());
+        assertNull(cache.get("k1"));
+        assertEquals("v2", cache.get("k2"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroSize_Rejected() {
+        new ConcurrentLRUCache<String, String>(0);
+    }
+
+    @Test
+    public void concurrentPuts_StayWithinMaxSize() throws Exception {
+        final ConcurrentLRUCache<Integer, Integer> cache = new ConcurrentLRUCache<Integer, Integer>(50);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < 8; t++) {
+                final int offset = t * 1000;
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        for (int i = 0; i < 1000; i++) {
+                            cache.put(offset + i, i);
+                            cache.get(offset + i / 2);
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(50, cache.size());
+    }
+}
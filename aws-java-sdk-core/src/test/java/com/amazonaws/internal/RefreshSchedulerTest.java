@@ -0,0 +1,175 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.amazonaws.SdkClientException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+
+public class RefreshSchedulerTest {
+
+    private final RefreshScheduler scheduler = new RefreshScheduler(2, 2);
+
+    @After
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void refreshes_BoundedToMaxConcurrentRefreshes() throws Exception {
+        final AtomicInteger entered = new AtomicInteger();
+        final CountDownLatch twoEntered = new CountDownLatch(2);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Callable<String> refresh = new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                entered.incrementAndGet();
+                twoEntered.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return "refreshed";
+            }
+        };
+
+        Thread first = startRefresh(refresh);
+        Thread second = startRefresh(refresh);
+        assertTrue(twoEntered.await(5, TimeUnit.SECONDS));
+        assertEquals(2, scheduler.getActiveRefreshCount());
+
+        Thread third = startRefresh(refresh);
+        awaitWaiting(third);
+        assertEquals(2, entered.get());
+
+        release.countDown();
+        first.join(5000);
+        second.join(5000);
+        third.join(5000);
+
+        assertEquals(3, entered.get());
+        assertEquals(3, scheduler.getRefreshCount());
+        assertEquals(0, scheduler.getActiveRefreshCount());
+    }
+
+    @Test
+    public void nestedRefresh_DoesNotWaitForAnotherPermit() throws Exception {
+        final RefreshScheduler single = new RefreshScheduler(1, 1);
+        try {
+            String result = single.refresh(new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    return single.refresh(new Callable<String>() {
+                        @Override
+                        public String call() {
+                            return "chained";
+                        }
+                    });
+                }
+            });
+            assertEquals("chained", result);
+            assertEquals(2, single.getRefreshCount());
+            assertEquals(0, single.getActiveRefreshCount());
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    public void failedRefresh_CountedAndPermitReleased() throws Exception {
+        try {
+            scheduler.refresh(new Callable<String>() {
+                @Override
+                public String call() {
+                    throw new SdkClientException("STS unavailable");
+                }
+            });
+            fail("Expected the refresh to fail");
+        } catch (SdkClientException expected) {
+        }
+
+        assertEquals(1, scheduler.getRefreshCount());
+        assertEquals(1, scheduler.getRefreshFailureCount());
+        assertEquals(0, scheduler.getActiveRefreshCount());
+    }
+
+    @Test
+    public void scheduledTasks_RunOnSharedDaemonThreads() throws Exception {
+        final CountDownLatch ran = new CountDownLatch(1);
+        final boolean[] daemon = new boolean[1];
+        scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                daemon[0] = Thread.currentThread().isDaemon();
+                ran.countDown();
+            }
+        }, 1, TimeUnit.MILLISECONDS);
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        assertTrue(daemon[0]);
+    }
+
+    @Test
+    public void cancelledTask_RemovedFromQueue() {
+        ScheduledFuture<?> task = scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+            }
+        }, 1, TimeUnit.HOURS);
+        assertEquals(1, scheduler.getQueuedTaskCount());
+
+        task.cancel(false);
+        assertEquals(0, scheduler.getQueuedTaskCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noConcurrentRefreshes_Rejected() {
+        new RefreshScheduler(1, 0);
+    }
+
+    private Thread startRefresh(final Callable<String> refresh) {
+        Thread caller = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    scheduler.refresh(refresh);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        caller.start();
+        return caller;
+    }
+
+    /**
+     * Waits for the given thread to park, i.e. block on a refresh permit.
+     */
+    private static void awaitWaiting(Thread thread) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING) {
+            if (System.nanoTime() > deadline) {
+                fail("Expected " + thread.getName() + " to wait for a refresh permit");
+            }
+            Thread.yield();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2015-2018 Amazon Technologies, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *    http://aws.amazon.com/apache2.0
+ *
+ * This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.amazonaws.internal;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.security.SecureRandom;
+import javax.net.ssl.SSLContext;
+import org.junit.Test;
+
+public class SdkSSLContextTest {
+
+    @Test
+    public void sharedContext_SameForAllCallers() {
+        SSLContext first = SdkSSLContext.getSharedSSLContext();
+        SSLContext second = SdkSSLContext.getSharedSSLContext();
+
+        assertSame(first, second);
+        assertSame(first.getClientSessionContext(), second.getClientSessionContext());
+    }
+
+    @Test
+    public void preferredContext_NotTheSharedOne() {
+        assertNotSame(SdkSSLContext.getSharedSSLContext(), SdkSSLContext.getPreferredSSLContext(new SecureRandom()));
+    }
+
+    @Test
+    public void preferredContext_NotShared() {
+        SecureRandom secureRandom = new SecureRandom();
+
+        assertNotSame(SdkSSLContext.getPreferredSSLContext(secureRandom),
+                      SdkSSLContext.getPreferredSSLContext(secureRandom));
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.protocol.json;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.junit.Assert.assertEquals;
+
+import com.amazonaws.AmazonWebServiceResponse;
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.Request;
+import com.amazonaws.http.AmazonHttpClient;
+import com.amazonaws.http.HttpMethodName;
+import com.amazonaws.http.HttpResponseHandler;
+import com.amazonaws.transform.JsonUnmarshallerContext;
+import com.amazonaws.transform.Unmarshaller;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.ByteArrayInputStream;
+import org.junit.Test;
+import utils.http.WireMockTestBase;
+
+/**
+ * Calls a local stand-in for a CBOR service that, like many local stand-ins, only speaks JSON.
+ */
+public class JsonProtocolStandInCompatibilityTest extends WireMockTestBase {
+
+    private static final String JSON_CONTENT_TYPE = "application/x-amz-json-1.1";
+    private static final String CBOR_CONTENT_TYPE = "application/x-amz-cbor-1.1";
+
+    private final SdkJsonProtocolFactory cborProtocolFactory = new SdkJsonProtocolFactory(
+            new JsonClientMetadata().withSupportsCbor(true).withProtocolVersion("1.1"));
+
+    @Test
+    public void binaryProtocolDisabled_RoundTripsJsonWithStandIn() throws Exception {
+        stubFor(post(urlEqualTo("/")).withHeader("Content-Type", equalTo(JSON_CONTENT_TYPE))
+                                     .willReturn(aResponse().withStatus(200)
+                                                            .withBody("{\"Value\":\"pong\",\"Count\":3}")));
+        SdkJsonProtocolFactory protocolFactory = cborProtocolFactory.withBinaryProtocol(
+                new ClientConfiguration().withBinaryProtocol(false).useBinaryProtocol());
+
+        assertEquals("pong:3", execute(protocolFactory));
+        verify(postRequestedFor(urlEqualTo("/")).withRequestBody(equalTo("{\"Value\":\"ping\"}")));
+    }
+
+    @Test
+    public void binaryProtocolEnabled_SendsCbor() throws Exception {
+        stubFor(post(urlEqualTo("/")).willReturn(aResponse().withStatus(200)));
+
+        execute(cborProtocolFactory);
+        verify(postRequestedFor(urlEqualTo("/")).withHeader("Content-Type", equalTo(CBOR_CONTENT_TYPE)));
+    }
+
+    private String execute(SdkJsonProtocolFactory protocolFactory) throws Exception {
+        StructuredJsonGenerator generator = protocolFactory.createGenerator();
+        generator.writeStartObject().writeFieldName("Value").writeValue("ping").writeEndObject();
+        byte[] content = generator.getBytes();
+
+        Request<?> request = newRequest("/");
+        request.setHttpMethod(HttpMethodName.POST);
+        request.addHeader("Content-Type", protocolFactory.getContentType());
+        request.addHeader("Content-Length", String.valueOf(content.length));
+        request.setContent(new ByteArrayInputStream(content));
+
+        HttpResponseHandler<AmazonWebServiceResponse<String>> responseHandler = protocolFactory.createResponseHandler(
+                new JsonOperationMetadata().withPayloadJson(true), new ValueAndCountUnmarshaller());
+        AmazonHttpClient client = new AmazonHttpClient(new ClientConfiguration());
+        try {
+            return client.requestExecutionBuilder()
+                         .request(request)
+                         .errorResponseHandler(stubErrorHandler())
+                         .execute(responseHandler)
+                         .getAwsResponse()
+                         .getResult();
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    private static class ValueAndCountUnmarshaller implements Unmarshaller<String, JsonUnmarshallerContext> {
+        @Override
+        public String unmarshall(JsonUnmarshallerContext context) throws Exception {
+            String value = null;
+            Integer count = null;
+            for (JsonToken token = context.nextToken(); token != null; token = context.nextToken()) {
+                if (token != JsonToken.FIELD_NAME) {
+                    continue;
+                }
+                if (context.testExpression("Value", 1)) {
+                    context.nextToken();
+                    value = context.readText();
+                } else if (context.testExpression("Count", 1)) {
+                    context.nextToken();
+                    count = context.readInteger();
+                }
+            }
+            return value + ":" + count;
+        }
+    }
+}
@@ -16,7 +16,9 @@ package com.amazonaws.protocol.json;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
+import com.amazonaws.util.BinaryUtils;
 import org.junit.Test;
 
 public class SdkJsonProtocolFactoryTest {
@@ -38,6 +40,20 @@ public class SdkJsonProtocolFactoryTest {
         assertArrayEquals(expected, actual);
     }
 
+    @Test
+    public void byteBufferMatchesBytesForJson() {
+        StructuredJsonGenerator generator = protocolFactory(IonEnabled.NO, IonBinaryEnabled.NO).createGenerator();
+        generator.writeStartObject().writeFieldName("key").writeValue("value").writeEndObject();
+        assertArrayEquals(generator.getBytes(), BinaryUtils.copyBytesFrom(generator.getByteBuffer()));
+    }
+
+    @Test
+    public void byteBufferMatchesBytesForIonBinary() {
+        StructuredJsonGenerator generator = protocolFactory(IonEnabled.YES, IonBinaryEnabled.YES).createGenerator();
+        generator.writeValue(true);
+        assertArrayEquals(bytes(0xE0, 0x01, 0x00, 0xEA, 0x11), BinaryUtils.copyBytesFrom(generator.getByteBuffer()));
+    }
+
     @Test
     public void ionBinaryEnabledUsesIonBinaryContentType() {
         SdkJsonProtocolFactory protocolFactory = protocolFactory(IonEnabled.YES, IonBinaryEnabled.YES);
@@ -50,6 +66,33 @@ public class SdkJsonProtocolFactoryTest {
         assertEquals("text/x-amz-ion-1.0", protocolFactory.getContentType());
     }
 
+    @Test
+    public void binaryProtocolDisabledUsesJsonForCborServices() throws Exception {
+        SdkJsonProtocolFactory protocolFactory = new SdkJsonProtocolFactory(
+                new JsonClientMetadata().withSupportsCbor(true).withProtocolVersion("1.1")).withBinaryProtocol(false);
+        assertEquals("application/x-amz-json-1.1", protocolFactory.getContentType());
+
+        StructuredJsonGenerator generator = protocolFactory.createGenerator();
+        generator.writeValue(true);
+        assertArrayEquals("true".getBytes("UTF-8"), generator.getBytes());
+    }
+
+    @Test
+    public void binaryProtocolDisabledUsesIonTextForIonServices() {
+        SdkJsonProtocolFactory protocolFactory = new SdkJsonProtocolFactory(
+                new JsonClientMetadata().withSupportsIon(true).withProtocolVersion("1.0")).withBinaryProtocol(false);
+        assertEquals("text/x-amz-ion-1.0", protocolFactory.getContentType());
+    }
+
+    @Test
+    public void withBinaryProtocolReturnsSameFactoryWhenNothingChanges() {
+        SdkJsonProtocolFactory cborFactory = new SdkJsonProtocolFactory(new JsonClientMetadata().withSupportsCbor(true));
+        assertSame(cborFactory, cborFactory.withBinaryProtocol(true));
+
+        SdkJsonProtocolFactory jsonFactory = new SdkJsonProtocolFactory(new JsonClientMetadata());
+        assertSame(jsonFactory, jsonFactory.withBinaryProtocol(false));
+    }
+
     private SdkJsonProtocolFactory protocolFactory(IonEnabled ionEnabled, final IonBinaryEnabled ionBinaryEnabled) {
         JsonClientMetadata metadata = new JsonClientMetadata()
                 .withSupportsIon(ionEnabled == IonEnabled.YES)
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *    http://aws.amazon.com/apache2.0
+ *
+ * This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.amazonaws.retry.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.amazonaws.auth.SdkClock;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ClientSideRateLimiterTest {
+
+    private MutableClock clock;
+    private ClientSideRateLimiter rateLimiter;
+
+    @Before
+    public void setup() {
+        clock = new MutableClock();
+        rateLimiter = new ClientSideRateLimiter(clock);
+    }
+
+    @Test
+    public void notThrottled_DoesNotLimit() {
+        sendSuccessfully(20, 100);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, rateLimiter.acquireNonBlocking(1));
+        }
+        assertEquals(-1, rateLimiter.getSendingRate(), 0);
+    }
+
+    @Test
+    public void throttlingResponse_ReducesRateBelowMeasuredRate() {
+        sendSuccessfully(40, 100);
+        double measuredRate = rateLimiter.getMeasuredSendingRate();
+        assertTrue(measuredRate > 5);
+
+        rateLimiter.updateSendingRate(true);
+
+        double sendingRate = rateLimiter.getSendingRate();
+        assertTrue(sendingRate > 0);
+        assertTrue(sendingRate < measuredRate);
+    }
+
+    @Test
+    public void throttled_RequestsAboveRateMustWait() {
+        sendSuccessfully(40, 100);
+        rateLimiter.updateSendingRate(true);
+
+        long totalDelay = 0;
+        for (int i = 0; i < 20; i++) {
+            totalDelay += rateLimiter.acquireNonBlocking(1);
+        }
+        assertTrue(totalDelay > 0);
+    }
+
+    @Test
+    public void successfulResponses_IncreaseRateAfterThrottling() {
+        sendSuccessfully(40, 100);
+        rateLimiter.updateSendingRate(true);
+        double throttledRate = rateLimiter.getSendingRate();
+
+        sendSuccessfully(40, 100);
+
+        assertTrue(rateLimiter.getSendingRate() > throttledRate);
+    }
+
+    @Test
+    public void repeatedThrottling_NeverDropsBelowMinimumRate() {
+        rateLimiter.updateSendingRate(true);
+        for (int i = 0; i < 50; i++) {
+            clock.advance(10);
+            rateLimiter.updateSendingRate(true);
+        }
+        assertEquals(0.5, rateLimiter.getSendingRate(), 0);
+    }
+
+    private void sendSuccessfully(int count, long intervalMillis) {
+        for (int i = 0; i < count; i++) {
+            clock.advance(intervalMillis);
+            rateLimiter.updateSendingRate(false);
+        }
+    }
+
+    private static class MutableClock implements SdkClock {
+        private long time = 1000000L;
+
+        @Override
+        public long currentTimeMillis() {
+            return time;
+        }
+
+        void advance(long millis) {
+            time += millis;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *    http://aws.amazon.com/apache2.0
+ *
+ * This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.amazonaws.retry.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.amazonaws.auth.SdkClock;
+import com.amazonaws.retry.internal.EndpointCircuitBreaker.State;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EndpointCircuitBreakerTest {
+
+    private static final long OPEN_DURATION = 1000;
+
+    private MutableClock clock;
+    private EndpointCircuitBreaker breaker;
+
+    @Before
+    public void setup() {
+        clock = new MutableClock();
+        breaker = new EndpointCircuitBreaker("endpoint", 10, 4, 50, OPEN_DURATION, 2, clock);
+    }
+
+    @Test
+    public void failuresBelowMinimumAttempts_DoNotOpen() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(breaker.tryAcquirePermission());
+            assertNull(breaker.onFailure());
+        }
+        assertEquals(State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void failureRateBelowThreshold_StaysClosed() {
+        for (int i = 0; i < 20; i++) {
+            breaker.onSuccess();
+            breaker.onSuccess();
+            assertNull(breaker.onFailure());
+        }
+        assertEquals(State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void failureRateAtThreshold_OpensAndRejects() {
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure();
+        assertEquals(State.OPEN, breaker.onFailure());
+
+        assertFalse(breaker.tryAcquirePermission());
+        clock.advance(OPEN_DURATION - 1);
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    public void oldOutcomes_SlideOutOfWindow() {
+        for (int i = 0; i < 20; i++) {
+            breaker.onSuccess();
+        }
+        for (int i = 0; i < 4; i++) {
+            assertNull(breaker.onFailure());
+        }
+        assertEquals(State.OPEN, breaker.onFailure());
+    }
+
+    @Test
+    public void afterOpenDuration_HalfOpensAndClosesWhenProbesSucceed() {
+        trip();
+        clock.advance(OPEN_DURATION);
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+
+        assertNull(breaker.onSuccess());
+        assertEquals(State.CLOSED, breaker.onSuccess());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    public void failedProbe_ReopensBreaker() {
+        trip();
+        clock.advance(OPEN_DURATION);
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(State.OPEN, breaker.onFailure());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    public void unreportedProbes_AreReissuedAfterOpenDuration() {
+        trip();
+        clock.advance(OPEN_DURATION);
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+
+        clock.advance(OPEN_DURATION);
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(State.HALF_OPEN, breaker.getState());
+    }
+
+    @Test
+    public void successesAfterClosing_RecordedInFreshWindow() {
+        for (int i = 0; i < 10; i++) {
+            breaker.onSuccess();
+        }
+        for (int i = 0; i < 4; i++) {
+            assertNull(breaker.onFailure());
+        }
+        assertEquals(State.OPEN, breaker.onFailure());
+        clock.advance(OPEN_DURATION);
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onSuccess();
+        assertEquals(State.CLOSED, breaker.onSuccess());
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertNull(breaker.onFailure());
+        assertEquals(State.OPEN, breaker.onFailure());
+    }
+
+    private void trip() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    private static class MutableClock implements SdkClock {
+        private long time = 1000000L;
+
+        @Override
+        public long currentTimeMillis() {
+            return time;
+        }
+
+        void advance(long millis) {
+            time += millis;
+        }
+    }
+}
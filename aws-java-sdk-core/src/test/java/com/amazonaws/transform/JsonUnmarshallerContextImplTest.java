@@ -0,0 +1,102 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.transform;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.amazonaws.protocol.json.SdkStructuredPlainJsonFactory;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import org.junit.Test;
+
+public class JsonUnmarshallerContextImplTest {
+
+    @Test
+    public void testExpression_MatchesFieldAtDepth() throws IOException {
+        JsonUnmarshallerContext context = contextFor("{\"Outer\":{\"Inner\":1}}");
+
+        advanceToField(context, "Outer");
+        assertTrue(context.testExpression("Outer", 1));
+        assertTrue(context.testExpression(new String("Outer"), 1));
+        assertFalse(context.testExpression("Outer", 2));
+        assertFalse(context.testExpression("Inner", 1));
+
+        advanceToField(context, "Inner");
+        assertTrue(context.testExpression("Inner", 2));
+        assertEquals("Inner", context.getCurrentParentElement());
+        assertEquals("/Outer/Inner", context.toString());
+    }
+
+    @Test
+    public void typedReads_ReadNumbersAndBooleansFromTokens() throws Exception {
+        JsonUnmarshallerContext context = contextFor(
+                "{\"int\":42,\"long\":1500000000000,\"double\":1.5,\"float\":2.25,\"bool\":true,\"null\":null}");
+
+        advanceToValueOf(context, "int");
+        assertEquals(Integer.valueOf(42), SimpleTypeJsonUnmarshallers.IntegerJsonUnmarshaller.getInstance().unmarshall(context));
+        advanceToValueOf(context, "long");
+        assertEquals(Long.valueOf(1500000000000L), SimpleTypeJsonUnmarshallers.LongJsonUnmarshaller.getInstance().unmarshall(context));
+        advanceToValueOf(context, "double");
+        assertEquals(Double.valueOf(1.5), SimpleTypeJsonUnmarshallers.DoubleJsonUnmarshaller.getInstance().unmarshall(context));
+        advanceToValueOf(context, "float");
+        assertEquals(Float.valueOf(2.25f), SimpleTypeJsonUnmarshallers.FloatJsonUnmarshaller.getInstance().unmarshall(context));
+        advanceToValueOf(context, "bool");
+        assertEquals(Boolean.TRUE, SimpleTypeJsonUnmarshallers.BooleanJsonUnmarshaller.getInstance().unmarshall(context));
+        advanceToValueOf(context, "null");
+        assertNull(SimpleTypeJsonUnmarshallers.IntegerJsonUnmarshaller.getInstance().unmarshall(context));
+    }
+
+    @Test
+    public void readFloat_RoundsDecimalOnce() throws IOException {
+        JsonUnmarshallerContext context = contextFor("{\"float\":1.00000017881393432617187499}");
+
+        advanceToValueOf(context, "float");
+        assertEquals(Float.valueOf(1.0000001f), context.readFloat());
+    }
+
+    @Test
+    public void typedReads_FallBackToTextForStringValues() throws IOException {
+        JsonUnmarshallerContext context = contextFor("{\"int\":\"7\",\"bool\":\"false\"}");
+
+        advanceToValueOf(context, "int");
+        assertEquals(Integer.valueOf(7), context.readInteger());
+        advanceToValueOf(context, "bool");
+        assertEquals(Boolean.FALSE, context.readBoolean());
+    }
+
+    private static JsonUnmarshallerContext contextFor(String json) throws IOException {
+        return new JsonUnmarshallerContextImpl(new JsonFactory().createParser(json),
+                                               SdkStructuredPlainJsonFactory.JSON_SCALAR_UNMARSHALLERS,
+                                               null);
+    }
+
+    private static void advanceToField(JsonUnmarshallerContext context, String field) throws IOException {
+        while (true) {
+            JsonToken token = context.nextToken();
+            if (token == JsonToken.FIELD_NAME && field.equals(context.getCurrentParentElement())) {
+                return;
+            }
+        }
+    }
+
+    private static void advanceToValueOf(JsonUnmarshallerContext context, String field) throws IOException {
+        advanceToField(context, field);
+        context.nextToken();
+    }
+}
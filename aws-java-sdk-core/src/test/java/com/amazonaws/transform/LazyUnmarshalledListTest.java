@@ -0,0 +1,351 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.transform;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.amazonaws.SdkClientException;
+import com.amazonaws.internal.SdkInternalList;
+import com.amazonaws.protocol.json.SdkStructuredPlainJsonFactory;
+import com.amazonaws.util.XmlUtils;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import javax.xml.stream.events.XMLEvent;
+import org.junit.Test;
+
+public class LazyUnmarshalledListTest {
+
+    private static final String JSON =
+            "{\"Items\":[{\"Name\":\"first\"},{\"Name\":\"second\",\"Tags\":[\"a\"]},null,{\"Name\":\"fourth\"}]," +
+            "\"After\":\"done\"}";
+
+    @Test
+    public void jsonList_UnmarshallsOnlyAccessedElements() throws Exception {
+        CountingNameUnmarshaller itemUnmarshaller = new CountingNameUnmarshaller();
+        JsonUnmarshallerContextImpl context = jsonContextFor(JSON, true);
+
+        advanceToValueOf(context, "Items");
+        List<String> items = new ListUnmarshaller<String>(itemUnmarshaller).unmarshall(context);
+        assertTrue(items instanceof LazyUnmarshalledList);
+        assertEquals(0, itemUnmarshaller.calls);
+
+        // The outer context carries on after the list
+        advanceToValueOf(context, "After");
+        assertEquals("done", context.readText());
+
+        assertEquals(4, items.size());
+        assertEquals("second", items.get(1));
+        assertEquals("second", items.get(1));
+        assertNull(items.get(2));
+        assertEquals(1, itemUnmarshaller.calls);
+
+        Iterator<String> iterator = items.iterator();
+        assertEquals("first", iterator.next());
+        assertEquals(2, itemUnmarshaller.calls);
+
+        assertEquals(Arrays.asList("first", "second", null, "fourth"), items);
+        assertEquals(3, itemUnmarshaller.calls);
+    }
+
+    @Test
+    public void jsonList_EagerWhenDisabledOrScalar() throws Exception {
+        JsonUnmarshallerContextImpl context = jsonContextFor(JSON, false);
+        advanceToValueOf(context, "Items");
+        List<String> items = new ListUnmarshaller<String>(new CountingNameUnmarshaller()).unmarshall(context);
+        assertFalse(items instanceof LazyUnmarshalledList);
+        assertEquals(Arrays.asList("first", "second", null, "fourth"), items);
+
+        context = jsonContextFor("{\"Items\":[\"a\",\"b\"]}", true);
+        advanceToValueOf(context, "Items");
+        items = new ListUnmarshaller<String>(SimpleTypeJsonUnmarshallers.StringJsonUnmarshaller.getInstance())
+                .unmarshall(context);
+        assertFalse(items instanceof LazyUnmarshalledList);
+        assertEquals(Arrays.asList("a", "b"), items);
+    }
+
+    @Test
+    public void listOperations_BehaveLikeArrayList() throws Exception {
+        LazyUnmarshalledList<String> items = lazyJsonItems();
+
+        items.add("fifth");
+        assertEquals(5, items.size());
+        assertEquals("fifth", items.get(4));
+        assertEquals(Arrays.asList("first", "second", null, "fourth", "fifth"), new ArrayList<String>(items));
+        assertEquals("[first, second, null, fourth, fifth]", items.toString());
+
+        items.clear();
+        assertTrue(items.isEmpty());
+        assertFalse(items.iterator().hasNext());
+    }
+
+    @Test
+    public void forEach_SeesPendingElements() throws Exception {
+        LazyUnmarshalledList<String> items = lazyJsonItems();
+
+        final List<String> visited = new ArrayList<String>();
+        items.forEach(new Consumer<String>() {
+            @Override
+            public void accept(String item) {
+                visited.add(item);
+            }
+        });
+        assertEquals(Arrays.asList("first", "second", null, "fourth"), visited);
+    }
+
+    @Test
+    public void stream_SeesPendingElements() throws Exception {
+        LazyUnmarshalledList<String> items = lazyJsonItems();
+
+        assertEquals(4, items.stream().count());
+        assertEquals(Arrays.asList("first", "second", null, "fourth"),
+                     items.stream().collect(Collectors.<String>toList()));
+    }
+
+    @Test
+    public void removeIf_SeesPendingElements() throws Exception {
+        LazyUnmarshalledList<String> items = lazyJsonItems();
+
+        assertTrue(items.removeIf(new Predicate<String>() {
+            @Override
+            public boolean test(String item) {
+                return item == null || item.startsWith("f");
+            }
+        }));
+        assertEquals(Arrays.asList("second"), items);
+    }
+
+    @Test
+    public void sort_SeesPendingElements() throws Exception {
+        LazyUnmarshalledList<String> items = lazyJsonItems();
+        items.remove(2);
+
+        items.sort(null);
+        assertEquals(Arrays.asList("first", "fourth", "second"), items);
+    }
+
+    @Test
+    public void iteratorRemove_RemovesElement() throws Exception {
+        LazyUnmarshalledList<String> items = lazyJsonItems();
+
+        Iterator<String> iterator = items.iterator();
+        iterator.next();
+        iterator.remove();
+        assertEquals("second", iterator.next());
+        assertEquals(Arrays.asList("second", null, "fourth"), items);
+    }
+
+    @Test
+    public void appendLazily_KeepsExistingElements() throws Exception {
+        List<String> existing = new ArrayList<String>(Arrays.asList("zero"));
+        StaxUnmarshallerContext context = staxContextFor("<Items><Item><Name>one</Name></Item></Items>");
+        advanceToStartOf(context, "Item");
+
+        LazyUnmarshalledList<String> items = LazyUnmarshalledList.appendLazily(
+                existing, new StaxNameUnmarshaller(), context.bufferCurrentElement());
+        assertEquals(Arrays.asList("zero", "one"), items);
+        assertEquals(items, LazyUnmarshalledList.appendLazily(items, new StaxNameUnmarshaller(), bufferedItem("two")));
+        assertEquals(Arrays.asList("zero", "one", "two"), items);
+    }
+
+    @Test
+    public void claim_OnlySucceedsOnce() throws Exception {
+        LazyUnmarshalledList<String> items = lazyJsonItems();
+
+        assertFalse(SdkInternalList.isAutoConstruct(items));
+        assertFalse(LazyUnmarshalledList.claim(new SdkInternalList<String>()));
+        assertFalse(LazyUnmarshalledList.claim(null));
+        assertTrue(LazyUnmarshalledList.claim(items));
+        assertFalse(LazyUnmarshalledList.claim(items));
+    }
+
+    @Test
+    public void unmarshallingFailure_ThrowsFromAccessor() throws Exception {
+        LazyUnmarshalledList<String> items = new LazyUnmarshalledList<String>();
+        items.addLazily(new Unmarshaller<String, JsonUnmarshallerContext>() {
+            @Override
+            public String unmarshall(JsonUnmarshallerContext context) throws Exception {
+                throw new IllegalArgumentException("bad element");
+            }
+        }, null);
+
+        assertEquals(1, items.size());
+        try {
+            items.get(0);
+            fail("Expected an SdkClientException");
+        } catch (SdkClientException e) {
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+    }
+
+    @Test
+    public void staxBufferCurrentElement_ReplaysElementAndSkipsItInOuterContext() throws Exception {
+        StaxUnmarshallerContext context = staxContextFor(
+                "<Response><Items><Item><Name>first</Name></Item><Item><Name>second</Name></Item></Items>" +
+                "<RequestId>abc</RequestId></Response>");
+
+        advanceToStartOf(context, "Item");
+        StaxUnmarshallerContext first = context.bufferCurrentElement();
+        assertEquals(2, context.getCurrentDepth());
+
+        advanceToStartOf(context, "Item");
+        StaxUnmarshallerContext second = context.bufferCurrentElement();
+
+        advanceToStartOf(context, "RequestId");
+        assertTrue(context.testExpression("Response/RequestId", 1));
+        assertEquals("abc", context.readText());
+
+        assertEquals("second", new StaxNameUnmarshaller().unmarshall(second));
+        assertEquals("first", new StaxNameUnmarshaller().unmarshall(first));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void staxBufferCurrentElement_RequiresStartElement() throws Exception {
+        StaxUnmarshallerContext context = staxContextFor("<a>text</a>");
+        advanceToStartOf(context, "a");
+        context.nextEvent();
+        context.bufferCurrentElement();
+    }
+
+    private static LazyUnmarshalledList<String> lazyJsonItems() throws Exception {
+        JsonUnmarshallerContextImpl context = jsonContextFor(JSON, true);
+        advanceToValueOf(context, "Items");
+        return (LazyUnmarshalledList<String>) new ListUnmarshaller<String>(new CountingNameUnmarshaller())
+                .unmarshall(context);
+    }
+
+    private static StaxUnmarshallerContext bufferedItem(String name) throws Exception {
+        StaxUnmarshallerContext context = staxContextFor("<Item><Name>" + name + "</Name></Item>");
+        advanceToStartOf(context, "Item");
+        return context.bufferCurrentElement();
+    }
+
+    private static JsonUnmarshallerContextImpl jsonContextFor(String json, boolean lazy) throws Exception {
+        JsonUnmarshallerContextImpl context = new JsonUnmarshallerContextImpl(
+                new JsonFactory().createParser(json), SdkStructuredPlainJsonFactory.JSON_SCALAR_UNMARSHALLERS, null);
+        context.setLazyListUnmarshallingEnabled(lazy);
+        return context;
+    }
+
+    private static void advanceToValueOf(JsonUnmarshallerContext context, String field) throws Exception {
+        while (true) {
+            JsonToken token = context.nextToken();
+            if (token == JsonToken.FIELD_NAME && context.testExpression(field, 1)) {
+                context.nextToken();
+                return;
+            }
+        }
+    }
+
+    private static StaxUnmarshallerContext staxContextFor(String xml) throws Exception {
+        return new StaxUnmarshallerContext(XmlUtils.getXmlInputFactory().createXMLEventReader(new StringReader(xml)));
+    }
+
+    private static void advanceToStartOf(StaxUnmarshallerContext context, String element) throws Exception {
+        while (true) {
+            XMLEvent event = context.nextEvent();
+            if (event.isStartElement() && event.asStartElement().getName().getLocalPart().equals(element)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reads the Name field of an object the way generated unmarshallers do, counting calls.
+     */
+    private static class CountingNameUnmarshaller implements Unmarshaller<String, JsonUnmarshallerContext> {
+        private int calls;
+
+        @Override
+        public String unmarshall(JsonUnmarshallerContext context) throws Exception {
+            calls++;
+            int originalDepth = context.getCurrentDepth();
+            String currentParentElement = context.getCurrentParentElement();
+            int targetDepth = originalDepth + 1;
+
+            JsonToken token = context.getCurrentToken();
+            if (token == null) {
+                token = context.nextToken();
+            }
+            if (token == JsonToken.VALUE_NULL) {
+                return null;
+            }
+
+            String name = null;
+            while (true) {
+                if (token == null) {
+                    break;
+                }
+                if (token == JsonToken.FIELD_NAME || token == JsonToken.START_OBJECT) {
+                    if (context.testExpression("Name", targetDepth)) {
+                        context.nextToken();
+                        name = context.readText();
+                    }
+                } else if (token == JsonToken.END_ARRAY || token == JsonToken.END_OBJECT) {
+                    if (context.getLastParsedParentElement() == null
+                            || context.getLastParsedParentElement().equals(currentParentElement)) {
+                        if (context.getCurrentDepth() <= originalDepth) {
+                            break;
+                        }
+                    }
+                }
+                token = context.nextToken();
+            }
+            return name;
+        }
+    }
+
+    /**
+     * Reads the Name child of an element the way generated unmarshallers do.
+     */
+    private static class StaxNameUnmarshaller implements Unmarshaller<String, StaxUnmarshallerContext> {
+        @Override
+        public String unmarshall(StaxUnmarshallerContext context) throws Exception {
+            int originalDepth = context.getCurrentDepth();
+            int targetDepth = originalDepth + 1;
+            if (context.isStartOfDocument()) {
+                targetDepth += 1;
+            }
+
+            String name = null;
+            while (true) {
+                XMLEvent event = context.nextEvent();
+                if (event.isEndDocument()) {
+                    return name;
+                }
+                if (event.isAttribute() || event.isStartElement()) {
+                    if (context.testExpression("Name", targetDepth)) {
+                        name = context.readText();
+                    }
+                } else if (event.isEndElement()) {
+                    if (context.getCurrentDepth() < originalDepth) {
+                        return name;
+                    }
+                }
+            }
+        }
+    }
+}
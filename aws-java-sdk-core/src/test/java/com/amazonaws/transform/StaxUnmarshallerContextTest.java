@@ -0,0 +1,120 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.transform;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.amazonaws.util.XmlUtils;
+import java.io.StringReader;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.XMLEvent;
+import org.junit.Test;
+
+public class StaxUnmarshallerContextTest {
+
+    private static final String XML =
+            "<Response>" +
+            "<Items><Item id=\"1\"><Name>first</Name></Item>" +
+            "<Item><Name>second</Name></Item></Items>" +
+            "<RequestId>abc</RequestId>" +
+            "</Response>";
+
+    @Test
+    public void testExpression_MatchesPathSuffixAtDepth() throws Exception {
+        StaxUnmarshallerContext context = contextFor(XML);
+
+        advanceToStartOf(context, "Items");
+        assertTrue(context.testExpression("Items", 2));
+        assertTrue(context.testExpression("Response/Items", 1));
+        assertFalse(context.testExpression("Items", 1));
+        assertFalse(context.testExpression("tems", 2));
+
+        advanceToStartOf(context, "Item");
+        assertTrue(context.testExpression("Items/Item", 2));
+        assertTrue(context.testExpression("Item"));
+    }
+
+    @Test
+    public void testExpression_MatchesAttributes() throws Exception {
+        StaxUnmarshallerContext context = contextFor(XML);
+
+        advanceToStartOf(context, "Item");
+        assertTrue(context.nextEvent().isAttribute());
+        assertTrue(context.testExpression("Item/@id", 3));
+        assertEquals("1", context.readText());
+    }
+
+    @Test
+    public void childrenOfAttributedElement_KeepAttributeInPath() throws Exception {
+        StaxUnmarshallerContext context = contextFor(XML);
+
+        advanceToStartOf(context, "Item");
+        assertTrue(context.nextEvent().isAttribute());
+        advanceToStartOf(context, "Name");
+        assertTrue(context.testExpression("Item/@id/Name", 3));
+        assertFalse(context.testExpression("Item/Name", 3));
+        assertEquals("first", context.readText());
+
+        // Leaving the attributed element drops the attribute from the path
+        advanceToStartOf(context, "Item");
+        assertTrue(context.testExpression("Items/Item", 2));
+        advanceToStartOf(context, "Name");
+        assertTrue(context.testExpression("Item/Name", 3));
+        assertEquals("second", context.readText());
+    }
+
+    @Test
+    public void endElement_RestoresParentPath() throws Exception {
+        StaxUnmarshallerContext context = contextFor(XML);
+
+        advanceToStartOf(context, "RequestId");
+        assertTrue(context.testExpression("Response/RequestId", 1));
+        assertEquals(2, context.getCurrentDepth());
+        assertEquals("abc", context.readText());
+    }
+
+    @Test
+    public void readText_ConcatenatesSplitCharacters() throws Exception {
+        StaxUnmarshallerContext context = contextFor("<a>one &amp; <![CDATA[two]]></a>");
+
+        advanceToStartOf(context, "a");
+        assertEquals("one & two", context.readText());
+    }
+
+    @Test
+    public void metadataExpression_CollectsElementText() throws Exception {
+        StaxUnmarshallerContext context = contextFor(XML);
+        context.registerMetadataExpression("Response/RequestId", 1, "requestId");
+
+        while (!context.nextEvent().isEndDocument()) {
+        }
+        assertEquals("abc", context.getMetadata().get("requestId"));
+    }
+
+    private static StaxUnmarshallerContext contextFor(String xml) throws XMLStreamException {
+        return new StaxUnmarshallerContext(XmlUtils.getXmlInputFactory().createXMLEventReader(new StringReader(xml)));
+    }
+
+    private static void advanceToStartOf(StaxUnmarshallerContext context, String element) throws XMLStreamException {
+        while (true) {
+            XMLEvent event = context.nextEvent();
+            if (event.isStartElement() && event.asStartElement().getName().getLocalPart().equals(element)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2011-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.Random;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.junit.Test;
+
+/**
+ * Checks the hand-rolled date formats against the Joda-Time formatters they shortcut.
+ */
+public class AwsDateFormatsTest {
+
+    /** 0000-01-01T00:00:00Z and 9999-12-31T23:59:59.999Z */
+    private static final long MIN_MILLIS = -62167219200000L;
+    private static final long MAX_MILLIS = 253402300799999L;
+
+    private static final DateTimeFormatter DATE_STAMP_FORMAT = DateTimeFormat.forPattern("yyyyMMdd").withZoneUTC();
+
+    @Test
+    public void format_MatchesJodaTime() {
+        Random random = new Random(42);
+        long[] fixed = {0, -1, 1, MIN_MILLIS, MAX_MILLIS, 951782400000L, 4107542399999L, -2208988800001L};
+        for (long millis : fixed) {
+            assertFormatsMatch(millis);
+        }
+        for (int i = 0; i < 100000; i++) {
+            assertFormatsMatch(MIN_MILLIS + (long) (random.nextDouble() * (MAX_MILLIS - MIN_MILLIS)));
+        }
+    }
+
+    @Test
+    public void format_OutsideFourDigitYears_NotHandled() {
+        assertNull(AwsDateFormats.formatIso8601(MIN_MILLIS - 1));
+        assertNull(AwsDateFormats.formatRfc822(MAX_MILLIS + 1));
+        assertNull(AwsDateFormats.formatCompressedIso8601(MAX_MILLIS + 1));
+        assertNull(AwsDateFormats.formatDateStamp(MIN_MILLIS - 1));
+        assertEquals("292278994-08-17T07:12:55.807Z", DateUtils.formatISO8601Date(new Date(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void parse_MatchesJodaTime() {
+        Random random = new Random(7);
+        for (int i = 0; i < 100000; i++) {
+            long millis = MIN_MILLIS + (long) (random.nextDouble() * (MAX_MILLIS - MIN_MILLIS));
+            assertEquals(millis, AwsDateFormats.parseIso8601(DateUtils.iso8601DateFormat.print(millis)));
+            assertEquals(DateUtils.alternateIso8601DateFormat.parseMillis(DateUtils.alternateIso8601DateFormat.print(millis)),
+                         AwsDateFormats.parseIso8601(DateUtils.alternateIso8601DateFormat.print(millis)));
+            assertEquals(DateUtils.rfc822DateFormat.parseMillis(DateUtils.rfc822DateFormat.print(millis)),
+                         AwsDateFormats.parseRfc822(DateUtils.rfc822DateFormat.print(millis)));
+            assertEquals(DateUtils.compressedIso8601DateFormat.parseMillis(DateUtils.compressedIso8601DateFormat.print(millis)),
+                         AwsDateFormats.parseCompressedIso8601(DateUtils.compressedIso8601DateFormat.print(millis)));
+        }
+    }
+
+    @Test
+    public void parseIso8601_FractionsAndOffsets() {
+        String[] inputs = {
+                "2016-01-02T03:04:05.1Z",
+                "2016-01-02T03:04:05.12Z",
+                "2016-01-02T03:04:05.1239Z",
+                "2016-01-02T03:04:05.999999999Z",
+                "2016-01-02T03:04:05.123+05:30",
+                "2016-01-02T03:04:05.123-08:00",
+                "2016-02-29T23:59:59.999Z",
+                "0000-01-01T00:00:00.000Z",
+        };
+        for (String input : inputs) {
+            assertEquals(input, DateUtils.iso8601DateFormat.parseMillis(input), AwsDateFormats.parseIso8601(input));
+        }
+        assertEquals(DateUtils.alternateIso8601DateFormat.parseMillis("2016-01-02T03:04:05Z"),
+                     AwsDateFormats.parseIso8601("2016-01-02T03:04:05+0000"));
+    }
+
+    @Test
+    public void parse_NonCanonicalInput_NotHandled() {
+        String[] iso8601 = {
+                "2016-01-02T03:04:05",
+                "2016-01-02T03:04:05.Z",
+                "2016-01-02T03:04:05.1234567890Z",
+                "2016-01-02T03:04:05+05:30",
+                "2016-02-30T03:04:05Z",
+                "2016-01-02T24:00:00Z",
+                "2016-01-02T03:04:60Z",
+                "2016-01-02 03:04:05Z",
+                "2016-01-02T03:04:05.000Z.000Z",
+                "292278994-08-17T07:12:55.807Z",
+                "-0001-01-02T03:04:05Z",
+        };
+        for (String input : iso8601) {
+            assertEquals(input, AwsDateFormats.NOT_HANDLED, AwsDateFormats.parseIso8601(input));
+        }
+        String[] rfc822 = {
+                "Sat, 16 May 2014 23:56:46 GMT",
+                "fri, 16 May 2014 23:56:46 GMT",
+                "Fri, 16 may 2014 23:56:46 GMT",
+                "Fri, 6 May 2014 23:56:46 GMT",
+                "Fri, 16 May 2014 23:56:46 UTC",
+        };
+        for (String input : rfc822) {
+            assertEquals(input, AwsDateFormats.NOT_HANDLED, AwsDateFormats.parseRfc822(input));
+        }
+        assertEquals(AwsDateFormats.NOT_HANDLED, AwsDateFormats.parseCompressedIso8601("20160102T030405"));
+        assertEquals(AwsDateFormats.NOT_HANDLED, AwsDateFormats.parseCompressedIso8601("20161302T030405Z"));
+    }
+
+    @Test
+    public void epochSeconds_MatchesBigDecimal() {
+        String[] inputs = {"0", "1", "-1", "1500000000", "1500000000.1", "1500000000.123", "1500000000.123456",
+                           "-1500000000.123", "-0.5", "5.", "999999999999999.999"};
+        for (String input : inputs) {
+            assertEquals(input, new BigDecimal(input).scaleByPowerOfTen(3).longValue(),
+                         AwsDateFormats.parseEpochSeconds(input));
+        }
+        String[] notHandled = {"", "-", ".5", "+5", "1.5E9", "1500000000.1a", "1000000000000000"};
+        for (String input : notHandled) {
+            assertEquals(input, AwsDateFormats.NOT_HANDLED, AwsDateFormats.parseEpochSeconds(input));
+        }
+
+        long[] millis = {0, 1, -1, 999, -1000, 1500000000123L, Long.MAX_VALUE, Long.MIN_VALUE + 1};
+        for (long value : millis) {
+            assertEquals(BigDecimal.valueOf(value).scaleByPowerOfTen(-3).toPlainString(),
+                         AwsDateFormats.formatEpochSeconds(value));
+        }
+        assertNull(AwsDateFormats.formatEpochSeconds(Long.MIN_VALUE));
+    }
+
+    private static void assertFormatsMatch(long millis) {
+        assertEquals(DateUtils.iso8601DateFormat.print(millis), AwsDateFormats.formatIso8601(millis));
+        assertEquals(DateUtils.rfc822DateFormat.print(millis), AwsDateFormats.formatRfc822(millis));
+        assertEquals(DateUtils.compressedIso8601DateFormat.print(millis), AwsDateFormats.formatCompressedIso8601(millis));
+        assertEquals(DATE_STAMP_FORMAT.print(millis), AwsDateFormats.formatDateStamp(millis));
+    }
+}
@@ -15,6 +15,13 @@
 
 package com.amazonaws.util;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -69,4 +76,90 @@ public class CapacityManagerTest {
         Assert.assertEquals(mgr.consumedCapacity(), 0);
     }
 
+    /**
+     * Tests that acquired, denied and refilled capacity is tracked.
+     */
+    @Test
+    public void counters() {
+        CapacityManager mgr = new CapacityManager(10);
+        mgr.release();
+        Assert.assertEquals(0, mgr.refilledCapacityCount());
+
+        Assert.assertTrue(mgr.acquire(5));
+        Assert.assertTrue(mgr.acquire(5));
+        Assert.assertFalse(mgr.acquire(5));
+        Assert.assertEquals(10, mgr.acquiredCapacityCount());
+        Assert.assertEquals(1, mgr.deniedAcquireCount());
+
+        mgr.release(3);
+        mgr.release(50);
+        Assert.assertEquals(10, mgr.refilledCapacityCount());
+    }
+
+    /**
+     * Tests that releasing reports only the capacity that fit back in the pool.
+     */
+    @Test
+    public void releaseAndGetRefilled() {
+        CapacityManager mgr = new CapacityManager(10);
+        Assert.assertEquals(0, mgr.releaseAndGetRefilled(5));
+
+        Assert.assertTrue(mgr.acquire(4));
+        Assert.assertEquals(3, mgr.releaseAndGetRefilled(3));
+        Assert.assertEquals(1, mgr.releaseAndGetRefilled(5));
+        Assert.assertEquals(0, new CapacityManager(-1).releaseAndGetRefilled(5));
+    }
+
+    /**
+     * Tests that counters are not updated in no-op mode.
+     */
+    @Test
+    public void noOpCounters() {
+        CapacityManager mgr = new CapacityManager(-1);
+        mgr.acquire(5);
+        mgr.release(5);
+        Assert.assertEquals(0, mgr.acquiredCapacityCount());
+        Assert.assertEquals(0, mgr.deniedAcquireCount());
+        Assert.assertEquals(0, mgr.refilledCapacityCount());
+    }
+
+    /**
+     * Tests that concurrent acquires never hand out more capacity than is available.
+     */
+    @Test
+    public void concurrentAcquire() throws Exception {
+        final CapacityManager mgr = new CapacityManager(1000);
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws Exception {
+                        start.await();
+                        int acquired = 0;
+                        for (int j = 0; j < 500; j++) {
+                            if (mgr.acquire()) {
+                                acquired++;
+                            }
+                        }
+                        return acquired;
+                    }
+                }));
+            }
+            start.countDown();
+            int total = 0;
+            for (Future<Integer> future : futures) {
+                total += future.get();
+            }
+            Assert.assertEquals(1000, total);
+            Assert.assertEquals(0, mgr.availableCapacity());
+            Assert.assertEquals(1000, mgr.acquiredCapacityCount());
+            Assert.assertEquals(3000, mgr.deniedAcquireCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
 }
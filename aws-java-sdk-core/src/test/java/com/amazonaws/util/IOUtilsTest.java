@@ -18,6 +18,7 @@
  */
 package com.amazonaws.util;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 import java.io.ByteArrayInputStream;
@@ -53,6 +54,23 @@ public class IOUtilsTest {
         assertEquals("Testing", s);
     }
 
+    @Test
+    public void toByteArrayWithExpectedLength_ReadsWholeStream() throws IOException {
+        byte[] content = new byte[10000];
+        random.nextBytes(content);
+
+        for (long expectedLength : new long[] {-1, 0, 1, 9999, 10000, 10001, 20000, Long.MAX_VALUE}) {
+            // Hand out a few bytes at a time, as a socket would
+            InputStream in = new ByteArrayInputStream(content) {
+                @Override
+                public synchronized int read(byte[] b, int off, int len) {
+                    return super.read(b, off, Math.min(len, 1000));
+                }
+            };
+            assertArrayEquals(String.valueOf(expectedLength), content, IOUtils.toByteArray(in, expectedLength));
+        }
+    }
+
     @Test
     public void drainInputStream_AlreadyEos_DoesNotThrowException() throws IOException {
         final InputStream inputStream = randomInputStream();
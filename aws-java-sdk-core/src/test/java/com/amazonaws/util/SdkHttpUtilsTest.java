@@ -18,6 +18,12 @@
  */
 package com.amazonaws.util;
 
+import com.amazonaws.DefaultRequest;
+import com.amazonaws.Request;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import org.junit.*;
 
 public class SdkHttpUtilsTest {
@@ -130,4 +136,41 @@ public class SdkHttpUtilsTest {
         String resourcePath = "aws//java/sdk";
         Assert.assertEquals(SdkHttpUtils.appendUri(host, resourcePath, false), "foo.com/aws//java/sdk");
     }
+
+    @Test
+    public void testEncodeParametersMatchesUrlEncodedUtils() {
+        Request<?> request = new DefaultRequest<Object>("test");
+        request.addParameter("Action", "SendMessageBatch");
+        request.addParameter("Entry.1.MessageBody", "a b+c&d=e~f*g_h-i.j/k%l");
+        request.addParameter("Entry.2.MessageBody", "caf\u00e9 \ud83d\ude00 \ud83d unpaired \ude00");
+        request.addParameter("Flag", null);
+        request.addParameter("Multi", "1");
+        request.addParameter("Multi", "2");
+        request.addParameter("Empty", "");
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            StringBuilder value = new StringBuilder();
+            for (int j = random.nextInt(20); j > 0; j--) {
+                value.append((char) (random.nextBoolean() ? random.nextInt(128) : random.nextInt(0x10000)));
+            }
+            request.addParameter("Random." + i, value.toString());
+        }
+
+        Assert.assertEquals(formatWithUrlEncodedUtils(request.getParameters()), SdkHttpUtils.encodeParameters(request));
+    }
+
+    @Test
+    public void testEncodeParametersNoParameters() {
+        Assert.assertNull(SdkHttpUtils.encodeParameters(new DefaultRequest<Object>("test")));
+    }
+
+    private static String formatWithUrlEncodedUtils(Map<String, List<String>> parameters) {
+        List<NameValuePair> pairs = new ArrayList<NameValuePair>();
+        for (Map.Entry<String, List<String>> entry : parameters.entrySet()) {
+            for (String value : entry.getValue()) {
+                pairs.add(new BasicNameValuePair(entry.getKey(), value));
+            }
+        }
+        return URLEncodedUtils.format(pairs, "UTF-8");
+    }
 }
@@ -73,7 +73,13 @@ public class AmazonKinesisClient extends AmazonWebServiceClient implements Amazo
     /** Client configuration factory providing ClientConfigurations tailored to this client */
     protected static final ClientConfigurationFactory configFactory = new ClientConfigurationFactory();
 
-    private static final com.amazonaws.protocol.json.SdkJsonProtocolFactory protocolFactory = new com.amazonaws.protocol.json.SdkJsonProtocolFactory(
+    /**
+     * Protocol factory used by this client, which honours the client's {@link ClientConfiguration#useBinaryProtocol()}
+     * setting.
+     */
+    private com.amazonaws.protocol.json.SdkJsonProtocolFactory protocolFactory;
+
+    private static final com.amazonaws.protocol.json.SdkJsonProtocolFactory DEFAULT_PROTOCOL_FACTORY = new com.amazonaws.protocol.json.SdkJsonProtocolFactory(
             new JsonClientMetadata()
                     .withProtocolVersion("1.1")
                     .withSupportsCbor(true)
@@ -307,6 +313,7 @@ public class AmazonKinesisClient extends AmazonWebServiceClient implements Amazo
     }
 
     private void init() {
+        protocolFactory = DEFAULT_PROTOCOL_FACTORY.withBinaryProtocol(clientConfiguration.useBinaryProtocol());
         setServiceNameIntern(DEFAULT_SIGNING_NAME);
         setEndpointPrefix(ENDPOINT_PREFIX);
         // calling this.setEndPoint(...) will also modify the signer accordingly
@@ -2804,7 +2811,7 @@ public class AmazonKinesisClient extends AmazonWebServiceClient implements Amazo
     }
 
     @com.amazonaws.annotation.SdkInternalApi
-    static com.amazonaws.protocol.json.SdkJsonProtocolFactory getProtocolFactory() {
+    com.amazonaws.protocol.json.SdkJsonProtocolFactory getProtocolFactory() {
         return protocolFactory;
     }
 
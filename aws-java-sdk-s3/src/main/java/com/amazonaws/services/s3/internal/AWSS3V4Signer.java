@@ -14,30 +14,19 @@
  */
 package com.amazonaws.services.s3.internal;
 
-import com.amazonaws.SdkClientException;
-import com.amazonaws.ReadLimitInfo;
 import com.amazonaws.Request;
-import com.amazonaws.ResetException;
 import com.amazonaws.SignableRequest;
-import com.amazonaws.auth.AWS4Signer;
-import com.amazonaws.auth.AwsChunkedEncodingInputStream;
-import com.amazonaws.auth.internal.AWS4SignerRequestParams;
-import com.amazonaws.services.s3.Headers;
+import com.amazonaws.auth.AWS4StreamingPayloadSigner;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.amazonaws.services.s3.model.UploadPartRequest;
 import com.amazonaws.services.s3.request.S3HandlerContextKeys;
-import com.amazonaws.util.BinaryUtils;
-
-import java.io.IOException;
-import java.io.InputStream;
 
 import static com.amazonaws.auth.internal.SignerConstants.X_AMZ_CONTENT_SHA256;
 
 /**
  * AWS4 signer implementation for AWS S3
  */
-public class AWSS3V4Signer extends AWS4Signer {
-    private static final String CONTENT_SHA_256 = "STREAMING-AWS4-HMAC-SHA256-PAYLOAD";
+public class AWSS3V4Signer extends AWS4StreamingPayloadSigner {
 
     /** Sent to S3 in lieu of a payload hash when unsigned payloads are enabled */
     private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
@@ -50,22 +39,6 @@ public class AWSS3V4Signer extends AWS4Signer {
         super(false);
     }
 
-    /**
-     * If necessary, creates a chunk-encoding wrapper on the request payload.
-     */
-    @Override
-    protected void processRequestPayload(SignableRequest<?> request, byte[] signature,
-            byte[] signingKey, AWS4SignerRequestParams signerRequestParams) {
-        if (useChunkEncoding(request)) {
-            AwsChunkedEncodingInputStream chunkEncodededStream = new AwsChunkedEncodingInputStream(
-                    request.getContent(), signingKey,
-                    signerRequestParams.getFormattedSigningDateTime(),
-                    signerRequestParams.getScope(),
-                    BinaryUtils.toHex(signature), this);
-            request.setContent(chunkEncodededStream);
-        }
-    }
-
     @Override
     protected String calculateContentHashPresign(SignableRequest<?> request){
         return "UNSIGNED-PAYLOAD";
@@ -84,39 +57,7 @@ public class AWSS3V4Signer extends AWS4Signer {
         request.addHeader(X_AMZ_CONTENT_SHA256, "required");
 
         if (isPayloadSigningEnabled(request)) {
-            if (useChunkEncoding(request)) {
-                final String contentLength = request.getHeaders().get(Headers.CONTENT_LENGTH);
-                final long originalContentLength;
-                if (contentLength != null) {
-                    originalContentLength = Long.parseLong(contentLength);
-                } else {
-                    /**
-                     * "Content-Length" header could be missing if the caller is
-                     * uploading a stream without setting Content-Length in
-                     * ObjectMetadata. Before using sigv4, we rely on HttpClient to
-                     * add this header by using BufferedHttpEntity when creating the
-                     * HttpRequest object. But now, we need this information
-                     * immediately for the signing process, so we have to cache the
-                     * stream here.
-                     */
-                    try {
-                        originalContentLength = getContentLength(request);
-                    } catch (IOException e) {
-                        throw new SdkClientException(
-                                "Cannot get the content-length of the request content.", e);
-                    }
-                }
-                request.addHeader("x-amz-decoded-content-length",
-                                  Long.toString(originalContentLength));
-                // Make sure "Content-Length" header is not empty so that HttpClient
-                // won't cache the stream again to recover Content-Length
-                request.addHeader(Headers.CONTENT_LENGTH, Long.toString(
-                        AwsChunkedEncodingInputStream
-                                .calculateStreamContentLength(originalContentLength)));
-                return CONTENT_SHA_256;
-            } else {
-                return super.calculateContentHash(request);
-            }
+            return super.calculateContentHash(request);
         }
 
         return UNSIGNED_PAYLOAD;
@@ -125,7 +66,8 @@ public class AWSS3V4Signer extends AWS4Signer {
     /**
      * Determine whether to use aws-chunked for signing
      */
-    private boolean useChunkEncoding(SignableRequest<?> request) {
+    @Override
+    protected boolean useChunkEncoding(SignableRequest<?> request) {
         // If chunked encoding is explicitly disabled through client options return right here.
         // Chunked encoding only makes sense to do when the payload is signed
         if (!isPayloadSigningEnabled(request) || isChunkedEncodingDisabled(request)) {
@@ -171,30 +113,4 @@ public class AWSS3V4Signer extends AWS4Signer {
         }
         return false;
     }
-
-    /**
-     * Read the content of the request to get the length of the stream. This
-     * method will wrap the stream by SdkBufferedInputStream if it is not
-     * mark-supported.
-     */
-    static long getContentLength(SignableRequest<?> request) throws IOException {
-        final InputStream content = request.getContent();
-        if (!content.markSupported())
-            throw new IllegalStateException("Bug: request input stream must have been made mark-and-resettable at this point");
-        ReadLimitInfo info = request.getReadLimitInfo();
-        final int readLimit = info.getReadLimit();
-        long contentLength = 0;
-        byte[] tmp = new byte[4096];
-        int read;
-        content.mark(readLimit);
-        while ((read = content.read(tmp)) != -1) {
-            contentLength += read;
-        }
-        try {
-            content.reset();
-        } catch(IOException ex) {
-            throw new ResetException("Failed to reset the input stream", ex);
-        }
-        return contentLength;
-    }
 }
@@ -20,12 +20,11 @@ import com.amazonaws.AmazonServiceException;
 import com.amazonaws.annotation.NotThreadSafe;
 import com.amazonaws.annotation.SdkInternalApi;
 import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.internal.RefreshScheduler;
 import com.amazonaws.internal.SdkPredicate;
 import com.amazonaws.util.ValidationUtils;
 import java.io.Closeable;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -35,6 +34,8 @@ import java.util.concurrent.locks.ReentrantLock;
 /**
  * Handles refreshing a value with a simple synchronization policy. Does a blocking, synchronous
  * refresh if needed, otherwise queues an asynchronous refresh and returns the current value.
+ * Asynchronous refreshes run on the shared {@link RefreshScheduler}, and all refreshes count
+ * towards its limit on concurrent refresh calls.
  */
 @ThreadSafe
 @SdkInternalApi
@@ -58,9 +59,11 @@ class RefreshableTask<T> implements Closeable {
     private final AtomicReference<T> refreshableValueHolder = new AtomicReference<T>();
 
     /**
-     * Single threaded executor to asynchronous refresh the value.
+     * Scheduler shared by all tasks to asynchronously refresh the value and bound concurrent refreshes.
      */
-    private final ExecutorService executor = Executors.newSingleThreadExecutor(new DaemonThreadFactory());
+    private final RefreshScheduler scheduler = RefreshScheduler.getDefault();
+
+    private volatile boolean closed;
 
     /**
      * Used to ensure only one thread at any given time refreshes the value.
@@ -93,7 +96,7 @@ class RefreshableTask<T> implements Closeable {
 
     @Override
     public void close() {
-        executor.shutdown();
+        closed = true;
     }
 
     @NotThreadSafe
@@ -171,6 +174,13 @@ class RefreshableTask<T> implements Closeable {
         return getRefreshedValue();
     }
 
+    /**
+     * @return The value refreshed last, without refreshing it, or null if it hasn't been yet.
+     */
+    public T getCurrentValue() {
+        return refreshableValueHolder.get();
+    }
+
     /**
      * @return The refreshed value.
      * @throws IllegalStateException If the refreshed value is still invalid.
@@ -228,10 +238,10 @@ class RefreshableTask<T> implements Closeable {
      * Used to asynchronously refresh the value. Caller is never blocked.
      */
     private void asyncRefresh() {
-        // Immediately return if refresh already in progress
-        if (asyncRefreshing.compareAndSet(false, true)) {
+        // Immediately return if refresh already in progress, or if closed
+        if (!closed && asyncRefreshing.compareAndSet(false, true)) {
             try {
-                executor.submit(new Runnable() {
+                scheduler.submit(new Runnable() {
                     @Override
                     public void run() {
                         try {
@@ -254,7 +264,7 @@ class RefreshableTask<T> implements Closeable {
     private void refreshValue() {
         try {
             refreshableValueHolder
-                    .compareAndSet(refreshableValueHolder.get(), refreshCallable.call());
+                    .compareAndSet(refreshableValueHolder.get(), scheduler.refresh(refreshCallable));
         } catch (AmazonServiceException ase) {
             // Preserve the original ASE
             throw ase;
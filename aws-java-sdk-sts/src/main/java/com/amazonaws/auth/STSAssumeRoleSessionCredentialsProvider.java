@@ -24,6 +24,7 @@ import com.amazonaws.services.securitytoken.model.AssumeRoleRequest;
 import com.amazonaws.services.securitytoken.model.AssumeRoleResult;
 import com.amazonaws.util.ValidationUtils;
 import java.io.Closeable;
+import java.util.Date;
 import java.util.concurrent.Callable;
 
 /**
@@ -34,7 +35,8 @@ import java.util.concurrent.Callable;
  * {@link #close()} method when the credentials provider is no longer used.
  */
 @ThreadSafe
-public class STSAssumeRoleSessionCredentialsProvider implements AWSSessionCredentialsProvider, Closeable {
+public class STSAssumeRoleSessionCredentialsProvider
+        implements AWSSessionCredentialsProvider, ExpiringCredentialsProvider, Closeable {
     /**
      * Default duration for started sessions.
      */
@@ -304,6 +306,12 @@ public class STSAssumeRoleSessionCredentialsProvider implements AWSSessionCreden
         refreshableTask.forceGetValue();
     }
 
+    @Override
+    public Date getCredentialsExpiration() {
+        SessionCredentialsHolder holder = refreshableTask.getCurrentValue();
+        return holder == null ? null : holder.getSessionCredentialsExpiration();
+    }
+
     /**
      * Starts a new session by sending a request to the AWS Security Token Service (STS) to assume a
      * Role using the long lived AWS credentials. This class then vends the short lived session
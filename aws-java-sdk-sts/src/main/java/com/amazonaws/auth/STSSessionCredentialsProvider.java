@@ -22,6 +22,7 @@ import com.amazonaws.services.securitytoken.AWSSecurityTokenServiceClient;
 import com.amazonaws.services.securitytoken.model.GetSessionTokenRequest;
 import com.amazonaws.services.securitytoken.model.GetSessionTokenResult;
 import java.io.Closeable;
+import java.util.Date;
 import java.util.concurrent.Callable;
 
 /**
@@ -32,7 +33,8 @@ import java.util.concurrent.Callable;
  * {@link #close()} method when the credentials provider is no longer used.
  */
 @ThreadSafe
-public class STSSessionCredentialsProvider implements AWSSessionCredentialsProvider, Closeable {
+public class STSSessionCredentialsProvider
+        implements AWSSessionCredentialsProvider, ExpiringCredentialsProvider, Closeable {
 
     /**
      * Default duration for started sessions
@@ -175,6 +177,12 @@ public class STSSessionCredentialsProvider implements AWSSessionCredentialsProvi
         refreshableTask.forceGetValue();
     }
 
+    @Override
+    public Date getCredentialsExpiration() {
+        SessionCredentialsHolder holder = refreshableTask.getCurrentValue();
+        return holder == null ? null : holder.getSessionCredentialsExpiration();
+    }
+
     private SessionCredentialsHolder newSession() {
         GetSessionTokenResult sessionTokenResult = securityTokenService.getSessionToken(
                 new GetSessionTokenRequest().withDurationSeconds(DEFAULT_DURATION_SECONDS));